@@ -0,0 +1,28 @@
+@echo off
+echo ========================================
+echo  BENCHMARKS - eScrims Platform
+echo ========================================
+echo.
+
+cd codigo
+
+echo [1/2] Compilando benchmarks...
+javac -d bin -sourcepath src src/benchmark/BenchmarkSuite.java
+if %errorlevel% neq 0 (
+    echo ERROR: Compilacion fallida
+    pause
+    exit /b 1
+)
+echo     Compilacion exitosa!
+echo.
+
+echo [2/2] Ejecutando benchmarks (1k / 100k / 1M)...
+echo     Argumentos opcionales: --tamanios=1000,100000 --solo=estrategias^|busqueda^|usuarios --rapido
+echo.
+java -Xms4g -Xmx4g -cp bin benchmark.BenchmarkSuite %*
+
+echo.
+echo ========================================
+echo  BENCHMARKS COMPLETADOS
+echo ========================================
+pause
@@ -0,0 +1,125 @@
+package benchmark;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.util.function.Supplier;
+
+/**
+ * Harness mínimo de microbenchmarks (sin dependencias externas)
+ *
+ * Por cada benchmark:
+ * - Iteraciones de calentamiento para que el JIT compile el camino caliente
+ * - Iteraciones medidas de al menos 'msPorIteracion' cada una
+ * - Tiempo por operación y bytes reservados por operación
+ *   (com.sun.management.ThreadMXBean.getThreadAllocatedBytes del hilo actual)
+ *
+ * Las estrategias tienen las trazas por consola apagadas por defecto, así que
+ * la operación medida no escribe en System.out.
+ */
+public class Benchmark {
+
+    public static final int CALENTAMIENTO_DEFAULT = 5;
+    public static final int MEDICIONES_DEFAULT = 5;
+    public static final long MS_POR_ITERACION_DEFAULT = 500;
+
+    // Evita que el JIT descarte resultados no usados
+    private static volatile Object sumidero;
+
+    private final int iteracionesCalentamiento;
+    private final int iteracionesMedidas;
+    private final long msPorIteracion;
+
+    public Benchmark() {
+        this(CALENTAMIENTO_DEFAULT, MEDICIONES_DEFAULT, MS_POR_ITERACION_DEFAULT);
+    }
+
+    public Benchmark(int iteracionesCalentamiento, int iteracionesMedidas, long msPorIteracion) {
+        this.iteracionesCalentamiento = iteracionesCalentamiento;
+        this.iteracionesMedidas = iteracionesMedidas;
+        this.msPorIteracion = msPorIteracion;
+    }
+
+    /**
+     * Resultado de un benchmark (promedio de las iteraciones medidas)
+     */
+    public static class Resultado {
+        private final String nombre;
+        private final double nsPorOp;
+        private final double bytesPorOp;
+
+        Resultado(String nombre, double nsPorOp, double bytesPorOp) {
+            this.nombre = nombre;
+            this.nsPorOp = nsPorOp;
+            this.bytesPorOp = bytesPorOp;
+        }
+
+        public String getNombre() { return nombre; }
+        public double getNsPorOp() { return nsPorOp; }
+        public double getBytesPorOp() { return bytesPorOp; }
+
+        public double getOpsPorSegundo() {
+            return 1e9 / nsPorOp;
+        }
+
+        /**
+         * Tasa de asignación en MB/s (-1 si la JVM no expone bytes por hilo)
+         */
+        public double getMbPorSegundo() {
+            return bytesPorOp < 0 ? -1 : bytesPorOp * getOpsPorSegundo() / (1024 * 1024);
+        }
+
+        @Override
+        public String toString() {
+            return String.format("%-60s %14.1f ns/op %12.1f ops/s %14.0f B/op %10.1f MB/s",
+                nombre, nsPorOp, getOpsPorSegundo(), bytesPorOp, getMbPorSegundo());
+        }
+    }
+
+    /**
+     * Mide una operación; el valor que devuelve se consume para que no se elimine
+     */
+    public Resultado medir(String nombre, Supplier<?> operacion) {
+        for (int i = 0; i < iteracionesCalentamiento; i++) {
+            correrIteracion(operacion);
+        }
+        long ops = 0, nanos = 0, bytes = 0;
+        for (int i = 0; i < iteracionesMedidas; i++) {
+            long[] iteracion = correrIteracion(operacion);
+            ops += iteracion[0];
+            nanos += iteracion[1];
+            bytes = bytes < 0 || iteracion[2] < 0 ? -1 : bytes + iteracion[2];
+        }
+        Resultado resultado = new Resultado(nombre, (double) nanos / ops,
+                                            bytes < 0 ? -1 : (double) bytes / ops);
+        System.out.println(resultado);
+        return resultado;
+    }
+
+    // {operaciones, nanos, bytes reservados}
+    private long[] correrIteracion(Supplier<?> operacion) {
+        long limite = msPorIteracion * 1_000_000L;
+        long bytesAntes = bytesReservados();
+        long inicio = System.nanoTime();
+        long transcurrido;
+        long ops = 0;
+        do {
+            sumidero = operacion.get();
+            ops++;
+            transcurrido = System.nanoTime() - inicio;
+        } while (transcurrido < limite);
+        long bytesDespues = bytesReservados();
+        long bytes = bytesAntes < 0 ? -1 : bytesDespues - bytesAntes;
+        return new long[]{ops, transcurrido, bytes};
+    }
+
+    private static long bytesReservados() {
+        ThreadMXBean mx = ManagementFactory.getThreadMXBean();
+        if (mx instanceof com.sun.management.ThreadMXBean) {
+            com.sun.management.ThreadMXBean hotspot = (com.sun.management.ThreadMXBean) mx;
+            if (hotspot.isThreadAllocatedMemorySupported() && hotspot.isThreadAllocatedMemoryEnabled()) {
+                return hotspot.getThreadAllocatedBytes(Thread.currentThread().getId());
+            }
+        }
+        return -1;
+    }
+}
@@ -0,0 +1,212 @@
+package benchmark;
+
+import models.Scrim;
+import models.Usuario;
+import service.LatencyService;
+import service.MatchHistoryService;
+import service.RatingService;
+import service.ScrimSearchService;
+import service.SondaLatenciaLocal;
+import service.UserService;
+import states.EstadoBuscandoJugadores;
+import strategies.ByHistoryStrategy;
+import strategies.ByLatencyStrategy;
+import strategies.ByMMRStrategy;
+import strategies.ByWeightedScoreStrategy;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+import java.util.stream.Collectors;
+
+/**
+ * Suite de benchmarks de los caminos calientes
+ *
+ * Secciones:
+ * - estrategias: ByMMR, ByLatency, ByHistory y ByWeightedScore sobre N candidatos
+ * - busqueda: ScrimSearchService.buscarScrims con las 32 combinaciones de filtros,
+ *   sin caché (recorrido de índices) y con acierto de caché por separado
+ * - usuarios: UserService.buscarPorEmail / existeUsername
+ * - ratings: RatingService (registro de partidas 5v5 y cierre de período Glicko-2)
+ *
+ * Uso:
+ *   java -Xmx4g -cp bin benchmark.BenchmarkSuite [--tamanios=1000,100000,1000000]
+ *                                                [--solo=estrategias|busqueda|usuarios|ratings]
+ *                                                [--rapido]
+ *
+ * Cada línea reporta ns/op, ops/s, bytes reservados por op y tasa de asignación (MB/s).
+ */
+public class BenchmarkSuite {
+
+    private static final int[] TAMANIOS_DEFAULT = {1_000, 100_000, 1_000_000};
+    private static final String JUEGO = "Valorant";
+    private static final String[] JUEGOS = {"Valorant", "League of Legends", "CS:GO"};
+    private static final String[] FORMATOS = {"5v5", "3v3", "1v1"};
+    private static final String[] REGIONES = {"SA", "NA", "EU", "LAS"};
+
+    public static void main(String[] args) throws Exception {
+        int[] tamanios = TAMANIOS_DEFAULT;
+        String solo = null;
+        Benchmark benchmark = new Benchmark();
+
+        for (String arg : args) {
+            if (arg.startsWith("--tamanios=")) {
+                tamanios = Arrays.stream(arg.substring(11).split(",")).mapToInt(Integer::parseInt).toArray();
+            } else if (arg.startsWith("--solo=")) {
+                solo = arg.substring(7);
+            } else if (arg.equals("--rapido")) {
+                benchmark = new Benchmark(2, 3, 200);
+            }
+        }
+
+        System.out.println("====================================");
+        System.out.println(" BENCHMARKS eScrims");
+        System.out.println("====================================");
+        System.out.println("JVM: " + System.getProperty("java.vm.name") + " " + System.getProperty("java.version") +
+                         " | cores: " + Runtime.getRuntime().availableProcessors() +
+                         " | heap máx: " + Runtime.getRuntime().maxMemory() / (1024 * 1024) + " MB\n");
+
+        for (int n : tamanios) {
+            if (solo == null || solo.equals("estrategias")) benchEstrategias(benchmark, n);
+            if (solo == null || solo.equals("busqueda")) benchBusqueda(benchmark, n);
+            if (solo == null || solo.equals("usuarios")) benchUsuarios(benchmark, n);
+            if (solo == null || solo.equals("ratings")) benchRatings(benchmark, n);
+            System.gc();
+        }
+    }
+
+    // ============================================
+    // ESTRATEGIAS DE MATCHMAKING
+    // ============================================
+
+    private static void benchEstrategias(Benchmark benchmark, int n) {
+        System.out.println("--- Estrategias (" + n + " candidatos) ---");
+        Random random = new Random(42);
+        List<Usuario> candidatos = new ArrayList<>(n);
+        for (int i = 0; i < n; i++) {
+            Usuario u = new Usuario(i, "Player" + i, "p" + i + "@bench.com");
+            u.getRangoPorJuego().put(JUEGO, (int) Math.max(0, 1500 + random.nextGaussian() * 400));
+            u.setRegion(REGIONES[random.nextInt(REGIONES.length)]);
+            candidatos.add(u);
+        }
+        Scrim scrim = new Scrim.Builder(new EstadoBuscandoJugadores())
+            .juego(JUEGO).formato("5v5").region("SA").modalidad("ranked")
+            .rangoMin(1300).rangoMax(1700).latenciaMax(80).build();
+
+        LatencyService latencias = new LatencyService(new SondaLatenciaLocal());
+        latencias.sondear(candidatos, Arrays.asList(REGIONES));
+        latencias.procesarReportes();
+
+        MatchHistoryService historial = new MatchHistoryService();
+        for (Usuario u : candidatos) {
+            for (int p = 0; p < 3; p++) {
+                historial.registrarResultado(u.getId(), random.nextBoolean(), random.nextInt(20),
+                    1 + random.nextInt(15), random.nextInt(15), random.nextInt(10) == 0 ? 1 : 0,
+                    random.nextInt(50) == 0);
+            }
+        }
+
+        ByMMRStrategy mmr = new ByMMRStrategy();
+        ByLatencyStrategy latencia = new ByLatencyStrategy(latencias);
+        ByHistoryStrategy history = new ByHistoryStrategy(historial);
+        ByWeightedScoreStrategy compuesta = new ByWeightedScoreStrategy(latencias, historial);
+
+        benchmark.medir("ByMMRStrategy.seleccionar n=" + n, () -> mmr.seleccionar(candidatos, scrim));
+        benchmark.medir("ByLatencyStrategy.seleccionar n=" + n, () -> latencia.seleccionar(candidatos, scrim));
+        benchmark.medir("ByHistoryStrategy.seleccionar n=" + n, () -> history.seleccionar(candidatos, scrim));
+        benchmark.medir("ByWeightedScoreStrategy.seleccionar n=" + n, () -> compuesta.seleccionar(candidatos, scrim));
+        System.out.println();
+    }
+
+    // ============================================
+    // BÚSQUEDA DE SCRIMS
+    // ============================================
+
+    private static void benchBusqueda(Benchmark benchmark, int n) {
+        System.out.println("--- ScrimSearchService.buscarScrims (" + n + " scrims, 32 combinaciones, sin caché / con caché) ---");
+        Random random = new Random(7);
+        ScrimSearchService busqueda = new ScrimSearchService();
+        for (int i = 0; i < n; i++) {
+            int min = random.nextInt(2400);
+            busqueda.registrarScrim(new Scrim.Builder(new EstadoBuscandoJugadores())
+                .juego(JUEGOS[random.nextInt(JUEGOS.length)])
+                .formato(FORMATOS[random.nextInt(FORMATOS.length)])
+                .region(REGIONES[random.nextInt(REGIONES.length)])
+                .modalidad("ranked")
+                .rangoMin(min).rangoMax(min + 200 + random.nextInt(600))
+                .latenciaMax(60 + random.nextInt(60)).build());
+        }
+
+        // Bit i encendido = filtro i activo (juego, formato, rangoMin, rangoMax, región)
+        for (int mascara = 0; mascara < 32; mascara++) {
+            String juego = (mascara & 1) != 0 ? "Valorant" : null;
+            String formato = (mascara & 2) != 0 ? "5v5" : null;
+            String rangoMin = (mascara & 4) != 0 ? "Gold" : null;
+            String rangoMax = (mascara & 8) != 0 ? "Diamond" : null;
+            String region = (mascara & 16) != 0 ? "SA" : null;
+            String filtros = String.format("[%s|%s|%s|%s|%s] n=%d",
+                juego != null ? "J" : "-", formato != null ? "F" : "-", rangoMin != null ? "m" : "-",
+                rangoMax != null ? "M" : "-", region != null ? "R" : "-", n);
+            // Sin caché: streamScrims hace el mismo recorrido de índices que un fallo de buscarScrims
+            benchmark.medir("buscarScrims sin caché " + filtros, () ->
+                busqueda.streamScrims(juego, formato, rangoMin, rangoMax, region).collect(Collectors.toList()));
+            // Con caché: la misma consulta repetida es un acierto (copia del resultado guardado)
+            benchmark.medir("buscarScrims con caché " + filtros, () ->
+                busqueda.buscarScrims(juego, formato, rangoMin, rangoMax, region));
+        }
+        System.out.printf("Caché: %d aciertos, %d fallos%n", busqueda.getAciertosCache(), busqueda.getFallosCache());
+        System.out.println();
+    }
+
+    // ============================================
+    // USUARIOS
+    // ============================================
+
+    private static void benchUsuarios(Benchmark benchmark, int n) {
+        System.out.println("--- UserService (" + n + " usuarios) ---");
+        // registrarUsuario valida unicidad recorriendo la lista (O(n²) para poblar):
+        // se carga la "base" con el constructor de carga inicial para medir solo las búsquedas
+        List<Usuario> base = new ArrayList<>(n);
+        for (int i = 0; i < n; i++) {
+            base.add(new Usuario(i + 1, "user" + i, "user" + i + "@bench.com"));
+        }
+        UserService usuarios = new UserService(base);
+
+        String emailMedio = "user" + (n / 2) + "@bench.com";
+        String usernameFinal = "user" + (n - 1);
+        benchmark.medir("UserService.buscarPorEmail (existente) n=" + n, () -> usuarios.buscarPorEmail(emailMedio));
+        benchmark.medir("UserService.buscarPorEmail (inexistente) n=" + n, () -> usuarios.buscarPorEmail("nadie@bench.com"));
+        benchmark.medir("UserService.existeUsername (último) n=" + n, () -> usuarios.existeUsername(usernameFinal));
+        System.out.println();
+    }
+
+    // ============================================
+    // RATINGS
+    // ============================================
+
+    private static void benchRatings(Benchmark benchmark, int n) {
+        System.out.println("--- RatingService (" + n + " jugadores) ---");
+        Random random = new Random(7);
+        Usuario[] jugadores = new Usuario[n];
+        for (int i = 0; i < n; i++) {
+            jugadores[i] = new Usuario(i + 1, "user" + i, "user" + i + "@bench.com");
+            jugadores[i].getRangoPorJuego().put(JUEGO, 800 + random.nextInt(1400));
+        }
+        RatingService ratings = new RatingService();
+        Usuario[] azul = new Usuario[5];
+        Usuario[] rojo = new Usuario[5];
+
+        benchmark.medir("RatingService.registrarPartida 5v5 n=" + n, () -> {
+            for (int i = 0; i < 5; i++) {
+                azul[i] = jugadores[random.nextInt(n)];
+                rojo[i] = jugadores[random.nextInt(n)];
+            }
+            ratings.registrarPartida(JUEGO, azul, rojo, random.nextInt(3) / 2.0);
+            return azul;
+        });
+        // Cada cierre aplica las partidas acumuladas desde el anterior más el RD de todos los inactivos
+        benchmark.medir("RatingService.cerrarPeriodo n=" + n, ratings::cerrarPeriodo);
+        System.out.println();
+    }
+}
@@ -0,0 +1,234 @@
+package benchmark;
+
+import interfaces.ILobbyListener;
+import models.Scrim;
+import models.TicketMatchmaking;
+import service.CurvaExpansionMMR;
+import service.MatchmakingQueue;
+import strategies.ByMMRStrategy;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryMXBean;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Generador de carga end-to-end para el motor de matchmaking
+ *
+ * 1. Genera una PoblacionSintetica de millones de usuarios
+ * 2. Simula llegadas a la cola (Poisson, modulado por la hora local de cada región)
+ * 3. Maneja MatchmakingQueue sin consola con un reloj simulado de 1 tick = 1 segundo
+ * 4. Los jugadores emparejados juegan 25-45 minutos simulados y pueden volver a la cola
+ *
+ * Reporta lobbies formados por segundo (de procesamiento real y simulado),
+ * percentiles de tiempo en cola y uso de heap. Sirve para dimensionar el motor
+ * antes del lanzamiento de cada temporada.
+ *
+ * Uso:
+ *   java -Xmx6g -cp bin benchmark.GeneradorCarga [--jugadores=2000000] [--tasa=2000]
+ *        [--duracion=3600] [--hora=18] [--hilos=1] [--semilla=42]
+ *
+ *   --tasa      llegadas por segundo simulado en hora pico
+ *   --duracion  segundos simulados
+ *   --hora      hora UTC de inicio de la simulación
+ *   --hilos     paralelismo de la cola (MatchmakingQueue.setParalelismo)
+ */
+public class GeneradorCarga implements ILobbyListener {
+
+    private static final int MAX_ESPERA_S = 3600;          // Esperas mayores caen en el último casillero
+    private static final int PARTIDA_MIN_S = 25 * 60;
+    private static final int PARTIDA_MAX_S = 45 * 60;
+    private static final int REPORTE_CADA_S = 600;
+    private static final int REINTENTOS_LLEGADA = 8;
+
+    private final PoblacionSintetica poblacion;
+    private final MatchmakingQueue cola;
+    private final AtomicLong reloj = new AtomicLong();
+    private final MemoryMXBean memoria = ManagementFactory.getMemoryMXBean();
+
+    // Segundo simulado desde el que cada jugador está libre (MAX = en cola)
+    private final int[] ocupadoHasta;
+
+    // Histograma de espera en segundos
+    private final long[] esperas = new long[MAX_ESPERA_S + 1];
+    private long jugadoresEmparejados;
+    private long lobbies;
+
+    private long llegadas;
+    private long heapPico;
+
+    public GeneradorCarga(PoblacionSintetica poblacion, int hilos) {
+        this.poblacion = poblacion;
+        this.ocupadoHasta = new int[poblacion.tamanio()];
+        this.cola = new MatchmakingQueue(new ByMMRStrategy(), reloj::get);
+        this.cola.setCurvaExpansion(CurvaExpansionMMR.lineal(100, 50, 10_000, 800));
+        this.cola.setParalelismo(hilos);
+        this.cola.agregarListener(this);
+    }
+
+    public static void main(String[] args) {
+        int jugadores = 2_000_000;
+        double tasa = 2000;
+        int duracion = 3600;
+        int hora = 18;
+        int hilos = 1;
+        long semilla = 42;
+
+        for (String arg : args) {
+            String valor = arg.substring(arg.indexOf('=') + 1);
+            if (arg.startsWith("--jugadores=")) jugadores = Integer.parseInt(valor);
+            else if (arg.startsWith("--tasa=")) tasa = Double.parseDouble(valor);
+            else if (arg.startsWith("--duracion=")) duracion = Integer.parseInt(valor);
+            else if (arg.startsWith("--hora=")) hora = Integer.parseInt(valor);
+            else if (arg.startsWith("--hilos=")) hilos = Integer.parseInt(valor);
+            else if (arg.startsWith("--semilla=")) semilla = Long.parseLong(valor);
+        }
+
+        System.out.println("====================================");
+        System.out.println(" GENERADOR DE CARGA - Matchmaking");
+        System.out.println("====================================");
+        System.out.printf("Jugadores: %,d | tasa pico: %.0f/s | duración: %d s simulados | hilos: %d%n%n",
+                          jugadores, tasa, duracion, hilos);
+
+        long inicio = System.nanoTime();
+        PoblacionSintetica poblacion = new PoblacionSintetica(jugadores, semilla);
+        System.gc();
+        System.out.printf("Población generada en %.1f s | heap usado: %,d MB%n%n",
+                          (System.nanoTime() - inicio) / 1e9, heapUsadoMb(ManagementFactory.getMemoryMXBean()));
+
+        GeneradorCarga generador = new GeneradorCarga(poblacion, hilos);
+        generador.simular(duracion, hora, tasa, new Random(semilla + 1));
+        generador.cola.detener();
+    }
+
+    // ============================================
+    // SIMULACIÓN
+    // ============================================
+
+    /**
+     * Corre 'duracion' segundos simulados e imprime el reporte final
+     */
+    public void simular(int duracion, int horaInicioUtc, double tasaPico, Random random) {
+        long nanosTicks = 0;
+        long tickMaxNanos = 0;
+        for (int t = 0; t < duracion; t++) {
+            reloj.set(t * 1000L);
+            double horaUtc = horaInicioUtc + t / 3600.0;
+            generarLlegadas(t, horaUtc, tasaPico, random);
+
+            long antes = System.nanoTime();
+            cola.procesarTick();
+            long tick = System.nanoTime() - antes;
+            nanosTicks += tick;
+            tickMaxNanos = Math.max(tickMaxNanos, tick);
+
+            heapPico = Math.max(heapPico, memoria.getHeapMemoryUsage().getUsed());
+            if ((t + 1) % REPORTE_CADA_S == 0) {
+                System.out.printf("[t=%5d s] llegadas: %,d | en cola: %,d | lobbies: %,d | heap: %,d MB%n",
+                                  t + 1, llegadas, cola.getJugadoresEnCola(), lobbies, heapUsadoMb(memoria));
+            }
+        }
+        imprimirReporte(duracion, nanosTicks, tickMaxNanos);
+    }
+
+    private void generarLlegadas(int t, double horaUtc, double tasaPico, Random random) {
+        int intentos = poisson(tasaPico, random);
+        for (int k = 0; k < intentos; k++) {
+            int i = -1;
+            for (int r = 0; r < REINTENTOS_LLEGADA && i < 0; r++) {
+                int candidato = random.nextInt(poblacion.tamanio());
+                if (ocupadoHasta[candidato] <= t) i = candidato;
+            }
+            // Thinning: la probabilidad de llegar sigue la actividad horaria de su región
+            if (i < 0 || random.nextDouble() >= poblacion.actividad(i, horaUtc)) {
+                continue;
+            }
+            String juego = poblacion.getJuego(i);
+            ocupadoHasta[i] = Integer.MAX_VALUE;
+            cola.encolar(poblacion.getUsuario(i), juego, poblacion.elegirFormato(i, random),
+                         poblacion.getUsuario(i).getRegion(),
+                         poblacion.getUsuario(i).getRangoParaJuego(juego), poblacion.elegirRol(i, random));
+            llegadas++;
+        }
+    }
+
+    // Con paralelismo se invoca desde los hilos del pool
+    @Override
+    public synchronized void onLobbyFormado(Scrim lobby, List<TicketMatchmaking> tickets) {
+        long ahora = reloj.get();
+        int segundo = (int) (ahora / 1000);
+        lobbies++;
+        for (TicketMatchmaking ticket : tickets) {
+            int espera = (int) Math.min(MAX_ESPERA_S, ticket.getEspera(ahora) / 1000);
+            esperas[espera]++;
+            jugadoresEmparejados++;
+            ocupadoHasta[ticket.getUsuario().getId()] =
+                segundo + ThreadLocalRandom.current().nextInt(PARTIDA_MIN_S, PARTIDA_MAX_S + 1);
+        }
+    }
+
+    // ============================================
+    // REPORTE
+    // ============================================
+
+    private synchronized void imprimirReporte(int duracion, long nanosTicks, long tickMaxNanos) {
+        System.out.println("\n====================================");
+        System.out.println(" RESULTADOS");
+        System.out.println("====================================");
+        System.out.printf("Llegadas a la cola: %,d%n", llegadas);
+        System.out.printf("Jugadores emparejados: %,d%n", jugadoresEmparejados);
+        System.out.printf("Jugadores aún en cola: %,d%n", cola.getJugadoresEnCola());
+        System.out.printf("Lobbies formados: %,d%n", lobbies);
+        System.out.printf("Lobbies por segundo simulado: %.1f%n", lobbies / (double) duracion);
+        System.out.printf("Lobbies por segundo de procesamiento: %.1f%n", lobbies / Math.max(1e-9, nanosTicks / 1e9));
+        System.out.printf("Tick promedio: %.2f ms | tick máximo: %.2f ms%n",
+                          nanosTicks / 1e6 / duracion, tickMaxNanos / 1e6);
+        System.out.printf("Tiempo en cola p50: %d s | p90: %d s | p99: %d s | máx: %s%n",
+                          percentil(0.50), percentil(0.90), percentil(0.99), maximo());
+        System.out.printf("Heap usado al final: %,d MB | pico: %,d MB%n",
+                          heapUsadoMb(memoria), heapPico / (1024 * 1024));
+    }
+
+    private int percentil(double p) {
+        if (jugadoresEmparejados == 0) return 0;
+        long objetivo = (long) Math.ceil(p * jugadoresEmparejados);
+        long acumulado = 0;
+        for (int s = 0; s <= MAX_ESPERA_S; s++) {
+            acumulado += esperas[s];
+            if (acumulado >= objetivo) return s;
+        }
+        return MAX_ESPERA_S;
+    }
+
+    private String maximo() {
+        for (int s = MAX_ESPERA_S; s >= 0; s--) {
+            if (esperas[s] > 0) return s == MAX_ESPERA_S ? "≥" + s + " s" : s + " s";
+        }
+        return "0 s";
+    }
+
+    private static long heapUsadoMb(MemoryMXBean memoria) {
+        return memoria.getHeapMemoryUsage().getUsed() / (1024 * 1024);
+    }
+
+    // Knuth para tasas chicas, aproximación normal para tasas grandes
+    private static int poisson(double lambda, Random random) {
+        if (lambda > 30) {
+            return (int) Math.max(0, Math.round(lambda + Math.sqrt(lambda) * random.nextGaussian()));
+        }
+        double limite = Math.exp(-lambda);
+        double producto = random.nextDouble();
+        int k = 0;
+        while (producto > limite) {
+            producto *= random.nextDouble();
+            k++;
+        }
+        return k;
+    }
+
+    public MatchmakingQueue getCola() {
+        return cola;
+    }
+}
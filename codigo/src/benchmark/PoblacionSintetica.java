@@ -0,0 +1,167 @@
+package benchmark;
+
+import models.Usuario;
+
+import java.util.Random;
+
+/**
+ * Población sintética de jugadores para pruebas de carga
+ *
+ * Distribuciones (aproximadas a una plataforma real de scrims):
+ * - Juego principal: Valorant 40%, LoL 35%, CS:GO 15%, Rocket League 10%
+ * - Región: SA 20%, NA 30%, EU 30%, AS 20% (cada una con su huso horario)
+ * - MMR: habilidad base normal (1200 ± 450) + ruido por juego, recortado a [0, 2800]
+ * - Rol: Zipf sobre los roles del juego (los primeros roles son los más pedidos)
+ * - Formato: según el juego (ej: Valorant 90% 5v5 / 10% 1v1)
+ *
+ * El id de cada Usuario es su índice en la población, así los datos auxiliares
+ * (juego, región) viven en arrays primitivos paralelos.
+ */
+public class PoblacionSintetica {
+
+    public static final String[] JUEGOS = {"Valorant", "League of Legends", "CS:GO", "Rocket League"};
+    private static final double[] PESO_JUEGOS = {0.40, 0.35, 0.15, 0.10};
+
+    public static final String[] REGIONES = {"SA", "NA", "EU", "AS"};
+    private static final double[] PESO_REGIONES = {0.20, 0.30, 0.30, 0.20};
+    private static final int[] HUSO_REGIONES = {-3, -5, 1, 8};
+
+    private static final String[][] ROLES = {
+        {"Duelist", "Controller", "Initiator", "Sentinel"},
+        {"Mid", "ADC", "Jungle", "Top", "Support"},
+        {"Entry Fragger", "AWPer", "Lurker", "Support", "IGL"},
+        {}                                                      // Rocket League: sin roles
+    };
+
+    private static final String[][] FORMATOS = {
+        {"5v5", "1v1"},
+        {"5v5"},
+        {"5v5", "2v2", "1v1"},
+        {"3v3", "2v2", "1v1"}
+    };
+    private static final double[][] PESO_FORMATOS = {
+        {0.90, 0.10},
+        {1.0},
+        {0.80, 0.15, 0.05},
+        {0.60, 0.30, 0.10}
+    };
+
+    private static final int MMR_MEDIA = 1200;
+    private static final int MMR_DESVIO = 450;
+    private static final int MMR_RUIDO_JUEGO = 150;
+    private static final int MMR_MAXIMO = 2800;
+
+    private final Usuario[] usuarios;
+    private final byte[] juego;
+    private final byte[] region;
+
+    /**
+     * Genera 'cantidad' usuarios de forma determinista a partir de la semilla
+     */
+    public PoblacionSintetica(int cantidad, long semilla) {
+        Random random = new Random(semilla);
+        usuarios = new Usuario[cantidad];
+        juego = new byte[cantidad];
+        region = new byte[cantidad];
+
+        for (int i = 0; i < cantidad; i++) {
+            int j = elegir(PESO_JUEGOS, random);
+            int r = elegir(PESO_REGIONES, random);
+            Usuario u = new Usuario(i, "player" + i, "player" + i + "@load.escrims");
+            u.setRegion(REGIONES[r]);
+            u.setJuegoPrincipal(JUEGOS[j]);
+
+            // Habilidad compartida entre juegos + ruido por juego
+            double habilidad = MMR_MEDIA + random.nextGaussian() * MMR_DESVIO;
+            for (String otro : JUEGOS) {
+                int mmr = (int) Math.round(habilidad + random.nextGaussian() * MMR_RUIDO_JUEGO);
+                u.getRangoPorJuego().put(otro, Math.max(0, Math.min(MMR_MAXIMO, mmr)));
+            }
+
+            String[] roles = ROLES[j];
+            if (roles.length > 0) {
+                u.agregarRolPreferido(roles[zipf(roles.length, random)]);
+            }
+
+            usuarios[i] = u;
+            juego[i] = (byte) j;
+            region[i] = (byte) r;
+        }
+    }
+
+    // ============================================
+    // MUESTREO POR LLEGADA
+    // ============================================
+
+    /**
+     * Formato con el que el jugador entra a la cola en esta llegada
+     */
+    public String elegirFormato(int indice, Random random) {
+        int j = juego[indice];
+        return FORMATOS[j][elegir(PESO_FORMATOS[j], random)];
+    }
+
+    /**
+     * Rol pedido en esta llegada: casi siempre su preferido, a veces otro (Zipf)
+     */
+    public String elegirRol(int indice, Random random) {
+        String[] roles = ROLES[juego[indice]];
+        if (roles.length == 0) {
+            return null;
+        }
+        if (random.nextInt(10) < 8 && !usuarios[indice].getRolesPreferidos().isEmpty()) {
+            return usuarios[indice].getRolesPreferidos().get(0);
+        }
+        return roles[zipf(roles.length, random)];
+    }
+
+    /**
+     * Actividad relativa (0-1) de la región del jugador a la hora UTC dada:
+     * mínimo de madrugada, pico a las 21 hs locales
+     */
+    public double actividad(int indice, double horaUtc) {
+        double horaLocal = ((horaUtc + HUSO_REGIONES[region[indice]]) % 24 + 24) % 24;
+        return 0.55 + 0.45 * Math.cos((horaLocal - 21) / 24 * 2 * Math.PI);
+    }
+
+    // ============================================
+    // ACCESO
+    // ============================================
+
+    public Usuario getUsuario(int indice) {
+        return usuarios[indice];
+    }
+
+    public String getJuego(int indice) {
+        return JUEGOS[juego[indice]];
+    }
+
+    public int tamanio() {
+        return usuarios.length;
+    }
+
+    // ============================================
+    // DISTRIBUCIONES
+    // ============================================
+
+    private static int elegir(double[] pesos, Random random) {
+        double x = random.nextDouble();
+        for (int i = 0; i < pesos.length - 1; i++) {
+            x -= pesos[i];
+            if (x < 0) return i;
+        }
+        return pesos.length - 1;
+    }
+
+    // P(k) ∝ 1 / (k + 1)
+    private static int zipf(int n, Random random) {
+        double total = 0;
+        for (int k = 0; k < n; k++) total += 1.0 / (k + 1);
+        double x = random.nextDouble() * total;
+        for (int k = 0; k < n - 1; k++) {
+            x -= 1.0 / (k + 1);
+            if (x < 0) return k;
+        }
+        return n - 1;
+    }
+}
@@ -12,7 +12,11 @@ import commands.*;
 
 import java.util.List;
 import java.util.ArrayList;
+import java.util.Map;
 import java.util.Random;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
 
 /**
  * CAPA CONTROLLER (MVC) - Gestión de Matchmaking
@@ -32,6 +36,14 @@ public class MatchmakingController {
     private MenuView menuView;
     private GameView gameView;
     private ScrimController scrimController;
+    private MotorScrims motor;
+    private CoordinadorConfirmaciones coordinador;
+    private RatingService ratings;
+    private MatchHistoryService historial;
+    private final MatchmakingQueue cola;              // Cola compartida: lobbies al motor y espera estimada
+    private final MatchmakingService matchmakingService;
+    private final Map<String, PoolCandidatos> pools = new ConcurrentHashMap<>();
+    private final AtomicInteger proximoIdBot = new AtomicInteger(100);   // Ids únicos: el pool es compartido
 
     public MatchmakingController(ConsoleView consoleView, MenuView menuView,
                                 GameView gameView, ScrimController scrimController) {
@@ -39,6 +51,18 @@ public class MatchmakingController {
         this.menuView = menuView;
         this.gameView = gameView;
         this.scrimController = scrimController;
+        this.motor = new MotorScrims(menuView::getRolesDisponibles);
+        this.motor.agregarObserver(new ConsoleScrimObserver(consoleView, gameView));
+        this.coordinador = new CoordinadorConfirmaciones(motor);
+        this.ratings = new RatingService();
+        this.motor.agregarObserver(ratings);
+        this.ratings.iniciar(RatingService.PERIODO_DEFAULT_MS);   // Glicko-2 por períodos, no por partida
+        this.historial = new MatchHistoryService();
+        this.motor.agregarObserver(historial);
+        this.cola = new MatchmakingQueue(new ByMMRStrategy());
+        this.motor.conectar(cola);                                  // Sus lobbies pasan al motor
+        this.cola.iniciar();
+        this.matchmakingService = new MatchmakingService(new ByMMRStrategy(true), cola);
     }
 
     // ============================================
@@ -72,9 +96,9 @@ public class MatchmakingController {
         }
         
         // NUEVO: Usar formato específico del juego
-        String formato = models.JuegoConfig.getFormatoDefault(juegoSeleccionado);
+        String formato = JuegoConfig.getFormatoDefault(juegoSeleccionado);
         consoleView.mostrarInfo("Formato: " + formato + " (" + 
-            models.JuegoConfig.getJugadoresTotales(formato) + " jugadores)");
+            JuegoConfig.getJugadoresTotales(formato) + " jugadores)");
 
         // Configurar rango
         int rangoUsuario = userController.configurarRango(usuario, juegoSeleccionado);
@@ -109,11 +133,23 @@ public class MatchmakingController {
         gameView.mostrarInicioMatchmaking(juegoSeleccionado, rolSeleccionado, rangoUsuario,
                                          scrim.getRangoMin(), scrim.getRangoMax());
 
-        // Buscar jugadores con estrategia MMR
-        List<Usuario> jugadoresEncontrados = buscarJugadoresConMMR(usuario, scrim, juegoSeleccionado, rolSeleccionado);
+        // NUEVO: Espera estimada por la cola de matchmaking (llegadas y emparejamientos reales)
+        mostrarEsperaEstimada(juegoSeleccionado, formato, usuario.getRegion(), rangoUsuario);
+
+        // El usuario espera en la cola compartida mientras se completa el lobby:
+        // su llegada alimenta la estimación de las próximas búsquedas
+        boolean enCola = encolarBusqueda(usuario, juegoSeleccionado, formato, rangoUsuario, rolSeleccionado);
+        List<Usuario> jugadoresEncontrados;
+        try {
+            // Buscar jugadores con estrategia MMR
+            jugadoresEncontrados = buscarJugadoresConMMR(usuario, scrim, juegoSeleccionado, rolSeleccionado);
+        } finally {
+            if (enCola) {
+                matchmakingService.cancelarBusqueda(usuario);
+            }
+        }
 
         // Ejecutar matchmaking
-        MatchmakingService matchmakingService = new MatchmakingService(new ByMMRStrategy());
         consoleView.mostrarInfo("Aplicando algoritmo de matchmaking por MMR...");
         matchmakingService.ejecutarEmparejamiento(scrim);
 
@@ -123,10 +159,26 @@ public class MatchmakingController {
         iniciarPartida(scrim, context, jugadoresEncontrados, usuario);
     }
 
+    /**
+     * Muestra la espera estimada que calcula la cola compartida (mediana reciente
+     * o, sin emparejamientos, por tasa de llegadas)
+     */
+    private void mostrarEsperaEstimada(String juego, String formato, String region, int mmr) {
+        long estimadoMs = cola.estimarEspera(juego, formato, region, mmr);
+        if (estimadoMs < 0) {
+            consoleView.mostrarInfo("⏱️ Tiempo estimado de espera: calculando (sin búsquedas recientes)");
+        } else if (estimadoMs < 60_000) {
+            consoleView.mostrarInfo("⏱️ Tiempo estimado de espera: ~" + Math.max(1, estimadoMs / 1000) + " s");
+        } else {
+            consoleView.mostrarInfo("⏱️ Tiempo estimado de espera: ~" + estimadoMs / 60_000 + " min");
+        }
+    }
+
     /**
      * Busca jugadores usando estrategia MMR
      * ACTUALIZADO: Usa el número correcto de jugadores según el formato
-     * NUEVO: Garantiza 1 de cada rol por equipo en LoL (5v5)
+     * NUEVO: Los roles finales por equipo los resuelve AsignadorRoles
+     * NUEVO: Los candidatos pasan por un PoolCandidatos concurrente y se reclaman de a N
      */
     private List<Usuario> buscarJugadoresConMMR(Usuario usuarioActual, Scrim scrim,
                                                 String juego, String rolUsuario) {
@@ -137,7 +189,7 @@ public class MatchmakingController {
         usuarioActual.setRol(rolUsuario);
 
         // Calcular cuántos jugadores faltan según el formato del juego
-        int jugadoresTotales = models.JuegoConfig.getJugadoresTotales(scrim.getFormato());
+        int jugadoresTotales = JuegoConfig.getJugadoresTotales(scrim.getFormato());
         int jugadoresFaltantes = jugadoresTotales - 1; // -1 porque ya agregamos al usuario actual
 
         Random random = new Random();
@@ -146,76 +198,79 @@ public class MatchmakingController {
 
         int rangoUsuario = usuarioActual.getRangoPorJuego().get(juego);
 
-        // Para LoL/Valorant 5v5: necesitamos asignar roles únicos por equipo
-        List<String> rolesEquipo1 = new ArrayList<>();
-        List<String> rolesEquipo2 = new ArrayList<>();
-        
-        // Agregar el rol del usuario al primer equipo
-        rolesEquipo1.add(rolUsuario);
-
+        // Los bots se suman al pool compartido del juego (como cualquier request concurrente)
+        PoolCandidatos pool = getPool(juego);
         for (int i = 0; i < jugadoresFaltantes; i++) {
             int rangoBot = rangoUsuario + random.nextInt(300) - 150;
             rangoBot = Math.max(scrim.getRangoMin(), Math.min(scrim.getRangoMax(), rangoBot));
 
-            Usuario bot = new Usuario(i + 100, nombresBot[i % nombresBot.length] + random.nextInt(100),
+            Usuario bot = new Usuario(proximoIdBot.getAndIncrement(), nombresBot[i % nombresBot.length] + random.nextInt(100),
                                      "bot" + (i+1) + "@escrims.com");
             bot.getRangoPorJuego().put(juego, rangoBot);
 
-            // Asignar rol según el juego y formato
-            String rolBot;
-            if (esJuegoConRolesUnicos(juego)) {
-                // Para LoL/Valorant: asignar roles únicos por equipo
-                int jugadoresEnEquipo1 = rolesEquipo1.size();
-                int jugadoresEnEquipo2 = rolesEquipo2.size();
-                int jugadoresPorEquipo = jugadoresTotales / 2;
-
-                if (jugadoresEnEquipo1 < jugadoresPorEquipo) {
-                    // Asignar al equipo 1
-                    rolBot = obtenerRolDisponible(rolesDisponibles, rolesEquipo1);
-                    rolesEquipo1.add(rolBot);
-                } else {
-                    // Asignar al equipo 2
-                    rolBot = obtenerRolDisponible(rolesDisponibles, rolesEquipo2);
-                    rolesEquipo2.add(rolBot);
-                }
-            } else {
-                // Para otros juegos: rol aleatorio
-                rolBot = rolesDisponibles[random.nextInt(rolesDisponibles.length)];
-            }
-            
-            bot.setRol(rolBot);
+            // Rol pedido + preferencias del bot (el asignador de roles resuelve conflictos por equipo)
+            String rolBot = AsignadorRoles.asignarPreferenciasBot(bot, rolesDisponibles, random);
+            pool.agregar(bot, rolBot);
+        }
 
+        // Reclamo atómico de los más cercanos al MMR del usuario dentro del rango del scrim
+        int ventana = Math.max(rangoUsuario - scrim.getRangoMin(), scrim.getRangoMax() - rangoUsuario);
+        List<Usuario> reclamados = pool.reclamarCercanos(rangoUsuario, ventana, jugadoresFaltantes);
+        for (Usuario bot : reclamados) {
             ScrimContext tempContext = new ScrimContext(scrim, scrim.getEstado());
-            tempContext.postular(bot, rolBot);
+            tempContext.postular(bot, bot.getRol());
 
             jugadores.add(bot);
 
-            gameView.mostrarJugadorEncontrado(bot.getUsername(), rangoBot, i + 2, jugadoresTotales);
+            gameView.mostrarJugadorEncontrado(bot.getUsername(), bot.getRangoParaJuego(juego),
+                                              jugadores.size(), jugadoresTotales);
         }
 
         return jugadores;
     }
 
     /**
-     * Verifica si el juego requiere roles únicos por equipo
+     * Pool de candidatos compartido del juego (uno por juego, creado a demanda)
      */
-    private boolean esJuegoConRolesUnicos(String juego) {
-        String juegoLower = juego.toLowerCase();
-        return juegoLower.contains("league") || juegoLower.contains("lol") || 
-               juegoLower.contains("valorant");
+    private PoolCandidatos getPool(String juego) {
+        return pools.computeIfAbsent(juego, PoolCandidatos::new);
     }
 
     /**
-     * Obtiene un rol disponible que no esté ya asignado en el equipo
+     * Registra la búsqueda en la cola compartida
+     *
+     * @return false si el usuario ya estaba en cola (no se vuelve a encolar)
      */
-    private String obtenerRolDisponible(String[] rolesDisponibles, List<String> rolesYaAsignados) {
-        for (String rol : rolesDisponibles) {
-            if (!rolesYaAsignados.contains(rol)) {
-                return rol;
-            }
+    private boolean encolarBusqueda(Usuario usuario, String juego, String formato, int mmr, String rol) {
+        try {
+            matchmakingService.encolar(usuario, juego, formato, usuario.getRegion(), mmr, rol);
+            return true;
+        } catch (IllegalStateException e) {
+            return false;
         }
-        // Si todos los roles están asignados, devolver el primero (fallback)
-        return rolesDisponibles[0];
+    }
+
+    /**
+     * Cola de matchmaking compartida: sus lobbies pasan al motor y su
+     * estimador da la espera que se muestra en juego rápido
+     */
+    public MatchmakingQueue getCola() {
+        return cola;
+    }
+
+    /**
+     * Motor del ciclo de vida de partidas (usable sin consola)
+     */
+    public MotorScrims getMotor() {
+        return motor;
+    }
+
+    /**
+     * Historial alimentado por las partidas finalizadas del motor
+     * (fuente para ByHistoryStrategy y ByWeightedScoreStrategy)
+     */
+    public MatchHistoryService getHistorial() {
+        return historial;
     }
 
     // ============================================
@@ -224,26 +279,31 @@ public class MatchmakingController {
 
     /**
      * Inicia y maneja el flujo completo de una partida
+     * REFACTORIZADO: El ciclo lobby → confirmación → juego → fin lo lleva MotorScrims;
+     * la consola solo aporta la confirmación del usuario real y el fin de partida
      */
     private void iniciarPartida(Scrim scrim, ScrimContext context,
                                List<Usuario> jugadores, Usuario usuarioActual) {
 
         gameView.mostrarInicioPartida();
 
-        // Formar equipos
-        Equipo[] equipos = formarEquipos(jugadores);
-        Equipo equipoAzul = equipos[0];
-        Equipo equipoRojo = equipos[1];
+        // Formar lobby: equipos balanceados, roles resueltos y confirmación abierta
+        // (reordena 'jugadores': azul primero, rojo después)
+        SesionScrim sesion = motor.formarLobby(scrim, context, jugadores);
+        if (sesion.isCancelada()) {
+            // Algún jugador estaba baneado
+            return;
+        }
 
         // Obtener roles
         List<String> rolesAsignados = obtenerRolesAsignados(jugadores);
 
-        // Generar estadísticas UNA SOLA VEZ (ANTES de transiciones)
-        List<Estadistica> estadisticas = generarEstadisticas(jugadores, scrim);
+        // Generar estadísticas UNA SOLA VEZ (se usan en terminal y en el email)
+        List<Estadistica> estadisticas = MotorScrims.generarEstadisticas(jugadores, scrim, new Random());
 
-        // PRIMERO: Transiciones de estado (incluye confirmación)
+        // PRIMERO: Confirmaciones y transiciones de estado
         // Si el usuario rechaza, la función retorna antes de mostrar los equipos
-        boolean partidaConfirmada = ejecutarTransicionesEstado(scrim, context, usuarioActual, jugadores, estadisticas);
+        boolean partidaConfirmada = ejecutarTransicionesEstado(sesion, usuarioActual, estadisticas);
         
         if (!partidaConfirmada) {
             // Usuario rechazó la confirmación - no continuar
@@ -252,33 +312,17 @@ public class MatchmakingController {
 
         // DESPUÉS de confirmar: Mostrar equipos formados
         consoleView.mostrarSubtitulo("FORMANDO EQUIPOS");
-        consoleView.mostrarEquipos(equipoAzul, equipoRojo, rolesAsignados, jugadores, usuarioActual);
+        consoleView.mostrarEquipos(sesion.getEquipoAzul(), sesion.getEquipoRojo(), rolesAsignados, jugadores, usuarioActual);
 
         // Mostrar estadísticas en terminal (MISMAS que se enviaron por email)
-        mostrarEstadisticasFinales(estadisticas, scrim, equipoAzul, equipoRojo, jugadores);
+        mostrarEstadisticasFinales(estadisticas, scrim, sesion.getEquipoAzul(), sesion.getEquipoRojo(), jugadores);
 
-        gameView.mostrarVolviendoMenu();
-    }
+        // El resultado queda en el período de rating en curso; el MMR se publica al cerrarlo
+        consoleView.mostrarInfo("📈 Resultado registrado: tu MMR en " + scrim.getJuego() +
+            " se actualiza al cierre del período de rating (cada " +
+            RatingService.PERIODO_DEFAULT_MS / 60_000 + " min)");
 
-    /**
-     * Forma dos equipos de forma equitativa
-     * ACTUALIZADO: Soporta diferentes formatos (5v5, 3v3, 2v2, 1v1)
-     */
-    private Equipo[] formarEquipos(List<Usuario> jugadores) {
-        Equipo equipoAzul = new Equipo("Team Azure");
-        Equipo equipoRojo = new Equipo("Team Crimson");
-
-        int mitad = jugadores.size() / 2;
-        
-        for (int i = 0; i < jugadores.size(); i++) {
-            if (i < mitad) {
-                equipoAzul.asignarJugador(jugadores.get(i));
-            } else {
-                equipoRojo.asignarJugador(jugadores.get(i));
-            }
-        }
-
-        return new Equipo[]{equipoAzul, equipoRojo};
+        gameView.mostrarVolviendoMenu();
     }
 
     /**
@@ -296,51 +340,28 @@ public class MatchmakingController {
      * Ejecuta las transiciones de estado de la partida
      * NUEVA LÓGICA: Confirmación manual con sistema de sanciones
      * NUEVO: Envía email con estadísticas al finalizar
-     * REFACTORIZADO: Recibe estadísticas ya generadas para evitar discrepancias
+     * REFACTORIZADO: Las transiciones las dispara MotorScrims con cada evento (sin delays)
      * @return true si la partida se confirmó y completó, false si fue cancelada
      */
-    private boolean ejecutarTransicionesEstado(Scrim scrim, ScrimContext context, 
-                                           Usuario usuarioReal, List<Usuario> todosJugadores,
-                                           List<Estadistica> estadisticas) {
-        consoleView.mostrarSubtitulo("INICIANDO PARTIDA...");
-
-        // Transición: Buscando → LobbyCompleto
-        consoleView.delay(1000);
-        context.cambiarEstado(new EstadoLobbyCompleto());
-        gameView.mostrarEstadoActual(scrim.getEstado().getClass().getSimpleName());
-
-        // NUEVA FASE: Confirmación Manual (solo usuario real)
-        consoleView.delay(1000);
-        boolean todosConfirmaron = procesarConfirmacionesJugadores(scrim, usuarioReal);
+    private boolean ejecutarTransicionesEstado(SesionScrim sesion, Usuario usuarioReal,
+                                               List<Estadistica> estadisticas) {
+        // LobbyCompleto → (confirmaciones) → Confirmado → EnJuego
+        boolean todosConfirmaron = procesarConfirmacionesJugadores(sesion, usuarioReal);
         
         if (!todosConfirmaron) {
-            // Usuario rechazó o está baneado
-            consoleView.mostrarError("❌ Partida cancelada");
-            // NO llamar a context.cancelar() para evitar envío masivo de emails
+            // Usuario rechazó: el motor canceló la partida sin envío masivo de emails
             // El email ya se envió solo al usuario que canceló
             return false;  // Retorna false para indicar cancelación
         }
 
-        // Transición: LobbyCompleto → Confirmado (solo si confirmó)
-        consoleView.delay(1000);
-        context.cambiarEstado(new EstadoConfirmado());
-        gameView.mostrarEstadoActual(scrim.getEstado().getClass().getSimpleName());
-
-        // Transición: Confirmado → EnJuego
-        consoleView.delay(1000);
-        context.cambiarEstado(new EstadoEnJuego());
-        consoleView.mostrarExito("¡Partida en curso! Estado: " + scrim.getEstado().getClass().getSimpleName());
-
         // Esperar finalización
         gameView.esperarFinalizacion();
 
         // Transición: EnJuego → Finalizado
-        context.cambiarEstado(new EstadoFinalizado());
-        gameView.mostrarFinPartida();
-        gameView.mostrarEstadoActual(scrim.getEstado().getClass().getSimpleName());
+        motor.finalizar(sesion, estadisticas);
         
         // NUEVO: Enviar email con estadísticas finales (MISMAS que se mostrarán en terminal)
-        enviarEmailEstadisticasFinales(scrim, usuarioReal, todosJugadores, estadisticas);
+        enviarEmailEstadisticasFinales(sesion.getScrim(), usuarioReal, sesion.getJugadores(), estadisticas);
         
         return true;  // Retorna true para indicar que la partida se completó
     }
@@ -350,77 +371,45 @@ public class MatchmakingController {
     // ============================================
 
     /**
-     * Procesa las confirmaciones manuales de todos los jugadores
+     * Procesa las confirmaciones de todos los jugadores
      * NUEVO: Solo pregunta al usuario real, los bots confirman automáticamente
-     * Si el usuario rechaza, es sancionado
+     * NUEVO: Las respuestas se juntan en CoordinadorConfirmaciones con plazo;
+     * el lobby se resuelve apenas todos confirman, alguien rechaza o vence el plazo
+     * Si el usuario rechaza o no responde a tiempo, es sancionado (lo aplica MotorScrims)
      * 
-     * @return true si todos confirmaron, false si usuario rechazó
+     * @return true si todos confirmaron, false si la partida se canceló
      */
-    private boolean procesarConfirmacionesJugadores(Scrim scrim, Usuario usuarioReal) {
-        consoleView.mostrarSubtitulo("⏰ FASE DE CONFIRMACIÓN");
-        consoleView.mostrarInfo("Debes confirmar tu participación en la partida");
-        
-        List<models.Postulacion> postulaciones = scrim.getPostulaciones();
-        
-        int confirmados = 0;
-        int total = postulaciones.size();
-        
-        for (models.Postulacion postulacion : postulaciones) {
-            Usuario jugador = postulacion.getUsuario();
-            
-            System.out.println("\n[" + (confirmados + 1) + "/" + total + "] " + jugador.getUsername());
-            
-            // Si el jugador ya está baneado, auto-rechazar
-            if (jugador.estaBaneado()) {
-                long minutosRestantes = jugador.getMinutosRestantesBan();
-                consoleView.mostrarError("❌ " + jugador.getUsername() + 
-                    " está baneado (quedan " + minutosRestantes + " minutos)");
-                
-                // Aplicar sanción al usuario real y cancelar
-                if (jugador.getId() == usuarioReal.getId()) {
-                    consoleView.mostrarError("⚠️ No puedes jugar mientras estés baneado");
-                }
-                return false;
-            }
-            
-            // NUEVO: Solo preguntar al usuario real
-            boolean confirma;
-            if (jugador.getId() == usuarioReal.getId()) {
-                // Usuario real - solicitar confirmación manual
-                confirma = consoleView.solicitarConfirmacion(
-                    "¿Confirmas tu participación? (s/n): "
-                );
-                
-                if (!confirma) {
-                    // Usuario rechazó - aplicar sanción
-                    consoleView.mostrarError("❌ Has rechazado la partida");
-                    usuarioReal.agregarSancion();
-                    
-                    System.out.println("\n⚠️ SANCIÓN APLICADA:");
-                    consoleView.mostrarError("🚫 Sancionado (" + usuarioReal.getSancionesActivas() + " sanciones totales)");
-                    consoleView.mostrarInfo("   Ban de " + usuarioReal.getMinutosRestantesBan() + " minutos");
-                    System.out.println("\n💡 Los demás jugadores vuelven a la cola de matchmaking");
-                    
-                    // ENVIAR EMAIL DE CANCELACIÓN SOLO AL USUARIO QUE RECHAZÓ
-                    enviarEmailCancelacion(usuarioReal, scrim);
-                    
-                    return false;
-                }
-            } else {
-                // Bot - confirma automáticamente
-                confirma = true;
-                consoleView.delay(200); // Pequeña pausa para simular
-            }
-            
-            if (confirma) {
-                confirmados++;
-                consoleView.mostrarExito("✅ " + jugador.getUsername() + " confirmó (" + confirmados + "/" + total + ")");
+    private boolean procesarConfirmacionesJugadores(SesionScrim sesion, Usuario usuarioReal) {
+        CompletableFuture<SesionScrim> resultado = coordinador.getResultado(sesion);
+
+        // Bots - confirman automáticamente sin esperar al usuario real
+        for (Usuario jugador : sesion.getJugadores()) {
+            if (jugador.getId() != usuarioReal.getId()) {
+                motor.confirmar(sesion, jugador, true);
             }
         }
-        
-        // Todos confirmaron
-        consoleView.mostrarExito("\n✅ ¡TODOS LOS JUGADORES CONFIRMARON! (" + confirmados + "/" + total + ")");
-        return true;
+
+        // Usuario real - solicitar confirmación manual (si tarda más que el plazo, el lobby expira)
+        consoleView.mostrarInfo("Tienes " + coordinador.getPlazoMs() / 1000 + " segundos para confirmar");
+        boolean confirma = consoleView.solicitarConfirmacion("¿Confirmas tu participación? (s/n): ");
+        motor.confirmar(sesion, usuarioReal, confirma);
+
+        SesionScrim resuelta = resultado.join();
+        if (!resuelta.isCancelada()) {
+            return true;
+        }
+
+        if (resuelta.getResponsableCancelacion() != null
+                && resuelta.getResponsableCancelacion().getId() == usuarioReal.getId()) {
+            System.out.println("\n⚠️ SANCIÓN APLICADA:");
+            consoleView.mostrarError("🚫 Sancionado (" + usuarioReal.getSancionesActivas() + " sanciones totales)");
+            consoleView.mostrarInfo("   Ban de " + usuarioReal.getMinutosRestantesBan() + " minutos");
+            System.out.println("\n💡 Los demás jugadores vuelven a la cola de matchmaking");
+
+            // ENVIAR EMAIL DE CANCELACIÓN SOLO AL USUARIO QUE RECHAZÓ
+            enviarEmailCancelacion(usuarioReal, resuelta.getScrim());
+        }
+        return false;
     }
 
     /**
@@ -571,8 +560,8 @@ public class MatchmakingController {
         mensaje.append("¡Nos vemos en la próxima partida! 🎮");
         
         // Crear y enviar notificación por email
-        models.Notificacion notificacion = new models.Notificacion(
-            models.Notificacion.TipoNotificacion.FINALIZADO,
+        Notificacion notificacion = new Notificacion(
+            Notificacion.TipoNotificacion.FINALIZADO,
             mensaje.toString(),
             usuarioReal
         );
@@ -588,27 +577,6 @@ public class MatchmakingController {
     // ESTADÍSTICAS
     // ============================================
 
-    /**
-     * Genera estadísticas aleatorias para todos los jugadores
-     * IMPORTANTE: Solo se genera UNA VEZ para evitar discrepancias entre terminal y email
-     */
-    private List<Estadistica> generarEstadisticas(List<Usuario> jugadores, Scrim scrim) {
-        Random random = new Random();
-        List<Estadistica> estadisticas = new ArrayList<>();
-
-        // Generar estadísticas para cada jugador
-        for (Usuario jugador : jugadores) {
-            int kills = 5 + random.nextInt(18);
-            int deaths = 8 + random.nextInt(12);
-            int assists = 3 + random.nextInt(15);
-
-            Estadistica stat = new Estadistica(jugador, scrim, kills, deaths, assists);
-            estadisticas.add(stat);
-        }
-
-        return estadisticas;
-    }
-
     /**
      * Muestra estadísticas finales en terminal
      * REFACTORIZADO: Recibe las estadísticas ya generadas
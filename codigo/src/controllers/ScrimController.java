@@ -3,12 +3,17 @@ package controllers;
 import models.*;
 import states.*;
 import views.*;
+import service.AsignadorRoles;
+import service.BalanceadorEquipos;
+import service.NotificationService;
 import service.SalaManager;
 import service.ScrimSearchService;
 import context.ScrimContext;
 
 import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Random;
 
 /**
@@ -29,13 +34,16 @@ public class ScrimController {
     private GameView gameView;
     private SalaManager salaManager;
     private ScrimSearchService searchService;
+    private BalanceadorEquipos balanceador;
+    private final Map<String, AsignadorRoles> asignadores = new HashMap<>();   // Uno por juego
 
     public ScrimController(ConsoleView consoleView, MenuView menuView, GameView gameView) {
         this.consoleView = consoleView;
         this.menuView = menuView;
         this.gameView = gameView;
         this.salaManager = SalaManager.getInstance();
-        this.searchService = new ScrimSearchService();
+        this.searchService = new ScrimSearchService(new NotificationService());   // Avisos a búsquedas guardadas
+        this.balanceador = new BalanceadorEquipos();
     }
 
     // ============================================
@@ -62,6 +70,9 @@ public class ScrimController {
 
         gameView.mostrarSalaCreada(scrim);
 
+        // Encontrable por buscarScrims; avisa a las búsquedas guardadas que coinciden
+        searchService.registrarScrim(scrim);
+
         return scrim;
     }
 
@@ -91,6 +102,14 @@ public class ScrimController {
         return searchService.buscarScrims(juego, formato, rangoMin, rangoMax, region);
     }
 
+    /**
+     * Guarda una búsqueda del usuario: cada scrim nuevo que la cumpla se le notifica
+     * (null en un filtro acepta cualquier valor)
+     */
+    public BusquedaGuardada guardarBusqueda(Usuario usuario, String juego, String formato, String region) {
+        return searchService.suscribir(usuario, juego, formato, region);
+    }
+
     /**
      * Busca scrims por juego desde SalaManager
      */
@@ -191,7 +210,7 @@ public class ScrimController {
 
     /**
      * Simula jugadores uniéndose a un scrim
-     * ACTUALIZADO: Asigna roles únicos por equipo para LoL/Valorant
+     * ACTUALIZADO: Los roles finales por equipo los resuelve AsignadorRoles
      */
     private void simularJugadoresUniendo(ScrimContext context, Scrim scrim, String juego, int cantidad) {
         gameView.mostrarOtrosUniendose();
@@ -200,22 +219,6 @@ public class ScrimController {
         String[] nombresBot = {"Alpha", "Beta", "Gamma", "Delta", "Epsilon", "Zeta", "Eta", "Theta", "Omega"};
         String[] rolesDisponibles = menuView.getRolesDisponibles(juego);
 
-        // Para LoL/Valorant: rastrear roles únicos por equipo
-        List<String> rolesEquipo1 = new ArrayList<>();
-        List<String> rolesEquipo2 = new ArrayList<>();
-        
-        // El usuario ya está en postulaciones, obtener su rol para el primer equipo
-        List<models.Postulacion> postulacionesActuales = scrim.getPostulaciones();
-        if (!postulacionesActuales.isEmpty()) {
-            Usuario usuarioPrimero = postulacionesActuales.get(0).getUsuario();
-            if (usuarioPrimero.getRol() != null) {
-                rolesEquipo1.add(usuarioPrimero.getRol());
-            }
-        }
-
-        int jugadoresTotales = scrim.getCuposMaximos();
-        int jugadoresPorEquipo = jugadoresTotales / 2;
-
         for (int i = 0; i < cantidad && i < nombresBot.length; i++) {
             consoleView.delay(600);
 
@@ -226,56 +229,14 @@ public class ScrimController {
                                      "bot" + (i+1) + "@escrims.com");
             bot.getRangoPorJuego().put(juego, rangoBot);
 
-            // Asignar rol según el juego
-            String rolBot;
-            if (esJuegoConRolesUnicos(juego)) {
-                // Para LoL/Valorant: asignar roles únicos por equipo
-                int jugadoresEnEquipo1 = rolesEquipo1.size();
-                int jugadoresEnEquipo2 = rolesEquipo2.size();
-
-                if (jugadoresEnEquipo1 < jugadoresPorEquipo) {
-                    // Asignar al equipo 1
-                    rolBot = obtenerRolDisponible(rolesDisponibles, rolesEquipo1);
-                    rolesEquipo1.add(rolBot);
-                } else {
-                    // Asignar al equipo 2
-                    rolBot = obtenerRolDisponible(rolesDisponibles, rolesEquipo2);
-                    rolesEquipo2.add(rolBot);
-                }
-            } else {
-                // Para otros juegos: rol aleatorio
-                rolBot = rolesDisponibles[random.nextInt(rolesDisponibles.length)];
-            }
-
-            bot.setRol(rolBot);
+            // Rol pedido + preferencias del bot (el asignador de roles resuelve conflictos por equipo)
+            String rolBot = AsignadorRoles.asignarPreferenciasBot(bot, rolesDisponibles, random);
             context.postular(bot, rolBot);
 
             gameView.mostrarJugadorUnido(bot.getUsername(), rangoBot);
         }
     }
 
-    /**
-     * Verifica si el juego requiere roles únicos por equipo
-     */
-    private boolean esJuegoConRolesUnicos(String juego) {
-        String juegoLower = juego.toLowerCase();
-        return juegoLower.contains("league") || juegoLower.contains("lol") || 
-               juegoLower.contains("valorant");
-    }
-
-    /**
-     * Obtiene un rol disponible que no esté ya asignado en el equipo
-     */
-    private String obtenerRolDisponible(String[] rolesDisponibles, List<String> rolesYaAsignados) {
-        for (String rol : rolesDisponibles) {
-            if (!rolesYaAsignados.contains(rol)) {
-                return rol;
-            }
-        }
-        // Si todos los roles están asignados, devolver el primero (fallback)
-        return rolesDisponibles[0];
-    }
-
     /**
      * Ejecuta flujo de lobby completo → confirmado → en juego → finalizado
      * Incluye confirmaciones de jugadores y emails de notificación
@@ -318,9 +279,10 @@ public class ScrimController {
         // FORMAR Y MOSTRAR EQUIPOS (después de confirmación)
         consoleView.delay(1000);
         consoleView.mostrarSubtitulo("FORMANDO EQUIPOS");
-        Equipo[] equipos = formarEquipos(todosJugadores);
+        Equipo[] equipos = formarEquipos(todosJugadores, scrim);
         Equipo equipoAzul = equipos[0];
         Equipo equipoRojo = equipos[1];
+        asignarRoles(equipos, scrim);
         List<String> rolesAsignados = obtenerRolesAsignados(todosJugadores);
         consoleView.mostrarEquipos(equipoAzul, equipoRojo, rolesAsignados, todosJugadores, usuarioActual);
 
@@ -471,23 +433,26 @@ public class ScrimController {
     }
 
     /**
-     * Forma dos equipos de forma equitativa
+     * Forma dos equipos balanceados por MMR respetando roles únicos por equipo
+     * Reordena 'jugadores' (azul primero, rojo después) para que el marcador
+     * siga asociando equipo por índice.
      */
-    private Equipo[] formarEquipos(List<Usuario> jugadores) {
-        Equipo equipoAzul = new Equipo("Team Azure");
-        Equipo equipoRojo = new Equipo("Team Crimson");
+    private Equipo[] formarEquipos(List<Usuario> jugadores, Scrim scrim) {
+        String juego = scrim.getJuego();
+        return balanceador.formarEquipos(jugadores, juego, AsignadorRoles.esJuegoConRolesUnicos(juego));
+    }
 
-        int mitad = jugadores.size() / 2;
-        
-        for (int i = 0; i < jugadores.size(); i++) {
-            if (i < mitad) {
-                equipoAzul.asignarJugador(jugadores.get(i));
-            } else {
-                equipoRojo.asignarJugador(jugadores.get(i));
-            }
+    /**
+     * Resuelve los roles de cada equipo maximizando preferencias cumplidas
+     * (solo juegos con roles únicos; en el resto se respeta el rol elegido)
+     */
+    private void asignarRoles(Equipo[] equipos, Scrim scrim) {
+        if (!AsignadorRoles.esJuegoConRolesUnicos(scrim.getJuego())) return;
+        AsignadorRoles asignador = asignadores.computeIfAbsent(scrim.getJuego(),
+            juego -> new AsignadorRoles(menuView.getRolesDisponibles(juego)));
+        for (Equipo equipo : equipos) {
+            asignador.asignar(equipo, scrim);
         }
-
-        return new Equipo[]{equipoAzul, equipoRojo};
     }
 
     /**
@@ -0,0 +1,27 @@
+package interfaces;
+
+import models.TicketMatchmaking;
+import java.util.function.Consumer;
+
+/**
+ * Fuente de jugadores para completar lobbies que perdieron a alguien
+ * en la fase de confirmación (implementada por MatchmakingQueue)
+ */
+public interface IBackfillSource {
+
+    /**
+     * Pide un reemplazo para el jugador del ticket: el más cercano en MMR
+     * dentro de [rangoMin, rangoMax] en su mismo bucket
+     *
+     * @param respuesta Recibe el ticket reclamado (ya fuera de la cola) o null si no hay nadie
+     */
+    void solicitarReemplazo(TicketMatchmaking saliente, int rangoMin, int rangoMax,
+                            Consumer<TicketMatchmaking> respuesta);
+
+    /**
+     * Devuelve un jugador a la cola conservando su hora de encolado original
+     *
+     * @return El ticket nuevo, o null si el jugador ya volvió a la cola por su cuenta
+     */
+    TicketMatchmaking reencolar(TicketMatchmaking original);
+}
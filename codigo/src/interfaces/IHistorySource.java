@@ -0,0 +1,17 @@
+package interfaces;
+
+import models.Usuario;
+
+/**
+ * Fuente de historial de comportamiento de un jugador
+ * La usan las estrategias que filtran o puntúan por historial.
+ */
+public interface IHistorySource {
+
+    int COMPATIBILIDAD_NEUTRA = 50;
+
+    /**
+     * @return Score de compatibilidad 0-100 (100 = historial impecable)
+     */
+    int getCompatibilidad(Usuario usuario);
+}
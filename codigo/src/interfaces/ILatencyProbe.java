@@ -0,0 +1,15 @@
+package interfaces;
+
+import models.Usuario;
+
+/**
+ * Sonda que mide el round-trip de un jugador hacia una región
+ * En producción la implementa el cliente/servidor de juego; en local se usa una simulación.
+ */
+public interface ILatencyProbe {
+
+    /**
+     * @return RTT medido en ms (o ILatencySource.SIN_DATOS si no se pudo medir)
+     */
+    int medir(Usuario usuario, String region);
+}
@@ -0,0 +1,17 @@
+package interfaces;
+
+import models.Usuario;
+
+/**
+ * Fuente de latencia (ping) de un jugador hacia una región
+ * La usan las estrategias que filtran o puntúan por latencia.
+ */
+public interface ILatencySource {
+
+    int SIN_DATOS = -1;
+
+    /**
+     * @return Ping en ms del jugador hacia los servidores de la región, o SIN_DATOS
+     */
+    int getLatencia(Usuario usuario, String region);
+}
@@ -0,0 +1,22 @@
+package interfaces;
+
+import models.Scrim;
+import models.TicketMatchmaking;
+import java.util.List;
+
+/**
+ * Observer de la cola de matchmaking
+ * Recibe cada lobby formado por el motor de colas
+ *
+ * @pattern Observer
+ */
+public interface ILobbyListener {
+
+    /**
+     * Se invoca una vez por lobby formado, desde el hilo del scheduler
+     *
+     * @param lobby Scrim creado con las postulaciones de los jugadores emparejados
+     * @param tickets Tickets que formaron el lobby (ya fuera de la cola)
+     */
+    void onLobbyFormado(Scrim lobby, List<TicketMatchmaking> tickets);
+}
@@ -3,7 +3,10 @@ package interfaces;
 
 import models.Scrim;
 import models.Usuario;
+import java.util.ArrayList;
+import java.util.IdentityHashMap;
 import java.util.List;
+import java.util.Map;
 
 /**
  * Interface Strategy para algoritmos de matchmaking
@@ -24,6 +27,59 @@ public interface IMatchMakingStrategy {
 	 */
 	List<Usuario> seleccionar(List<Usuario> candidatos, Scrim scrim);
 
+	/**
+	 * Selecciona entre candidatos cuyo MMR lo fija quien llama (por ejemplo,
+	 * el MMR con que cada ticket entró a la cola) en lugar del de su perfil
+	 *
+	 * La implementación por defecto ignora 'mmrs', llama a seleccionar() y
+	 * traduce los elegidos a posiciones por identidad en una pasada.
+	 * Las estrategias que filtran por MMR deben usar 'mmrs'.
+	 *
+	 * @param candidatos Lista de usuarios candidatos
+	 * @param mmrs MMR de cada candidato, alineado con 'candidatos'
+	 * @param scrim Scrim con los requisitos
+	 * @return Posiciones en 'candidatos' de los elegidos, en orden de preferencia
+	 */
+	default int[] seleccionarPosiciones(List<Usuario> candidatos, int[] mmrs, Scrim scrim) {
+		Map<Usuario, Integer> posiciones = new IdentityHashMap<>(candidatos.size());
+		for (int i = 0; i < candidatos.size(); i++) {
+			posiciones.putIfAbsent(candidatos.get(i), i);
+		}
+		List<Usuario> elegidos = seleccionar(candidatos, scrim);
+		int[] resultado = new int[elegidos.size()];
+		for (int i = 0; i < resultado.length; i++) {
+			resultado[i] = posiciones.get(elegidos.get(i));
+		}
+		return resultado;
+	}
+
+	/**
+	 * Reparte un mismo pool de candidatos entre varios scrims abiertos
+	 * Ningún candidato queda asignado a dos scrims. Cada scrim recibe como máximo
+	 * sus cupos libres (cuposMaximos - postulaciones actuales).
+	 *
+	 * La implementación por defecto llama a seleccionar() una vez por scrim
+	 * (K recorridos del pool); las estrategias pueden resolverlo en una pasada.
+	 *
+	 * @param candidatos Pool compartido de candidatos
+	 * @param scrims Scrims abiertos, en orden de prioridad
+	 * @return Lista alineada con 'scrims': jugadores asignados a cada uno
+	 */
+	default List<List<Usuario>> seleccionarLote(List<Usuario> candidatos, List<Scrim> scrims) {
+		List<Usuario> libres = new ArrayList<>(candidatos);
+		List<List<Usuario>> asignaciones = new ArrayList<>(scrims.size());
+		for (Scrim scrim : scrims) {
+			int cuposLibres = Math.max(0, scrim.getCuposMaximos() - scrim.getPostulaciones().size());
+			List<Usuario> elegidos = new ArrayList<>(seleccionar(libres, scrim));
+			if (elegidos.size() > cuposLibres) {
+				elegidos = new ArrayList<>(elegidos.subList(0, cuposLibres));
+			}
+			libres.removeAll(elegidos);
+			asignaciones.add(elegidos);
+		}
+		return asignaciones;
+	}
+
 	/**
 	 * @deprecated Use seleccionar() instead
 	 * Mantenido para backward compatibility con código existente
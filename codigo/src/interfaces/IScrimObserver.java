@@ -0,0 +1,51 @@
+package interfaces;
+
+import models.SesionScrim;
+import models.Usuario;
+
+/**
+ * Observer del ciclo de vida de una partida (MotorScrims)
+ *
+ * Todos los eventos tienen implementación vacía: cada observer escucha solo
+ * lo que necesita. Se invocan desde el hilo que produjo el evento, ya fuera
+ * del lock de la sesión y en el orden en que ocurrieron, así que un observer
+ * compartido entre partidas debe ser thread-safe.
+ *
+ * @pattern Observer
+ */
+public interface IScrimObserver {
+
+    /**
+     * Lobby formado: equipos balanceados, roles resueltos y confirmaciones pendientes
+     */
+    default void onLobbyCompleto(SesionScrim sesion) {}
+
+    /**
+     * Un jugador respondió la confirmación
+     */
+    default void onConfirmacion(SesionScrim sesion, Usuario jugador, boolean acepta) {}
+
+    /**
+     * El scrim pasó de un estado a otro (nombres simples de las clases de estado)
+     */
+    default void onEstadoCambiado(SesionScrim sesion, String estadoAnterior, String estadoNuevo) {}
+
+    /**
+     * Un jugador de la cola ocupó el lugar de quien rechazó o no respondió
+     * (mismo equipo y rol; su confirmación queda pendiente)
+     */
+    default void onJugadorReemplazado(SesionScrim sesion, Usuario saliente, Usuario entrante) {}
+
+    /**
+     * La partida se canceló antes de empezar
+     *
+     * @param responsable Jugador que rechazó o no podía jugar
+     * @param motivo Descripción corta (ej: "rechazó la partida", "está baneado")
+     */
+    default void onPartidaCancelada(SesionScrim sesion, Usuario responsable, String motivo) {}
+
+    /**
+     * La partida terminó y tiene sus estadísticas cargadas
+     */
+    default void onPartidaFinalizada(SesionScrim sesion) {}
+}
@@ -0,0 +1,52 @@
+package models;
+
+import java.util.UUID;
+
+/**
+ * Clase BusquedaGuardada - Búsqueda favorita de un usuario como suscripción
+ *
+ * Queda registrada en ScrimSearchService y se evalúa contra cada scrim nuevo:
+ * si el scrim coincide, el usuario recibe una notificación SCRIM_CREADO sin
+ * tener que volver a buscar. Un filtro null acepta cualquier valor.
+ */
+public class BusquedaGuardada {
+
+    private final UUID id;
+    private final Usuario usuario;
+    private final String juego;
+    private final String formato;
+    private final String region;
+
+    public BusquedaGuardada(Usuario usuario, String juego, String formato, String region) {
+        this.id = UUID.randomUUID();
+        this.usuario = usuario;
+        this.juego = juego;
+        this.formato = formato;
+        this.region = region;
+    }
+
+    /**
+     * Indica si el scrim cumple los tres filtros (sin distinguir mayúsculas)
+     */
+    public boolean coincide(Scrim scrim) {
+        return (juego == null || juego.equalsIgnoreCase(scrim.getJuego()))
+            && (formato == null || formato.equalsIgnoreCase(scrim.getFormato()))
+            && (region == null || region.equalsIgnoreCase(scrim.getRegion()));
+    }
+
+    // Getters
+    public UUID getId() { return id; }
+    public Usuario getUsuario() { return usuario; }
+    public String getJuego() { return juego; }
+    public String getFormato() { return formato; }
+    public String getRegion() { return region; }
+
+    @Override
+    public String toString() {
+        return String.format("BusquedaGuardada[%s | juego:%s, formato:%s, region:%s]",
+            usuario.getUsername(),
+            juego != null ? juego : "*",
+            formato != null ? formato : "*",
+            region != null ? region : "*");
+    }
+}
@@ -0,0 +1,82 @@
+package models;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Clase Grupo - Premade de 2 a 5 jugadores que busca partida como una unidad
+ *
+ * El grupo entra a la cola con un único ticket y siempre juega en el mismo
+ * equipo. Su MMR agregado es el promedio de los MMR de sus miembros en el juego.
+ */
+public class Grupo {
+
+    public static final int MIN_MIEMBROS = 2;
+    public static final int MAX_MIEMBROS = 5;
+
+    private final UUID id;
+    private final Usuario lider;
+    private final List<Usuario> miembros;
+
+    public Grupo(Usuario lider) {
+        this.id = UUID.randomUUID();
+        this.lider = lider;
+        this.miembros = new ArrayList<>();
+        this.miembros.add(lider);
+    }
+
+    /**
+     * @throws IllegalStateException si el grupo ya tiene MAX_MIEMBROS
+     */
+    public void agregarMiembro(Usuario usuario) {
+        if (miembros.size() == MAX_MIEMBROS) {
+            throw new IllegalStateException("El grupo ya tiene " + MAX_MIEMBROS + " miembros");
+        }
+        if (!miembros.contains(usuario)) {
+            miembros.add(usuario);
+        }
+    }
+
+    public boolean quitarMiembro(Usuario usuario) {
+        return usuario != lider && miembros.remove(usuario);
+    }
+
+    /**
+     * MMR agregado del grupo en el juego (promedio de sus miembros)
+     */
+    public int getMMR(String juego) {
+        long suma = 0;
+        for (Usuario miembro : miembros) {
+            suma += miembro.getRangoParaJuego(juego);
+        }
+        return (int) Math.round((double) suma / miembros.size());
+    }
+
+    public boolean isCompleto() {
+        return miembros.size() >= MIN_MIEMBROS;
+    }
+
+    // Getters
+    public UUID getId() {
+        return id;
+    }
+
+    public Usuario getLider() {
+        return lider;
+    }
+
+    public List<Usuario> getMiembros() {
+        return Collections.unmodifiableList(miembros);
+    }
+
+    public int getTamanio() {
+        return miembros.size();
+    }
+
+    @Override
+    public String toString() {
+        return "Grupo[" + lider.getUsername() + " +" + (miembros.size() - 1) + "]";
+    }
+}
@@ -0,0 +1,38 @@
+package models;
+
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Clase Pagina - Una página de resultados con cursor para pedir la siguiente
+ *
+ * El cursor es opaco para el cliente: se devuelve tal cual en la próxima
+ * consulta. Marca la posición después del último elemento entregado, así
+ * las altas y bajas entre página y página no repiten ni saltean los
+ * elementos que siguen presentes. Un cursor null indica que no hay más.
+ */
+public class Pagina<T> {
+
+    private final List<T> elementos;
+    private final String siguienteCursor;
+
+    public Pagina(List<T> elementos, String siguienteCursor) {
+        this.elementos = Collections.unmodifiableList(elementos);
+        this.siguienteCursor = siguienteCursor;
+    }
+
+    public boolean hayMas() {
+        return siguienteCursor != null;
+    }
+
+    // Getters
+    public List<T> getElementos() { return elementos; }
+    public String getSiguienteCursor() { return siguienteCursor; }
+    public int getTamanio() { return elementos.size(); }
+
+    @Override
+    public String toString() {
+        return String.format("Pagina[%d elementos, siguiente: %s]",
+            elementos.size(), siguienteCursor != null ? siguienteCursor : "-");
+    }
+}
@@ -158,19 +158,37 @@ public class Scrim {
         return true;
     }
     
+    // Rangos de League of Legends de menor a mayor y MMR desde el que empieza cada uno
+    private static final String[] RANGOS = {"Iron", "Bronze", "Silver", "Gold", "Platinum",
+                                            "Diamond", "Master", "Grandmaster", "Challenger"};
+    private static final int[] MMR_MINIMO_RANGO = {Integer.MIN_VALUE, 100, 400, 800, 1200,
+                                                   1600, 2000, 2200, 2400};
+
     /**
      * Convierte MMR numérico a rango de League of Legends (simplificado)
      */
     private String convertirMMRaRango(int mmr) {
-        if (mmr >= 2400) return "Challenger";
-        if (mmr >= 2200) return "Grandmaster";
-        if (mmr >= 2000) return "Master";
-        if (mmr >= 1600) return "Diamond";
-        if (mmr >= 1200) return "Platinum";
-        if (mmr >= 800) return "Gold";
-        if (mmr >= 400) return "Silver";
-        if (mmr >= 100) return "Bronze";
-        return "Iron";
+        int indice = RANGOS.length - 1;
+        while (mmr < MMR_MINIMO_RANGO[indice]) indice--;
+        return RANGOS[indice];
+    }
+
+    /**
+     * Posición del rango en el orden Iron → Challenger, o -1 si no existe
+     */
+    public static int indiceRango(String rango) {
+        for (int i = 0; i < RANGOS.length; i++) {
+            if (RANGOS[i].equalsIgnoreCase(rango)) return i;
+        }
+        return -1;
+    }
+
+    /**
+     * MMR desde el que empieza el rango en esa posición
+     * (Integer.MAX_VALUE pasado el último rango)
+     */
+    public static int mmrMinimoRango(int indice) {
+        return indice >= RANGOS.length ? Integer.MAX_VALUE : MMR_MINIMO_RANGO[indice];
     }
 
     /**
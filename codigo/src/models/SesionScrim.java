@@ -0,0 +1,221 @@
+package models;
+
+import context.ScrimContext;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Sesión de una partida dentro del MotorScrims
+ *
+ * Agrupa todo lo que el ciclo lobby → confirmación → juego → fin necesita:
+ * scrim y contexto de estado, jugadores (azul primero, rojo después), equipos,
+ * confirmaciones por jugador y estadísticas finales.
+ *
+ * Si el lobby salió de MatchmakingQueue guarda además el ticket de cada
+ * jugador (para reencolarlo con su espera original) y las vacantes abiertas
+ * por rechazos que esperan un reemplazo.
+ *
+ * El motor modifica la sesión bajo su propio lock; los getters de colecciones
+ * devuelven vistas de solo lectura.
+ */
+public class SesionScrim {
+
+    private final Scrim scrim;
+    private final ScrimContext context;
+    private final List<Usuario> jugadores;
+    private final Equipo[] equipos;
+    private final Map<Integer, Confirmacion> confirmaciones = new LinkedHashMap<>();
+    private int confirmados;
+    private List<Estadistica> estadisticas;
+    private Usuario responsableCancelacion;
+    private String motivoCancelacion;
+    private final Map<Integer, TicketMatchmaking> tickets = new HashMap<>();
+    private final List<Usuario> vacantes = new ArrayList<>();
+
+    public SesionScrim(Scrim scrim, ScrimContext context, List<Usuario> jugadores, Equipo[] equipos) {
+        this.scrim = scrim;
+        this.context = context;
+        this.jugadores = jugadores;
+        this.equipos = equipos;
+        for (Usuario jugador : jugadores) {
+            confirmaciones.put(jugador.getId(), new Confirmacion(jugador, scrim));
+        }
+    }
+
+    // ============================================
+    // CONFIRMACIONES
+    // ============================================
+
+    /**
+     * @return null si el usuario no es parte de la partida
+     */
+    public Confirmacion getConfirmacion(Usuario usuario) {
+        return confirmaciones.get(usuario.getId());
+    }
+
+    /**
+     * Registra la respuesta del jugador (confirma o rechaza)
+     *
+     * @return false si el jugador ya había respondido
+     * @throws IllegalArgumentException si el usuario no es parte de la partida
+     */
+    public boolean registrarRespuesta(Usuario usuario, boolean acepta) {
+        Confirmacion confirmacion = confirmaciones.get(usuario.getId());
+        if (confirmacion == null) {
+            throw new IllegalArgumentException(usuario.getUsername() + " no es parte de la partida");
+        }
+        if (!confirmacion.isPendiente()) {
+            return false;
+        }
+        if (acepta) {
+            confirmacion.confirmar();
+            confirmados++;
+        } else {
+            confirmacion.rechazar();
+        }
+        return true;
+    }
+
+    /**
+     * Jugadores que todavía no respondieron, en orden de lobby
+     */
+    public List<Usuario> getPendientes() {
+        List<Usuario> pendientes = new ArrayList<>();
+        for (Confirmacion confirmacion : confirmaciones.values()) {
+            if (confirmacion.isPendiente()) {
+                pendientes.add(confirmacion.getUsuario());
+            }
+        }
+        return pendientes;
+    }
+
+    public int getConfirmados() {
+        return confirmados;
+    }
+
+    public boolean todosConfirmaron() {
+        return confirmados == confirmaciones.size();
+    }
+
+    // ============================================
+    // TICKETS Y REEMPLAZOS
+    // ============================================
+
+    /**
+     * Asocia el ticket a cada uno de sus jugadores (todos los miembros si es de un grupo)
+     */
+    public void registrarTicket(TicketMatchmaking ticket) {
+        for (Usuario jugador : ticket.getJugadores()) {
+            tickets.put(jugador.getId(), ticket);
+        }
+    }
+
+    /**
+     * @return null si el jugador no entró por la cola de matchmaking
+     */
+    public TicketMatchmaking getTicket(Usuario usuario) {
+        return tickets.get(usuario.getId());
+    }
+
+    /**
+     * Marca el lugar del jugador como vacante a la espera de un reemplazo
+     */
+    public void abrirVacante(Usuario saliente) {
+        vacantes.add(saliente);
+    }
+
+    public List<Usuario> getVacantes() {
+        return Collections.unmodifiableList(vacantes);
+    }
+
+    /**
+     * Ocupa la vacante de 'saliente' con el jugador del ticket: mismo lugar en
+     * la lista (mismo equipo), mismo rol y una confirmación nueva pendiente
+     */
+    public void reemplazar(Usuario saliente, TicketMatchmaking ticket) {
+        Usuario entrante = ticket.getUsuario();
+        int indice = jugadores.indexOf(saliente);
+        if (indice < 0 || !vacantes.remove(saliente)) {
+            throw new IllegalArgumentException(saliente.getUsername() + " no tiene una vacante abierta");
+        }
+        jugadores.set(indice, entrante);
+        for (Equipo equipo : equipos) {
+            if (equipo.getJugadores().contains(saliente)) {
+                equipo.eliminarJugador(saliente);
+                equipo.asignarJugador(entrante);
+            }
+        }
+        List<Postulacion> postulaciones = scrim.getPostulaciones();
+        for (int i = 0; i < postulaciones.size(); i++) {
+            if (postulaciones.get(i).getUsuario() == saliente) {
+                postulaciones.set(i, new Postulacion(entrante, saliente.getRol()));
+            }
+        }
+        entrante.setRol(saliente.getRol());
+
+        confirmaciones.remove(saliente.getId());
+        confirmaciones.put(entrante.getId(), new Confirmacion(entrante, scrim));
+        tickets.remove(saliente.getId());
+        registrarTicket(ticket);
+    }
+
+    // ============================================
+    // ESTADO
+    // ============================================
+
+    public String getNombreEstado() {
+        return scrim.getEstado().getClass().getSimpleName();
+    }
+
+    public boolean isCancelada() {
+        return scrim.getEstado() instanceof states.EstadoCancelado;
+    }
+
+    /**
+     * Marca quién provocó la cancelación y por qué (lo usa el motor al cancelar)
+     */
+    public void registrarCancelacion(Usuario responsable, String motivo) {
+        this.responsableCancelacion = responsable;
+        this.motivoCancelacion = motivo;
+    }
+
+    /**
+     * @return null si la partida no se canceló
+     */
+    public Usuario getResponsableCancelacion() {
+        return responsableCancelacion;
+    }
+
+    public String getMotivoCancelacion() {
+        return motivoCancelacion;
+    }
+
+    public boolean isFinalizada() {
+        return scrim.getEstado() instanceof states.EstadoFinalizado;
+    }
+
+    // ============================================
+    // GETTERS
+    // ============================================
+
+    public Scrim getScrim() { return scrim; }
+    public ScrimContext getContext() { return context; }
+    public List<Usuario> getJugadores() { return Collections.unmodifiableList(jugadores); }
+    public Equipo getEquipoAzul() { return equipos[0]; }
+    public Equipo getEquipoRojo() { return equipos[1]; }
+    public Equipo[] getEquipos() { return equipos.clone(); }
+    public int getTotalJugadores() { return confirmaciones.size(); }
+
+    public List<Estadistica> getEstadisticas() {
+        return estadisticas != null ? Collections.unmodifiableList(estadisticas) : Collections.emptyList();
+    }
+
+    public void setEstadisticas(List<Estadistica> estadisticas) {
+        this.estadisticas = estadisticas;
+    }
+}
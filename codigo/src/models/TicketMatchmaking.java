@@ -0,0 +1,174 @@
+package models;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Ticket de la cola de matchmaking
+ *
+ * Representa a un jugador (o a un Grupo premade) esperando partida en un bucket
+ * (juego, formato, región). Guarda el MMR y el rol con los que se encoló para
+ * que el motor no tenga que volver a consultar el perfil del usuario en cada tick.
+ *
+ * El ticket de un grupo ocupa tantos cupos como miembros tiene, usa el MMR
+ * agregado del grupo y no tiene rol propio (cada miembro usa el de su perfil).
+ *
+ * @see service.MatchmakingQueue
+ */
+public class TicketMatchmaking {
+
+    // Enum para el ciclo de vida del ticket dentro de la cola
+    public enum EstadoTicket {
+        EN_COLA,
+        ASIGNADO,
+        CANCELADO
+    }
+
+    private final long id;
+    private final Usuario usuario;          // Jugador solo, o líder del grupo
+    private final Grupo grupo;              // null = jugador solo
+    private final List<Usuario> jugadores;  // Miembros al momento de encolar
+    private final String juego;
+    private final String formato;
+    private final String region;
+    private final int mmr;
+    private final String rol;
+    private final long encoladoEn;          // Timestamp (ms) de ingreso a la cola
+    private final AtomicReference<EstadoTicket> estado;
+
+    // Ventana de MMR aceptable (±) y agenda de expansión; los mantiene el motor
+    private volatile int ventanaMMR;
+    private long proximaExpansion = Long.MAX_VALUE;
+    private boolean pendienteEvaluacion;
+
+    public TicketMatchmaking(long id, Usuario usuario, String juego, String formato,
+                             String region, int mmr, String rol, long encoladoEn) {
+        this(id, usuario, null, juego, formato, region, mmr, rol, encoladoEn);
+    }
+
+    /**
+     * Ticket de un grupo premade
+     */
+    public TicketMatchmaking(long id, Grupo grupo, String juego, String formato,
+                             String region, int mmr, long encoladoEn) {
+        this(id, grupo.getLider(), grupo, juego, formato, region, mmr, null, encoladoEn);
+    }
+
+    private TicketMatchmaking(long id, Usuario usuario, Grupo grupo, String juego, String formato,
+                              String region, int mmr, String rol, long encoladoEn) {
+        this.id = id;
+        this.usuario = usuario;
+        this.grupo = grupo;
+        this.jugadores = grupo != null ? List.copyOf(grupo.getMiembros()) : Collections.singletonList(usuario);
+        this.juego = juego;
+        this.formato = formato;
+        this.region = region;
+        this.mmr = mmr;
+        this.rol = rol;
+        this.encoladoEn = encoladoEn;
+        this.estado = new AtomicReference<>(EstadoTicket.EN_COLA);
+    }
+
+    /**
+     * Clave del bucket al que pertenece el ticket: juego|formato|región
+     */
+    public String getClaveBucket() {
+        return claveBucket(juego, formato, region);
+    }
+
+    public static String claveBucket(String juego, String formato, String region) {
+        return juego + "|" + formato + "|" + region;
+    }
+
+    /**
+     * Milisegundos que lleva el ticket en la cola
+     */
+    public long getEspera(long ahora) {
+        return ahora - encoladoEn;
+    }
+
+    // Getters
+    public long getId() { return id; }
+    public Usuario getUsuario() { return usuario; }
+    public String getJuego() { return juego; }
+    public String getFormato() { return formato; }
+    public String getRegion() { return region; }
+    public int getMmr() { return mmr; }
+    public String getRol() { return rol; }
+    public long getEncoladoEn() { return encoladoEn; }
+    public Grupo getGrupo() { return grupo; }
+
+    public boolean isGrupo() {
+        return grupo != null;
+    }
+
+    /**
+     * Cupos que ocupa el ticket en un lobby
+     */
+    public int getTamanio() {
+        return jugadores.size();
+    }
+
+    /**
+     * Jugadores del ticket: los miembros del grupo al encolar, o solo el usuario
+     */
+    public List<Usuario> getJugadores() {
+        return jugadores;
+    }
+
+    public EstadoTicket getEstado() { return estado.get(); }
+
+    public int getVentanaMMR() { return ventanaMMR; }
+    public void setVentanaMMR(int ventanaMMR) { this.ventanaMMR = ventanaMMR; }
+
+    public long getProximaExpansion() { return proximaExpansion; }
+    public void setProximaExpansion(long proximaExpansion) { this.proximaExpansion = proximaExpansion; }
+
+    public boolean isPendienteEvaluacion() { return pendienteEvaluacion; }
+    public void setPendienteEvaluacion(boolean pendienteEvaluacion) { this.pendienteEvaluacion = pendienteEvaluacion; }
+
+    /**
+     * Indica si el ticket acepta jugar con alguien de este MMR
+     */
+    public boolean aceptaMMR(int otroMMR) {
+        return Math.abs(otroMMR - mmr) <= ventanaMMR;
+    }
+
+    public boolean isEnCola() {
+        return estado.get() == EstadoTicket.EN_COLA;
+    }
+
+    /**
+     * Reserva el ticket para un lobby. Solo un hilo puede ganar la reserva,
+     * así un jugador nunca queda asignado a dos lobbies ni cancelado a medias.
+     *
+     * @return true si el ticket estaba en cola y ahora quedó asignado
+     */
+    public boolean reclamar() {
+        return estado.compareAndSet(EstadoTicket.EN_COLA, EstadoTicket.ASIGNADO);
+    }
+
+    /**
+     * Devuelve a la cola un ticket reservado cuyo lobby no llegó a formarse
+     */
+    public void liberar() {
+        estado.compareAndSet(EstadoTicket.ASIGNADO, EstadoTicket.EN_COLA);
+    }
+
+    /**
+     * Saca el ticket de la cola por pedido del jugador
+     *
+     * @return true si el ticket seguía en cola
+     */
+    public boolean cancelar() {
+        return estado.compareAndSet(EstadoTicket.EN_COLA, EstadoTicket.CANCELADO);
+    }
+
+    @Override
+    public String toString() {
+        return String.format("Ticket[%d | %s | %s | MMR: %d ±%d | Rol: %s | %s]",
+            id, grupo != null ? grupo.toString() : usuario.getUsername(), getClaveBucket(),
+            mmr, ventanaMMR, rol, estado.get());
+    }
+}
@@ -1,6 +1,6 @@
 package models;
 
-import java.util.HashMap;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.Map;
 import java.util.List;
 import java.util.ArrayList;
@@ -36,7 +36,9 @@ public class Usuario {
     // PERFIL EDITABLE (RF1)
     // ============================================
     private String juegoPrincipal;              // ej: "Valorant", "League of Legends"
-    private Map<String, Integer> rangoPorJuego; // ej: {"Valorant": 1500, "LoL": 1200}
+    // ej: {"Valorant": 1500, "LoL": 1200}. Concurrente: RatingService publica
+    // desde su hilo de períodos mientras la cola y los requests lo leen
+    private volatile Map<String, Integer> rangoPorJuego;
     private List<String> rolesPreferidos;       // ej: ["Duelist", "Controller"]
     private String region;                      // ej: "SA", "NA", "EU"
     private String disponibilidadHoraria;       // ej: "18:00-23:00 UTC-3"
@@ -70,7 +72,7 @@ public class Usuario {
         this.estadoEmail = EstadoEmail.PENDIENTE; // Por defecto pendiente
 
         // Inicializar colecciones
-        this.rangoPorJuego = new HashMap<>();
+        this.rangoPorJuego = new ConcurrentHashMap<>();
         this.rolesPreferidos = new ArrayList<>();
         this.notificaciones = new ArrayList<>();
 
@@ -137,7 +139,9 @@ public class Usuario {
     public void setJuegoPrincipal(String juegoPrincipal) { this.juegoPrincipal = juegoPrincipal; }
 
     public Map<String, Integer> getRangoPorJuego() { return rangoPorJuego; }
-    public void setRangoPorJuego(Map<String, Integer> rangoPorJuego) { this.rangoPorJuego = rangoPorJuego; }
+    public void setRangoPorJuego(Map<String, Integer> rangoPorJuego) {
+        this.rangoPorJuego = new ConcurrentHashMap<>(rangoPorJuego);
+    }
 
     public List<String> getRolesPreferidos() { return rolesPreferidos; }
     public void setRolesPreferidos(List<String> rolesPreferidos) { this.rolesPreferidos = rolesPreferidos; }
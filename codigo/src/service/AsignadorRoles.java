@@ -0,0 +1,251 @@
+package service;
+
+import models.Equipo;
+import models.Postulacion;
+import models.Scrim;
+import models.Usuario;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Asignador de roles por equipo (método húngaro)
+ *
+ * Arma una matriz de costo jugador × rol y resuelve la asignación de costo mínimo:
+ * - Rol pedido en la postulación (Postulacion.getRolDeseado): costo 0
+ * - Rol en Usuario.getRolesPreferidos: costo 1
+ * - Cualquier otro rol: costo 3
+ *
+ * Si el equipo tiene más jugadores que roles (Valorant 5v5 tiene 4 roles) cada rol
+ * se ofrece varias veces y las copias extra suman una penalización, así solo se
+ * repite un rol cuando no queda otra opción.
+ *
+ * Las preferencias viajan como máscaras de bits (bit r = rol r) y todos los arreglos
+ * de trabajo se reservan en el constructor: resolver un 5v5 no reserva memoria.
+ * Una instancia no es thread-safe (una por hilo / controller).
+ */
+public class AsignadorRoles {
+
+    public static final int MAX_JUGADORES = 16;
+    public static final int MAX_ROLES = 16;
+
+    static final int COSTO_DESEADO = 0;
+    static final int COSTO_PREFERIDO = 1;
+    static final int COSTO_OTRO = 3;
+    static final int PENALIZACION_REPETIDO = 10;
+
+    private final String[] roles;
+
+    // Trabajo del método húngaro (índices desde 1, fila/columna 0 = ficticia)
+    private final int[][] costo;
+    private final int[] u;
+    private final int[] v;
+    private final int[] p;
+    private final int[] camino;
+    private final int[] minv;
+    private final boolean[] usada;
+
+    // Buffers de entrada/salida reutilizables
+    private final int[] deseados = new int[MAX_JUGADORES];
+    private final int[] preferidos = new int[MAX_JUGADORES];
+    private final int[] resultado = new int[MAX_JUGADORES];
+
+    public AsignadorRoles(String[] roles) {
+        if (roles.length == 0 || roles.length > MAX_ROLES) {
+            throw new IllegalArgumentException("Cantidad de roles inválida: " + roles.length);
+        }
+        this.roles = roles.clone();
+        int maxColumnas = MAX_JUGADORES + roles.length;    // roles × copias nunca supera esto
+        this.costo = new int[MAX_JUGADORES + 1][maxColumnas + 1];
+        this.u = new int[MAX_JUGADORES + 1];
+        this.v = new int[maxColumnas + 1];
+        this.p = new int[maxColumnas + 1];
+        this.camino = new int[maxColumnas + 1];
+        this.minv = new int[maxColumnas + 1];
+        this.usada = new boolean[maxColumnas + 1];
+    }
+
+    // ============================================
+    // REGLAS POR JUEGO (compartidas por motor y controllers)
+    // ============================================
+
+    /**
+     * Verifica si el juego requiere roles únicos por equipo
+     */
+    public static boolean esJuegoConRolesUnicos(String juego) {
+        String juegoLower = juego.toLowerCase();
+        return juegoLower.contains("league") || juegoLower.contains("lol") ||
+               juegoLower.contains("valorant");
+    }
+
+    /**
+     * Elige el rol con el que se postula un bot y 1-2 roles preferidos
+     */
+    public static String asignarPreferenciasBot(Usuario bot, String[] rolesDisponibles, Random random) {
+        String rolBot = rolesDisponibles[random.nextInt(rolesDisponibles.length)];
+        bot.setRol(rolBot);
+        bot.agregarRolPreferido(rolBot);
+        bot.agregarRolPreferido(rolesDisponibles[random.nextInt(rolesDisponibles.length)]);
+        return rolBot;
+    }
+
+    // ============================================
+    // API DE ALTO NIVEL
+    // ============================================
+
+    /**
+     * Asigna un rol a cada miembro del equipo (Usuario.setRol)
+     * usando el rol de su postulación en el scrim y sus roles preferidos.
+     */
+    public void asignar(Equipo equipo, Scrim scrim) {
+        List<Usuario> miembros = equipo.getJugadores();
+        int n = miembros.size();
+        if (n == 0) return;
+        if (n > MAX_JUGADORES) {
+            throw new IllegalArgumentException("Equipo demasiado grande: " + n);
+        }
+
+        for (int i = 0; i < n; i++) {
+            Usuario jugador = miembros.get(i);
+            deseados[i] = mascara(rolDeseado(jugador, scrim));
+            preferidos[i] = mascara(jugador.getRolesPreferidos());
+        }
+
+        int[] asignacion = resolver(deseados, preferidos, n);
+        for (int i = 0; i < n; i++) {
+            miembros.get(i).setRol(roles[asignacion[i]]);
+        }
+    }
+
+    private String rolDeseado(Usuario jugador, Scrim scrim) {
+        for (Postulacion postulacion : scrim.getPostulaciones()) {
+            if (postulacion.getUsuario().getId() == jugador.getId()) {
+                return postulacion.getRolDeseado();
+            }
+        }
+        return jugador.getRol();
+    }
+
+    /**
+     * Máscara de un rol (0 si el rol no es de este juego)
+     */
+    public int mascara(String rol) {
+        if (rol == null) return 0;
+        for (int r = 0; r < roles.length; r++) {
+            if (roles[r].equalsIgnoreCase(rol)) {
+                return 1 << r;
+            }
+        }
+        return 0;
+    }
+
+    public int mascara(List<String> listaRoles) {
+        int m = 0;
+        for (String rol : listaRoles) {
+            m |= mascara(rol);
+        }
+        return m;
+    }
+
+    public String getRol(int indice) {
+        return roles[indice];
+    }
+
+    // ============================================
+    // NÚCLEO: MÉTODO HÚNGARO
+    // ============================================
+
+    /**
+     * Resuelve la asignación para los primeros 'n' jugadores
+     *
+     * @param deseados Máscara del rol pedido por cada jugador
+     * @param preferidos Máscara de roles preferidos de cada jugador
+     * @return Índice de rol de cada jugador (buffer interno: copiar si se guarda)
+     */
+    public int[] resolver(int[] deseados, int[] preferidos, int n) {
+        int cantRoles = roles.length;
+        int copias = (n + cantRoles - 1) / cantRoles;
+        int m = cantRoles * copias;
+
+        // Columna c (desde 1) = rol (c-1) % cantRoles, copia (c-1) / cantRoles
+        for (int i = 1; i <= n; i++) {
+            int deseado = deseados[i - 1];
+            int preferido = preferidos[i - 1];
+            for (int c = 1; c <= m; c++) {
+                int rol = (c - 1) % cantRoles;
+                int bit = 1 << rol;
+                int base = (deseado & bit) != 0 ? COSTO_DESEADO
+                         : (preferido & bit) != 0 ? COSTO_PREFERIDO : COSTO_OTRO;
+                costo[i][c] = base + PENALIZACION_REPETIDO * ((c - 1) / cantRoles);
+            }
+        }
+
+        Arrays.fill(u, 0, n + 1, 0);
+        Arrays.fill(v, 0, m + 1, 0);
+        Arrays.fill(p, 0, m + 1, 0);
+
+        for (int i = 1; i <= n; i++) {
+            p[0] = i;
+            int j0 = 0;
+            Arrays.fill(minv, 0, m + 1, Integer.MAX_VALUE);
+            Arrays.fill(usada, 0, m + 1, false);
+            do {
+                usada[j0] = true;
+                int i0 = p[j0];
+                int delta = Integer.MAX_VALUE;
+                int j1 = 0;
+                for (int j = 1; j <= m; j++) {
+                    if (usada[j]) continue;
+                    int actual = costo[i0][j] - u[i0] - v[j];
+                    if (actual < minv[j]) {
+                        minv[j] = actual;
+                        camino[j] = j0;
+                    }
+                    if (minv[j] < delta) {
+                        delta = minv[j];
+                        j1 = j;
+                    }
+                }
+                for (int j = 0; j <= m; j++) {
+                    if (usada[j]) {
+                        u[p[j]] += delta;
+                        v[j] -= delta;
+                    } else {
+                        minv[j] -= delta;
+                    }
+                }
+                j0 = j1;
+            } while (p[j0] != 0);
+
+            // Reconstruir el camino aumentante
+            do {
+                int j1 = camino[j0];
+                p[j0] = p[j1];
+                j0 = j1;
+            } while (j0 != 0);
+        }
+
+        for (int c = 1; c <= m; c++) {
+            if (p[c] != 0) {
+                resultado[p[c] - 1] = (c - 1) % cantRoles;
+            }
+        }
+        return resultado;
+    }
+
+    /**
+     * Costo total de una asignación (para métricas y tests)
+     */
+    public int costoTotal(int[] deseados, int[] preferidos, int[] asignacion, int n) {
+        int total = 0;
+        int[] usos = new int[roles.length];
+        for (int i = 0; i < n; i++) {
+            int bit = 1 << asignacion[i];
+            total += (deseados[i] & bit) != 0 ? COSTO_DESEADO
+                   : (preferidos[i] & bit) != 0 ? COSTO_PREFERIDO : COSTO_OTRO;
+            total += PENALIZACION_REPETIDO * usos[asignacion[i]]++;
+        }
+        return total;
+    }
+}
@@ -0,0 +1,345 @@
+package service;
+
+import models.Equipo;
+import models.Usuario;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.PriorityQueue;
+
+/**
+ * Balanceador de equipos por MMR
+ *
+ * Divide un lobby en dos equipos minimizando la diferencia de MMR total,
+ * sin repetir rol dentro de un mismo equipo (LoL / Valorant).
+ *
+ * - Hasta 16 jugadores: búsqueda exacta sobre máscaras de bits (5v5 = 126 divisiones)
+ * - Formatos más grandes: differencing por pares (Karmarkar-Karp balanceado)
+ *   más intercambios locales 1 a 1 hasta que ninguno mejore
+ *
+ * Los grupos premade nunca se separan: solo se evalúan las divisiones que
+ * dejan a todos sus miembros del mismo lado.
+ *
+ * Si ninguna división respeta los roles, se elige la de menos conflictos de rol
+ * y, entre esas, la de menor diferencia de MMR.
+ *
+ * Corre una vez por lobby en el hilo de matchmaking: la ruta exacta no reserva
+ * memoria salvo el arreglo de resultado.
+ */
+public class BalanceadorEquipos {
+
+    public static final String EQUIPO_AZUL = "Team Azure";
+    public static final String EQUIPO_ROJO = "Team Crimson";
+
+    private static final int MAX_EXACTO = 16;
+    private static final long PENALIZACION_ROL = 1L << 40;   // Un conflicto pesa más que cualquier diferencia de MMR
+
+    // ============================================
+    // API DE ALTO NIVEL
+    // ============================================
+
+    /**
+     * Forma los equipos y reordena 'jugadores' dejando primero al equipo azul
+     * y después al rojo (el resto del flujo usa el índice para saber el equipo).
+     *
+     * @param rolesUnicos true si no puede haber dos jugadores con el mismo rol por equipo
+     * @return {equipoAzul, equipoRojo}
+     */
+    public Equipo[] formarEquipos(List<Usuario> jugadores, String juego, boolean rolesUnicos) {
+        int n = jugadores.size();
+        int[] mmrs = new int[n];
+        int[] roles = new int[n];
+        List<String> nombresRol = new ArrayList<>();
+
+        for (int i = 0; i < n; i++) {
+            Usuario jugador = jugadores.get(i);
+            mmrs[i] = jugador.getRangoParaJuego(juego);
+            roles[i] = rolesUnicos ? codificarRol(jugador.getRol(), nombresRol) : -1;
+        }
+
+        return armarEquipos(jugadores, dividir(mmrs, roles));
+    }
+
+    /**
+     * Igual que formarEquipos pero sin separar grupos premade: los jugadores
+     * con el mismo número en 'grupoDe' quedan siempre en el mismo equipo.
+     *
+     * @param grupoDe Grupo de cada jugador (índice paralelo a 'jugadores'), o -1 si juega solo
+     * @throws IllegalArgumentException si los grupos no entran en dos equipos de n/2
+     */
+    public Equipo[] formarEquipos(List<Usuario> jugadores, int[] grupoDe, String juego, boolean rolesUnicos) {
+        int n = jugadores.size();
+        if (n > MAX_EXACTO) {
+            throw new IllegalArgumentException("Lobby con grupos de más de " + MAX_EXACTO + " jugadores");
+        }
+        int[] mmrs = new int[n];
+        int[] roles = new int[n];
+        List<String> nombresRol = new ArrayList<>();
+        // Máscara de cada grupo, guardada en la posición de su primer jugador
+        int[] porPrimero = new int[n];
+
+        for (int i = 0; i < n; i++) {
+            Usuario jugador = jugadores.get(i);
+            mmrs[i] = jugador.getRangoParaJuego(juego);
+            roles[i] = rolesUnicos ? codificarRol(jugador.getRol(), nombresRol) : -1;
+            if (grupoDe[i] >= 0) {
+                porPrimero[indicePrimero(grupoDe, grupoDe[i])] |= 1 << i;
+            }
+        }
+        int[] mascarasGrupo = Arrays.stream(porPrimero).filter(m -> Integer.bitCount(m) > 1).toArray();
+
+        int mascara = dividirExacto(mmrs, roles, mascarasGrupo);
+        if (mascara < 0) {
+            throw new IllegalArgumentException("Los grupos no entran en dos equipos de " + n / 2);
+        }
+        int[] equipoDe = new int[n];
+        for (int i = 0; i < n; i++) {
+            equipoDe[i] = (mascara >>> i & 1) == 1 ? 0 : 1;
+        }
+        return armarEquipos(jugadores, equipoDe);
+    }
+
+    private static int indicePrimero(int[] valores, int valor) {
+        int i = 0;
+        while (valores[i] != valor) i++;
+        return i;
+    }
+
+    private Equipo[] armarEquipos(List<Usuario> jugadores, int[] equipoDe) {
+        int n = jugadores.size();
+        Equipo equipoAzul = new Equipo(EQUIPO_AZUL);
+        Equipo equipoRojo = new Equipo(EQUIPO_ROJO);
+        List<Usuario> azules = new ArrayList<>();
+        List<Usuario> rojos = new ArrayList<>();
+        for (int i = 0; i < n; i++) {
+            (equipoDe[i] == 0 ? azules : rojos).add(jugadores.get(i));
+        }
+        for (Usuario jugador : azules) equipoAzul.asignarJugador(jugador);
+        for (Usuario jugador : rojos) equipoRojo.asignarJugador(jugador);
+
+        jugadores.clear();
+        jugadores.addAll(azules);
+        jugadores.addAll(rojos);
+
+        return new Equipo[]{equipoAzul, equipoRojo};
+    }
+
+    private int codificarRol(String rol, List<String> nombresRol) {
+        if (rol == null) return -1;
+        int indice = nombresRol.indexOf(rol);
+        if (indice < 0) {
+            nombresRol.add(rol);
+            indice = nombresRol.size() - 1;
+        }
+        return indice;
+    }
+
+    // ============================================
+    // NÚCLEO DEL ALGORITMO
+    // ============================================
+
+    /**
+     * Divide a los jugadores en dos equipos de tamaño n/2 y n - n/2
+     *
+     * @param mmrs MMR de cada jugador
+     * @param roles Rol codificado (0..30) de cada jugador, o -1 si no importa
+     * @return Equipo de cada jugador: 0 = azul, 1 = rojo
+     */
+    public int[] dividir(int[] mmrs, int[] roles) {
+        int n = mmrs.length;
+        int[] equipoDe = new int[n];
+        if (n < 2) {
+            return equipoDe;
+        }
+        if (n <= MAX_EXACTO) {
+            int mascara = dividirExacto(mmrs, roles, new int[0]);
+            for (int i = 0; i < n; i++) {
+                equipoDe[i] = (mascara >>> i & 1) == 1 ? 0 : 1;
+            }
+        } else {
+            dividirHeuristico(mmrs, roles, equipoDe);
+        }
+        return equipoDe;
+    }
+
+    /**
+     * Diferencia absoluta de MMR entre los dos equipos de una división
+     */
+    public static long diferencia(int[] mmrs, int[] equipoDe) {
+        long suma = 0;
+        for (int i = 0; i < mmrs.length; i++) {
+            suma += equipoDe[i] == 0 ? mmrs[i] : -mmrs[i];
+        }
+        return Math.abs(suma);
+    }
+
+    /**
+     * Recorre todas las máscaras con n/2 bits (Gosper) y se queda con la de menor costo
+     *
+     * @param mascarasGrupo Jugadores de cada grupo premade: se descartan las máscaras que los separan
+     * @return Máscara del equipo azul, o -1 si ninguna respeta los grupos
+     */
+    private int dividirExacto(int[] mmrs, int[] roles, int[] mascarasGrupo) {
+        int n = mmrs.length;
+        int tamAzul = n / 2;
+        long total = 0;
+        for (int mmr : mmrs) total += mmr;
+
+        // Máscara de jugadores por rol (para contar conflictos con bitCount)
+        int[] porRol = new int[32];
+        int rolesUsados = 0;
+        for (int i = 0; i < n; i++) {
+            if (roles[i] >= 0) {
+                porRol[roles[i]] |= 1 << i;
+                rolesUsados = Math.max(rolesUsados, roles[i] + 1);
+            }
+        }
+
+        int todos = (1 << n) - 1;
+        // Con equipos del mismo tamaño, fijar al jugador 0 en azul evita evaluar cada división dos veces
+        boolean simetrico = n % 2 == 0;
+        int mejorMascara = -1;
+        long mejorCosto = Long.MAX_VALUE;
+
+        int mascara = (1 << tamAzul) - 1;
+        while (mascara <= todos) {
+            if ((!simetrico || (mascara & 1) == 1) && respetaGrupos(mascara, mascarasGrupo)) {
+                long sumaAzul = 0;
+                for (int m = mascara; m != 0; m &= m - 1) {
+                    sumaAzul += mmrs[Integer.numberOfTrailingZeros(m)];
+                }
+                long costo = Math.abs(2 * sumaAzul - total);
+                for (int r = 0; r < rolesUsados; r++) {
+                    int enAzul = Integer.bitCount(porRol[r] & mascara);
+                    int enRojo = Integer.bitCount(porRol[r] & ~mascara & todos);
+                    costo += PENALIZACION_ROL * (Math.max(0, enAzul - 1) + Math.max(0, enRojo - 1));
+                }
+                if (costo < mejorCosto) {
+                    mejorCosto = costo;
+                    mejorMascara = mascara;
+                    if (costo == 0) break;
+                }
+            }
+            // Siguiente máscara con la misma cantidad de bits
+            int c = mascara & -mascara;
+            int r = mascara + c;
+            if (r == 0 || r > todos) break;
+            mascara = (((r ^ mascara) >>> 2) / c) | r;
+        }
+        return mejorMascara;
+    }
+
+    private static boolean respetaGrupos(int mascara, int[] mascarasGrupo) {
+        for (int grupo : mascarasGrupo) {
+            int enAzul = mascara & grupo;
+            if (enAzul != 0 && enAzul != grupo) return false;
+        }
+        return true;
+    }
+
+    /**
+     * Karmarkar-Karp balanceado para dos equipos:
+     * 1. Ordena por MMR y arma pares consecutivos (cada par aporta uno a cada equipo)
+     * 2. Aplica differencing sobre las diferencias de los pares para orientar cada par
+     * 3. Mejora con intercambios 1 a 1 mientras bajen diferencia o conflictos de rol
+     */
+    private void dividirHeuristico(int[] mmrs, int[] roles, int[] equipoDe) {
+        int n = mmrs.length;
+        Integer[] orden = new Integer[n];
+        for (int i = 0; i < n; i++) orden[i] = i;
+        Arrays.sort(orden, (a, b) -> Integer.compare(mmrs[b], mmrs[a]));
+
+        int pares = n / 2;
+        // Nodo k = par k; el differencing une nodos y recuerda si hay que invertir la orientación
+        long[] dif = new long[pares];
+        int[] padre = new int[pares];
+        boolean[] invertir = new boolean[pares];
+        PriorityQueue<long[]> heap = new PriorityQueue<>((a, b) -> Long.compare(b[0], a[0]));
+        for (int k = 0; k < pares; k++) {
+            dif[k] = (long) mmrs[orden[2 * k]] - mmrs[orden[2 * k + 1]];
+            padre[k] = k;
+            heap.add(new long[]{dif[k], k});
+        }
+        while (heap.size() > 1) {
+            long[] mayor = heap.poll();
+            long[] menor = heap.poll();
+            // El conjunto 'menor' va con orientación opuesta a 'mayor'
+            int raizMenor = (int) menor[1];
+            padre[raizMenor] = (int) mayor[1];
+            invertir[raizMenor] = true;
+            heap.add(new long[]{mayor[0] - menor[0], mayor[1]});
+        }
+        for (int k = 0; k < pares; k++) {
+            boolean inv = false;
+            for (int x = k; padre[x] != x; x = padre[x]) {
+                inv ^= invertir[x];
+            }
+            int alto = orden[2 * k], bajo = orden[2 * k + 1];
+            equipoDe[alto] = inv ? 1 : 0;
+            equipoDe[bajo] = inv ? 0 : 1;
+        }
+        if (n % 2 == 1) {
+            equipoDe[orden[n - 1]] = 1;   // El sobrante va al equipo más grande (rojo)
+        }
+
+        mejorarConIntercambios(mmrs, roles, equipoDe);
+    }
+
+    /**
+     * Búsqueda local: intercambia un azul con un rojo si baja el costo (conflictos, diferencia)
+     */
+    private void mejorarConIntercambios(int[] mmrs, int[] roles, int[] equipoDe) {
+        int n = mmrs.length;
+        long sumaAzulMenosRojo = 0;
+        for (int i = 0; i < n; i++) {
+            sumaAzulMenosRojo += equipoDe[i] == 0 ? mmrs[i] : -mmrs[i];
+        }
+
+        boolean mejoro = true;
+        int rondas = 0;
+        while (mejoro && rondas++ < n) {
+            mejoro = false;
+            for (int a = 0; a < n; a++) {
+                if (equipoDe[a] != 0) continue;
+                for (int b = 0; b < n; b++) {
+                    if (equipoDe[b] != 1) continue;
+                    long nuevaSuma = sumaAzulMenosRojo - 2L * mmrs[a] + 2L * mmrs[b];
+                    long deltaRol = conflictosTrasIntercambio(roles, equipoDe, a, b)
+                                  - conflictos(roles, equipoDe, a, b);
+                    long delta = PENALIZACION_ROL * deltaRol + Math.abs(nuevaSuma) - Math.abs(sumaAzulMenosRojo);
+                    if (delta < 0) {
+                        equipoDe[a] = 1;
+                        equipoDe[b] = 0;
+                        sumaAzulMenosRojo = nuevaSuma;
+                        mejoro = true;
+                        break;
+                    }
+                }
+            }
+        }
+    }
+
+    // Conflictos de rol en los que participan a y b en su equipo actual
+    private long conflictos(int[] roles, int[] equipoDe, int a, int b) {
+        return companerosConMismoRol(roles, equipoDe, a, equipoDe[a], b)
+             + companerosConMismoRol(roles, equipoDe, b, equipoDe[b], a);
+    }
+
+    // Conflictos de rol si a y b cambiaran de equipo
+    private long conflictosTrasIntercambio(int[] roles, int[] equipoDe, int a, int b) {
+        return companerosConMismoRol(roles, equipoDe, a, equipoDe[b], b)
+             + companerosConMismoRol(roles, equipoDe, b, equipoDe[a], a);
+    }
+
+    private long companerosConMismoRol(int[] roles, int[] equipoDe, int jugador, int equipo, int excluido) {
+        if (roles[jugador] < 0) return 0;
+        long cuenta = 0;
+        for (int i = 0; i < roles.length; i++) {
+            if (i != jugador && i != excluido && equipoDe[i] == equipo && roles[i] == roles[jugador]) {
+                cuenta++;
+            }
+        }
+        return cuenta;
+    }
+}
@@ -0,0 +1,159 @@
+package service;
+
+import models.Scrim;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Caché acotada de resultados de buscarScrims
+ *
+ * - Clave: la tupla de filtros normalizada ("juego|formato|región" en
+ *   minúsculas con "*" como comodín, más los umbrales de MMR ya traducidos),
+ *   así "Valorant" y "valorant" comparten entrada
+ * - Expulsión LRU: LinkedHashMap en orden de acceso; al pasar la capacidad se
+ *   descarta la entrada usada hace más tiempo
+ * - Invalidación precisa: cada entrada queda anotada bajo su clave de
+ *   atributos. Un scrim que entra o sale solo puede cambiar los resultados
+ *   de las 2^3 claves que combinan sus valores con el comodín (la misma
+ *   idea que la percolación de suscripciones), y de esas solo las entradas
+ *   cuyos umbrales de MMR aceptan al scrim
+ *
+ * Los resultados se guardan como listas inmodificables; quien consulta
+ * recibe una copia.
+ *
+ * Concurrencia: un get en orden de acceso reordena la lista del
+ * LinkedHashMap, así que toda operación sobre las entradas toma el monitor
+ * de la caché (secciones cortas: nunca se calcula una búsqueda adentro).
+ * Las métricas son LongAdder y se leen sin bloquear.
+ */
+class CacheBusquedas {
+
+    static final int CAPACIDAD_DEFAULT = 1024;
+
+    private final int capacidad;
+    private final LinkedHashMap<String, Resultado> entradas = new LinkedHashMap<>(16, 0.75f, true);
+    private final Map<String, Set<Resultado>> porAtributos = new HashMap<>();
+
+    // Métricas
+    private final LongAdder aciertos = new LongAdder();
+    private final LongAdder fallos = new LongAdder();
+    private final LongAdder invalidaciones = new LongAdder();
+    private final LongAdder expulsiones = new LongAdder();
+
+    private static final class Resultado {
+        final String clave;
+        final String claveAtributos;
+        final int pisoMin;
+        final int techoMax;
+        final List<Scrim> scrims;
+
+        Resultado(String clave, String claveAtributos, int pisoMin, int techoMax, List<Scrim> scrims) {
+            this.clave = clave;
+            this.claveAtributos = claveAtributos;
+            this.pisoMin = pisoMin;
+            this.techoMax = techoMax;
+            this.scrims = scrims;
+        }
+
+        boolean acepta(int rangoMin, int rangoMax) {
+            return rangoMin >= pisoMin && (techoMax == Integer.MAX_VALUE || rangoMax < techoMax);
+        }
+    }
+
+    CacheBusquedas(int capacidad) {
+        if (capacidad <= 0) {
+            throw new IllegalArgumentException("La capacidad de la caché debe ser positiva");
+        }
+        this.capacidad = capacidad;
+    }
+
+    static String clave(String claveAtributos, int pisoMin, int techoMax) {
+        return claveAtributos + "|" + pisoMin + "|" + techoMax;
+    }
+
+    /**
+     * @return Resultado guardado (inmodificable) o null si no está
+     */
+    List<Scrim> obtener(String clave) {
+        Resultado resultado;
+        synchronized (this) {
+            resultado = entradas.get(clave);
+        }
+        if (resultado == null) {
+            fallos.increment();
+            return null;
+        }
+        aciertos.increment();
+        return resultado.scrims;
+    }
+
+    synchronized void guardar(String clave, String claveAtributos, int pisoMin, int techoMax, List<Scrim> scrims) {
+        Resultado resultado = new Resultado(clave, claveAtributos, pisoMin, techoMax,
+                                            Collections.unmodifiableList(new ArrayList<>(scrims)));
+        Resultado anterior = entradas.put(clave, resultado);
+        if (anterior != null) {
+            desanotar(anterior);
+        }
+        porAtributos.computeIfAbsent(claveAtributos, k -> new HashSet<>()).add(resultado);
+
+        if (entradas.size() > capacidad) {
+            Iterator<Resultado> iterador = entradas.values().iterator();
+            Resultado masViejo = iterador.next();
+            iterador.remove();
+            desanotar(masViejo);
+            expulsiones.increment();
+        }
+    }
+
+    /**
+     * Descarta los resultados que un scrim con estos valores puede alterar
+     * @param clavesAtributos Las claves "juego|formato|región" que coinciden con el scrim
+     */
+    synchronized void invalidar(List<String> clavesAtributos, int rangoMin, int rangoMax) {
+        for (String claveAtributos : clavesAtributos) {
+            Set<Resultado> conClave = porAtributos.get(claveAtributos);
+            if (conClave == null) continue;
+            Iterator<Resultado> iterador = conClave.iterator();
+            while (iterador.hasNext()) {
+                Resultado resultado = iterador.next();
+                if (resultado.acepta(rangoMin, rangoMax)) {
+                    iterador.remove();
+                    entradas.remove(resultado.clave);
+                    invalidaciones.increment();
+                }
+            }
+            if (conClave.isEmpty()) {
+                porAtributos.remove(claveAtributos);
+            }
+        }
+    }
+
+    private void desanotar(Resultado resultado) {
+        Set<Resultado> conClave = porAtributos.get(resultado.claveAtributos);
+        if (conClave != null && conClave.remove(resultado) && conClave.isEmpty()) {
+            porAtributos.remove(resultado.claveAtributos);
+        }
+    }
+
+    // Getters de métricas
+    synchronized int getTamanio() { return entradas.size(); }
+    int getCapacidad() { return capacidad; }
+    long getAciertos() { return aciertos.sum(); }
+    long getFallos() { return fallos.sum(); }
+    long getInvalidaciones() { return invalidaciones.sum(); }
+    long getExpulsiones() { return expulsiones.sum(); }
+
+    double getTasaAciertos() {
+        long exitos = aciertos.sum();
+        long consultas = exitos + fallos.sum();
+        return consultas > 0 ? (double) exitos / consultas : 0.0;
+    }
+}
@@ -0,0 +1,193 @@
+package service;
+
+import interfaces.IScrimObserver;
+import models.SesionScrim;
+import models.Usuario;
+import states.EstadoLobbyCompleto;
+
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Coordinador asíncrono de la fase de confirmación
+ *
+ * Cada lobby que forma el MotorScrims abre una confirmación con plazo:
+ * - Todos confirman → el futuro se completa con la partida EnJuego
+ * - Alguien rechaza → se completa en el acto con la partida cancelada
+ * - Vence el plazo → MotorScrims.expirar sanciona a quienes no respondieron y libera sus lugares
+ *
+ * Cada reemplazo que entra desde la cola reinicia el plazo (el jugador nuevo
+ * tiene el plazo completo para confirmar). Si al vencer el plazo quedan solo
+ * vacantes sin reemplazo, el siguiente vencimiento cancela la partida.
+ *
+ * Las respuestas llegan por MotorScrims.confirmar desde cualquier hilo; nadie
+ * bloquea esperando a otro jugador. Todos los plazos viven en un único hilo
+ * scheduler ("confirmation-deadlines"), así miles de lobbies en confirmación
+ * cuestan un ScheduledFuture cada uno y no un hilo.
+ *
+ * La confirmación se abre dentro de MotorScrims.formarLobby, con el lock de
+ * la sesión tomado: los avisos a observers llegan después de soltarlo y una
+ * respuesta de otro hilo puede resolver el lobby antes de que se entregue
+ * onLobbyCompleto. Los futuros se completan desde el hilo que resolvió el
+ * lobby, fuera del lock: el trabajo pesado debe encadenarse con thenXxxAsync.
+ *
+ * @pattern Observer (escucha al MotorScrims)
+ */
+public class CoordinadorConfirmaciones implements IScrimObserver {
+
+    public static final long PLAZO_DEFAULT_MS = 30_000;
+
+    private final MotorScrims motor;
+    private final long plazoMs;
+    private final ScheduledThreadPoolExecutor scheduler;
+    private final Map<UUID, Pendiente> pendientes = new ConcurrentHashMap<>();
+
+    private static class Pendiente {
+        final CompletableFuture<SesionScrim> resultado = new CompletableFuture<>();
+        volatile ScheduledFuture<?> plazo;
+        int generacion;                                    // Plazo vigente (bajo el lock de la sesión)
+    }
+
+    public CoordinadorConfirmaciones(MotorScrims motor) {
+        this(motor, PLAZO_DEFAULT_MS);
+    }
+
+    /**
+     * Se registra como observer del motor: cada lobby formado abre su confirmación
+     *
+     * @param plazoMs Tiempo máximo para que todos confirmen
+     */
+    public CoordinadorConfirmaciones(MotorScrims motor, long plazoMs) {
+        if (plazoMs <= 0) {
+            throw new IllegalArgumentException("El plazo debe ser positivo");
+        }
+        this.motor = motor;
+        this.plazoMs = plazoMs;
+        this.scheduler = new ScheduledThreadPoolExecutor(1, r -> {
+            Thread hilo = new Thread(r, "confirmation-deadlines");
+            hilo.setDaemon(true);
+            return hilo;
+        });
+        // Los plazos de lobbies ya resueltos se sacan de la cola al cancelarlos
+        this.scheduler.setRemoveOnCancelPolicy(true);
+        motor.agregarObserver(this);
+        motor.setCoordinador(this);
+    }
+
+    // ============================================
+    // API
+    // ============================================
+
+    /**
+     * Futuro que se completa cuando el lobby se resuelve (EnJuego o cancelado)
+     * Si la sesión ya estaba resuelta, devuelve un futuro completo.
+     */
+    public CompletableFuture<SesionScrim> getResultado(SesionScrim sesion) {
+        Pendiente pendiente = pendientes.get(sesion.getScrim().getId());
+        if (pendiente != null) {
+            return pendiente.resultado;
+        }
+        return CompletableFuture.completedFuture(sesion);
+    }
+
+    /**
+     * Lobbies esperando confirmaciones
+     */
+    public int getPendientes() {
+        return pendientes.size();
+    }
+
+    public long getPlazoMs() {
+        return plazoMs;
+    }
+
+    /**
+     * Deja de escuchar al motor y apaga el scheduler (los plazos en curso no vencen)
+     */
+    public void detener() {
+        motor.quitarObserver(this);
+        motor.quitarCoordinador(this);
+        scheduler.shutdownNow();
+    }
+
+    // ============================================
+    // EVENTOS DEL MOTOR
+    // ============================================
+
+    /**
+     * Abre la confirmación de un lobby recién formado
+     * (MotorScrims.formarLobby, con el lock de la sesión tomado)
+     */
+    void abrir(SesionScrim sesion) {
+        Pendiente pendiente = new Pendiente();
+        pendientes.put(sesion.getScrim().getId(), pendiente);
+        agendarPlazo(sesion, pendiente);
+    }
+
+    @Override
+    public void onJugadorReemplazado(SesionScrim sesion, Usuario saliente, Usuario entrante) {
+        synchronized (sesion) {
+            Pendiente pendiente = pendientes.get(sesion.getScrim().getId());
+            if (pendiente != null) {
+                pendiente.plazo.cancel(false);
+                agendarPlazo(sesion, pendiente);
+            }
+        }
+    }
+
+    @Override
+    public void onEstadoCambiado(SesionScrim sesion, String estadoAnterior, String estadoNuevo) {
+        if (estadoNuevo.equals("EstadoEnJuego")) {
+            resolver(sesion);
+        }
+    }
+
+    @Override
+    public void onPartidaCancelada(SesionScrim sesion, Usuario responsable, String motivo) {
+        resolver(sesion);
+    }
+
+    /**
+     * Se llama con el lock de la sesión tomado (al abrir, en cada reemplazo y
+     * desde el propio plazo). Un plazo reemplazado que ya estaba corriendo ve
+     * otra generación y no hace nada; un lobby que ya salió de la confirmación
+     * no agenda ni vuelve a agendar plazos.
+     */
+    private void agendarPlazo(SesionScrim sesion, Pendiente pendiente) {
+        if (!enConfirmacion(sesion)) {
+            return;
+        }
+        int generacion = ++pendiente.generacion;
+        pendiente.plazo = scheduler.schedule(() -> motor.bajoLock(sesion, () -> {
+            if (pendiente.generacion != generacion || !enConfirmacion(sesion)) {
+                return;
+            }
+            motor.expirar(sesion);
+            // Quedaron vacantes esperando reemplazo: un plazo más antes de cancelar
+            if (pendientes.get(sesion.getScrim().getId()) == pendiente) {
+                agendarPlazo(sesion, pendiente);
+            }
+        }), plazoMs, TimeUnit.MILLISECONDS);
+    }
+
+    private static boolean enConfirmacion(SesionScrim sesion) {
+        return sesion.getScrim().getEstado() instanceof EstadoLobbyCompleto;
+    }
+
+    private void resolver(SesionScrim sesion) {
+        Pendiente pendiente = pendientes.remove(sesion.getScrim().getId());
+        if (pendiente == null) {
+            return;
+        }
+        ScheduledFuture<?> plazo = pendiente.plazo;
+        if (plazo != null) {
+            plazo.cancel(false);
+        }
+        pendiente.resultado.complete(sesion);
+    }
+}
@@ -0,0 +1,96 @@
+package service;
+
+/**
+ * Curva de expansión de la ventana de MMR según el tiempo de espera
+ *
+ * La ventana crece por escalones de 'intervaloMs': así el motor sabe exactamente
+ * cuándo cambia la ventana de cada ticket y solo re-evalúa esos tickets.
+ *
+ * Tipos:
+ * - fija: la ventana nunca cambia (comportamiento clásico ±200)
+ * - lineal: base + incremento × escalones
+ * - exponencial: base × factor ^ escalones
+ *
+ * En todos los casos la ventana se corta en 'ventanaMaxima'.
+ */
+public class CurvaExpansionMMR {
+
+    private final int ventanaBase;
+    private final int ventanaMaxima;
+    private final long intervaloMs;
+    private final int incremento;       // Solo curva lineal
+    private final double factor;        // Solo curva exponencial (0 = lineal)
+
+    private CurvaExpansionMMR(int ventanaBase, int ventanaMaxima, long intervaloMs,
+                              int incremento, double factor) {
+        if (ventanaBase < 0) throw new IllegalArgumentException("Ventana base no puede ser negativa");
+        if (ventanaMaxima < ventanaBase) throw new IllegalArgumentException("Ventana máxima menor que la base");
+        if (intervaloMs <= 0) throw new IllegalArgumentException("Intervalo debe ser positivo");
+        this.ventanaBase = ventanaBase;
+        this.ventanaMaxima = ventanaMaxima;
+        this.intervaloMs = intervaloMs;
+        this.incremento = incremento;
+        this.factor = factor;
+    }
+
+    /**
+     * Ventana constante (sin expansión)
+     */
+    public static CurvaExpansionMMR fija(int ventana) {
+        return new CurvaExpansionMMR(ventana, ventana, Long.MAX_VALUE, 0, 0);
+    }
+
+    /**
+     * Suma 'incremento' cada 'intervaloMs' de espera
+     * ej: lineal(100, 50, 10_000, 500) → 100, 150, 200... hasta 500
+     */
+    public static CurvaExpansionMMR lineal(int base, int incremento, long intervaloMs, int maxima) {
+        if (incremento <= 0) throw new IllegalArgumentException("Incremento debe ser positivo");
+        return new CurvaExpansionMMR(base, maxima, intervaloMs, incremento, 0);
+    }
+
+    /**
+     * Multiplica por 'factor' cada 'intervaloMs' de espera
+     * ej: exponencial(100, 1.5, 10_000, 800) → 100, 150, 225... hasta 800
+     */
+    public static CurvaExpansionMMR exponencial(int base, double factor, long intervaloMs, int maxima) {
+        if (factor <= 1.0) throw new IllegalArgumentException("Factor debe ser mayor a 1");
+        if (base <= 0) throw new IllegalArgumentException("Ventana base debe ser positiva");
+        return new CurvaExpansionMMR(base, maxima, intervaloMs, 0, factor);
+    }
+
+    /**
+     * Ventana aceptable (± MMR) para un ticket que lleva 'esperaMs' en cola
+     */
+    public int ventanaPara(long esperaMs) {
+        long escalones = Math.max(0, esperaMs) / intervaloMs;
+        if (escalones == 0 || ventanaBase == ventanaMaxima) {
+            return ventanaBase;
+        }
+        double ventana = factor > 0
+            ? ventanaBase * Math.pow(factor, escalones)
+            : ventanaBase + (double) incremento * escalones;
+        return (int) Math.min(ventanaMaxima, ventana);
+    }
+
+    /**
+     * Milisegundos hasta el próximo cambio de ventana
+     *
+     * @return -1 si la ventana ya no va a cambiar
+     */
+    public long msHastaProximoCambio(long esperaMs) {
+        if (ventanaPara(esperaMs) >= ventanaMaxima) {
+            return -1;
+        }
+        return intervaloMs - Math.max(0, esperaMs) % intervaloMs;
+    }
+
+    public int getVentanaBase() { return ventanaBase; }
+    public int getVentanaMaxima() { return ventanaMaxima; }
+
+    @Override
+    public String toString() {
+        String tipo = ventanaBase == ventanaMaxima ? "fija" : (factor > 0 ? "exponencial" : "lineal");
+        return String.format("CurvaExpansionMMR[%s | base: %d | máx: %d]", tipo, ventanaBase, ventanaMaxima);
+    }
+}
@@ -0,0 +1,144 @@
+package service;
+
+import models.Grupo;
+
+import java.util.HashSet;
+import java.util.Set;
+
+/**
+ * Empaquetador de lobbies con grupos premade
+ *
+ * Elige, entre tickets de distinto tamaño (solos y grupos de 2 a 5), un
+ * subconjunto que llene el lobby exacto y que se pueda repartir en dos
+ * equipos de cupos/2 sin separar ningún grupo. Es un problema de bin packing
+ * con dos contenedores iguales; con cupos ≤ 62 se resuelve con sumas de
+ * subconjuntos sobre bits de un long.
+ *
+ * La búsqueda recorre los candidatos en el orden recibido (el ancla primero y
+ * después por cercanía de MMR), así que la primera selección válida es la de
+ * vecinos más parecidos. Los estados sin salida se memorizan por
+ * (posición, cuántos tickets de cada tamaño lleva): dos caminos que llegan al
+ * mismo multiconjunto de tamaños tienen el mismo futuro, y el peor caso queda
+ * acotado por candidatos × combinaciones de tamaños en vez de 2^candidatos.
+ */
+public class EmpaquetadorLobby {
+
+    public static final int MAX_CUPOS = 62;
+    private static final int BITS_CONTEO = 5;     // cupos ≤ 62 ⇒ a lo sumo 31 solos por lobby
+
+    /**
+     * @param tamanios Jugadores de cada candidato (1 a Grupo.MAX_MIEMBROS); el índice 0 (ancla) siempre entra
+     * @param cupos Jugadores por lobby (par)
+     * @return Índices elegidos en orden creciente, o null si no hay selección posible
+     */
+    public int[] seleccionar(int[] tamanios, int cupos) {
+        if (cupos <= 0 || cupos % 2 != 0 || cupos > MAX_CUPOS) {
+            throw new IllegalArgumentException("Cupos inválidos para empaquetar: " + cupos);
+        }
+        for (int tamanio : tamanios) {
+            if (tamanio < 1 || tamanio > Grupo.MAX_MIEMBROS) {
+                throw new IllegalArgumentException("Tamaño de ticket inválido: " + tamanio);
+            }
+        }
+        int capacidad = cupos / 2;
+        if (tamanios.length == 0 || tamanios[0] > capacidad) {
+            return null;
+        }
+
+        int[] conteos = new int[Grupo.MAX_MIEMBROS + 1];
+        conteos[tamanios[0]]++;
+        int[] elegidos = new int[cupos];
+        elegidos[0] = 0;
+        Busqueda busqueda = new Busqueda(tamanios, capacidad, conteos, elegidos);
+        int cantidad = busqueda.buscar(1, 1, tamanios[0]);
+        if (cantidad < 0) {
+            return null;
+        }
+        int[] resultado = new int[cantidad];
+        System.arraycopy(elegidos, 0, resultado, 0, cantidad);
+        return resultado;
+    }
+
+    /**
+     * true si los tamaños se pueden repartir en dos equipos de 'capacidad' cada uno
+     * (sin exigir que se llenen)
+     */
+    public static boolean sePuedeRepartir(int[] conteos, int capacidad) {
+        long alcanzables = 1L;                  // Bit s encendido ⇔ algún subconjunto suma s
+        long mascara = (1L << (capacidad + 1)) - 1;
+        int total = 0;
+        for (int tamanio = 1; tamanio < conteos.length; tamanio++) {
+            for (int c = 0; c < conteos[tamanio]; c++) {
+                alcanzables = (alcanzables | alcanzables << tamanio) & mascara;
+                total += tamanio;
+            }
+        }
+        if (total > 2 * capacidad) {
+            return false;
+        }
+        // Alcanza con un subconjunto para azul que deje a lo sumo 'capacidad' para rojo
+        int desde = Math.max(0, total - capacidad);
+        return (alcanzables >>> desde) != 0;
+    }
+
+    // ============================================
+    // BÚSQUEDA EN PROFUNDIDAD CON MEMORIA DE FALLOS
+    // ============================================
+
+    private static final class Busqueda {
+        final int[] tamanios;
+        final int capacidad;
+        final int[] conteos;
+        final int[] elegidos;
+        final Set<Long> sinSalida = new HashSet<>();
+
+        Busqueda(int[] tamanios, int capacidad, int[] conteos, int[] elegidos) {
+            this.tamanios = tamanios;
+            this.capacidad = capacidad;
+            this.conteos = conteos;
+            this.elegidos = elegidos;
+        }
+
+        /**
+         * @return Cantidad de elegidos si se completó el lobby, o -1
+         */
+        int buscar(int desde, int cantidad, int jugadores) {
+            if (jugadores == 2 * capacidad) {
+                return cantidad;
+            }
+            long clave = ((long) desde << 32) | firma();
+            if (sinSalida.contains(clave)) {
+                return -1;
+            }
+            // Si un tamaño ya falló en este nivel, otro candidato del mismo tamaño más
+            // adelante llega al mismo multiconjunto con menos opciones: también falla
+            int probados = 0;
+            for (int i = desde; i < tamanios.length; i++) {
+                int tamanio = tamanios[i];
+                if (tamanio > capacidad || jugadores + tamanio > 2 * capacidad
+                        || (probados >>> tamanio & 1) == 1) continue;
+                probados |= 1 << tamanio;
+                conteos[tamanio]++;
+                if (sePuedeRepartir(conteos, capacidad)) {
+                    elegidos[cantidad] = i;
+                    int resultado = buscar(i + 1, cantidad + 1, jugadores + tamanio);
+                    if (resultado > 0) {
+                        return resultado;
+                    }
+                }
+                conteos[tamanio]--;
+            }
+            sinSalida.add(clave);
+            return -1;
+        }
+
+        // Conteo de cada tamaño (1 a 5) en BITS_CONTEO bits
+        private int firma() {
+            int firma = 0;
+            for (int tamanio = 1; tamanio < conteos.length; tamanio++) {
+                firma = firma << BITS_CONTEO | conteos[tamanio];
+            }
+            return firma;
+        }
+    }
+}
@@ -0,0 +1,236 @@
+package service;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * Estimador de tiempo de espera por bucket (juego, formato, región) y banda de MMR
+ *
+ * Cada banda guarda contadores EWMA de llegadas y emparejamientos y un
+ * histograma con decaimiento exponencial de las esperas observadas: lo
+ * reciente pesa más y el estimador sigue los cambios de carga (hora pico,
+ * regiones que se vacían) sin guardar muestras.
+ *
+ * Estimación:
+ * - Con suficientes emparejamientos recientes: percentil del histograma
+ * - Si no: tiempo hasta que lleguen los jugadores que faltan para un lobby
+ *   según la tasa de llegadas de la banda (cupos - 1) / tasa
+ *
+ * Cada banda es una instantánea inmutable detrás de una referencia atómica:
+ * un evento la reemplaza por CAS en O(BINS) (constante) y las consultas solo
+ * leen la referencia, sin locks.
+ */
+public class EstimadorEspera {
+
+    public static final int ANCHO_BANDA_MMR = 250;
+    public static final int BANDAS = 16;                      // La última junta todo MMR ≥ 3750
+    public static final long VIDA_MEDIA_DEFAULT_MS = 10 * 60_000;
+    private static final int BINS = 32;
+    private static final long ESPERA_MINIMA_MS = 250;         // Límite superior del bin 0
+    private static final double FACTOR_BIN = Math.sqrt(2);    // Cada bin es √2 veces más ancho
+    private static final double MUESTRAS_MINIMAS = 3;         // Peso decaído para confiar en el histograma
+
+    private final double tauMs;                               // Constante de tiempo del decaimiento
+    private final Map<String, AtomicReferenceArray<Banda>> buckets = new ConcurrentHashMap<>();
+
+    public EstimadorEspera() {
+        this(VIDA_MEDIA_DEFAULT_MS);
+    }
+
+    /**
+     * @param vidaMediaMs Tiempo en que una observación pasa a pesar la mitad
+     */
+    public EstimadorEspera(long vidaMediaMs) {
+        if (vidaMediaMs <= 0) {
+            throw new IllegalArgumentException("Vida media debe ser positiva");
+        }
+        this.tauMs = vidaMediaMs / Math.log(2);
+    }
+
+    // ============================================
+    // EVENTOS O(1)
+    // ============================================
+
+    /**
+     * Un jugador entró a la cola
+     */
+    public void registrarLlegada(String claveBucket, int mmr, long ahora) {
+        AtomicReferenceArray<Banda> bandas = buckets.computeIfAbsent(claveBucket,
+            k -> new AtomicReferenceArray<>(BANDAS));
+        int b = banda(mmr);
+        Banda actual;
+        do {
+            actual = bandas.get(b);
+        } while (!bandas.compareAndSet(b, actual, Banda.decaer(actual, ahora, tauMs).conLlegada()));
+    }
+
+    /**
+     * Un jugador salió de la cola dentro de un lobby después de esperar 'esperaMs'
+     */
+    public void registrarEmparejado(String claveBucket, int mmr, long esperaMs, long ahora) {
+        AtomicReferenceArray<Banda> bandas = buckets.computeIfAbsent(claveBucket,
+            k -> new AtomicReferenceArray<>(BANDAS));
+        int b = banda(mmr);
+        int bin = bin(esperaMs);
+        Banda actual;
+        do {
+            actual = bandas.get(b);
+        } while (!bandas.compareAndSet(b, actual, Banda.decaer(actual, ahora, tauMs).conEmparejado(bin)));
+    }
+
+    // ============================================
+    // CONSULTAS SIN LOCKS
+    // ============================================
+
+    /**
+     * Espera estimada (mediana) para un jugador que entra ahora
+     *
+     * @param cupos Jugadores por lobby (para estimar por tasa de llegadas)
+     * @return ms estimados, o -1 si la banda todavía no tiene datos
+     */
+    public long estimarEspera(String claveBucket, int mmr, int cupos, long ahora) {
+        Banda banda = leer(claveBucket, mmr, ahora);
+        if (banda == null) {
+            return -1;
+        }
+        if (banda.pesoHistograma >= MUESTRAS_MINIMAS) {
+            return banda.percentil(0.5);
+        }
+        double tasa = banda.llegadas / tauMs;                 // llegadas por ms
+        if (tasa <= 0) {
+            return -1;
+        }
+        return Math.round(Math.max(0, cupos - 1) / tasa);
+    }
+
+    /**
+     * Percentil (0-1) de las esperas recientes, o -1 si no hay emparejamientos suficientes
+     */
+    public long estimarPercentil(String claveBucket, int mmr, double percentil, long ahora) {
+        if (percentil < 0 || percentil > 1) {
+            throw new IllegalArgumentException("Percentil fuera de [0, 1]: " + percentil);
+        }
+        Banda banda = leer(claveBucket, mmr, ahora);
+        if (banda == null || banda.pesoHistograma < MUESTRAS_MINIMAS) {
+            return -1;
+        }
+        return banda.percentil(percentil);
+    }
+
+    /**
+     * Llegadas por minuto (EWMA) en la banda
+     */
+    public double getTasaLlegadas(String claveBucket, int mmr, long ahora) {
+        Banda banda = leer(claveBucket, mmr, ahora);
+        return banda == null ? 0 : banda.llegadas / tauMs * 60_000;
+    }
+
+    /**
+     * Emparejamientos por minuto (EWMA) en la banda
+     */
+    public double getTasaEmparejados(String claveBucket, int mmr, long ahora) {
+        Banda banda = leer(claveBucket, mmr, ahora);
+        return banda == null ? 0 : banda.pesoHistograma / tauMs * 60_000;
+    }
+
+    /**
+     * Peso decaído del histograma (muestras efectivas recientes)
+     */
+    public double getMuestras(String claveBucket, int mmr, long ahora) {
+        Banda banda = leer(claveBucket, mmr, ahora);
+        return banda == null ? 0 : banda.pesoHistograma;
+    }
+
+    private Banda leer(String claveBucket, int mmr, long ahora) {
+        AtomicReferenceArray<Banda> bandas = buckets.get(claveBucket);
+        if (bandas == null) {
+            return null;
+        }
+        Banda banda = bandas.get(banda(mmr));
+        return banda == null ? null : Banda.decaer(banda, ahora, tauMs);
+    }
+
+    private static int banda(int mmr) {
+        return Math.max(0, Math.min(BANDAS - 1, mmr / ANCHO_BANDA_MMR));
+    }
+
+    private static int bin(long esperaMs) {
+        if (esperaMs < ESPERA_MINIMA_MS) {
+            return 0;
+        }
+        int bin = 1 + (int) (Math.log((double) esperaMs / ESPERA_MINIMA_MS) / Math.log(FACTOR_BIN));
+        return Math.min(BINS - 1, bin);
+    }
+
+    // Bin i cubre [limite(i-1), limite(i)); el bin 0 empieza en 0
+    private static double limite(int bin) {
+        return ESPERA_MINIMA_MS * Math.pow(FACTOR_BIN, bin);
+    }
+
+    // ============================================
+    // INSTANTÁNEA POR BANDA
+    // ============================================
+
+    /**
+     * Estado inmutable de una banda: contadores y pesos decaídos hasta 'tiempo'
+     */
+    private static final class Banda {
+        final long tiempo;
+        final double llegadas;
+        final double pesoHistograma;
+        final double[] histograma;
+
+        private Banda(long tiempo, double llegadas, double pesoHistograma, double[] histograma) {
+            this.tiempo = tiempo;
+            this.llegadas = llegadas;
+            this.pesoHistograma = pesoHistograma;
+            this.histograma = histograma;
+        }
+
+        /**
+         * Copia con todo multiplicado por e^(-Δt/τ); los eventos fuera de orden no rejuvenecen la banda
+         */
+        static Banda decaer(Banda banda, long ahora, double tauMs) {
+            if (banda == null) {
+                return new Banda(ahora, 0, 0, new double[BINS]);
+            }
+            long delta = ahora - banda.tiempo;
+            if (delta <= 0) {
+                return new Banda(banda.tiempo, banda.llegadas, banda.pesoHistograma, banda.histograma.clone());
+            }
+            double factor = Math.exp(-delta / tauMs);
+            double[] histograma = new double[BINS];
+            for (int i = 0; i < BINS; i++) {
+                histograma[i] = banda.histograma[i] * factor;
+            }
+            return new Banda(ahora, banda.llegadas * factor, banda.pesoHistograma * factor, histograma);
+        }
+
+        Banda conLlegada() {
+            return new Banda(tiempo, llegadas + 1, pesoHistograma, histograma);
+        }
+
+        Banda conEmparejado(int bin) {
+            histograma[bin] += 1;
+            return new Banda(tiempo, llegadas, pesoHistograma + 1, histograma);
+        }
+
+        /**
+         * Interpola dentro del bin donde cae el percentil
+         */
+        long percentil(double q) {
+            double objetivo = q * pesoHistograma;
+            double acumulado = 0;
+            for (int i = 0; i < BINS; i++) {
+                if (histograma[i] > 0 && acumulado + histograma[i] >= objetivo) {
+                    double desde = i == 0 ? 0 : limite(i - 1);
+                    double fraccion = (objetivo - acumulado) / histograma[i];
+                    return Math.round(desde + (limite(i) - desde) * fraccion);
+                }
+                acumulado += histograma[i];
+            }
+            return Math.round(limite(BINS - 1));
+        }
+    }
+}
@@ -0,0 +1,91 @@
+package service;
+
+import java.util.Arrays;
+
+/**
+ * Índice id de usuario → fila con direccionamiento abierto (sondeo lineal)
+ *
+ * Las filas se entregan en orden (0, 1, 2, ...): quien lo usa guarda los datos
+ * de cada jugador en arreglos paralelos indexados por fila, sin un Integer ni
+ * un objeto por jugador. La tabla se mantiene a lo sumo a media carga y
+ * duplica su tamaño al superarla.
+ *
+ * No es seguro entre hilos: lo protege el lock de quien lo contiene
+ * (MatchHistoryService, RatingService).
+ */
+final class IndiceFilas {
+
+    private static final int VACIA = Integer.MIN_VALUE;
+
+    private int[] claves;
+    private int[] valores;
+    private int filas;
+
+    /**
+     * @param capacidadInicial Filas esperadas al inicio (potencia de 2)
+     */
+    IndiceFilas(int capacidadInicial) {
+        this.claves = new int[capacidadInicial * 2];
+        this.valores = new int[capacidadInicial * 2];
+        Arrays.fill(claves, VACIA);
+    }
+
+    /**
+     * @return Fila del usuario o -1 si no tiene
+     */
+    int buscar(int usuarioId) {
+        int mascara = claves.length - 1;
+        for (int i = mezclar(usuarioId) & mascara; ; i = (i + 1) & mascara) {
+            if (claves[i] == usuarioId) return valores[i];
+            if (claves[i] == VACIA) return -1;
+        }
+    }
+
+    /**
+     * Asigna la siguiente fila a un usuario que todavía no tiene
+     * @return La fila nueva (igual a la cantidad de filas previa)
+     */
+    int agregar(int usuarioId) {
+        if (usuarioId == VACIA) {
+            throw new IllegalArgumentException("Id de usuario inválido");
+        }
+        if ((filas + 1) * 2 > claves.length) {
+            rehash();
+        }
+        int fila = filas++;
+        insertar(usuarioId, fila);
+        return fila;
+    }
+
+    int getFilas() {
+        return filas;
+    }
+
+    private void insertar(int usuarioId, int fila) {
+        int mascara = claves.length - 1;
+        int i = mezclar(usuarioId) & mascara;
+        while (claves[i] != VACIA) {
+            i = (i + 1) & mascara;
+        }
+        claves[i] = usuarioId;
+        valores[i] = fila;
+    }
+
+    private void rehash() {
+        int[] viejasClaves = claves;
+        int[] viejosValores = valores;
+        claves = new int[viejasClaves.length * 2];
+        valores = new int[viejasClaves.length * 2];
+        Arrays.fill(claves, VACIA);
+        for (int i = 0; i < viejasClaves.length; i++) {
+            if (viejasClaves[i] != VACIA) {
+                insertar(viejasClaves[i], viejosValores[i]);
+            }
+        }
+    }
+
+    private static int mezclar(int x) {
+        x *= 0x9E3779B9;
+        return x ^ (x >>> 16);
+    }
+}
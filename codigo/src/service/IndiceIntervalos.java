@@ -0,0 +1,141 @@
+package service;
+
+import java.util.Arrays;
+import java.util.TreeSet;
+import java.util.function.IntConsumer;
+
+/**
+ * Índice de intervalos de MMR [min, max] identificados por slot
+ *
+ * - Árbol de segmentos sobre el dominio [0, DOMINIO): cada intervalo se guarda
+ *   en los O(log DOMINIO) nodos canónicos que lo cubren. Los intervalos que
+ *   contienen un MMR x son exactamente los guardados en el camino hoja(x) → raíz,
+ *   así que la consulta cuesta O(log DOMINIO + k).
+ * - Un TreeSet por inicio responde "empieza dentro de (a, b]" en O(log n + k)
+ * - Solapa con [a, b] ⇔ contiene a, o empieza en (a, b]: dos conjuntos
+ *   disjuntos, sin duplicados que filtrar
+ *
+ * Alta y baja en O(log DOMINIO): cada slot recuerda en qué nodo y posición
+ * quedó, y las listas de nodo borran intercambiando con el último.
+ * Los valores fuera del dominio se recortan solo para ubicarlos en el árbol;
+ * cada candidato se verifica contra su intervalo exacto.
+ */
+class IndiceIntervalos {
+
+    static final int DOMINIO = 1 << 13;                      // MMR 0..8191
+
+    private final int[][] listas = new int[2 * DOMINIO][];
+    private final int[] tamanios = new int[2 * DOMINIO];
+    private final TreeSet<Long> porInicio = new TreeSet<>();
+
+    // Por slot: intervalo exacto y pares (nodo, posición) donde está guardado
+    private int[] minimos = new int[64];
+    private int[] maximos = new int[64];
+    private int[][] ubicaciones = new int[64][];
+
+    void agregar(int slot, int min, int max) {
+        asegurarCapacidad(slot);
+        minimos[slot] = min;
+        maximos[slot] = max;
+        if (min > max) {
+            ubicaciones[slot] = new int[0];                  // Intervalo vacío: no contiene ningún MMR
+            return;
+        }
+        porInicio.add(clave(min, slot));
+
+        int[] nodos = new int[4 * Integer.numberOfTrailingZeros(DOMINIO)];
+        int cantidad = 0;
+        int l = recortar(min) + DOMINIO;
+        int r = recortar(max) + DOMINIO + 1;
+        while (l < r) {
+            if ((l & 1) == 1) cantidad = guardar(slot, l++, nodos, cantidad);
+            if ((r & 1) == 1) cantidad = guardar(slot, --r, nodos, cantidad);
+            l >>>= 1;
+            r >>>= 1;
+        }
+        ubicaciones[slot] = Arrays.copyOf(nodos, cantidad);
+    }
+
+    void quitar(int slot) {
+        int[] propias = ubicaciones[slot];
+        if (propias == null) {
+            return;
+        }
+        for (int j = 0; j < propias.length; j += 2) {
+            int nodo = propias[j];
+            int posicion = propias[j + 1];
+            int ultimo = listas[nodo][--tamanios[nodo]];
+            if (ultimo != slot) {
+                listas[nodo][posicion] = ultimo;
+                int[] suyas = ubicaciones[ultimo];
+                for (int i = 0; i < suyas.length; i += 2) {
+                    if (suyas[i] == nodo) suyas[i + 1] = posicion;
+                }
+            }
+        }
+        if (minimos[slot] <= maximos[slot]) {
+            porInicio.remove(clave(minimos[slot], slot));
+        }
+        ubicaciones[slot] = null;
+    }
+
+    /**
+     * Slots cuyo intervalo contiene 'mmr'
+     */
+    void contienen(int mmr, IntConsumer salida) {
+        for (int nodo = recortar(mmr) + DOMINIO; nodo >= 1; nodo >>>= 1) {
+            int[] lista = listas[nodo];
+            for (int i = 0; i < tamanios[nodo]; i++) {
+                int slot = lista[i];
+                if (minimos[slot] <= mmr && mmr <= maximos[slot]) {
+                    salida.accept(slot);
+                }
+            }
+        }
+    }
+
+    /**
+     * Slots cuyo intervalo se superpone con [desde, hasta]
+     */
+    void solapan(int desde, int hasta, IntConsumer salida) {
+        if (desde > hasta) {
+            return;
+        }
+        contienen(desde, salida);
+        // Empiezan después de 'desde' y no más tarde que 'hasta'
+        for (long clave : porInicio.subSet(clave(desde, -1), false, clave(hasta, -1), true)) {
+            salida.accept((int) clave);
+        }
+    }
+
+    private int guardar(int slot, int nodo, int[] nodos, int cantidad) {
+        int[] lista = listas[nodo];
+        if (lista == null) {
+            lista = listas[nodo] = new int[4];
+        } else if (tamanios[nodo] == lista.length) {
+            lista = listas[nodo] = Arrays.copyOf(lista, lista.length * 2);
+        }
+        lista[tamanios[nodo]] = slot;
+        nodos[cantidad] = nodo;
+        nodos[cantidad + 1] = tamanios[nodo]++;
+        return cantidad + 2;
+    }
+
+    private void asegurarCapacidad(int slot) {
+        if (slot >= minimos.length) {
+            int nueva = Math.max(slot + 1, minimos.length * 2);
+            minimos = Arrays.copyOf(minimos, nueva);
+            maximos = Arrays.copyOf(maximos, nueva);
+            ubicaciones = Arrays.copyOf(ubicaciones, nueva);
+        }
+    }
+
+    private static int recortar(int mmr) {
+        return Math.max(0, Math.min(DOMINIO - 1, mmr));
+    }
+
+    // Inicio en la parte alta y slot en la baja; slot -1 = último posible para ese inicio
+    private static long clave(int inicio, int slot) {
+        return ((long) inicio << 32) | (slot & 0xFFFFFFFFL);
+    }
+}
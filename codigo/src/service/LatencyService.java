@@ -0,0 +1,254 @@
+package service;
+
+import interfaces.ILatencyProbe;
+import interfaces.ILatencySource;
+import models.Usuario;
+
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Servicio de latencias medidas (jugador × región)
+ *
+ * Responsabilidades:
+ * - Recibir reportes de RTT de los clientes en cualquier hilo (reportar)
+ * - Consolidarlos en una matriz primitiva con media móvil exponencial (EWMA)
+ * - Responder getLatencia en O(1): un lookup de fila y una lectura de arreglo
+ *
+ * Almacenamiento: un int[] de filas × MAX_REGIONES en punto fijo (ms × 16),
+ * -1 = sin datos. Solo el hilo de ingesta escribe la matriz; los lectores
+ * nunca bloquean.
+ *
+ * Si hay una ILatencyProbe configurada, una consulta sin datos se mide en el
+ * momento y la medición entra como reporte; sin hilo de ingesta iniciado,
+ * ese reporte se aplica en el acto para no volver a medir al mismo jugador.
+ *
+ * La cola de reportes está acotada (MAX_PENDIENTES): al llenarse, el hilo
+ * que reporta consolida él mismo la tanda en lugar de seguir acumulando.
+ */
+public class LatencyService implements ILatencySource {
+
+    public static final int MAX_REGIONES = 16;
+    public static final double ALFA_DEFAULT = 0.25;
+    public static final long INGESTA_DEFAULT_MS = 200;
+    public static final int MAX_PENDIENTES = 1 << 16;
+
+    private static final int ESCALA = 16;            // Punto fijo: 1/16 ms
+    private static final int CAPACIDAD_INICIAL = 1024;
+
+    private final double alfa;
+    private final ILatencyProbe sonda;
+
+    private final Map<Integer, Integer> filaPorUsuario = new ConcurrentHashMap<>();
+    private final Map<String, Integer> columnaPorRegion = new ConcurrentHashMap<>();
+    private final ConcurrentLinkedQueue<long[]> pendientes = new ConcurrentLinkedQueue<>();
+    private final AtomicInteger cantidadPendientes = new AtomicInteger();
+
+    private volatile int[] matriz;
+    private int filas;
+    private volatile ScheduledExecutorService ingesta;
+
+    public LatencyService() {
+        this(null, ALFA_DEFAULT);
+    }
+
+    public LatencyService(ILatencyProbe sonda) {
+        this(sonda, ALFA_DEFAULT);
+    }
+
+    /**
+     * @param sonda Fuente de mediciones para jugadores sin datos (puede ser null)
+     * @param alfa Peso de cada reporte nuevo en la media (0 < alfa ≤ 1)
+     */
+    public LatencyService(ILatencyProbe sonda, double alfa) {
+        if (alfa <= 0 || alfa > 1) {
+            throw new IllegalArgumentException("Alfa debe estar en (0, 1]");
+        }
+        this.sonda = sonda;
+        this.alfa = alfa;
+        this.matriz = nuevaMatriz(CAPACIDAD_INICIAL);
+    }
+
+    // ============================================
+    // REPORTES (cualquier hilo)
+    // ============================================
+
+    /**
+     * Registra una medición de RTT; se aplica en la próxima ingesta
+     * (o en el acto si la cola llegó a MAX_PENDIENTES)
+     */
+    public void reportar(int usuarioId, String region, int rttMs) {
+        if (rttMs < 0) {
+            throw new IllegalArgumentException("RTT no puede ser negativo");
+        }
+        pendientes.add(new long[]{usuarioId, columna(region), rttMs});
+        if (cantidadPendientes.incrementAndGet() >= MAX_PENDIENTES) {
+            procesarReportes();
+        }
+    }
+
+    /**
+     * Mide con la sonda a todos los jugadores contra las regiones dadas
+     */
+    public void sondear(Collection<Usuario> usuarios, Collection<String> regiones) {
+        if (sonda == null) {
+            throw new IllegalStateException("No hay sonda de latencia configurada");
+        }
+        for (Usuario usuario : usuarios) {
+            for (String region : regiones) {
+                int rtt = sonda.medir(usuario, region);
+                if (rtt >= 0) {
+                    reportar(usuario.getId(), region, rtt);
+                }
+            }
+        }
+    }
+
+    // ============================================
+    // CONSULTAS (O(1), sin bloqueo)
+    // ============================================
+
+    @Override
+    public int getLatencia(Usuario usuario, String region) {
+        int medida = getLatencia(usuario.getId(), region);
+        if (medida == SIN_DATOS && sonda != null) {
+            medida = sonda.medir(usuario, region);
+            if (medida >= 0) {
+                reportar(usuario.getId(), region, medida);
+                if (ingesta == null) {
+                    procesarReportes();                  // Nadie más consolida: la próxima consulta ya la encuentra
+                }
+            }
+        }
+        return medida;
+    }
+
+    /**
+     * Latencia promedio (EWMA) en ms, o SIN_DATOS
+     */
+    public int getLatencia(int usuarioId, String region) {
+        Integer fila = filaPorUsuario.get(usuarioId);
+        Integer col = region != null ? columnaPorRegion.get(region) : null;
+        if (fila == null || col == null) {
+            return SIN_DATOS;
+        }
+        int[] m = matriz;
+        int pos = fila * MAX_REGIONES + col;
+        if (pos >= m.length || m[pos] < 0) {
+            return SIN_DATOS;
+        }
+        return (m[pos] + ESCALA / 2) / ESCALA;
+    }
+
+    // ============================================
+    // INGESTA (un solo escritor)
+    // ============================================
+
+    /**
+     * Aplica los reportes pendientes a la matriz
+     *
+     * @return cantidad de reportes aplicados
+     */
+    public synchronized int procesarReportes() {
+        int aplicados = 0;
+        long[] reporte;
+        while ((reporte = pendientes.poll()) != null) {
+            cantidadPendientes.decrementAndGet();
+            int fila = fila((int) reporte[0]);
+            int pos = fila * MAX_REGIONES + (int) reporte[1];
+            int muestra = (int) reporte[2] * ESCALA;
+            int[] m = matriz;
+            m[pos] = m[pos] < 0 ? muestra : (int) Math.round(m[pos] + alfa * (muestra - m[pos]));
+            aplicados++;
+        }
+        return aplicados;
+    }
+
+    /**
+     * Arranca el hilo que consolida los reportes cada 'periodoMs'
+     */
+    public synchronized void iniciar(long periodoMs) {
+        if (ingesta != null) {
+            throw new IllegalStateException("La ingesta de latencias ya está iniciada");
+        }
+        ingesta = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread hilo = new Thread(r, "latency-ingest");
+            hilo.setDaemon(true);
+            return hilo;
+        });
+        ingesta.scheduleWithFixedDelay(this::procesarReportes, periodoMs, periodoMs, TimeUnit.MILLISECONDS);
+    }
+
+    public void iniciar() {
+        iniciar(INGESTA_DEFAULT_MS);
+    }
+
+    public synchronized void detener() {
+        if (ingesta != null) {
+            ingesta.shutdownNow();
+            ingesta = null;
+        }
+    }
+
+    // Fila del usuario; crea la fila (y agranda la matriz) si es nuevo. Solo desde la ingesta.
+    private int fila(int usuarioId) {
+        Integer fila = filaPorUsuario.get(usuarioId);
+        if (fila != null) {
+            return fila;
+        }
+        int nueva = filas++;
+        if ((nueva + 1) * MAX_REGIONES > matriz.length) {
+            int[] mayor = nuevaMatriz(matriz.length / MAX_REGIONES * 2);
+            System.arraycopy(matriz, 0, mayor, 0, matriz.length);
+            matriz = mayor;
+        }
+        filaPorUsuario.put(usuarioId, nueva);
+        return nueva;
+    }
+
+    private int columna(String region) {
+        if (region == null) {
+            throw new IllegalArgumentException("Región requerida");
+        }
+        Integer col = columnaPorRegion.get(region);
+        if (col != null) {
+            return col;
+        }
+        synchronized (columnaPorRegion) {
+            col = columnaPorRegion.get(region);
+            if (col == null) {
+                if (columnaPorRegion.size() >= MAX_REGIONES) {
+                    throw new IllegalStateException("Máximo de regiones alcanzado: " + MAX_REGIONES);
+                }
+                col = columnaPorRegion.size();
+                columnaPorRegion.put(region, col);
+            }
+            return col;
+        }
+    }
+
+    private static int[] nuevaMatriz(int capacidadFilas) {
+        int[] m = new int[capacidadFilas * MAX_REGIONES];
+        Arrays.fill(m, -1);
+        return m;
+    }
+
+    // ============================================
+    // MÉTRICAS
+    // ============================================
+
+    public int getJugadoresMedidos() {
+        return filaPorUsuario.size();
+    }
+
+    public int getReportesPendientes() {
+        return cantidadPendientes.get();
+    }
+}
@@ -0,0 +1,233 @@
+package service;
+
+import interfaces.IHistorySource;
+import interfaces.IScrimObserver;
+import models.Estadistica;
+import models.SesionScrim;
+import models.Usuario;
+
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Historial compacto de partidas por jugador
+ *
+ * Guarda las últimas N partidas de cada jugador en un ring buffer empaquetado:
+ * un int por partida (victoria, K/D/A, reportes recibidos, abandono) dentro de
+ * un único int[] de jugadores × N. Junto al buffer se mantienen los totales de
+ * la ventana en un long por jugador, así el score de compatibilidad sale en O(1)
+ * sin recorrer el historial.
+ *
+ * Huella fija por jugador (N = 10): 40 bytes de partidas + 8 de totales +
+ * 4 de cabeza + hasta 16 del índice id → fila ≈ 70 bytes, sin objetos por jugador.
+ * Un millón de jugadores ocupa ~70 MB.
+ *
+ * Registrado como observer de MotorScrims se alimenta solo: cada partida
+ * finalizada suma una entrada por jugador (victoria por kills del equipo).
+ *
+ * Escrituras y lecturas sincronizadas sobre la instancia (cada operación es O(1)).
+ */
+public class MatchHistoryService implements IHistorySource, IScrimObserver {
+
+    public static final int PARTIDAS_DEFAULT = 10;
+    private static final int CAPACIDAD_INICIAL = 1024;
+
+    // Partida empaquetada: bit 0 victoria | K (6 bits) | D (6) | A (6) | reportes (4) | bit 23 abandono
+    private static final int BITS_KDA = 6;
+    private static final int MAX_KDA = (1 << BITS_KDA) - 1;
+    private static final int MAX_REPORTES = 15;
+
+    // Totales empaquetados: victorias (8) | abandonos (8) | reportes (8) | K (12) | D (12) | A (12)
+    private static final int BITS_CONTADOR = 8;
+    private static final int BITS_SUMA = 12;
+
+    private final int partidasPorJugador;
+
+    private int[] partidas;       // fila × N
+    private long[] totales;       // fila
+    private int[] cabeza;         // fila: (cantidad << 16) | próxima posición
+
+    // Índice id → fila (sin Integer por jugador)
+    private final IndiceFilas indice = new IndiceFilas(CAPACIDAD_INICIAL);
+
+    public MatchHistoryService() {
+        this(PARTIDAS_DEFAULT);
+    }
+
+    public MatchHistoryService(int partidasPorJugador) {
+        if (partidasPorJugador <= 0 || partidasPorJugador > 16) {
+            throw new IllegalArgumentException("Partidas por jugador debe estar entre 1 y 16");
+        }
+        this.partidasPorJugador = partidasPorJugador;
+        this.partidas = new int[CAPACIDAD_INICIAL * partidasPorJugador];
+        this.totales = new long[CAPACIDAD_INICIAL];
+        this.cabeza = new int[CAPACIDAD_INICIAL];
+    }
+
+    // ============================================
+    // REGISTRO DE PARTIDAS
+    // ============================================
+
+    /**
+     * Registra el resultado de una partida; desplaza la más vieja si el buffer está lleno
+     */
+    public synchronized void registrarResultado(int usuarioId, boolean victoria, int kills, int deaths,
+                                                int assists, int reportes, boolean abandono) {
+        int fila = filaOCrear(usuarioId);
+        int partida = empaquetar(victoria, kills, deaths, assists, reportes, abandono);
+
+        int estado = cabeza[fila];
+        int cantidad = estado >>> 16;
+        int pos = estado & 0xffff;
+        int indice = fila * partidasPorJugador + pos;
+
+        long suma = totales[fila];
+        if (cantidad == partidasPorJugador) {
+            suma -= aTotales(partidas[indice]);
+        } else {
+            cantidad++;
+        }
+        partidas[indice] = partida;
+        totales[fila] = suma + aTotales(partida);
+        cabeza[fila] = (cantidad << 16) | ((pos + 1) % partidasPorJugador);
+    }
+
+    public void registrar(Estadistica estadistica, boolean victoria, int reportes, boolean abandono) {
+        registrarResultado(estadistica.getUsuario().getId(), victoria, estadistica.getKills(),
+                           estadistica.getDeaths(), estadistica.getAssists(), reportes, abandono);
+    }
+
+    @Override
+    public void onPartidaFinalizada(SesionScrim sesion) {
+        registrarPartida(sesion);
+    }
+
+    /**
+     * Registra la partida de cada jugador con estadísticas; gana el equipo con
+     * más kills (empate = sin victoria para nadie)
+     */
+    public void registrarPartida(SesionScrim sesion) {
+        List<Usuario> azul = sesion.getEquipoAzul().getJugadores();
+        List<Usuario> rojo = sesion.getEquipoRojo().getJugadores();
+        int killsAzul = 0;
+        int killsRojo = 0;
+        for (Estadistica estadistica : sesion.getEstadisticas()) {
+            if (azul.contains(estadistica.getUsuario())) {
+                killsAzul += estadistica.getKills();
+            } else if (rojo.contains(estadistica.getUsuario())) {
+                killsRojo += estadistica.getKills();
+            }
+        }
+        for (Estadistica estadistica : sesion.getEstadisticas()) {
+            boolean esAzul = azul.contains(estadistica.getUsuario());
+            boolean victoria = esAzul ? killsAzul > killsRojo : killsRojo > killsAzul;
+            registrar(estadistica, victoria, 0, false);
+        }
+    }
+
+    // ============================================
+    // CONSULTAS O(1)
+    // ============================================
+
+    @Override
+    public int getCompatibilidad(Usuario usuario) {
+        return getCompatibilidad(usuario.getId());
+    }
+
+    /**
+     * Score 0-100 a partir de los totales de la ventana:
+     * 60 base, ±20 por winrate, ±20 por KDA, hasta -40 por reportes y -60 por abandonos.
+     * Sin partidas registradas devuelve COMPATIBILIDAD_NEUTRA.
+     */
+    public synchronized int getCompatibilidad(int usuarioId) {
+        int fila = indice.buscar(usuarioId);
+        if (fila < 0 || cabeza[fila] >>> 16 == 0) {
+            return COMPATIBILIDAD_NEUTRA;
+        }
+        double n = cabeza[fila] >>> 16;
+        long t = totales[fila];
+        int victorias = campo(t, 0, BITS_CONTADOR);
+        int abandonos = campo(t, 8, BITS_CONTADOR);
+        int reportes = campo(t, 16, BITS_CONTADOR);
+        int kills = campo(t, 24, BITS_SUMA);
+        int deaths = campo(t, 36, BITS_SUMA);
+        int assists = campo(t, 48, BITS_SUMA);
+
+        double kda = (kills + assists) / (double) Math.max(1, deaths);
+        double score = 60
+                     + (victorias / n - 0.5) * 40
+                     + Math.max(-20, Math.min(20, (kda - 1) * 10))
+                     - Math.min(40, reportes / n * 40)
+                     - abandonos / n * 60;
+        return (int) Math.max(0, Math.min(100, Math.round(score)));
+    }
+
+    public synchronized int getPartidasRegistradas(int usuarioId) {
+        int fila = indice.buscar(usuarioId);
+        return fila < 0 ? 0 : cabeza[fila] >>> 16;
+    }
+
+    public synchronized int getVictorias(int usuarioId) {
+        int fila = indice.buscar(usuarioId);
+        return fila < 0 ? 0 : campo(totales[fila], 0, BITS_CONTADOR);
+    }
+
+    public synchronized int getJugadores() {
+        return indice.getFilas();
+    }
+
+    public int getPartidasPorJugador() {
+        return partidasPorJugador;
+    }
+
+    // ============================================
+    // EMPAQUETADO
+    // ============================================
+
+    private static int empaquetar(boolean victoria, int kills, int deaths, int assists,
+                                  int reportes, boolean abandono) {
+        return (victoria ? 1 : 0)
+             | recortar(kills, MAX_KDA) << 1
+             | recortar(deaths, MAX_KDA) << 7
+             | recortar(assists, MAX_KDA) << 13
+             | recortar(reportes, MAX_REPORTES) << 19
+             | (abandono ? 1 : 0) << 23;
+    }
+
+    // Aporte de una partida a los totales empaquetados
+    private static long aTotales(int p) {
+        return (long) (p & 1)
+             | (long) (p >>> 23 & 1) << 8
+             | (long) (p >>> 19 & MAX_REPORTES) << 16
+             | (long) (p >>> 1 & MAX_KDA) << 24
+             | (long) (p >>> 7 & MAX_KDA) << 36
+             | (long) (p >>> 13 & MAX_KDA) << 48;
+    }
+
+    private static int campo(long totales, int desde, int bits) {
+        return (int) (totales >>> desde & ((1L << bits) - 1));
+    }
+
+    private static int recortar(int valor, int max) {
+        return Math.max(0, Math.min(max, valor));
+    }
+
+    // ============================================
+    // FILAS
+    // ============================================
+
+    private int filaOCrear(int usuarioId) {
+        int fila = indice.buscar(usuarioId);
+        if (fila >= 0) {
+            return fila;
+        }
+        fila = indice.agregar(usuarioId);
+        if (fila == totales.length) {
+            int capacidad = totales.length * 2;
+            partidas = Arrays.copyOf(partidas, capacidad * partidasPorJugador);
+            totales = Arrays.copyOf(totales, capacidad);
+            cabeza = Arrays.copyOf(cabeza, capacidad);
+        }
+        return fila;
+    }
+}
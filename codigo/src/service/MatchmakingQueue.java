@@ -0,0 +1,454 @@
+package service;
+
+import interfaces.IBackfillSource;
+import interfaces.ILobbyListener;
+import interfaces.IMatchMakingStrategy;
+import models.Grupo;
+import models.JuegoConfig;
+import models.Scrim;
+import models.TicketMatchmaking;
+import models.Usuario;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
+import java.util.function.LongSupplier;
+
+/**
+ * Motor de colas de matchmaking continuo
+ *
+ * Responsabilidades:
+ * - Recibir tickets (juego, formato, región, MMR, rol) en cualquier momento
+ * - Agrupar los tickets en buckets independientes por (juego, formato, región)
+ * - Formar lobbies en cada tick usando la IMatchMakingStrategy configurada
+ * - Publicar cada lobby formado a los ILobbyListener registrados
+ *
+ * El costo de un tick depende de la cantidad de jugadores en cola, no de
+ * scrims × candidatos: cada ticket se evalúa contra su vecindario de MMR.
+ *
+ * Con una CurvaExpansionMMR la ventana de cada ticket crece mientras espera;
+ * en cada tick solo se re-evalúan los tickets cuya ventana cambió.
+ *
+ * Con setParalelismo(n) los buckets se procesan en paralelo sobre un ForkJoinPool.
+ * Un jugador vive en un único bucket y cada ticket se reserva con CAS antes de
+ * entrar a un lobby, así que nunca queda en dos lobbies. En ese modo los
+ * ILobbyListener se invocan desde los hilos del pool y deben ser thread-safe.
+ *
+ * Cada llegada y cada emparejamiento alimentan un EstimadorEspera por bucket
+ * y banda de MMR (estimarEspera), consultable sin locks desde cualquier hilo.
+ *
+ * Los grupos premade (encolarGrupo) entran con un único ticket que ocupa un
+ * cupo por miembro y usa el MMR promedio del grupo; el bucket los empaqueta
+ * junto con jugadores solos sin separarlos nunca entre equipos.
+ *
+ * Como IBackfillSource completa vacantes de lobbies en confirmación con el
+ * ticket más cercano en MMR y reencola a los jugadores de lobbies cancelados
+ * con su hora de encolado original (vuelven al frente de la cola).
+ *
+ * @pattern Strategy (contexto) + Observer (sujeto)
+ */
+public class MatchmakingQueue implements IBackfillSource {
+
+    public static final long TICK_DEFAULT_MS = 1000;
+    public static final int VENTANA_MMR_DEFAULT = 200;     // Igual que crearScrimAutomatico
+    private static final int FACTOR_VECINDAD = 4;          // Vecinos evaluados = cupos × factor
+    private static final int BUCKETS_POR_TAREA = 4;        // Debajo de esto una tarea no se divide
+
+    private final IMatchMakingStrategy estrategia;
+    private final LongSupplier reloj;
+    private final Map<String, QueueBucket> buckets = new ConcurrentHashMap<>();
+    private final Map<Integer, TicketMatchmaking> ticketsPorUsuario = new ConcurrentHashMap<>();
+    private final List<ILobbyListener> listeners = new CopyOnWriteArrayList<>();
+    private final AtomicLong secuencia = new AtomicLong();
+    private final AtomicLong lobbiesFormados = new AtomicLong();
+    private final EstimadorEspera estimador = new EstimadorEspera();
+
+    private volatile CurvaExpansionMMR curva = CurvaExpansionMMR.fija(VENTANA_MMR_DEFAULT);
+    private ScheduledExecutorService scheduler;
+    private volatile ForkJoinPool pool;                    // null = tick secuencial
+
+    public MatchmakingQueue(IMatchMakingStrategy estrategia) {
+        this(estrategia, System::currentTimeMillis);
+    }
+
+    /**
+     * @param reloj Fuente de tiempo en ms (inyectable para tests y simulaciones)
+     */
+    public MatchmakingQueue(IMatchMakingStrategy estrategia, LongSupplier reloj) {
+        this.estrategia = estrategia;
+        this.reloj = reloj;
+    }
+
+    // ============================================
+    // ENCOLADO
+    // ============================================
+
+    /**
+     * Encola un jugador en el bucket (juego, formato, región)
+     *
+     * @return Ticket creado
+     * @throws IllegalStateException si el usuario ya está en cola
+     */
+    public TicketMatchmaking encolar(Usuario usuario, String juego, String formato,
+                                     String region, int mmr, String rol) {
+        if (mmr < 0) {
+            throw new IllegalArgumentException("MMR no puede ser negativo");
+        }
+
+        TicketMatchmaking ticket = new TicketMatchmaking(secuencia.incrementAndGet(), usuario,
+            juego, formato, region, mmr, rol, reloj.getAsLong());
+
+        if (ticketsPorUsuario.putIfAbsent(usuario.getId(), ticket) != null) {
+            throw new IllegalStateException("El usuario " + usuario.getUsername() + " ya está en cola");
+        }
+
+        buckets.computeIfAbsent(ticket.getClaveBucket(), k -> new QueueBucket(juego, formato, region))
+            .encolar(ticket);
+        estimador.registrarLlegada(ticket.getClaveBucket(), mmr, ticket.getEncoladoEn());
+        return ticket;
+    }
+
+    /**
+     * Encola un grupo premade como una sola unidad con el MMR promedio de sus miembros
+     *
+     * @return Ticket del grupo
+     * @throws IllegalArgumentException si el grupo tiene menos de 2 miembros o no entra en un equipo
+     * @throws IllegalStateException si algún miembro ya está en cola
+     */
+    public TicketMatchmaking encolarGrupo(Grupo grupo, String juego, String formato, String region) {
+        if (!grupo.isCompleto()) {
+            throw new IllegalArgumentException("Un grupo necesita al menos " + Grupo.MIN_MIEMBROS + " miembros");
+        }
+        int porEquipo = JuegoConfig.getJugadoresTotales(formato) / 2;
+        if (grupo.getTamanio() > porEquipo) {
+            throw new IllegalArgumentException("Un grupo de " + grupo.getTamanio() +
+                                               " no entra en un equipo de " + formato);
+        }
+
+        TicketMatchmaking ticket = new TicketMatchmaking(secuencia.incrementAndGet(), grupo,
+            juego, formato, region, grupo.getMMR(juego), reloj.getAsLong());
+
+        Usuario enCola = registrarJugadores(ticket);
+        if (enCola != null) {
+            throw new IllegalStateException("El usuario " + enCola.getUsername() + " ya está en cola");
+        }
+
+        buckets.computeIfAbsent(ticket.getClaveBucket(), k -> new QueueBucket(juego, formato, region))
+            .encolar(ticket);
+        estimador.registrarLlegada(ticket.getClaveBucket(), ticket.getMmr(), ticket.getEncoladoEn());
+        return ticket;
+    }
+
+    /**
+     * Asocia cada jugador del ticket con él; si alguno ya tenía ticket deshace lo hecho
+     *
+     * @return El jugador que ya estaba en cola, o null si se registraron todos
+     */
+    private Usuario registrarJugadores(TicketMatchmaking ticket) {
+        List<Usuario> jugadores = ticket.getJugadores();
+        for (int i = 0; i < jugadores.size(); i++) {
+            if (ticketsPorUsuario.putIfAbsent(jugadores.get(i).getId(), ticket) != null) {
+                for (int j = 0; j < i; j++) {
+                    ticketsPorUsuario.remove(jugadores.get(j).getId(), ticket);
+                }
+                return jugadores.get(i);
+            }
+        }
+        return null;
+    }
+
+    private void quitarJugadores(TicketMatchmaking ticket) {
+        for (Usuario jugador : ticket.getJugadores()) {
+            ticketsPorUsuario.remove(jugador.getId(), ticket);
+        }
+    }
+
+    /**
+     * Encola un jugador usando los datos de su perfil
+     * (región del usuario, formato por defecto del juego y su MMR en ese juego)
+     */
+    public TicketMatchmaking encolar(Usuario usuario, String juego, String rol) {
+        return encolar(usuario, juego, JuegoConfig.getFormatoDefault(juego),
+                       usuario.getRegion(), usuario.getRangoParaJuego(juego), rol);
+    }
+
+    /**
+     * Saca a un jugador de la cola (si está en un grupo, sale el grupo entero)
+     *
+     * @return true si el jugador estaba esperando y fue removido
+     */
+    public boolean cancelar(Usuario usuario) {
+        TicketMatchmaking ticket = ticketsPorUsuario.get(usuario.getId());
+        if (ticket == null || !ticket.cancelar()) {
+            return false;
+        }
+        quitarJugadores(ticket);
+        return true;
+    }
+
+    /**
+     * Vuelve a encolar al jugador con la hora de encolado del ticket original:
+     * conserva su espera acumulada (y con ella su ventana de MMR expandida) y,
+     * al ser de los más antiguos, su lobby se intenta antes que el de los demás
+     */
+    @Override
+    public TicketMatchmaking reencolar(TicketMatchmaking original) {
+        TicketMatchmaking ticket = original.isGrupo()
+            ? new TicketMatchmaking(secuencia.incrementAndGet(), original.getGrupo(),
+                original.getJuego(), original.getFormato(), original.getRegion(),
+                original.getMmr(), original.getEncoladoEn())
+            : new TicketMatchmaking(secuencia.incrementAndGet(), original.getUsuario(),
+                original.getJuego(), original.getFormato(), original.getRegion(),
+                original.getMmr(), original.getRol(), original.getEncoladoEn());
+
+        if (registrarJugadores(ticket) != null) {
+            return null;
+        }
+        buckets.computeIfAbsent(ticket.getClaveBucket(),
+                k -> new QueueBucket(ticket.getJuego(), ticket.getFormato(), ticket.getRegion()))
+            .encolar(ticket);
+        return ticket;
+    }
+
+    /**
+     * El pedido se atiende en el próximo tick del bucket del saliente;
+     * 'respuesta' corre en el hilo que procesa ese bucket
+     */
+    @Override
+    public void solicitarReemplazo(TicketMatchmaking saliente, int rangoMin, int rangoMax,
+                                   Consumer<TicketMatchmaking> respuesta) {
+        QueueBucket bucket = buckets.get(saliente.getClaveBucket());
+        if (bucket == null) {
+            respuesta.accept(null);
+            return;
+        }
+        bucket.solicitarReemplazo(saliente.getMmr(), rangoMin, rangoMax, reemplazo -> {
+            if (reemplazo != null) {
+                quitarJugadores(reemplazo);
+                registrarEmparejado(reemplazo, reloj.getAsLong());
+            }
+            respuesta.accept(reemplazo);
+        });
+    }
+
+    public boolean estaEnCola(Usuario usuario) {
+        TicketMatchmaking ticket = ticketsPorUsuario.get(usuario.getId());
+        return ticket != null && ticket.isEnCola();
+    }
+
+    // ============================================
+    // SCHEDULER
+    // ============================================
+
+    /**
+     * Procesa un tick: forma los lobbies posibles en todos los buckets
+     *
+     * @return cantidad de lobbies formados en este tick
+     */
+    public int procesarTick() {
+        long ahora = reloj.getAsLong();
+        CurvaExpansionMMR curvaActual = curva;
+        ForkJoinPool poolActual = pool;
+        List<QueueBucket> lista = new ArrayList<>(buckets.values());
+
+        if (poolActual == null || lista.size() < 2) {
+            int formados = 0;
+            for (QueueBucket bucket : lista) {
+                formados += procesarBucket(bucket, curvaActual, ahora);
+            }
+            return formados;
+        }
+        return poolActual.invoke(new TareaBuckets(lista, 0, lista.size(), curvaActual, ahora));
+    }
+
+    private int procesarBucket(QueueBucket bucket, CurvaExpansionMMR curvaActual, long ahora) {
+        if (!bucket.intentarTomar()) {
+            // Otro hilo ya está procesando este bucket en un tick solapado
+            return 0;
+        }
+        try {
+            return bucket.procesar(estrategia, curvaActual, ahora,
+                                   bucket.getCupos() * FACTOR_VECINDAD, this::publicarLobby);
+        } finally {
+            bucket.soltar();
+        }
+    }
+
+    /**
+     * Divide la lista de buckets en mitades hasta BUCKETS_POR_TAREA
+     */
+    private class TareaBuckets extends RecursiveTask<Integer> {
+        private static final long serialVersionUID = 1L;
+
+        private final List<QueueBucket> lista;
+        private final int desde;
+        private final int hasta;
+        private final CurvaExpansionMMR curvaActual;
+        private final long ahora;
+
+        TareaBuckets(List<QueueBucket> lista, int desde, int hasta,
+                     CurvaExpansionMMR curvaActual, long ahora) {
+            this.lista = lista;
+            this.desde = desde;
+            this.hasta = hasta;
+            this.curvaActual = curvaActual;
+            this.ahora = ahora;
+        }
+
+        @Override
+        protected Integer compute() {
+            if (hasta - desde <= BUCKETS_POR_TAREA) {
+                int formados = 0;
+                for (int i = desde; i < hasta; i++) {
+                    formados += procesarBucket(lista.get(i), curvaActual, ahora);
+                }
+                return formados;
+            }
+            int medio = (desde + hasta) >>> 1;
+            TareaBuckets izquierda = new TareaBuckets(lista, desde, medio, curvaActual, ahora);
+            izquierda.fork();
+            int derecha = new TareaBuckets(lista, medio, hasta, curvaActual, ahora).compute();
+            return derecha + izquierda.join();
+        }
+    }
+
+    /**
+     * Procesa los buckets en paralelo con 'hilos' workers (≤ 1 vuelve al modo secuencial)
+     * ej: setParalelismo(Runtime.getRuntime().availableProcessors())
+     */
+    public synchronized void setParalelismo(int hilos) {
+        ForkJoinPool anterior = pool;
+        pool = hilos > 1 ? new ForkJoinPool(hilos) : null;
+        if (anterior != null) {
+            anterior.shutdown();
+        }
+    }
+
+    public int getParalelismo() {
+        ForkJoinPool actual = pool;
+        return actual != null ? actual.getParallelism() : 1;
+    }
+
+    /**
+     * Activa el modo de ventana expansiva (o vuelve a una ventana fija)
+     * Aplica a los tickets que entren desde el próximo tick.
+     */
+    public void setCurvaExpansion(CurvaExpansionMMR curva) {
+        this.curva = curva;
+    }
+
+    public CurvaExpansionMMR getCurvaExpansion() {
+        return curva;
+    }
+
+    /**
+     * Arranca el scheduler que ejecuta un tick cada 'tickMillis' ms
+     */
+    public synchronized void iniciar(long tickMillis) {
+        if (scheduler != null) {
+            throw new IllegalStateException("La cola de matchmaking ya está iniciada");
+        }
+        scheduler = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread hilo = new Thread(r, "matchmaking-tick");
+            hilo.setDaemon(true);
+            return hilo;
+        });
+        scheduler.scheduleAtFixedRate(() -> {
+            try {
+                procesarTick();
+            } catch (RuntimeException e) {
+                // Un error en un tick no debe matar al scheduler
+                System.err.println("[MATCHMAKING QUEUE] Error en tick: " + e.getMessage());
+            }
+        }, tickMillis, tickMillis, TimeUnit.MILLISECONDS);
+    }
+
+    public void iniciar() {
+        iniciar(TICK_DEFAULT_MS);
+    }
+
+    public synchronized void detener() {
+        if (scheduler != null) {
+            scheduler.shutdownNow();
+            scheduler = null;
+        }
+        if (pool != null) {
+            pool.shutdown();
+            pool = null;
+        }
+    }
+
+    // ============================================
+    // OBSERVERS
+    // ============================================
+
+    public void agregarListener(ILobbyListener listener) {
+        listeners.add(listener);
+    }
+
+    public void quitarListener(ILobbyListener listener) {
+        listeners.remove(listener);
+    }
+
+    private void publicarLobby(Scrim lobby, List<TicketMatchmaking> tickets) {
+        long ahora = reloj.getAsLong();
+        for (TicketMatchmaking ticket : tickets) {
+            quitarJugadores(ticket);
+            registrarEmparejado(ticket, ahora);
+        }
+        lobbiesFormados.incrementAndGet();
+        for (ILobbyListener listener : listeners) {
+            listener.onLobbyFormado(lobby, tickets);
+        }
+    }
+
+    private void registrarEmparejado(TicketMatchmaking ticket, long ahora) {
+        estimador.registrarEmparejado(ticket.getClaveBucket(), ticket.getMmr(), ticket.getEspera(ahora), ahora);
+    }
+
+    // ============================================
+    // MÉTRICAS
+    // ============================================
+
+    /**
+     * Espera estimada (ms) para un jugador que entra ahora al bucket con ese MMR
+     *
+     * @return -1 si el bucket / banda todavía no tiene datos
+     */
+    public long estimarEspera(String juego, String formato, String region, int mmr) {
+        return estimador.estimarEspera(TicketMatchmaking.claveBucket(juego, formato, region), mmr,
+                                       JuegoConfig.getJugadoresTotales(formato), reloj.getAsLong());
+    }
+
+    public EstimadorEspera getEstimador() {
+        return estimador;
+    }
+
+    /**
+     * Jugadores esperando en todas las colas
+     */
+    public int getJugadoresEnCola() {
+        return ticketsPorUsuario.size();
+    }
+
+    /**
+     * Tickets en un bucket concreto (incluye cancelados aún no purgados)
+     */
+    public int getTamanioBucket(String juego, String formato, String region) {
+        QueueBucket bucket = buckets.get(TicketMatchmaking.claveBucket(juego, formato, region));
+        return bucket != null ? bucket.tamanio() : 0;
+    }
+
+    public long getLobbiesFormados() {
+        return lobbiesFormados.get();
+    }
+}
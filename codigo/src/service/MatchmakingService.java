@@ -1,16 +1,117 @@
 package service;
 
+import interfaces.ILobbyListener;
 import interfaces.IMatchMakingStrategy;
 import models.Scrim;
+import models.TicketMatchmaking;
+import models.Postulacion;
+import models.Usuario;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
 
 public class MatchmakingService {
     private IMatchMakingStrategy estrategia;
+    private MatchmakingQueue cola;
 
     public MatchmakingService(IMatchMakingStrategy estrategia) {
+        this(estrategia, new MatchmakingQueue(estrategia));
+    }
+
+    /**
+     * Usa una cola ya creada (compartida con otros componentes, ej: el motor)
+     */
+    public MatchmakingService(IMatchMakingStrategy estrategia, MatchmakingQueue cola) {
         this.estrategia = estrategia;
+        this.cola = cola;
     }
 
     public void ejecutarEmparejamiento(Scrim scrim) {
         estrategia.ejecutarEmparejamiento(scrim);
     }
+
+    /**
+     * Llena las salas abiertas del juego en SalaManager desde un pool de candidatos
+     * Una sola selección en lote: ningún jugador queda en dos salas. Quien ya
+     * tiene una postulación en alguna de ellas se saltea, así llamarlo de nuevo
+     * con el mismo pool no duplica jugadores.
+     *
+     * @return cantidad de jugadores ubicados
+     */
+    public int llenarSalas(List<Usuario> candidatos, String juego) {
+        List<Scrim> salas = SalaManager.getInstance().getSalasPorJuego(juego);
+        Set<Integer> ocupados = new HashSet<>();
+        for (Scrim sala : salas) {
+            for (Postulacion postulacion : sala.getPostulaciones()) {
+                ocupados.add(postulacion.getUsuario().getId());
+            }
+        }
+        List<Usuario> libres = new ArrayList<>(candidatos.size());
+        for (Usuario candidato : candidatos) {
+            if (ocupados.add(candidato.getId())) {           // También descarta repetidos en el pool
+                libres.add(candidato);
+            }
+        }
+
+        List<List<Usuario>> asignaciones = estrategia.seleccionarLote(libres, salas);
+        int ubicados = 0;
+        for (int i = 0; i < salas.size(); i++) {
+            for (Usuario usuario : asignaciones.get(i)) {
+                salas.get(i).addPostulacion(new Postulacion(usuario, usuario.getRol()));
+                ubicados++;
+            }
+        }
+        return ubicados;
+    }
+
+    // ============================================
+    // COLA CONTINUA (motor de matchmaking)
+    // ============================================
+
+    /**
+     * Encola un jugador; el lobby se forma en un tick posterior
+     */
+    public TicketMatchmaking encolar(Usuario usuario, String juego, String formato,
+                                     String region, int mmr, String rol) {
+        return cola.encolar(usuario, juego, formato, region, mmr, rol);
+    }
+
+    public boolean cancelarBusqueda(Usuario usuario) {
+        return cola.cancelar(usuario);
+    }
+
+    /**
+     * Modo de ventana de MMR que se expande con el tiempo de espera
+     */
+    public void configurarExpansion(CurvaExpansionMMR curva) {
+        cola.setCurvaExpansion(curva);
+    }
+
+    /**
+     * Procesa buckets independientes en paralelo (ej: un hilo por core)
+     */
+    public void configurarParalelismo(int hilos) {
+        cola.setParalelismo(hilos);
+    }
+
+    public void agregarListener(ILobbyListener listener) {
+        cola.agregarListener(listener);
+    }
+
+    /**
+     * Arranca el scheduler de la cola con un tick fijo
+     */
+    public void iniciarCola(long tickMillis) {
+        cola.iniciar(tickMillis);
+    }
+
+    public void detenerCola() {
+        cola.detener();
+    }
+
+    public MatchmakingQueue getCola() {
+        return cola;
+    }
 }
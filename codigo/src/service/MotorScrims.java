@@ -0,0 +1,508 @@
+package service;
+
+import context.ScrimContext;
+import interfaces.IBackfillSource;
+import interfaces.ILobbyListener;
+import interfaces.IScrimObserver;
+import models.Confirmacion;
+import models.Equipo;
+import models.Estadistica;
+import models.Scrim;
+import models.SesionScrim;
+import models.TicketMatchmaking;
+import models.Usuario;
+import states.EstadoCancelado;
+import states.EstadoConfirmado;
+import states.EstadoEnJuego;
+import states.EstadoFinalizado;
+import states.EstadoLobbyCompleto;
+import states.ScrimState;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.Consumer;
+import java.util.function.Function;
+
+/**
+ * Motor headless del ciclo de vida de una partida
+ *
+ * lobby → confirmación → en juego → finalizado, sin consola ni esperas:
+ * cada paso avanza cuando llega el evento correspondiente
+ * (formarLobby, confirmar, finalizar). Las vistas se enganchan como
+ * IScrimObserver opcionales.
+ *
+ * Cada sesión se modifica bajo su propio lock y el registro de sesiones
+ * activas es concurrente: un único motor puede llevar miles de partidas
+ * en simultáneo desde distintos hilos. Los avisos a los observers que se
+ * generan bajo el lock se entregan recién al soltarlo: una vista lenta no
+ * retiene sesiones ni demora al hilo que vence los plazos.
+ *
+ * Juego rápido sin consola: conectar el motor a una MatchmakingQueue,
+ * encolar jugadores y responder confirmar / finalizar a medida que llegan
+ * los eventos.
+ *
+ * Con una IBackfillSource, un rechazo (o un plazo vencido) no re-forma el
+ * lobby: se abre una vacante y se pide a la cola el jugador más cercano en
+ * MMR para ese lugar. Si no hay reemplazo la partida se cancela y los demás
+ * jugadores vuelven a la cola con su espera original.
+ *
+ * Los grupos premade que llegan de la cola juegan siempre en el mismo equipo.
+ * Un miembro de un grupo no se reemplaza de a uno: si rechaza, la partida se
+ * cancela y el grupo no vuelve a la cola.
+ *
+ * @pattern State (contexto) + Observer (sujeto y listener de la cola)
+ */
+public class MotorScrims implements ILobbyListener {
+
+    public static final String MOTIVO_RECHAZO = "rechazó la partida";
+    public static final String MOTIVO_BANEADO = "está baneado";
+    public static final String MOTIVO_TIEMPO_AGOTADO = "no confirmó a tiempo";
+
+    private final BalanceadorEquipos balanceador = new BalanceadorEquipos();
+    private final Function<String, String[]> rolesPorJuego;
+    // Un asignador por juego y por hilo: reserva sus buffers una vez y no es thread-safe
+    private final ThreadLocal<Map<String, AsignadorRoles>> asignadores = ThreadLocal.withInitial(HashMap::new);
+    private final Map<UUID, SesionScrim> activas = new ConcurrentHashMap<>();
+    private final List<IScrimObserver> observers = new CopyOnWriteArrayList<>();
+    private volatile IBackfillSource backfill;              // null = sin reemplazos ni reencolado
+    private volatile CoordinadorConfirmaciones coordinador; // Abre la confirmación bajo el lock del lobby
+
+    // Avisos generados bajo el lock de una sesión, por hilo; se entregan al salir del lock más externo
+    private final ThreadLocal<Avisos> avisos = ThreadLocal.withInitial(Avisos::new);
+
+    private static final class Avisos {
+        int profundidad;
+        final List<Consumer<IScrimObserver>> pendientes = new ArrayList<>();
+    }
+
+    /**
+     * @param rolesPorJuego Catálogo de roles de cada juego (para resolver roles únicos por equipo)
+     */
+    public MotorScrims(Function<String, String[]> rolesPorJuego) {
+        this.rolesPorJuego = rolesPorJuego;
+    }
+
+    // ============================================
+    // CICLO DE VIDA
+    // ============================================
+
+    /**
+     * Forma el lobby: balancea equipos, resuelve roles y abre la confirmación
+     *
+     * Los jugadores baneados liberan su lugar en el acto (reemplazo o cancelación).
+     *
+     * @param jugadores Jugadores del lobby; se reordenan (azul primero, rojo después)
+     * @return Sesión creada (activa, o ya cancelada)
+     */
+    public SesionScrim formarLobby(Scrim scrim, ScrimContext context, List<Usuario> jugadores) {
+        return formarLobby(scrim, context, jugadores, Collections.emptyList());
+    }
+
+    /**
+     * @param tickets Tickets de la cola de cada jugador (vacío si el lobby no salió de la cola)
+     */
+    private SesionScrim formarLobby(Scrim scrim, ScrimContext context, List<Usuario> jugadores,
+                                    List<TicketMatchmaking> tickets) {
+        String juego = scrim.getJuego();
+        boolean rolesUnicos = AsignadorRoles.esJuegoConRolesUnicos(juego);
+        int[] grupoDe = grupos(jugadores, tickets);
+        Equipo[] equipos = grupoDe != null
+            ? balanceador.formarEquipos(jugadores, grupoDe, juego, rolesUnicos)
+            : balanceador.formarEquipos(jugadores, juego, rolesUnicos);
+        if (rolesUnicos) {
+            AsignadorRoles asignador = asignadores.get()
+                .computeIfAbsent(juego, j -> new AsignadorRoles(rolesPorJuego.apply(j)));
+            for (Equipo equipo : equipos) {
+                asignador.asignar(equipo, scrim);
+            }
+        }
+
+        SesionScrim sesion = new SesionScrim(scrim, context, jugadores, equipos);
+        for (TicketMatchmaking ticket : tickets) {
+            sesion.registrarTicket(ticket);
+        }
+        Avisos lote = entrar();
+        try {
+            synchronized (sesion) {
+                activas.put(scrim.getId(), sesion);
+                cambiarEstado(sesion, new EstadoLobbyCompleto());
+                // Antes de soltar el lock: una respuesta de otro hilo ya encuentra la confirmación abierta
+                CoordinadorConfirmaciones confirmaciones = coordinador;
+                if (confirmaciones != null) {
+                    confirmaciones.abrir(sesion);
+                }
+                avisar(observer -> observer.onLobbyCompleto(sesion));
+                List<Usuario> baneados = new ArrayList<>();
+                for (Usuario jugador : jugadores) {
+                    if (jugador.estaBaneado()) {
+                        sesion.registrarRespuesta(jugador, false);
+                        baneados.add(jugador);
+                    }
+                }
+                if (!baneados.isEmpty()) {
+                    liberarLugares(sesion, baneados, MOTIVO_BANEADO);
+                }
+            }
+        } finally {
+            salir(lote);
+        }
+        return sesion;
+    }
+
+    /**
+     * Ticket de grupo de cada jugador (índice en 'tickets') o -1 si juega solo
+     *
+     * @return null si ningún ticket es de un grupo
+     */
+    private int[] grupos(List<Usuario> jugadores, List<TicketMatchmaking> tickets) {
+        Map<Integer, Integer> grupoPorUsuario = new HashMap<>();
+        for (int t = 0; t < tickets.size(); t++) {
+            if (tickets.get(t).isGrupo()) {
+                for (Usuario miembro : tickets.get(t).getJugadores()) {
+                    grupoPorUsuario.put(miembro.getId(), t);
+                }
+            }
+        }
+        if (grupoPorUsuario.isEmpty()) {
+            return null;
+        }
+        int[] grupoDe = new int[jugadores.size()];
+        for (int i = 0; i < grupoDe.length; i++) {
+            grupoDe[i] = grupoPorUsuario.getOrDefault(jugadores.get(i).getId(), -1);
+        }
+        return grupoDe;
+    }
+
+    /**
+     * Registra la respuesta de un jugador
+     *
+     * - Rechazo: el jugador recibe una sanción y su lugar se libera
+     *   (reemplazo desde la cola, o cancelación si no hay backfill)
+     * - Última confirmación: LobbyCompleto → Confirmado → EnJuego
+     *
+     * @return false si la respuesta no cambió nada (ya había respondido o la partida no espera confirmaciones)
+     * @throws IllegalArgumentException si el usuario no es parte de la partida
+     */
+    public boolean confirmar(SesionScrim sesion, Usuario jugador, boolean acepta) {
+        Avisos lote = entrar();
+        try {
+            synchronized (sesion) {
+                if (!(sesion.getScrim().getEstado() instanceof EstadoLobbyCompleto)) {
+                    return false;
+                }
+                if (!sesion.registrarRespuesta(jugador, acepta)) {
+                    return false;
+                }
+                avisar(observer -> observer.onConfirmacion(sesion, jugador, acepta));
+
+                if (!acepta) {
+                    jugador.agregarSancion();
+                    liberarLugares(sesion, Collections.singletonList(jugador), MOTIVO_RECHAZO);
+                } else if (sesion.todosConfirmaron()) {
+                    cambiarEstado(sesion, new EstadoConfirmado());
+                    cambiarEstado(sesion, new EstadoEnJuego());
+                }
+                return true;
+            }
+        } finally {
+            salir(lote);
+        }
+    }
+
+    /**
+     * Vence el plazo de confirmación: quienes no respondieron cuentan como
+     * rechazo (cada uno recibe una sanción) y sus lugares se liberan. Si ya
+     * no quedaban pendientes, las vacantes sin reemplazo cancelan la partida.
+     *
+     * @return false si la partida ya no esperaba confirmaciones
+     */
+    public boolean expirar(SesionScrim sesion) {
+        Avisos lote = entrar();
+        try {
+            synchronized (sesion) {
+                if (!(sesion.getScrim().getEstado() instanceof EstadoLobbyCompleto)) {
+                    return false;
+                }
+                List<Usuario> pendientes = sesion.getPendientes();
+                if (pendientes.isEmpty()) {
+                    List<Usuario> vacantes = sesion.getVacantes();
+                    cancelar(sesion, vacantes.isEmpty() ? null : vacantes.get(0), MOTIVO_TIEMPO_AGOTADO);
+                    return true;
+                }
+                for (Usuario jugador : pendientes) {
+                    sesion.registrarRespuesta(jugador, false);
+                    jugador.agregarSancion();
+                }
+                liberarLugares(sesion, pendientes, MOTIVO_TIEMPO_AGOTADO);
+                return true;
+            }
+        } finally {
+            salir(lote);
+        }
+    }
+
+    /**
+     * Cierra la partida en curso con sus estadísticas
+     *
+     * @throws IllegalStateException si la partida no está en juego
+     */
+    public void finalizar(SesionScrim sesion, List<Estadistica> estadisticas) {
+        Avisos lote = entrar();
+        try {
+            synchronized (sesion) {
+                if (!(sesion.getScrim().getEstado() instanceof EstadoEnJuego)) {
+                    throw new IllegalStateException("La partida no está en juego: " + sesion.getNombreEstado());
+                }
+                sesion.setEstadisticas(estadisticas);
+                cambiarEstado(sesion, new EstadoFinalizado());
+                activas.remove(sesion.getScrim().getId(), sesion);
+                avisar(observer -> observer.onPartidaFinalizada(sesion));
+            }
+        } finally {
+            salir(lote);
+        }
+    }
+
+    /**
+     * Genera estadísticas aleatorias (partidas simuladas) en el orden de los jugadores
+     */
+    public static List<Estadistica> generarEstadisticas(List<Usuario> jugadores, Scrim scrim, Random random) {
+        List<Estadistica> estadisticas = new ArrayList<>(jugadores.size());
+        for (Usuario jugador : jugadores) {
+            int kills = 5 + random.nextInt(18);
+            int deaths = 8 + random.nextInt(12);
+            int assists = 3 + random.nextInt(15);
+            estadisticas.add(new Estadistica(jugador, scrim, kills, deaths, assists));
+        }
+        return estadisticas;
+    }
+
+    // ============================================
+    // INTEGRACIÓN CON LA COLA
+    // ============================================
+
+    /**
+     * Escucha los lobbies de la cola y la usa como fuente de reemplazos
+     */
+    public void conectar(MatchmakingQueue cola) {
+        cola.agregarListener(this);
+        setBackfill(cola);
+    }
+
+    public void setBackfill(IBackfillSource backfill) {
+        this.backfill = backfill;
+    }
+
+    void setCoordinador(CoordinadorConfirmaciones coordinador) {
+        this.coordinador = coordinador;
+    }
+
+    void quitarCoordinador(CoordinadorConfirmaciones coordinador) {
+        if (this.coordinador == coordinador) {
+            this.coordinador = null;
+        }
+    }
+
+    /**
+     * Ejecuta la acción con el lock de la sesión; los avisos que genere se
+     * entregan al soltarlo, igual que en las operaciones públicas del motor
+     */
+    void bajoLock(SesionScrim sesion, Runnable accion) {
+        Avisos lote = entrar();
+        try {
+            synchronized (sesion) {
+                accion.run();
+            }
+        } finally {
+            salir(lote);
+        }
+    }
+
+    /**
+     * Cada lobby formado por MatchmakingQueue pasa directo a la fase de confirmación
+     */
+    @Override
+    public void onLobbyFormado(Scrim lobby, List<TicketMatchmaking> tickets) {
+        List<Usuario> jugadores = new ArrayList<>(tickets.size());
+        for (TicketMatchmaking ticket : tickets) {
+            jugadores.addAll(ticket.getJugadores());
+        }
+        ScrimContext context = new ScrimContext(lobby, lobby.getEstado());
+        formarLobby(lobby, context, jugadores, tickets);
+    }
+
+    /**
+     * Abre una vacante por cada saliente y pide su reemplazo a la cola.
+     * Sin backfill (o si algún saliente no entró por la cola o vino en un grupo)
+     * la partida se cancela.
+     */
+    private void liberarLugares(SesionScrim sesion, List<Usuario> salientes, String motivo) {
+        IBackfillSource fuente = backfill;
+        boolean reemplazables = fuente != null;
+        for (Usuario saliente : salientes) {
+            TicketMatchmaking ticket = sesion.getTicket(saliente);
+            reemplazables &= ticket != null && !ticket.isGrupo();
+        }
+        if (!reemplazables) {
+            cancelar(sesion, salientes.get(0), motivo);
+            return;
+        }
+
+        Scrim scrim = sesion.getScrim();
+        for (Usuario saliente : salientes) {
+            sesion.abrirVacante(saliente);
+        }
+        for (Usuario saliente : salientes) {
+            fuente.solicitarReemplazo(sesion.getTicket(saliente), scrim.getRangoMin(), scrim.getRangoMax(),
+                                      reemplazo -> completarReemplazo(sesion, saliente, reemplazo, motivo));
+        }
+    }
+
+    /**
+     * Respuesta de la cola a un pedido de reemplazo (llega en el hilo del tick)
+     *
+     * - Sin reemplazo: la partida se cancela
+     * - Partida ya resuelta: el reemplazo vuelve a la cola sin perder su espera
+     * - Si no: ocupa la vacante y queda pendiente de confirmar
+     */
+    private void completarReemplazo(SesionScrim sesion, Usuario saliente, TicketMatchmaking reemplazo,
+                                    String motivo) {
+        Avisos lote = entrar();
+        try {
+            synchronized (sesion) {
+                if (!(sesion.getScrim().getEstado() instanceof EstadoLobbyCompleto)
+                        || !sesion.getVacantes().contains(saliente)) {
+                    if (reemplazo != null) {
+                        backfill.reencolar(reemplazo);
+                    }
+                    return;
+                }
+                if (reemplazo == null) {
+                    cancelar(sesion, saliente, motivo);
+                    return;
+                }
+                sesion.reemplazar(saliente, reemplazo);
+                avisar(observer -> observer.onJugadorReemplazado(sesion, saliente, reemplazo.getUsuario()));
+            }
+        } finally {
+            salir(lote);
+        }
+    }
+
+    /**
+     * Cancela la partida; los jugadores que no rechazaron vuelven a la cola
+     * con su hora de encolado original
+     * (sin context.cancelar(): evita el envío masivo de emails de cancelación)
+     */
+    private void cancelar(SesionScrim sesion, Usuario responsable, String motivo) {
+        sesion.registrarCancelacion(responsable, motivo);
+        cambiarEstado(sesion, new EstadoCancelado());
+        activas.remove(sesion.getScrim().getId(), sesion);
+        reencolarRestantes(sesion);
+        avisar(observer -> observer.onPartidaCancelada(sesion, responsable, motivo));
+    }
+
+    private void reencolarRestantes(SesionScrim sesion) {
+        IBackfillSource fuente = backfill;
+        if (fuente == null) {
+            return;
+        }
+        // Un ticket de grupo aparece una vez por miembro: se reencola una sola vez
+        Set<TicketMatchmaking> vistos = new HashSet<>();
+        for (Usuario jugador : sesion.getJugadores()) {
+            TicketMatchmaking ticket = sesion.getTicket(jugador);
+            if (ticket != null && vistos.add(ticket) && puedeVolverALaCola(sesion, ticket)) {
+                fuente.reencolar(ticket);
+            }
+        }
+    }
+
+    // Ningún jugador del ticket rechazó ni dejó su lugar vacante
+    private boolean puedeVolverALaCola(SesionScrim sesion, TicketMatchmaking ticket) {
+        for (Usuario jugador : ticket.getJugadores()) {
+            Confirmacion confirmacion = sesion.getConfirmacion(jugador);
+            if (sesion.getVacantes().contains(jugador)
+                    || (confirmacion != null && confirmacion.isRechazado())) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private void cambiarEstado(SesionScrim sesion, ScrimState nuevo) {
+        String anterior = sesion.getNombreEstado();
+        sesion.getContext().cambiarEstado(nuevo);
+        String actual = sesion.getNombreEstado();
+        avisar(observer -> observer.onEstadoCambiado(sesion, anterior, actual));
+    }
+
+    // ============================================
+    // AVISOS A OBSERVERS (fuera del lock)
+    // ============================================
+
+    private Avisos entrar() {
+        Avisos lote = avisos.get();
+        lote.profundidad++;
+        return lote;
+    }
+
+    private void avisar(Consumer<IScrimObserver> aviso) {
+        avisos.get().pendientes.add(aviso);
+    }
+
+    /**
+     * Al salir del lock más externo del hilo entrega los avisos acumulados, en orden
+     */
+    private void salir(Avisos lote) {
+        if (--lote.profundidad > 0 || lote.pendientes.isEmpty()) {
+            return;
+        }
+        List<Consumer<IScrimObserver>> entregar = new ArrayList<>(lote.pendientes);
+        lote.pendientes.clear();
+        for (Consumer<IScrimObserver> aviso : entregar) {
+            for (IScrimObserver observer : observers) {
+                aviso.accept(observer);
+            }
+        }
+    }
+
+    // ============================================
+    // OBSERVERS Y CONSULTAS
+    // ============================================
+
+    public void agregarObserver(IScrimObserver observer) {
+        observers.add(observer);
+    }
+
+    public void quitarObserver(IScrimObserver observer) {
+        observers.remove(observer);
+    }
+
+    /**
+     * @return null si la partida no está activa (no existe, terminó o se canceló)
+     */
+    public SesionScrim getSesion(UUID scrimId) {
+        return activas.get(scrimId);
+    }
+
+    /**
+     * Partidas esperando confirmación o en juego
+     */
+    public Collection<SesionScrim> getActivas() {
+        return Collections.unmodifiableCollection(activas.values());
+    }
+
+    public int getCantidadActivas() {
+        return activas.size();
+    }
+}
@@ -0,0 +1,183 @@
+package service;
+
+import models.TicketMatchmaking;
+import models.Usuario;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentNavigableMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Pool concurrente de candidatos de un juego, ordenado por MMR
+ *
+ * - Alta y baja sin lock global: ConcurrentSkipListMap por (MMR, secuencia)
+ * - Cada candidato es un TicketMatchmaking; reservarlo es un CAS sobre su estado
+ * - reclamar(...) toma N candidatos de forma atómica: o se llevan los N o no se
+ *   lleva ninguno (los reservados se liberan si no alcanzan)
+ *
+ * Muchos hilos de request pueden sumarse al pool mientras los workers de
+ * matchmaking reclaman jugadores; un candidato nunca es reclamado dos veces.
+ */
+public class PoolCandidatos {
+
+    private final String juego;
+    private final ConcurrentSkipListMap<Long, TicketMatchmaking> porMMR = new ConcurrentSkipListMap<>();
+    private final Map<Integer, TicketMatchmaking> porUsuario = new ConcurrentHashMap<>();
+    private final AtomicLong secuencia = new AtomicLong();
+    private final AtomicInteger disponibles = new AtomicInteger();
+
+    public PoolCandidatos(String juego) {
+        this.juego = juego;
+    }
+
+    // ============================================
+    // ALTA / BAJA
+    // ============================================
+
+    /**
+     * Suma al usuario al pool con su MMR en el juego del pool
+     *
+     * @throws IllegalStateException si el usuario ya está en el pool
+     */
+    public TicketMatchmaking agregar(Usuario usuario, String rol) {
+        TicketMatchmaking ticket = new TicketMatchmaking(secuencia.incrementAndGet(), usuario, juego,
+            null, usuario.getRegion(), usuario.getRangoParaJuego(juego), rol, System.currentTimeMillis());
+        disponibles.incrementAndGet();                       // Antes de ser visible: un quitar no lo deja negativo
+        if (porUsuario.putIfAbsent(usuario.getId(), ticket) != null) {
+            disponibles.decrementAndGet();
+            throw new IllegalStateException("El usuario " + usuario.getUsername() + " ya está en el pool");
+        }
+        porMMR.put(clave(ticket), ticket);
+        // Un quitar concurrente pudo cancelarlo entre los dos put: su baja de
+        // porMMR llegó antes que el alta, así que la entrada se retira acá
+        if (ticket.getEstado() == TicketMatchmaking.EstadoTicket.CANCELADO) {
+            porMMR.remove(clave(ticket), ticket);
+        }
+        return ticket;
+    }
+
+    /**
+     * Saca al usuario del pool si todavía no fue reclamado
+     */
+    public boolean quitar(Usuario usuario) {
+        TicketMatchmaking ticket = porUsuario.get(usuario.getId());
+        if (ticket == null || !ticket.cancelar()) {
+            return false;
+        }
+        disponibles.decrementAndGet();
+        porMMR.remove(clave(ticket), ticket);
+        porUsuario.remove(usuario.getId(), ticket);
+        return true;
+    }
+
+    // ============================================
+    // RECLAMO ATÓMICO
+    // ============================================
+
+    /**
+     * Reclama 'cantidad' candidatos con MMR en [rangoMin, rangoMax], de menor a mayor MMR
+     *
+     * @return Los usuarios reclamados, o lista vacía si no había suficientes
+     */
+    public List<Usuario> reclamar(int rangoMin, int rangoMax, int cantidad) {
+        if (cantidad <= 0 || rangoMin > rangoMax) {
+            return new ArrayList<>();
+        }
+        ConcurrentNavigableMap<Long, TicketMatchmaking> rango =
+            porMMR.subMap((long) rangoMin << 32, true, ((long) rangoMax << 32) | 0xFFFFFFFFL, true);
+
+        List<TicketMatchmaking> reservados = new ArrayList<>(cantidad);
+        for (TicketMatchmaking ticket : rango.values()) {
+            if (ticket.reclamar()) {
+                reservados.add(ticket);
+                if (reservados.size() == cantidad) break;
+            }
+        }
+        return confirmar(reservados, cantidad);
+    }
+
+    /**
+     * Reclama los 'cantidad' candidatos más cercanos a 'mmr', a lo sumo a ±ventana
+     *
+     * @return Los usuarios reclamados (más cercanos primero), o lista vacía si no había suficientes
+     */
+    public List<Usuario> reclamarCercanos(int mmr, int ventana, int cantidad) {
+        if (cantidad <= 0) {
+            return new ArrayList<>();
+        }
+        long centro = (long) mmr << 32;
+        Iterator<TicketMatchmaking> arriba = porMMR.tailMap(centro, true).values().iterator();
+        Iterator<TicketMatchmaking> abajo = porMMR.headMap(centro, false).descendingMap().values().iterator();
+
+        List<TicketMatchmaking> reservados = new ArrayList<>(cantidad);
+        TicketMatchmaking sig = arriba.hasNext() ? arriba.next() : null;
+        TicketMatchmaking ant = abajo.hasNext() ? abajo.next() : null;
+        while (reservados.size() < cantidad && (sig != null || ant != null)) {
+            int distSig = sig != null ? sig.getMmr() - mmr : Integer.MAX_VALUE;
+            int distAnt = ant != null ? mmr - ant.getMmr() : Integer.MAX_VALUE;
+            if (Math.min(distSig, distAnt) > ventana) {
+                break;
+            }
+            TicketMatchmaking elegido;
+            if (distSig <= distAnt) {
+                elegido = sig;
+                sig = arriba.hasNext() ? arriba.next() : null;
+            } else {
+                elegido = ant;
+                ant = abajo.hasNext() ? abajo.next() : null;
+            }
+            if (elegido.reclamar()) {
+                reservados.add(elegido);
+            }
+        }
+        return confirmar(reservados, cantidad);
+    }
+
+    // Todo o nada: si no se juntaron 'cantidad', libera los reservados
+    private List<Usuario> confirmar(List<TicketMatchmaking> reservados, int cantidad) {
+        List<Usuario> usuarios = new ArrayList<>(reservados.size());
+        if (reservados.size() < cantidad) {
+            for (TicketMatchmaking ticket : reservados) {
+                ticket.liberar();
+            }
+            return usuarios;
+        }
+        disponibles.addAndGet(-reservados.size());
+        for (TicketMatchmaking ticket : reservados) {
+            porMMR.remove(clave(ticket), ticket);
+            porUsuario.remove(ticket.getUsuario().getId(), ticket);
+            usuarios.add(ticket.getUsuario());
+        }
+        return usuarios;
+    }
+
+    // ============================================
+    // CONSULTAS
+    // ============================================
+
+    public boolean contiene(Usuario usuario) {
+        TicketMatchmaking ticket = porUsuario.get(usuario.getId());
+        return ticket != null && ticket.isEnCola();
+    }
+
+    /**
+     * Candidatos disponibles (no reclamados ni cancelados)
+     */
+    public int tamanio() {
+        return disponibles.get();
+    }
+
+    public String getJuego() {
+        return juego;
+    }
+
+    private static long clave(TicketMatchmaking ticket) {
+        return ((long) ticket.getMmr() << 32) | (ticket.getId() & 0xFFFFFFFFL);
+    }
+}
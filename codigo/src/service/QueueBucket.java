@@ -0,0 +1,433 @@
+package service;
+
+import interfaces.ILobbyListener;
+import interfaces.IMatchMakingStrategy;
+import models.JuegoConfig;
+import models.Postulacion;
+import models.Scrim;
+import models.TicketMatchmaking;
+import models.Usuario;
+import states.EstadoBuscandoJugadores;
+import states.EstadoLobbyCompleto;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.List;
+import java.util.PriorityQueue;
+import java.util.Queue;
+import java.util.TreeMap;
+import java.util.function.Consumer;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Cola de un bucket (juego, formato, región) del motor de matchmaking
+ *
+ * - Los tickets nuevos entran a una cola lock-free y se vuelcan al índice
+ *   al comienzo de cada tick (un único hilo procesa el bucket)
+ * - El índice por MMR permite armar el vecindario de un ancla en O(log n)
+ * - Solo actúan como ancla los tickets "sucios": recién llegados o con la
+ *   ventana de MMR expandida desde el último tick. El resto ya fue evaluado
+ *   y nada cambió para ellos, así que no se vuelve a recorrer todo el pool.
+ * - Las expansiones pendientes se agendan en un heap por fecha de cambio
+ * - Un bucket lo procesa un solo hilo a la vez (intentarTomar/soltar); buckets
+ *   distintos pueden procesarse en paralelo porque no comparten tickets
+ * - Los pedidos de reemplazo (backfill) se atienden al comienzo del tick, antes
+ *   de formar lobbies nuevos: cada uno es una búsqueda O(log n) en el índice
+ * - Si el vecindario del ancla tiene grupos premade, el lobby lo arma el
+ *   EmpaquetadorLobby (llenar cupos exactos sin separar grupos) en lugar de
+ *   la estrategia, que solo sabe elegir jugadores sueltos
+ *
+ * @see MatchmakingQueue
+ * @see CurvaExpansionMMR
+ */
+class QueueBucket {
+
+    private final String juego;
+    private final String formato;
+    private final String region;
+    private final int cupos;
+
+    // Hilo que está procesando el bucket (exclusión sin bloqueo)
+    private final AtomicBoolean enProceso = new AtomicBoolean();
+
+    // Tickets recién encolados, pendientes de volcar al índice
+    private final Queue<TicketMatchmaking> entrantes = new ConcurrentLinkedQueue<>();
+
+    // Pedidos de reemplazo para lobbies en confirmación
+    private final Queue<SolicitudReemplazo> reemplazos = new ConcurrentLinkedQueue<>();
+
+    private static class SolicitudReemplazo {
+        final int mmr;
+        final int rangoMin;
+        final int rangoMax;
+        final Consumer<TicketMatchmaking> respuesta;
+
+        SolicitudReemplazo(int mmr, int rangoMin, int rangoMax, Consumer<TicketMatchmaking> respuesta) {
+            this.mmr = mmr;
+            this.rangoMin = rangoMin;
+            this.rangoMax = rangoMax;
+            this.respuesta = respuesta;
+        }
+    }
+
+    // Solo accedidos desde el hilo que procesa el tick
+    private final TreeMap<Long, TicketMatchmaking> porMMR = new TreeMap<>();
+    private int jugadores;                  // Suma de tamaños de los tickets del índice
+    private final List<TicketMatchmaking> anclas = new ArrayList<>();
+    private final PriorityQueue<TicketMatchmaking> expansiones =
+        new PriorityQueue<>(Comparator.comparingLong(TicketMatchmaking::getProximaExpansion));
+
+    private final EmpaquetadorLobby empaquetador = new EmpaquetadorLobby();
+
+    QueueBucket(String juego, String formato, String region) {
+        this.juego = juego;
+        this.formato = formato;
+        this.region = region;
+        this.cupos = JuegoConfig.getJugadoresTotales(formato);
+    }
+
+    void encolar(TicketMatchmaking ticket) {
+        entrantes.add(ticket);
+    }
+
+    /**
+     * Agenda un pedido de reemplazo; se responde en el próximo tick del bucket
+     */
+    void solicitarReemplazo(int mmr, int rangoMin, int rangoMax, Consumer<TicketMatchmaking> respuesta) {
+        reemplazos.add(new SolicitudReemplazo(mmr, rangoMin, rangoMax, respuesta));
+    }
+
+    /**
+     * Tickets en el bucket (incluye los pendientes de volcar)
+     */
+    int tamanio() {
+        return porMMR.size() + entrantes.size();
+    }
+
+    int getCupos() {
+        return cupos;
+    }
+
+    /**
+     * Reserva el bucket para procesarlo; false si otro hilo ya lo está procesando
+     */
+    boolean intentarTomar() {
+        return enProceso.compareAndSet(false, true);
+    }
+
+    void soltar() {
+        enProceso.set(false);
+    }
+
+    /**
+     * Forma todos los lobbies posibles en este tick
+     *
+     * Cada ticket sucio se usa como ancla una vez: se arma su vecindario por
+     * MMR y la estrategia elige los compañeros dentro de él. El costo por tick
+     * es O(s log n), con s = tickets nuevos o con ventana expandida.
+     *
+     * @return cantidad de lobbies formados
+     */
+    int procesar(IMatchMakingStrategy estrategia, CurvaExpansionMMR curva, long ahora,
+                 int vecindad, ILobbyListener salida) {
+        volcarEntrantes(curva, ahora);
+        expandirVentanas(curva, ahora);
+        atenderReemplazos();
+        if (jugadores < cupos || anclas.isEmpty()) {
+            // Las anclas quedan pendientes hasta que haya jugadores suficientes
+            return 0;
+        }
+
+        // Más antiguos primero
+        List<TicketMatchmaking> pendientes = new ArrayList<>(anclas);
+        anclas.clear();
+        pendientes.sort(Comparator.comparingLong(TicketMatchmaking::getEncoladoEn));
+
+        int formados = 0;
+        for (TicketMatchmaking ancla : pendientes) {
+            ancla.setPendienteEvaluacion(false);
+            if (!ancla.isEnCola()) {
+                quitar(ancla);
+                continue;
+            }
+            if (jugadores >= cupos && formarLobby(ancla, estrategia, vecindad, salida)) {
+                formados++;
+            }
+        }
+        return formados;
+    }
+
+    private void volcarEntrantes(CurvaExpansionMMR curva, long ahora) {
+        TicketMatchmaking ticket;
+        while ((ticket = entrantes.poll()) != null) {
+            if (ticket.isEnCola()) {
+                porMMR.put(clave(ticket), ticket);
+                jugadores += ticket.getTamanio();
+                ticket.setVentanaMMR(curva.ventanaPara(ticket.getEspera(ahora)));
+                agendarExpansion(ticket, curva, ahora);
+                marcarSucio(ticket);
+            }
+        }
+    }
+
+    /**
+     * Responde los pedidos de reemplazo con el ticket más cercano al MMR del saliente
+     */
+    private void atenderReemplazos() {
+        SolicitudReemplazo solicitud;
+        while ((solicitud = reemplazos.poll()) != null) {
+            TicketMatchmaking reemplazo = reclamarCercano(solicitud.mmr, solicitud.rangoMin, solicitud.rangoMax);
+            if (reemplazo != null) {
+                quitar(reemplazo);
+            }
+            solicitud.respuesta.accept(reemplazo);
+        }
+    }
+
+    /**
+     * Reclama el ticket individual en cola más cercano a 'mmr' dentro de
+     * [rangoMin, rangoMax] cuya propia ventana acepta ese MMR (un grupo no
+     * puede ocupar el lugar de un solo jugador). Sale del índice en O(log n) y recorre
+     * hacia afuera solo hasta el primer candidato válido o el borde del rango.
+     */
+    private TicketMatchmaking reclamarCercano(int mmr, int rangoMin, int rangoMax) {
+        long centro = (long) mmr << 32;
+        Iterator<TicketMatchmaking> arriba = porMMR.tailMap(centro, true).values().iterator();
+        Iterator<TicketMatchmaking> abajo = porMMR.headMap(centro, false).descendingMap().values().iterator();
+
+        TicketMatchmaking sig = siguienteEnCola(arriba);
+        TicketMatchmaking ant = siguienteEnCola(abajo);
+        while (sig != null || ant != null) {
+            if (sig != null && sig.getMmr() > rangoMax) sig = null;
+            if (ant != null && ant.getMmr() < rangoMin) ant = null;
+            if (sig == null && ant == null) {
+                break;
+            }
+            int distSig = sig != null ? sig.getMmr() - mmr : Integer.MAX_VALUE;
+            int distAnt = ant != null ? mmr - ant.getMmr() : Integer.MAX_VALUE;
+            TicketMatchmaking elegido;
+            if (distSig <= distAnt) {
+                elegido = sig;
+                sig = siguienteEnCola(arriba);
+            } else {
+                elegido = ant;
+                ant = siguienteEnCola(abajo);
+            }
+            if (!elegido.isGrupo() && elegido.aceptaMMR(mmr) && elegido.reclamar()) {
+                return elegido;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Actualiza la ventana solo de los tickets cuyo escalón venció
+     */
+    private void expandirVentanas(CurvaExpansionMMR curva, long ahora) {
+        while (!expansiones.isEmpty() && expansiones.peek().getProximaExpansion() <= ahora) {
+            TicketMatchmaking ticket = expansiones.poll();
+            if (!ticket.isEnCola()) {
+                continue;
+            }
+            int nueva = curva.ventanaPara(ticket.getEspera(ahora));
+            if (nueva != ticket.getVentanaMMR()) {
+                ticket.setVentanaMMR(nueva);
+                marcarSucio(ticket);
+            }
+            agendarExpansion(ticket, curva, ahora);
+        }
+    }
+
+    private void agendarExpansion(TicketMatchmaking ticket, CurvaExpansionMMR curva, long ahora) {
+        long espera = curva.msHastaProximoCambio(ticket.getEspera(ahora));
+        if (espera > 0) {
+            ticket.setProximaExpansion(ahora + espera);
+            expansiones.add(ticket);
+        }
+    }
+
+    private void marcarSucio(TicketMatchmaking ticket) {
+        if (!ticket.isPendienteEvaluacion()) {
+            ticket.setPendienteEvaluacion(true);
+            anclas.add(ticket);
+        }
+    }
+
+    /**
+     * Intenta formar un lobby alrededor del ancla
+     * El ancla siempre entra; la estrategia (o el empaquetador, si hay grupos)
+     * elige a sus compañeros.
+     */
+    private boolean formarLobby(TicketMatchmaking ancla, IMatchMakingStrategy estrategia,
+                                int vecindad, ILobbyListener salida) {
+        int ventanaMMR = ancla.getVentanaMMR();
+        List<TicketMatchmaking> vecinos = buscarVecinos(ancla, ventanaMMR, vecindad);
+        int disponibles = ancla.getTamanio();
+        boolean conGrupos = ancla.isGrupo();
+        for (TicketMatchmaking vecino : vecinos) {
+            disponibles += vecino.getTamanio();
+            conGrupos |= vecino.isGrupo();
+        }
+        if (disponibles < cupos) {
+            return false;
+        }
+
+        Scrim lobby = crearLobby(ancla.getMmr(), ventanaMMR);
+        List<TicketMatchmaking> tickets = conGrupos
+            ? empaquetar(ancla, vecinos)
+            : seleccionarSolos(ancla, vecinos, estrategia, lobby);
+        if (tickets == null || !reclamarTodos(tickets)) {
+            return false;
+        }
+
+        for (TicketMatchmaking ticket : tickets) {
+            quitar(ticket);
+            for (Usuario jugador : ticket.getJugadores()) {
+                // Los miembros de un grupo juegan con el rol de su perfil
+                String rol = ticket.isGrupo() ? jugador.getRol() : ticket.getRol();
+                lobby.addPostulacion(new Postulacion(jugador, rol));
+            }
+        }
+        lobby.cambiarEstado(new EstadoLobbyCompleto());
+        salida.onLobbyFormado(lobby, tickets);
+        return true;
+    }
+
+    /**
+     * Vecindario sin grupos: la estrategia elige cupos - 1 compañeros para el ancla
+     */
+    private List<TicketMatchmaking> seleccionarSolos(TicketMatchmaking ancla, List<TicketMatchmaking> vecinos,
+                                                     IMatchMakingStrategy estrategia, Scrim lobby) {
+        // La estrategia filtra con el MMR de cada ticket (el mismo con que se
+        // buscaron los vecinos) y devuelve posiciones en 'vecinos'
+        List<Usuario> candidatos = new ArrayList<>(vecinos.size());
+        int[] mmrs = new int[vecinos.size()];
+        for (int i = 0; i < mmrs.length; i++) {
+            candidatos.add(vecinos.get(i).getUsuario());
+            mmrs[i] = vecinos.get(i).getMmr();
+        }
+        int[] elegidos = estrategia.seleccionarPosiciones(candidatos, mmrs, lobby);
+        if (elegidos.length < cupos - 1) {
+            return null;
+        }
+
+        List<TicketMatchmaking> tickets = new ArrayList<>(cupos);
+        tickets.add(ancla);
+        for (int posicion : elegidos) {
+            if (tickets.size() == cupos) break;
+            tickets.add(vecinos.get(posicion));
+        }
+        return tickets;
+    }
+
+    /**
+     * Vecindario con grupos: el empaquetador elige, en orden de cercanía, los
+     * tickets que llenan el lobby y entran en dos equipos sin separar grupos
+     */
+    private List<TicketMatchmaking> empaquetar(TicketMatchmaking ancla, List<TicketMatchmaking> vecinos) {
+        int[] tamanios = new int[vecinos.size() + 1];
+        tamanios[0] = ancla.getTamanio();
+        for (int i = 0; i < vecinos.size(); i++) {
+            tamanios[i + 1] = vecinos.get(i).getTamanio();
+        }
+        int[] elegidos = empaquetador.seleccionar(tamanios, cupos);
+        if (elegidos == null) {
+            return null;
+        }
+        List<TicketMatchmaking> tickets = new ArrayList<>(elegidos.length);
+        tickets.add(ancla);
+        for (int i = 1; i < elegidos.length; i++) {
+            tickets.add(vecinos.get(elegidos[i] - 1));
+        }
+        return tickets;
+    }
+
+    /**
+     * Recorre el índice hacia arriba y hacia abajo desde el ancla, tomando
+     * primero a los más cercanos en MMR, hasta juntar 'vecindad' tickets o
+     * salirse de la ventana. Solo entran vecinos cuya propia ventana acepta
+     * al ancla (la aceptación es mutua).
+     */
+    private List<TicketMatchmaking> buscarVecinos(TicketMatchmaking ancla, int ventanaMMR, int vecindad) {
+        long claveAncla = clave(ancla);
+        Iterator<TicketMatchmaking> arriba = porMMR.tailMap(claveAncla, false).values().iterator();
+        Iterator<TicketMatchmaking> abajo = porMMR.headMap(claveAncla, false).descendingMap().values().iterator();
+
+        List<TicketMatchmaking> vecinos = new ArrayList<>(vecindad);
+        TicketMatchmaking sig = siguienteEnCola(arriba);
+        TicketMatchmaking ant = siguienteEnCola(abajo);
+
+        while (vecinos.size() < vecindad && (sig != null || ant != null)) {
+            int distSig = sig != null ? sig.getMmr() - ancla.getMmr() : Integer.MAX_VALUE;
+            int distAnt = ant != null ? ancla.getMmr() - ant.getMmr() : Integer.MAX_VALUE;
+            if (Math.min(distSig, distAnt) > ventanaMMR) {
+                break;
+            }
+            if (distSig <= distAnt) {
+                if (sig.aceptaMMR(ancla.getMmr())) vecinos.add(sig);
+                sig = siguienteEnCola(arriba);
+            } else {
+                if (ant.aceptaMMR(ancla.getMmr())) vecinos.add(ant);
+                ant = siguienteEnCola(abajo);
+            }
+        }
+        return vecinos;
+    }
+
+    /**
+     * Avanza el iterador descartando (y limpiando) tickets que ya no están en cola
+     */
+    private TicketMatchmaking siguienteEnCola(Iterator<TicketMatchmaking> it) {
+        while (it.hasNext()) {
+            TicketMatchmaking ticket = it.next();
+            if (ticket.isEnCola()) {
+                return ticket;
+            }
+            it.remove();
+            jugadores -= ticket.getTamanio();
+        }
+        return null;
+    }
+
+    private boolean reclamarTodos(List<TicketMatchmaking> tickets) {
+        for (int i = 0; i < tickets.size(); i++) {
+            if (!tickets.get(i).reclamar()) {
+                // Alguien canceló en el medio: devolver los ya reservados
+                for (int j = 0; j < i; j++) {
+                    tickets.get(j).liberar();
+                }
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private Scrim crearLobby(int mmrAncla, int ventanaMMR) {
+        return new Scrim.Builder(new EstadoBuscandoJugadores())
+            .juego(juego)
+            .formato(formato)
+            .cuposMaximos(cupos)
+            .region(region)
+            .modalidad("ranked")
+            .rangoMin(Math.max(0, mmrAncla - ventanaMMR))
+            .rangoMax(mmrAncla + ventanaMMR)
+            .latenciaMax(80)
+            .build();
+    }
+
+    private void quitar(TicketMatchmaking ticket) {
+        if (porMMR.remove(clave(ticket)) != null) {
+            jugadores -= ticket.getTamanio();
+        }
+    }
+
+    /**
+     * Clave de orden en el índice: MMR en la parte alta, id del ticket en la baja
+     * (desempata jugadores con el mismo MMR)
+     */
+    private static long clave(TicketMatchmaking ticket) {
+        return ((long) ticket.getMmr() << 32) | (ticket.getId() & 0xFFFFFFFFL);
+    }
+}
@@ -0,0 +1,429 @@
+package service;
+
+import interfaces.IScrimObserver;
+import models.Estadistica;
+import models.SesionScrim;
+import models.Usuario;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Motor de ratings Glicko-2 alimentado por los resultados de las partidas
+ *
+ * Cada partida finalizada (EstadoFinalizado) se acumula en el período de
+ * rating en curso; cerrarPeriodo aplica Glicko-2 a todos los jugadores de
+ * una vez y publica el rating nuevo en Usuario.rangoPorJuego. Dentro de un
+ * período todas las partidas se evalúan contra los ratings del comienzo del
+ * período, como pide Glicko-2: el orden de llegada no cambia el resultado.
+ *
+ * Partidas por equipos: cada jugador se evalúa contra un oponente compuesto
+ * (rating medio y RD cuadrático medio del equipo rival). Ganador = equipo con
+ * más kills (empate = 0.5), igual que el marcador que muestran los controllers.
+ *
+ * Almacenamiento por juego en arrays primitivos (μ, φ, σ y los acumuladores
+ * del período) con un índice id → fila (IndiceFilas): registrar
+ * una partida es O(jugadores) sin reservar objetos por jugador.
+ *
+ * Si el usuario editó su rango a mano (UserService.actualizarRango) desde la
+ * última publicación, el valor editado se adopta como rating antes de usarlo.
+ *
+ * Escrituras y lecturas sincronizadas sobre la instancia; el cierre de
+ * período es atómico respecto de las partidas que se registran en paralelo.
+ * Con iniciar, la publicación corre en el hilo "rating-periods": llega a los
+ * demás hilos a través de Usuario.rangoPorJuego, que es un mapa concurrente.
+ *
+ * @pattern Observer (escucha al MotorScrims)
+ */
+public class RatingService implements IScrimObserver {
+
+    public static final double RATING_INICIAL = 1500;
+    public static final double RD_INICIAL = 350;
+    public static final double VOLATILIDAD_INICIAL = 0.06;
+    public static final double TAU_DEFAULT = 0.5;          // Restringe el cambio de volatilidad
+    public static final long PERIODO_DEFAULT_MS = 15 * 60_000;
+    private static final double ESCALA = 173.7178;         // Glicko ↔ Glicko-2
+    private static final double EPSILON = 0.000001;        // Convergencia de la volatilidad
+    private static final int CAPACIDAD_INICIAL = 1024;
+
+    private final double tau;
+    private final Map<String, TablaRatings> tablas = new HashMap<>();
+    private long partidasPeriodo;
+    private long periodosCerrados;
+    private ScheduledExecutorService scheduler;
+
+    public RatingService() {
+        this(TAU_DEFAULT);
+    }
+
+    /**
+     * @param tau Volatilidad del sistema (Glickman sugiere 0.3 - 1.2)
+     */
+    public RatingService(double tau) {
+        if (tau <= 0) {
+            throw new IllegalArgumentException("Tau debe ser positivo");
+        }
+        this.tau = tau;
+    }
+
+    // ============================================
+    // REGISTRO DE PARTIDAS
+    // ============================================
+
+    @Override
+    public void onPartidaFinalizada(SesionScrim sesion) {
+        registrarPartida(sesion);
+    }
+
+    /**
+     * Acumula el resultado de una partida finalizada (azul contra rojo por kills)
+     */
+    public void registrarPartida(SesionScrim sesion) {
+        List<Usuario> azul = sesion.getEquipoAzul().getJugadores();
+        List<Usuario> rojo = sesion.getEquipoRojo().getJugadores();
+        if (azul.isEmpty() || rojo.isEmpty()) {
+            return;
+        }
+        int killsAzul = 0;
+        int killsRojo = 0;
+        for (Estadistica estadistica : sesion.getEstadisticas()) {
+            if (azul.contains(estadistica.getUsuario())) {
+                killsAzul += estadistica.getKills();
+            } else if (rojo.contains(estadistica.getUsuario())) {
+                killsRojo += estadistica.getKills();
+            }
+        }
+        double resultadoAzul = killsAzul > killsRojo ? 1 : killsAzul < killsRojo ? 0 : 0.5;
+        registrarPartida(sesion.getScrim().getJuego(), azul.toArray(new Usuario[0]),
+                         rojo.toArray(new Usuario[0]), resultadoAzul);
+    }
+
+    /**
+     * Acumula una partida entre dos equipos en el período en curso
+     *
+     * @param resultadoAzul 1 victoria del azul, 0 derrota, 0.5 empate
+     */
+    public synchronized void registrarPartida(String juego, Usuario[] azul, Usuario[] rojo, double resultadoAzul) {
+        if (resultadoAzul < 0 || resultadoAzul > 1) {
+            throw new IllegalArgumentException("Resultado fuera de [0, 1]: " + resultadoAzul);
+        }
+        TablaRatings tabla = tablas.computeIfAbsent(juego, TablaRatings::new);
+        int[] filasAzul = tabla.filas(azul);
+        int[] filasRojo = tabla.filas(rojo);
+        tabla.acumular(filasAzul, filasRojo, resultadoAzul);
+        tabla.acumular(filasRojo, filasAzul, 1 - resultadoAzul);
+        partidasPeriodo++;
+    }
+
+    /**
+     * Carga un rating existente (ej: migración desde otro sistema)
+     */
+    public synchronized void registrarJugador(Usuario usuario, String juego, double rating,
+                                              double rd, double volatilidad) {
+        TablaRatings tabla = tablas.computeIfAbsent(juego, TablaRatings::new);
+        int fila = tabla.fila(usuario);
+        tabla.mu[fila] = (rating - RATING_INICIAL) / ESCALA;
+        tabla.phi[fila] = rd / ESCALA;
+        tabla.sigma[fila] = volatilidad;
+        tabla.publicar(fila);
+    }
+
+    // ============================================
+    // PERÍODOS DE RATING
+    // ============================================
+
+    /**
+     * Aplica Glicko-2 a todos los jugadores con las partidas acumuladas y
+     * publica los ratings nuevos; quienes no jugaron solo ganan incertidumbre
+     *
+     * @return cantidad de jugadores cuyo rating cambió
+     */
+    public synchronized int cerrarPeriodo() {
+        int actualizados = 0;
+        for (TablaRatings tabla : tablas.values()) {
+            actualizados += tabla.cerrarPeriodo(tau);
+        }
+        partidasPeriodo = 0;
+        periodosCerrados++;
+        return actualizados;
+    }
+
+    /**
+     * Cierra un período cada 'periodoMillis' en un hilo daemon
+     */
+    public synchronized void iniciar(long periodoMillis) {
+        if (scheduler != null) {
+            return;
+        }
+        scheduler = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread hilo = new Thread(r, "rating-periods");
+            hilo.setDaemon(true);
+            return hilo;
+        });
+        scheduler.scheduleAtFixedRate(this::cerrarPeriodo, periodoMillis, periodoMillis, TimeUnit.MILLISECONDS);
+    }
+
+    public synchronized void detener() {
+        if (scheduler != null) {
+            scheduler.shutdownNow();
+            scheduler = null;
+        }
+    }
+
+    // ============================================
+    // CONSULTAS
+    // ============================================
+
+    /**
+     * Rating publicado (escala Glicko), o NaN si el jugador no tiene rating en el juego
+     */
+    public synchronized double getRating(int usuarioId, String juego) {
+        TablaRatings tabla = tablas.get(juego);
+        int fila = tabla != null ? tabla.indice.buscar(usuarioId) : -1;
+        return fila < 0 ? Double.NaN : RATING_INICIAL + tabla.mu[fila] * ESCALA;
+    }
+
+    public synchronized double getDesviacion(int usuarioId, String juego) {
+        TablaRatings tabla = tablas.get(juego);
+        int fila = tabla != null ? tabla.indice.buscar(usuarioId) : -1;
+        return fila < 0 ? Double.NaN : tabla.phi[fila] * ESCALA;
+    }
+
+    public synchronized double getVolatilidad(int usuarioId, String juego) {
+        TablaRatings tabla = tablas.get(juego);
+        int fila = tabla != null ? tabla.indice.buscar(usuarioId) : -1;
+        return fila < 0 ? Double.NaN : tabla.sigma[fila];
+    }
+
+    /**
+     * Partidas acumuladas en el período en curso
+     */
+    public synchronized long getPartidasPeriodo() {
+        return partidasPeriodo;
+    }
+
+    public synchronized long getPeriodosCerrados() {
+        return periodosCerrados;
+    }
+
+    public synchronized int getJugadores(String juego) {
+        TablaRatings tabla = tablas.get(juego);
+        return tabla != null ? tabla.indice.getFilas() : 0;
+    }
+
+    // ============================================
+    // TABLA POR JUEGO
+    // ============================================
+
+    /**
+     * Ratings de un juego en escala Glicko-2 (μ, φ) más los acumuladores del período:
+     * Σ g²·E·(1-E) (inversa de v) y Σ g·(s - E) (Δ / v)
+     */
+    private static class TablaRatings {
+        private final String juego;
+
+        double[] mu;
+        double[] phi;
+        double[] sigma;
+        double[] sumaVarianza;
+        double[] sumaMejora;
+        int[] partidas;             // Partidas en el período
+        int[] publicado;            // Último rango escrito en el Usuario
+        Usuario[] usuarios;
+
+        // Filas con partidas en el período (cada una una sola vez)
+        int[] tocadas;
+        int cantidadTocadas;
+
+        // Índice id → fila (sin Integer por jugador)
+        final IndiceFilas indice = new IndiceFilas(CAPACIDAD_INICIAL);
+
+        TablaRatings(String juego) {
+            this.juego = juego;
+            this.mu = new double[CAPACIDAD_INICIAL];
+            this.phi = new double[CAPACIDAD_INICIAL];
+            this.sigma = new double[CAPACIDAD_INICIAL];
+            this.sumaVarianza = new double[CAPACIDAD_INICIAL];
+            this.sumaMejora = new double[CAPACIDAD_INICIAL];
+            this.partidas = new int[CAPACIDAD_INICIAL];
+            this.publicado = new int[CAPACIDAD_INICIAL];
+            this.usuarios = new Usuario[CAPACIDAD_INICIAL];
+            this.tocadas = new int[CAPACIDAD_INICIAL];
+        }
+
+        int[] filas(Usuario[] equipo) {
+            int[] resultado = new int[equipo.length];
+            for (int i = 0; i < equipo.length; i++) {
+                resultado[i] = fila(equipo[i]);
+            }
+            return resultado;
+        }
+
+        /**
+         * Fila del usuario; la crea con su rango actual como rating inicial
+         * (o lo adopta si fue editado desde la última publicación)
+         */
+        int fila(Usuario usuario) {
+            Integer rango = usuario.getRangoPorJuego().get(juego);
+            int fila = indice.buscar(usuario.getId());
+            if (fila < 0) {
+                fila = crearFila(usuario.getId());
+                mu[fila] = ((rango != null ? rango : RATING_INICIAL) - RATING_INICIAL) / ESCALA;
+                phi[fila] = RD_INICIAL / ESCALA;
+                sigma[fila] = VOLATILIDAD_INICIAL;
+                publicado[fila] = rango != null ? rango : Integer.MIN_VALUE;
+            } else if (rango != null && rango != publicado[fila]) {
+                mu[fila] = (rango - RATING_INICIAL) / ESCALA;
+                publicado[fila] = rango;
+            }
+            usuarios[fila] = usuario;
+            return fila;
+        }
+
+        /**
+         * Suma el aporte de la partida para 'propios' contra el oponente compuesto 'rivales'
+         */
+        void acumular(int[] propios, int[] rivales, double resultado) {
+            double muRival = 0;
+            double phiCuadrado = 0;
+            for (int r : rivales) {
+                muRival += mu[r];
+                phiCuadrado += phi[r] * phi[r];
+            }
+            muRival /= rivales.length;
+            double g = g(Math.sqrt(phiCuadrado / rivales.length));
+
+            for (int p : propios) {
+                double esperado = esperado(mu[p], muRival, g);
+                if (partidas[p]++ == 0) {
+                    if (cantidadTocadas == tocadas.length) {
+                        tocadas = Arrays.copyOf(tocadas, tocadas.length * 2);
+                    }
+                    tocadas[cantidadTocadas++] = p;
+                }
+                sumaVarianza[p] += g * g * esperado * (1 - esperado);
+                sumaMejora[p] += g * (resultado - esperado);
+            }
+        }
+
+        int cerrarPeriodo(double tau) {
+            // Quienes jugaron quedan marcados con φ < 0; el resto solo gana incertidumbre
+            for (int t = 0; t < cantidadTocadas; t++) {
+                int p = tocadas[t];
+                if (sumaVarianza[p] > 0) {
+                    actualizar(p, tau);
+                    phi[p] = -phi[p];
+                }
+            }
+            double phiMaximo = RD_INICIAL / ESCALA;
+            for (int f = 0, filas = indice.getFilas(); f < filas; f++) {
+                if (phi[f] < 0) {
+                    phi[f] = -phi[f];
+                } else {
+                    phi[f] = Math.min(phiMaximo, Math.sqrt(phi[f] * phi[f] + sigma[f] * sigma[f]));
+                }
+            }
+            for (int t = 0; t < cantidadTocadas; t++) {
+                int p = tocadas[t];
+                sumaVarianza[p] = 0;
+                sumaMejora[p] = 0;
+                partidas[p] = 0;
+                publicar(p);
+            }
+            int actualizados = cantidadTocadas;
+            cantidadTocadas = 0;
+            return actualizados;
+        }
+
+        /**
+         * Paso de Glicko-2 para un jugador (nueva volatilidad por el método Illinois)
+         */
+        private void actualizar(int p, double tau) {
+            double v = 1 / sumaVarianza[p];
+            double delta = v * sumaMejora[p];
+            double phiCuadrado = phi[p] * phi[p];
+            double a = Math.log(sigma[p] * sigma[p]);
+            double tau2 = tau * tau;
+
+            double A = a;
+            double B;
+            if (delta * delta > phiCuadrado + v) {
+                B = Math.log(delta * delta - phiCuadrado - v);
+            } else {
+                int k = 1;
+                while (f(a - k * tau, delta, phiCuadrado, v, a, tau2) < 0) {
+                    k++;
+                }
+                B = a - k * tau;
+            }
+            double fA = f(A, delta, phiCuadrado, v, a, tau2);
+            double fB = f(B, delta, phiCuadrado, v, a, tau2);
+            while (Math.abs(B - A) > EPSILON) {
+                double C = A + (A - B) * fA / (fB - fA);
+                double fC = f(C, delta, phiCuadrado, v, a, tau2);
+                if (fC * fB <= 0) {
+                    A = B;
+                    fA = fB;
+                } else {
+                    fA /= 2;
+                }
+                B = C;
+                fB = fC;
+            }
+            double nuevaSigma = Math.exp(A / 2);
+            double phiPrevio = Math.sqrt(phiCuadrado + nuevaSigma * nuevaSigma);
+            double nuevoPhi = 1 / Math.sqrt(1 / (phiPrevio * phiPrevio) + 1 / v);
+
+            mu[p] += nuevoPhi * nuevoPhi * sumaMejora[p];
+            phi[p] = nuevoPhi;
+            sigma[p] = nuevaSigma;
+        }
+
+        void publicar(int fila) {
+            int rango = (int) Math.max(0, Math.round(RATING_INICIAL + mu[fila] * ESCALA));
+            publicado[fila] = rango;
+            if (usuarios[fila] != null) {
+                usuarios[fila].getRangoPorJuego().put(juego, rango);
+            }
+        }
+
+        private static double g(double phi) {
+            return 1 / Math.sqrt(1 + 3 * phi * phi / (Math.PI * Math.PI));
+        }
+
+        private static double esperado(double mu, double muRival, double g) {
+            return 1 / (1 + Math.exp(-g * (mu - muRival)));
+        }
+
+        private static double f(double x, double delta, double phiCuadrado, double v, double a, double tau2) {
+            double ex = Math.exp(x);
+            double denominador = phiCuadrado + v + ex;
+            return ex * (delta * delta - phiCuadrado - v - ex) / (2 * denominador * denominador) - (x - a) / tau2;
+        }
+
+        // ============================================
+        // FILAS
+        // ============================================
+
+        private int crearFila(int usuarioId) {
+            int fila = indice.agregar(usuarioId);
+            if (fila == mu.length) {
+                int capacidad = mu.length * 2;
+                mu = Arrays.copyOf(mu, capacidad);
+                phi = Arrays.copyOf(phi, capacidad);
+                sigma = Arrays.copyOf(sigma, capacidad);
+                sumaVarianza = Arrays.copyOf(sumaVarianza, capacidad);
+                sumaMejora = Arrays.copyOf(sumaMejora, capacidad);
+                partidas = Arrays.copyOf(partidas, capacidad);
+                publicado = Arrays.copyOf(publicado, capacidad);
+                usuarios = Arrays.copyOf(usuarios, capacidad);
+            }
+            return fila;
+        }
+    }
+}
@@ -1,30 +1,84 @@
 package service;
 
+import models.Pagina;
 import models.Scrim;
 import models.Usuario;
 import states.EstadoBuscandoJugadores;
 import java.util.ArrayList;
+import java.util.Iterator;
 import java.util.List;
+import java.util.Locale;
 import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.PriorityQueue;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
 
 /**
  * Gestor de salas de Scrim
  * Administra la creación y búsqueda de salas disponibles
+ *
+ * Seguro para usar desde varios hilos:
+ * - Las salas se reparten en particiones por (juego, región). Cada una es una
+ *   ConcurrentSkipListMap ordenada por número de secuencia: los lectores la
+ *   recorren sin bloquear y alta o baja cuestan O(log n), sin copiar arreglos
+ *   ni buscar la sala de a una.
+ * - Los escritores toman el lock de su partición solo para que el registro
+ *   por id y la skip list cambien juntos; altas y bajas de juegos o regiones
+ *   distintas no compiten.
+ * - Cada sala recibe un número de secuencia global al agregarse (dentro del
+ *   lock, así las altas de una partición quedan en orden). Las vistas que
+ *   abarcan varias particiones (todas las salas, por juego) mezclan las skip
+ *   lists por secuencia, así conservan el orden de alta y la paginación usa
+ *   la última secuencia entregada como cursor: las altas y bajas entre
+ *   páginas no corren a las salas que siguen.
+ *
+ * Los recorridos son débilmente consistentes: nunca repiten una sala ni
+ * fallan por una modificación concurrente, pero pueden reflejar o no una
+ * alta o baja que ocurre mientras avanzan.
  */
 public class SalaManager {
-    private List<Scrim> salasDisponibles;
-    private static SalaManager instance;
-    
+
+    // Partición "juego|región" (minúsculas) → salas de esa partición
+    private final Map<String, Particion> particiones = new ConcurrentHashMap<>();
+    private final Map<UUID, Alta> altaPorId = new ConcurrentHashMap<>();
+    private final AtomicLong proximaSecuencia = new AtomicLong();
+
+    private static final class Particion {
+        final String juego;
+        final ConcurrentSkipListMap<Long, Scrim> salas = new ConcurrentSkipListMap<>();   // Secuencia → sala
+
+        Particion(String juego) {
+            this.juego = juego;
+        }
+    }
+
+    // Dónde quedó registrada una sala: la baja la quita por su secuencia
+    private static final class Alta {
+        final Particion particion;
+        final long secuencia;
+
+        Alta(Particion particion, long secuencia) {
+            this.particion = particion;
+            this.secuencia = secuencia;
+        }
+    }
+
     private SalaManager() {
-        this.salasDisponibles = new ArrayList<>();
         inicializarSalasPredeterminadas();
     }
-    
+
+    // La JVM inicializa la clase contenedora una sola vez y de forma segura entre hilos
+    private static final class Contenedor {
+        static final SalaManager INSTANCE = new SalaManager();
+    }
+
     public static SalaManager getInstance() {
-        if (instance == null) {
-            instance = new SalaManager();
-        }
-        return instance;
+        return Contenedor.INSTANCE;
     }
     
     /**
@@ -32,7 +86,7 @@ public class SalaManager {
      */
     private void inicializarSalasPredeterminadas() {
         // Salas de Valorant
-        salasDisponibles.add(new Scrim.Builder(new EstadoBuscandoJugadores())
+        agregarSala(new Scrim.Builder(new EstadoBuscandoJugadores())
             .juego("Valorant")
             .formato("5v5")
             .region("SA")
@@ -42,7 +96,7 @@ public class SalaManager {
             .latenciaMax(80)
             .build());
             
-        salasDisponibles.add(new Scrim.Builder(new EstadoBuscandoJugadores())
+        agregarSala(new Scrim.Builder(new EstadoBuscandoJugadores())
             .juego("Valorant")
             .formato("5v5")
             .region("SA")
@@ -52,7 +106,7 @@ public class SalaManager {
             .latenciaMax(100)
             .build());
             
-        salasDisponibles.add(new Scrim.Builder(new EstadoBuscandoJugadores())
+        agregarSala(new Scrim.Builder(new EstadoBuscandoJugadores())
             .juego("Valorant")
             .formato("5v5")
             .region("SA")
@@ -63,7 +117,7 @@ public class SalaManager {
             .build());
         
         // Salas de League of Legends
-        salasDisponibles.add(new Scrim.Builder(new EstadoBuscandoJugadores())
+        agregarSala(new Scrim.Builder(new EstadoBuscandoJugadores())
             .juego("League of Legends")
             .formato("5v5")
             .region("SA")
@@ -73,7 +127,7 @@ public class SalaManager {
             .latenciaMax(80)
             .build());
             
-        salasDisponibles.add(new Scrim.Builder(new EstadoBuscandoJugadores())
+        agregarSala(new Scrim.Builder(new EstadoBuscandoJugadores())
             .juego("League of Legends")
             .formato("5v5")
             .region("SA")
@@ -83,7 +137,7 @@ public class SalaManager {
             .latenciaMax(100)
             .build());
             
-        salasDisponibles.add(new Scrim.Builder(new EstadoBuscandoJugadores())
+        agregarSala(new Scrim.Builder(new EstadoBuscandoJugadores())
             .juego("League of Legends")
             .formato("5v5")
             .region("SA")
@@ -94,7 +148,7 @@ public class SalaManager {
             .build());
         
         // Salas de CS:GO
-        salasDisponibles.add(new Scrim.Builder(new EstadoBuscandoJugadores())
+        agregarSala(new Scrim.Builder(new EstadoBuscandoJugadores())
             .juego("CS:GO")
             .formato("5v5")
             .region("SA")
@@ -104,7 +158,7 @@ public class SalaManager {
             .latenciaMax(70)
             .build());
             
-        salasDisponibles.add(new Scrim.Builder(new EstadoBuscandoJugadores())
+        agregarSala(new Scrim.Builder(new EstadoBuscandoJugadores())
             .juego("CS:GO")
             .formato("5v5")
             .region("SA")
@@ -116,23 +170,59 @@ public class SalaManager {
     }
     
     /**
-     * Obtiene todas las salas disponibles
+     * Obtiene todas las salas disponibles (en orden de alta)
      */
     public List<Scrim> getSalasDisponibles() {
-        return new ArrayList<>(salasDisponibles);
+        return drenar(new Mezcla(fuentes(null), -1));
     }
-    
+
     /**
-     * Filtra salas por juego
+     * Obtiene una página de salas disponibles en orden de alta
+     * @param cursor null para la primera página, o el siguienteCursor de la anterior
      */
-    public List<Scrim> getSalasPorJuego(String juego) {
-        List<Scrim> salasFiltradas = new ArrayList<>();
-        for (Scrim sala : salasDisponibles) {
-            if (sala.getJuego().equalsIgnoreCase(juego)) {
-                salasFiltradas.add(sala);
+    public Pagina<Scrim> getSalasDisponibles(String cursor, int tamanioPagina) {
+        if (tamanioPagina <= 0) {
+            throw new IllegalArgumentException("El tamaño de página debe ser positivo");
+        }
+        long despuesDe = -1;
+        if (cursor != null) {
+            try {
+                despuesDe = Long.parseLong(cursor);
+            } catch (NumberFormatException e) {
+                throw new IllegalArgumentException("Cursor inválido: " + cursor);
             }
         }
-        return salasFiltradas;
+        Mezcla mezcla = new Mezcla(fuentes(null), despuesDe);
+        List<Scrim> elementos = new ArrayList<>(tamanioPagina);
+        while (elementos.size() < tamanioPagina && mezcla.hasNext()) {
+            elementos.add(mezcla.next());
+        }
+        return new Pagina<>(elementos, mezcla.hasNext() ? String.valueOf(mezcla.ultimaSecuencia) : null);
+    }
+
+    /**
+     * Salas disponibles como Stream perezoso en orden de alta
+     * (débilmente consistente: recorre las particiones a medida que avanza)
+     */
+    public Stream<Scrim> streamSalasDisponibles() {
+        List<ConcurrentSkipListMap<Long, Scrim>> fuentes = fuentes(null);
+        Iterable<Scrim> salas = () -> new Mezcla(fuentes, -1);
+        return StreamSupport.stream(salas.spliterator(), false);
+    }
+    
+    /**
+     * Filtra salas por juego (mezcla solo las particiones de ese juego)
+     */
+    public List<Scrim> getSalasPorJuego(String juego) {
+        return drenar(new Mezcla(fuentes(normalizar(juego)), -1));
+    }
+
+    /**
+     * Salas de un juego en una región: se lee una sola partición
+     */
+    public List<Scrim> getSalasPorJuegoYRegion(String juego, String region) {
+        Particion particion = particiones.get(clave(juego, region));
+        return particion != null ? new ArrayList<>(particion.salas.values()) : new ArrayList<>();
     }
     
     /**
@@ -140,7 +230,7 @@ public class SalaManager {
      */
     public List<String> getJuegosDisponibles() {
         List<String> juegos = new ArrayList<>();
-        for (Scrim sala : salasDisponibles) {
+        for (Scrim sala : getSalasDisponibles()) {
             if (!juegos.contains(sala.getJuego())) {
                 juegos.add(sala.getJuego());
             }
@@ -164,16 +254,117 @@ public class SalaManager {
     }
     
     /**
-     * Agrega una nueva sala
+     * Agrega una nueva sala (una sala ya agregada no se duplica)
      */
     public void agregarSala(Scrim sala) {
-        salasDisponibles.add(sala);
+        Particion particion = particiones.computeIfAbsent(clave(sala.getJuego(), sala.getRegion()),
+                                                          k -> new Particion(normalizar(sala.getJuego())));
+        // Con el lock de la partición tomado, una baja concurrente no puede quedar entre el registro y el alta
+        synchronized (particion) {
+            if (altaPorId.containsKey(sala.getId())) {
+                return;                                      // Ya está agregada
+            }
+            long secuencia = proximaSecuencia.getAndIncrement();
+            altaPorId.put(sala.getId(), new Alta(particion, secuencia));
+            particion.salas.put(secuencia, sala);
+        }
     }
     
     /**
      * Elimina una sala (cuando se llena o se cancela)
      */
     public void eliminarSala(Scrim sala) {
-        salasDisponibles.remove(sala);
+        Alta alta = altaPorId.get(sala.getId());
+        if (alta == null) {
+            return;
+        }
+        synchronized (alta.particion) {
+            if (altaPorId.remove(sala.getId(), alta)) {
+                alta.particion.salas.remove(alta.secuencia);
+            }
+        }
+    }
+
+    /**
+     * Cantidad de salas disponibles
+     */
+    public int getCantidadSalas() {
+        return altaPorId.size();
+    }
+
+    // ============ PARTICIONES ============
+
+    private static String normalizar(String valor) {
+        return valor != null ? valor.toLowerCase(Locale.ROOT) : "";
+    }
+
+    private static String clave(String juego, String region) {
+        return normalizar(juego) + "|" + normalizar(region);
+    }
+
+    // Skip lists no vacías de las particiones del juego (null = todas)
+    private List<ConcurrentSkipListMap<Long, Scrim>> fuentes(String juego) {
+        List<ConcurrentSkipListMap<Long, Scrim>> fuentes = new ArrayList<>();
+        for (Particion particion : particiones.values()) {
+            if ((juego == null || particion.juego.equals(juego)) && !particion.salas.isEmpty()) {
+                fuentes.add(particion.salas);
+            }
+        }
+        return fuentes;
+    }
+
+    private static List<Scrim> drenar(Iterator<Scrim> salas) {
+        List<Scrim> lista = new ArrayList<>();
+        salas.forEachRemaining(lista::add);
+        return lista;
+    }
+
+    /**
+     * Mezcla k particiones ordenadas por secuencia, a partir de 'despuesDe',
+     * entregando a pedido: O(log k) por sala
+     */
+    private static final class Mezcla implements Iterator<Scrim> {
+        private final PriorityQueue<Cabeza> frente;
+        private long ultimaSecuencia = -1;
+
+        // Próxima sala de una partición y el resto de su recorrido
+        private static final class Cabeza {
+            Map.Entry<Long, Scrim> actual;
+            final Iterator<Map.Entry<Long, Scrim>> resto;
+
+            Cabeza(Iterator<Map.Entry<Long, Scrim>> resto) {
+                this.resto = resto;
+                this.actual = resto.next();
+            }
+        }
+
+        Mezcla(List<ConcurrentSkipListMap<Long, Scrim>> fuentes, long despuesDe) {
+            this.frente = new PriorityQueue<>(Math.max(1, fuentes.size()),
+                (a, b) -> Long.compare(a.actual.getKey(), b.actual.getKey()));
+            for (ConcurrentSkipListMap<Long, Scrim> fuente : fuentes) {
+                Iterator<Map.Entry<Long, Scrim>> recorrido = fuente.tailMap(despuesDe, false).entrySet().iterator();
+                if (recorrido.hasNext()) frente.add(new Cabeza(recorrido));
+            }
+        }
+
+        @Override
+        public boolean hasNext() {
+            return !frente.isEmpty();
+        }
+
+        @Override
+        public Scrim next() {
+            Cabeza cabeza = frente.poll();
+            if (cabeza == null) {
+                throw new NoSuchElementException();
+            }
+            ultimaSecuencia = cabeza.actual.getKey();
+            Scrim sala = cabeza.actual.getValue();
+            if (cabeza.resto.hasNext()) {
+                cabeza.actual = cabeza.resto.next();
+                frente.add(cabeza);
+            }
+            return sala;
+        }
     }
 }
@@ -1,28 +1,183 @@
 package service;
 
 import models.*;
+import java.util.ArrayDeque;
 import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
-import java.util.stream.Collectors;
+import java.util.Locale;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.NoSuchElementException;
+import java.util.Set;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.TreeMap;
+import java.util.UUID;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
 
 /**
  * Servicio de búsqueda de scrims
  * RF2: Búsqueda de scrims con filtros
+ *
+ * Cada scrim registrado ocupa un slot (los slots liberados se reutilizan, así
+ * los bitsets se mantienen compactos). Índices invertidos por juego, formato
+ * y región: cada valor tiene su lista de posteo como BitSet de slots, y una
+ * búsqueda recorre solo la lista más chica verificando la pertenencia a las
+ * demás en O(1). La latencia máxima se indexa en un mapa ordenado y los
+ * intervalos [rangoMin, rangoMax] en un IndiceIntervalos (buscarPorMMR,
+ * buscarPorRangoMMR en O(log n + k)).
+ *
+ * Los filtros por rango de buscarScrims ("Gold", "Diamond") se traducen una
+ * vez por consulta a umbrales de MMR y se comparan como enteros; el nombre
+ * del rango queda solo para mostrar.
+ *
+ * El costo de una búsqueda depende de cuántos scrims tienen el valor más
+ * selectivo, no del total registrado; los filtros de rango se aplican sobre
+ * esos candidatos. registrarScrim / eliminarScrim mantienen los índices en
+ * O(1) y, si un scrim registrado cambia de juego, formato o región, debe
+ * pasar por actualizarScrim.
+ *
+ * Las búsquedas favoritas se guardan como suscripciones (BusquedaGuardada)
+ * en un índice inverso por (juego, formato, región) con "*" como comodín.
+ * Un scrim nuevo solo puede coincidir con las 2^3 claves que combinan sus
+ * valores con el comodín, así que registrarScrim encuentra a los suscriptos
+ * con 8 lecturas de hash más una por coincidencia, y los avisa con
+ * NotificationService.notificarScrimCreado en lugar de que cada uno repita
+ * su búsqueda.
+ *
+ * Los resultados de buscarScrims (y de buscarPorJuego / Region / Formato,
+ * que delegan en ella) se guardan en una CacheBusquedas LRU acotada, con
+ * clave en la tupla de filtros normalizada. registrarScrim, eliminarScrim y
+ * actualizarScrim invalidan solo las entradas cuyos filtros aceptan al scrim
+ * que entra o sale; aciertos, fallos, invalidaciones y expulsiones quedan
+ * expuestos como métricas.
+ *
+ * buscarScrimsPaginado y streamScrims recorren los mismos índices a pedido:
+ * se detienen al llenar la página en lugar de materializar todo el resultado.
+ * El cursor es el siguiente slot a revisar; como un scrim conserva su slot
+ * mientras está registrado, paginar no repite ni saltea los scrims que
+ * siguen registrados aunque haya altas y bajas entre páginas.
  */
 public class ScrimSearchService {
-    
-    // Base de datos simulada de scrims disponibles
-    private List<Scrim> scrimsDisponibles;
-    
+
+    // Base de datos simulada de scrims disponibles (null = slot libre)
+    private final List<Entrada> slots = new ArrayList<>();
+    private final Map<UUID, Integer> slotPorId = new HashMap<>();
+    private final Deque<Integer> slotsLibres = new ArrayDeque<>();
+    private final BitSet ocupados = new BitSet();
+
+    // Índices invertidos: valor (en minúsculas) → slots con ese valor
+    private final Map<String, ListaPosteo> porJuego = new HashMap<>();
+    private final Map<String, ListaPosteo> porFormato = new HashMap<>();
+    private final Map<String, ListaPosteo> porRegion = new HashMap<>();
+    private final TreeMap<Integer, ListaPosteo> porLatencia = new TreeMap<>();
+    private final IndiceIntervalos porRangoMMR = new IndiceIntervalos();
+
+    // Suscripciones: clave "juego|formato|región" (minúsculas, * = cualquiera) → búsquedas
+    private static final String COMODIN = "*";
+    private final Map<String, Set<BusquedaGuardada>> suscripciones = new HashMap<>();
+    private int cantidadSuscripciones;
+    private final NotificationService notificaciones;       // null = no se envían avisos
+
+    private final CacheBusquedas cache;
+
+    /**
+     * Scrim registrado junto con los valores con los que se indexó
+     * (para sacarlo de las listas correctas aunque el scrim haya cambiado)
+     */
+    private static final class Entrada {
+        final Scrim scrim;
+        final String juego;
+        final String formato;
+        final String region;
+        final int latencia;
+
+        Entrada(Scrim scrim) {
+            this.scrim = scrim;
+            this.juego = normalizar(scrim.getJuego());
+            this.formato = normalizar(scrim.getFormato());
+            this.region = normalizar(scrim.getRegion());
+            this.latencia = scrim.getLatenciaMaxima();
+        }
+    }
+
+    private static final class ListaPosteo {
+        final BitSet slots = new BitSet();
+        int tamanio;
+    }
+
     public ScrimSearchService() {
-        this.scrimsDisponibles = new ArrayList<>();
+        this(null);
     }
-    
+
+    /**
+     * @param notificaciones Servicio por el que se avisa a los suscriptos de cada scrim nuevo
+     */
+    public ScrimSearchService(NotificationService notificaciones) {
+        this(notificaciones, CacheBusquedas.CAPACIDAD_DEFAULT);
+    }
+
+    /**
+     * @param notificaciones Servicio por el que se avisa a los suscriptos de cada scrim nuevo
+     * @param capacidadCache Cantidad máxima de búsquedas distintas con resultado guardado
+     */
+    public ScrimSearchService(NotificationService notificaciones, int capacidadCache) {
+        this.notificaciones = notificaciones;
+        this.cache = new CacheBusquedas(capacidadCache);
+    }
+
     /**
      * Registra un scrim en el sistema para que sea encontrable
+     * (un scrim ya registrado no se duplica) y avisa a los usuarios con una
+     * búsqueda guardada que coincide
      */
     public void registrarScrim(Scrim scrim) {
-        scrimsDisponibles.add(scrim);
+        if (slotPorId.containsKey(scrim.getId())) {
+            return;
+        }
+        indexar(scrim);
+        if (notificaciones != null) {
+            List<Usuario> interesados = interesados(scrim);
+            if (!interesados.isEmpty()) {
+                notificaciones.notificarScrimCreado(interesados, scrim);
+            }
+        }
+    }
+
+    private void indexar(Scrim scrim) {
+        int slot = slotsLibres.isEmpty() ? slots.size() : slotsLibres.pop();
+        Entrada entrada = new Entrada(scrim);
+        if (slot == slots.size()) {
+            slots.add(entrada);
+        } else {
+            slots.set(slot, entrada);
+        }
+        slotPorId.put(scrim.getId(), slot);
+        ocupados.set(slot);
+        agregarAPosteo(porJuego, entrada.juego, slot);
+        agregarAPosteo(porFormato, entrada.formato, slot);
+        agregarAPosteo(porRegion, entrada.region, slot);
+        agregarAPosteo(porLatencia, entrada.latencia, slot);
+        porRangoMMR.agregar(slot, scrim.getRangoMin(), scrim.getRangoMax());
+        cache.invalidar(clavesQueCoinciden(entrada.juego, entrada.formato, entrada.region),
+                        scrim.getRangoMin(), scrim.getRangoMax());
+    }
+
+    /**
+     * Reindexa un scrim registrado después de cambiarle juego, formato, región o latencia
+     */
+    public void actualizarScrim(Scrim scrim) {
+        if (slotPorId.containsKey(scrim.getId())) {
+            eliminarScrim(scrim);
+            indexar(scrim);
+        }
     }
     
     /**
@@ -37,13 +192,163 @@ public class ScrimSearchService {
     public List<Scrim> buscarScrims(String juego, String formato, 
                                      String rangoMin, String rangoMax, 
                                      String region) {
-        return scrimsDisponibles.stream()
-            .filter(s -> juego == null || juego.equalsIgnoreCase(s.getJuego()))
-            .filter(s -> formato == null || formato.equalsIgnoreCase(s.getFormato()))
-            .filter(s -> rangoMin == null || cumpleRangoMinimo(s, rangoMin))
-            .filter(s -> rangoMax == null || cumpleRangoMaximo(s, rangoMax))
-            .filter(s -> region == null || region.equalsIgnoreCase(s.getRegion()))
-            .collect(Collectors.toList());
+        int[] umbrales = umbralesMMR(rangoMin, rangoMax);
+        if (umbrales == null) {
+            return new ArrayList<>();                        // Rango desconocido: ningún scrim cumple
+        }
+        int pisoMin = umbrales[0];
+        int techoMax = umbrales[1];
+
+        String claveAtributos = comodinSiNull(juego) + "|" + comodinSiNull(formato) + "|" + comodinSiNull(region);
+        String clave = CacheBusquedas.clave(claveAtributos, pisoMin, techoMax);
+        List<Scrim> guardado = cache.obtener(clave);
+        if (guardado != null) {
+            return new ArrayList<>(guardado);
+        }
+        List<Scrim> resultados = new ArrayList<>();
+        new Recorrido(juego, formato, region, pisoMin, techoMax, 0).forEachRemaining(resultados::add);
+        cache.guardar(clave, claveAtributos, pisoMin, techoMax, resultados);
+        return resultados;
+    }
+
+    /**
+     * Umbrales de MMR {pisoMin, techoMax} equivalentes a los filtros por rango
+     * @return null si rangoMax no es un rango conocido (ningún scrim puede cumplirlo)
+     */
+    private static int[] umbralesMMR(String rangoMin, String rangoMax) {
+        // Rango mínimo del scrim ≥ rangoMin ⇔ su MMR mínimo alcanza el piso de ese rango
+        int indiceMin = rangoMin != null ? Scrim.indiceRango(rangoMin) : -1;
+        int pisoMin = Scrim.mmrMinimoRango(Math.max(0, indiceMin));
+        // Rango máximo del scrim ≤ rangoMax ⇔ su MMR máximo no llega al rango siguiente
+        int techoMax = Integer.MAX_VALUE;
+        if (rangoMax != null) {
+            int indiceMax = Scrim.indiceRango(rangoMax);
+            if (indiceMax < 0) {
+                return null;
+            }
+            techoMax = Scrim.mmrMinimoRango(indiceMax + 1);
+        }
+        return new int[]{pisoMin, techoMax};
+    }
+
+    // ============ PAGINACIÓN Y STREAMING ============
+
+    /**
+     * RF2: Búsqueda paginada con los mismos filtros que buscarScrims
+     *
+     * Solo se recorren los candidatos necesarios para llenar la página (más
+     * uno, para saber si hay siguiente): el costo y la memoria dependen del
+     * tamaño de página, no del catálogo. Las páginas no pasan por la caché.
+     * @param cursor null para la primera página, o el siguienteCursor de la anterior
+     * @return Página con hasta tamanioPagina scrims, en orden de slot
+     */
+    public Pagina<Scrim> buscarScrimsPaginado(String juego, String formato,
+                                               String rangoMin, String rangoMax,
+                                               String region, String cursor, int tamanioPagina) {
+        if (tamanioPagina <= 0) {
+            throw new IllegalArgumentException("El tamaño de página debe ser positivo");
+        }
+        int desde = decodificarCursor(cursor);
+        int[] umbrales = umbralesMMR(rangoMin, rangoMax);
+        if (umbrales == null) {
+            return new Pagina<>(new ArrayList<>(), null);
+        }
+        Recorrido recorrido = new Recorrido(juego, formato, region, umbrales[0], umbrales[1], desde);
+        List<Scrim> elementos = new ArrayList<>(tamanioPagina);
+        while (elementos.size() < tamanioPagina && recorrido.hasNext()) {
+            elementos.add(recorrido.next());
+        }
+        String siguiente = recorrido.hasNext() ? String.valueOf(recorrido.ultimoSlot + 1) : null;
+        return new Pagina<>(elementos, siguiente);
+    }
+
+    /**
+     * RF2: Resultados de buscarScrims como Stream perezoso: cada scrim se
+     * busca recién cuando se consume, así un limit(20) deja de recorrer al
+     * llegar al vigésimo. Hay que consumirlo antes de registrar o eliminar scrims.
+     */
+    public Stream<Scrim> streamScrims(String juego, String formato,
+                                      String rangoMin, String rangoMax, String region) {
+        int[] umbrales = umbralesMMR(rangoMin, rangoMax);
+        if (umbrales == null) {
+            return Stream.empty();
+        }
+        Recorrido recorrido = new Recorrido(juego, formato, region, umbrales[0], umbrales[1], 0);
+        return StreamSupport.stream(
+            Spliterators.spliteratorUnknownSize(recorrido, Spliterator.ORDERED | Spliterator.NONNULL), false);
+    }
+
+    // El cursor es el primer slot que falta revisar
+    private static int decodificarCursor(String cursor) {
+        if (cursor == null) {
+            return 0;
+        }
+        try {
+            int slot = Integer.parseInt(cursor);
+            if (slot < 0) throw new NumberFormatException();
+            return slot;
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("Cursor inválido: " + cursor);
+        }
+    }
+
+    /**
+     * Recorre, en orden de slot y a pedido, los scrims que cumplen los filtros:
+     * avanza por la lista de posteo más selectiva y consulta las demás bit a bit
+     */
+    private final class Recorrido implements Iterator<Scrim> {
+        private final List<ListaPosteo> filtros = new ArrayList<>(3);
+        private final int pisoMin;
+        private final int techoMax;
+        private ListaPosteo menor;
+        private BitSet base = ocupados;
+        private int proximo;                                 // Próximo slot que cumple (-1 = no hay más)
+        private int ultimoSlot = -1;                         // Slot del último scrim entregado
+
+        Recorrido(String juego, String formato, String region, int pisoMin, int techoMax, int desde) {
+            this.pisoMin = pisoMin;
+            this.techoMax = techoMax;
+            if (!agregarFiltro(filtros, porJuego, juego)
+                    || !agregarFiltro(filtros, porFormato, formato)
+                    || !agregarFiltro(filtros, porRegion, region)) {
+                proximo = -1;
+                return;
+            }
+            for (ListaPosteo filtro : filtros) {
+                if (menor == null || filtro.tamanio < menor.tamanio) menor = filtro;
+            }
+            if (menor != null) {
+                base = menor.slots;
+            }
+            proximo = buscarDesde(desde);
+        }
+
+        private int buscarDesde(int desde) {
+            for (int slot = base.nextSetBit(desde); slot >= 0; slot = base.nextSetBit(slot + 1)) {
+                if (!enTodas(filtros, menor, slot)) continue;
+                Scrim scrim = slots.get(slot).scrim;
+                if (scrim.getRangoMin() >= pisoMin
+                        && (techoMax == Integer.MAX_VALUE || scrim.getRangoMax() < techoMax)) {
+                    return slot;
+                }
+            }
+            return -1;
+        }
+
+        @Override
+        public boolean hasNext() {
+            return proximo >= 0;
+        }
+
+        @Override
+        public Scrim next() {
+            if (proximo < 0) {
+                throw new NoSuchElementException();
+            }
+            ultimoSlot = proximo;
+            proximo = buscarDesde(proximo + 1);
+            return slots.get(ultimoSlot).scrim;
+        }
     }
     
     /**
@@ -68,21 +373,49 @@ public class ScrimSearchService {
     }
     
     /**
-     * RF2: Búsqueda por latencia máxima
+     * RF2: Búsqueda por latencia máxima (resultados de menor a mayor latencia)
      */
     public List<Scrim> buscarPorLatencia(int latenciaMax) {
-        return scrimsDisponibles.stream()
-            .filter(s -> s.getLatenciaMaxima() <= latenciaMax)
-            .collect(Collectors.toList());
+        List<Scrim> resultados = new ArrayList<>();
+        NavigableMap<Integer, ListaPosteo> aceptables = porLatencia.headMap(latenciaMax, true);
+        for (ListaPosteo lista : aceptables.values()) {
+            for (int slot = lista.slots.nextSetBit(0); slot >= 0; slot = lista.slots.nextSetBit(slot + 1)) {
+                resultados.add(slots.get(slot).scrim);
+            }
+        }
+        return resultados;
+    }
+    
+    /**
+     * Scrims que aceptan a un jugador con este MMR (rangoMin ≤ mmr ≤ rangoMax)
+     */
+    public List<Scrim> buscarPorMMR(int mmr) {
+        List<Scrim> resultados = new ArrayList<>();
+        porRangoMMR.contienen(mmr, slot -> resultados.add(slots.get(slot).scrim));
+        return resultados;
+    }
+
+    /**
+     * Scrims cuyo rango de MMR se superpone con [desde, hasta]
+     */
+    public List<Scrim> buscarPorRangoMMR(int desde, int hasta) {
+        List<Scrim> resultados = new ArrayList<>();
+        porRangoMMR.solapan(desde, hasta, slot -> resultados.add(slots.get(slot).scrim));
+        return resultados;
     }
     
     /**
      * RF2: Búsqueda que coincida con las preferencias del usuario
      */
     public List<Scrim> buscarCoincidencias(Usuario usuario) {
-        return scrimsDisponibles.stream()
-            .filter(s -> s.cumpleRequisitos(usuario))
-            .collect(Collectors.toList());
+        List<Scrim> resultados = new ArrayList<>();
+        for (int slot = ocupados.nextSetBit(0); slot >= 0; slot = ocupados.nextSetBit(slot + 1)) {
+            Scrim scrim = slots.get(slot).scrim;
+            if (scrim.cumpleRequisitos(usuario)) {
+                resultados.add(scrim);
+            }
+        }
+        return resultados;
     }
     
     /**
@@ -99,23 +432,8 @@ public class ScrimSearchService {
      * RF2: Ejecutar búsqueda desde favorita
      */
     public List<Scrim> buscarDesdeFavorita(String busquedaFavorita, Usuario usuario) {
-        // Parse del string: "juego:LoL,formato:5v5,region:LAS"
-        String[] partes = busquedaFavorita.split(",");
-        String juego = null, formato = null, region = null;
-        
-        for (String parte : partes) {
-            String[] kv = parte.split(":");
-            if (kv.length == 2) {
-                String valor = kv[1].equals("*") ? null : kv[1];
-                switch (kv[0]) {
-                    case "juego": juego = valor; break;
-                    case "formato": formato = valor; break;
-                    case "region": region = valor; break;
-                }
-            }
-        }
-        
-        List<Scrim> resultados = buscarScrims(juego, formato, null, null, region);
+        String[] filtros = parsearFavorita(busquedaFavorita);
+        List<Scrim> resultados = buscarScrims(filtros[0], filtros[1], null, null, filtros[2]);
         
         // RF2: Si hay coincidencias, notificar al usuario
         if (!resultados.isEmpty()) {
@@ -126,56 +444,217 @@ public class ScrimSearchService {
         return resultados;
     }
     
+    // Parse del string: "juego:LoL,formato:5v5,region:LAS" → {juego, formato, región}
+    private static String[] parsearFavorita(String busquedaFavorita) {
+        String[] filtros = new String[3];
+        for (String parte : busquedaFavorita.split(",")) {
+            String[] kv = parte.split(":");
+            if (kv.length == 2) {
+                String valor = kv[1].equals(COMODIN) ? null : kv[1];
+                switch (kv[0]) {
+                    case "juego": filtros[0] = valor; break;
+                    case "formato": filtros[1] = valor; break;
+                    case "region": filtros[2] = valor; break;
+                }
+            }
+        }
+        return filtros;
+    }
+
+    // ============ BÚSQUEDAS GUARDADAS (SUSCRIPCIONES) ============
+
+    /**
+     * Guarda una búsqueda como suscripción: cada scrim nuevo que la cumpla
+     * se notifica al usuario
+     * @param juego Filtro por juego (null para cualquiera)
+     * @param formato Filtro por formato (null para cualquiera)
+     * @param region Filtro por región (null para cualquiera)
+     */
+    public BusquedaGuardada suscribir(Usuario usuario, String juego, String formato, String region) {
+        BusquedaGuardada busqueda = new BusquedaGuardada(usuario, juego, formato, region);
+        suscripciones.computeIfAbsent(claveSuscripcion(busqueda), k -> new LinkedHashSet<>()).add(busqueda);
+        cantidadSuscripciones++;
+        return busqueda;
+    }
+
+    /**
+     * Suscribe al usuario a una favorita creada con guardarBusquedaFavorita
+     */
+    public BusquedaGuardada suscribirDesdeFavorita(String busquedaFavorita, Usuario usuario) {
+        String[] filtros = parsearFavorita(busquedaFavorita);
+        return suscribir(usuario, filtros[0], filtros[1], filtros[2]);
+    }
+
+    public boolean cancelarSuscripcion(BusquedaGuardada busqueda) {
+        String clave = claveSuscripcion(busqueda);
+        Set<BusquedaGuardada> conClave = suscripciones.get(clave);
+        if (conClave == null || !conClave.remove(busqueda)) {
+            return false;
+        }
+        if (conClave.isEmpty()) {
+            suscripciones.remove(clave);
+        }
+        cantidadSuscripciones--;
+        return true;
+    }
+
+    /**
+     * Búsquedas guardadas que coinciden con el scrim: solo se leen las claves
+     * que combinan sus valores con el comodín, y cada candidata se confirma
+     * con BusquedaGuardada.coincide
+     */
+    public List<BusquedaGuardada> percolar(Scrim scrim) {
+        List<BusquedaGuardada> coincidencias = new ArrayList<>();
+        for (String clave : clavesQueCoinciden(scrim.getJuego(), scrim.getFormato(), scrim.getRegion())) {
+            Set<BusquedaGuardada> conClave = suscripciones.get(clave);
+            if (conClave == null) continue;
+            for (BusquedaGuardada busqueda : conClave) {
+                if (busqueda.coincide(scrim)) {
+                    coincidencias.add(busqueda);
+                }
+            }
+        }
+        return coincidencias;
+    }
+
+    /**
+     * Usuarios a avisar por el scrim (una vez cada uno aunque tenga varias búsquedas que coinciden)
+     */
+    public List<Usuario> interesados(Scrim scrim) {
+        Map<Integer, Usuario> usuarios = new LinkedHashMap<>();
+        for (BusquedaGuardada busqueda : percolar(scrim)) {
+            usuarios.putIfAbsent(busqueda.getUsuario().getId(), busqueda.getUsuario());
+        }
+        return new ArrayList<>(usuarios.values());
+    }
+
+    public int getCantidadSuscripciones() {
+        return cantidadSuscripciones;
+    }
+
+    private static String claveSuscripcion(BusquedaGuardada busqueda) {
+        return comodinSiNull(busqueda.getJuego()) + "|" + comodinSiNull(busqueda.getFormato()) + "|"
+             + comodinSiNull(busqueda.getRegion());
+    }
+
+    private static String comodinSiNull(String valor) {
+        return valor != null ? normalizar(valor) : COMODIN;
+    }
+
+    // Un atributo null del scrim solo coincide con el comodín
+    private static String[] opciones(String valor) {
+        return valor != null ? new String[]{normalizar(valor), COMODIN} : new String[]{COMODIN};
+    }
+
+    /**
+     * Claves "juego|formato|región" de los filtros que un scrim con estos
+     * valores cumple (hasta 2^3); las usan las suscripciones y la caché
+     */
+    private static List<String> clavesQueCoinciden(String juego, String formato, String region) {
+        List<String> claves = new ArrayList<>(8);
+        for (String j : opciones(juego)) {
+            for (String f : opciones(formato)) {
+                for (String r : opciones(region)) {
+                    claves.add(j + "|" + f + "|" + r);
+                }
+            }
+        }
+        return claves;
+    }
+
     /**
      * Obtiene todos los scrims disponibles
      */
     public List<Scrim> obtenerTodos() {
-        return new ArrayList<>(scrimsDisponibles);
+        List<Scrim> todos = new ArrayList<>(slotPorId.size());
+        for (int slot = ocupados.nextSetBit(0); slot >= 0; slot = ocupados.nextSetBit(slot + 1)) {
+            todos.add(slots.get(slot).scrim);
+        }
+        return todos;
+    }
+
+    /**
+     * Cantidad de scrims registrados
+     */
+    public int getCantidad() {
+        return slotPorId.size();
+    }
+
+    // ============ MÉTRICAS DE LA CACHÉ ============
+
+    public long getAciertosCache() { return cache.getAciertos(); }
+    public long getFallosCache() { return cache.getFallos(); }
+    public long getInvalidacionesCache() { return cache.getInvalidaciones(); }
+    public long getExpulsionesCache() { return cache.getExpulsiones(); }
+    public int getTamanioCache() { return cache.getTamanio(); }
+
+    /**
+     * Fracción de búsquedas respondidas desde la caché (0 si todavía no hubo ninguna)
+     */
+    public double getTasaAciertosCache() {
+        return cache.getTasaAciertos();
     }
     
     /**
      * Elimina un scrim de la lista (cuando se llena o cancela)
      */
     public void eliminarScrim(Scrim scrim) {
-        scrimsDisponibles.remove(scrim);
+        Integer slot = slotPorId.remove(scrim.getId());
+        if (slot == null) {
+            return;
+        }
+        Entrada entrada = slots.get(slot);
+        quitarDePosteo(porJuego, entrada.juego, slot);
+        quitarDePosteo(porFormato, entrada.formato, slot);
+        quitarDePosteo(porRegion, entrada.region, slot);
+        quitarDePosteo(porLatencia, entrada.latencia, slot);
+        porRangoMMR.quitar(slot);
+        cache.invalidar(clavesQueCoinciden(entrada.juego, entrada.formato, entrada.region),
+                        entrada.scrim.getRangoMin(), entrada.scrim.getRangoMax());
+        slots.set(slot, null);
+        ocupados.clear(slot);
+        slotsLibres.push(slot);
     }
     
-    // ============ MÉTODOS AUXILIARES ============
-    
-    private boolean cumpleRangoMinimo(Scrim scrim, String rangoMin) {
-        // Comparación simplificada de rangos
-        // En producción esto sería más sofisticado
-        if (scrim.getRangoMinimo() == null) return true;
-        return compararRangos(scrim.getRangoMinimo(), rangoMin) >= 0;
+    // ============ ÍNDICES INVERTIDOS ============
+
+    private static String normalizar(String valor) {
+        return valor != null ? valor.toLowerCase(Locale.ROOT) : null;
     }
-    
-    private boolean cumpleRangoMaximo(Scrim scrim, String rangoMax) {
-        // Comparación simplificada de rangos
-        if (scrim.getRangoMaximo() == null) return true;
-        return compararRangos(scrim.getRangoMaximo(), rangoMax) <= 0;
+
+    // Un scrim sin valor no entra al índice: ningún filtro no nulo lo encuentra
+    private static <K> void agregarAPosteo(Map<K, ListaPosteo> indice, K valor, int slot) {
+        if (valor == null) return;
+        ListaPosteo lista = indice.computeIfAbsent(valor, k -> new ListaPosteo());
+        lista.slots.set(slot);
+        lista.tamanio++;
     }
-    
+
+    private static <K> void quitarDePosteo(Map<K, ListaPosteo> indice, K valor, int slot) {
+        if (valor == null) return;
+        ListaPosteo lista = indice.get(valor);
+        lista.slots.clear(slot);
+        if (--lista.tamanio == 0) {
+            indice.remove(valor);
+        }
+    }
+
     /**
-     * Compara dos rangos (simplificado)
-     * @return negativo si rango1 < rango2, 0 si iguales, positivo si rango1 > rango2
+     * Suma la lista de posteo del filtro (si no es null)
+     * @return false si ningún scrim tiene ese valor (la búsqueda no puede tener resultados)
      */
-    private int compararRangos(String rango1, String rango2) {
-        // Orden simplificado para LoL
-        String[] ordenRangos = {"Iron", "Bronze", "Silver", "Gold", "Platinum", 
-                               "Diamond", "Master", "Grandmaster", "Challenger"};
-        
-        int pos1 = buscarPosicion(ordenRangos, rango1);
-        int pos2 = buscarPosicion(ordenRangos, rango2);
-        
-        return Integer.compare(pos1, pos2);
+    private static boolean agregarFiltro(List<ListaPosteo> filtros, Map<String, ListaPosteo> indice, String valor) {
+        if (valor == null) return true;
+        ListaPosteo lista = indice.get(normalizar(valor));
+        if (lista == null) return false;
+        filtros.add(lista);
+        return true;
     }
-    
-    private int buscarPosicion(String[] array, String valor) {
-        for (int i = 0; i < array.length; i++) {
-            if (array[i].equalsIgnoreCase(valor)) {
-                return i;
-            }
+
+    private static boolean enTodas(List<ListaPosteo> filtros, ListaPosteo recorrida, int slot) {
+        for (ListaPosteo filtro : filtros) {
+            if (filtro != recorrida && !filtro.slots.get(slot)) return false;
         }
-        return -1; // No encontrado
+        return true;
     }
 }
@@ -0,0 +1,50 @@
+package service;
+
+import interfaces.ILatencyProbe;
+import interfaces.ILatencySource;
+import models.Usuario;
+
+/**
+ * Sonda de latencia local (sin red) para desarrollo y tests
+ *
+ * Deriva un RTT reproducible de la región del jugador y la región destino:
+ * - misma región: ~25ms
+ * - otra región del mismo continente (ej: SA y LAS): ~70ms
+ * - otro continente: ~160ms
+ * más un jitter fijo por jugador (0-19ms) calculado a partir de su id.
+ */
+public class SondaLatenciaLocal implements ILatencyProbe {
+
+    private static final int RTT_MISMA_REGION = 25;
+    private static final int RTT_VECINA = 70;
+    private static final int RTT_LEJANA = 160;
+
+    @Override
+    public int medir(Usuario usuario, String region) {
+        if (region == null) {
+            return ILatencySource.SIN_DATOS;
+        }
+        String origen = usuario.getRegion();
+        int base;
+        if (origen == null) {
+            base = RTT_VECINA;
+        } else if (origen.equalsIgnoreCase(region)) {
+            base = RTT_MISMA_REGION;
+        } else if (continente(origen) == continente(region)) {
+            base = RTT_VECINA;
+        } else {
+            base = RTT_LEJANA;
+        }
+        int jitter = Math.floorMod(usuario.getId() * 31 + region.hashCode(), 20);
+        return base + jitter;
+    }
+
+    private static int continente(String region) {
+        switch (region.toUpperCase()) {
+            case "SA": case "LAS": case "LAN": case "BR": case "LATAM": return 0;
+            case "NA": return 1;
+            case "EU": case "EUW": case "EUNE": return 2;
+            default: return 3;
+        }
+    }
+}
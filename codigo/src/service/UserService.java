@@ -31,6 +31,22 @@ public class UserService {
         this.nextId = 1;
     }
 
+    /**
+     * Crea el servicio con una base ya cargada (importaciones, benchmarks)
+     * Los usuarios se toman tal cual, sin validar unicidad; los IDs nuevos
+     * siguen al mayor ID cargado.
+     *
+     * @param usuariosIniciales Usuarios existentes (la lista se copia)
+     */
+    public UserService(List<Usuario> usuariosIniciales) {
+        this.usuarios = new ArrayList<>(usuariosIniciales);
+        int maxId = 0;
+        for (Usuario usuario : usuariosIniciales) {
+            maxId = Math.max(maxId, usuario.getId());
+        }
+        this.nextId = maxId + 1;
+    }
+
     // ============================================
     // REGISTRO (RF1)
     // ============================================
@@ -1,43 +1,87 @@
 package strategies;
 
+import interfaces.IHistorySource;
 import interfaces.IMatchMakingStrategy;
 import models.Scrim;
 import models.Usuario;
+import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
-import java.util.stream.Collectors;
-import java.util.Random;
 
 /**
  * Estrategia de emparejamiento basada en historial de jugadores
  *
  * Criterio de selección:
- * 1. Simula score de compatibilidad basado en historial
- * 2. Prioriza jugadores con buen comportamiento (sin reportes)
- * 3. Considera química de equipo (synergy simulada)
- * 4. Selecciona jugadores con mejor score de compatibilidad
+ * 1. Obtiene el score de compatibilidad de cada jugador (IHistorySource, O(1))
+ * 2. Descarta jugadores con score menor o igual al umbral (reportes, abandonos, mala racha)
+ * 3. Prioriza a los de mejor score
+ * 4. Selecciona hasta cupos máximos
+ *
+ * Jugadores sin partidas registradas reciben un score neutro y no se descartan.
+ * El historial real es un MatchHistoryService registrado como observer del
+ * MotorScrims (ver MatchmakingController.getHistorial).
+ *
+ * Las trazas por consola (incluido cada descarte) están apagadas por defecto.
  *
  * @pattern Strategy (Fixed Implementation)
  */
 public class ByHistoryStrategy implements IMatchMakingStrategy {
 
-    private Random random = new Random();
+    public static final int UMBRAL_COMPATIBILIDAD = 30;
+
+    private final IHistorySource historial;
+    private final boolean trazas;
+
+    /**
+     * Sin fuente de historial: todos los jugadores tienen score neutro
+     */
+    public ByHistoryStrategy() {
+        this(usuario -> IHistorySource.COMPATIBILIDAD_NEUTRA);
+    }
+
+    public ByHistoryStrategy(IHistorySource historial) {
+        this(historial, false);
+    }
+
+    /**
+     * @param trazas Imprimir por consola cada selección y descarte (solo para el flujo interactivo)
+     */
+    public ByHistoryStrategy(IHistorySource historial, boolean trazas) {
+        this.historial = historial;
+        this.trazas = trazas;
+    }
 
     @Override
     public List<Usuario> seleccionar(List<Usuario> candidatos, Scrim scrim) {
-        System.out.println("[STRATEGY - HISTORY] Analizando historial y compatibilidad...");
-
-        return candidatos.stream()
-            // Filtrar jugadores con buen historial (simulado)
-            .filter(u -> {
-                int scoreCompatibilidad = random.nextInt(100); // 0-100
-                boolean buenHistorial = scoreCompatibilidad > 30;
-                if (!buenHistorial) {
-                    System.out.println("   [✗] " + u.getUsername() + " descartado (bajo score compatibilidad)");
+        if (trazas) {
+            System.out.println("[STRATEGY - HISTORY] Analizando historial y compatibilidad...");
+        }
+
+        // Claves ((100 - score) << 32 | posición): mejor score primero, a igualdad orden original
+        long[] claves = new long[candidatos.size()];
+        int aceptados = 0;
+        for (int i = 0; i < candidatos.size(); i++) {
+            Usuario u = candidatos.get(i);
+            int score = historial.getCompatibilidad(u);
+            if (score <= UMBRAL_COMPATIBILIDAD) {
+                if (trazas) {
+                    System.out.println("   [✗] " + u.getUsername() + " descartado (bajo score compatibilidad: " + score + ")");
                 }
-                return buenHistorial;
-            })
-            // Limitar a cupos máximos
-            .limit(scrim.getCuposMaximos())
-            .collect(Collectors.toList());
+                continue;
+            }
+            claves[aceptados++] = ((long) (100 - score) << 32) | i;
+        }
+        Arrays.sort(claves, 0, aceptados);
+
+        int limite = Math.min(aceptados, scrim.getCuposMaximos());
+        List<Usuario> seleccionados = new ArrayList<>(limite);
+        for (int i = 0; i < limite; i++) {
+            seleccionados.add(candidatos.get((int) claves[i]));
+        }
+        return seleccionados;
+    }
+
+    public IHistorySource getFuenteHistorial() {
+        return historial;
     }
 }
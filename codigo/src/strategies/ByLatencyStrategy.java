@@ -1,44 +1,90 @@
 package strategies;
 
+import interfaces.ILatencySource;
 import interfaces.IMatchMakingStrategy;
 import models.Scrim;
 import models.Usuario;
+import service.LatencyService;
+import service.SondaLatenciaLocal;
+import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
-import java.util.stream.Collectors;
-import java.util.Random;
 
 /**
  * Estrategia de matchmaking por Latencia (Ping)
  *
  * Criterio de selección:
- * 1. Simula latencia para cada jugador (en producción vendría de servidor)
+ * 1. Lee la latencia medida de cada jugador hacia la región del scrim (ILatencySource)
  * 2. Filtra jugadores con latencia menor al máximo permitido
  * 3. Ordena por menor latencia primero (mejor ping)
  * 4. Selecciona hasta cupos máximos
  *
+ * Jugadores sin medición no se descartan: van al final, detrás de los medidos.
+ * Las trazas por consola (incluido cada descarte) están apagadas por defecto.
+ *
  * @pattern Strategy (Fixed Implementation)
  */
 public class ByLatencyStrategy implements IMatchMakingStrategy {
 
-    private Random random = new Random();
+    private final ILatencySource latencias;
+    private final boolean trazas;
+
+    /**
+     * Usa un LatencyService propio con la sonda local (sin red)
+     */
+    public ByLatencyStrategy() {
+        this(new LatencyService(new SondaLatenciaLocal()));
+    }
+
+    public ByLatencyStrategy(ILatencySource latencias) {
+        this(latencias, false);
+    }
+
+    /**
+     * @param trazas Imprimir por consola cada selección y descarte (solo para el flujo interactivo)
+     */
+    public ByLatencyStrategy(ILatencySource latencias, boolean trazas) {
+        this.latencias = latencias;
+        this.trazas = trazas;
+    }
 
     @Override
     public List<Usuario> seleccionar(List<Usuario> candidatos, Scrim scrim) {
-        System.out.println("[STRATEGY - LATENCY] Filtrando por latencia < " +
-                         scrim.getLatenciaMax() + "ms");
-
-        return candidatos.stream()
-            // Simular latencia y filtrar (en producción se mediría ping real)
-            .filter(u -> {
-                int latenciaSimulada = 20 + random.nextInt(100); // 20-120ms
-                boolean cumple = latenciaSimulada <= scrim.getLatenciaMax();
-                if (!cumple) {
-                    System.out.println("   [✗] " + u.getUsername() + " descartado (ping: " + latenciaSimulada + "ms)");
+        if (trazas) {
+            System.out.println("[STRATEGY - LATENCY] Filtrando por latencia < " +
+                             scrim.getLatenciaMax() + "ms");
+        }
+
+        String region = scrim.getRegion();
+        int latenciaMax = scrim.getLatenciaMax();
+        int cupos = scrim.getCuposMaximos();
+
+        // Claves (ping << 32 | posición): ordenar las claves ordena por ping y mantiene el orden original
+        long[] claves = new long[candidatos.size()];
+        int aceptados = 0;
+        for (int i = 0; i < candidatos.size(); i++) {
+            Usuario u = candidatos.get(i);
+            int ping = latencias.getLatencia(u, region);
+            if (ping != ILatencySource.SIN_DATOS && ping > latenciaMax) {
+                if (trazas) {
+                    System.out.println("   [✗] " + u.getUsername() + " descartado (ping: " + ping + "ms)");
                 }
-                return cumple;
-            })
-            // Limitar a cupos máximos
-            .limit(scrim.getCuposMaximos())
-            .collect(Collectors.toList());
+                continue;
+            }
+            long orden = ping == ILatencySource.SIN_DATOS ? Integer.MAX_VALUE : ping;
+            claves[aceptados++] = (orden << 32) | i;
+        }
+        Arrays.sort(claves, 0, aceptados);
+
+        int limite = Math.min(aceptados, cupos);
+        List<Usuario> seleccionados = new ArrayList<>(limite);
+        for (int i = 0; i < limite; i++) {
+            seleccionados.add(candidatos.get((int) claves[i]));
+        }
+        return seleccionados;
+    }
+
+    public ILatencySource getFuenteLatencias() {
+        return latencias;
     }
 }
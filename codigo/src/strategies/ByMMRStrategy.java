@@ -3,9 +3,11 @@ package strategies;
 import interfaces.IMatchMakingStrategy;
 import models.Scrim;
 import models.Usuario;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
 import java.util.List;
-import java.util.stream.Collectors;
-import java.util.Comparator;
+import java.util.Map;
 
 /**
  * Estrategia de matchmaking por MMR (Match Making Rating / Rango)
@@ -18,30 +20,189 @@ import java.util.Comparator;
  * 2. Ordena por cercanía de MMR al rango mínimo del scrim
  * 3. Selecciona hasta el número máximo de cupos
  *
+ * seleccionar() es una sola pasada con un heap de 'cupos' (O(n log cupos)).
+ * Los pools grandes no llegan enteros: la cola (QueueBucket) guarda a sus
+ * jugadores ordenados por MMR en una skip list y le pasa a la estrategia solo
+ * los vecinos del ancla, y el juego rápido reclama directamente desde la skip
+ * list de PoolCandidatos.
+ *
+ * seleccionarLote() llena muchos scrims desde un mismo pool en una pasada:
+ * ordena el pool una vez y cada scrim toma los libres desde su rangoMin.
+ *
+ * Las trazas por consola están apagadas por defecto: la cola llama a
+ * seleccionar() en cada tick y no debe escribir en System.out. El flujo
+ * interactivo las enciende con new ByMMRStrategy(true).
+ *
  * @pattern Strategy (Fixed Implementation)
  */
 public class ByMMRStrategy implements IMatchMakingStrategy {
 
+    private static final int SIN_MMR = Integer.MIN_VALUE;   // Sin rango en el juego: nunca entra
+
+    private final boolean trazas;
+
+    public ByMMRStrategy() {
+        this(false);
+    }
+
+    /**
+     * @param trazas Imprimir por consola cada selección (solo para el flujo interactivo)
+     */
+    public ByMMRStrategy(boolean trazas) {
+        this.trazas = trazas;
+    }
+
     @Override
     public List<Usuario> seleccionar(List<Usuario> candidatos, Scrim scrim) {
-        System.out.println("[STRATEGY - MMR] Filtrando jugadores por rango " +
-                         scrim.getRangoMin() + "-" + scrim.getRangoMax());
-
-        return candidatos.stream()
-            // Filtrar solo jugadores con rango configurado para el juego
-            .filter(u -> u.getRangoPorJuego().containsKey(scrim.getJuego()))
-            // Filtrar por rango permitido
-            .filter(u -> {
-                int mmr = u.getRangoPorJuego().get(scrim.getJuego());
-                return mmr >= scrim.getRangoMin() && mmr <= scrim.getRangoMax();
-            })
-            // Ordenar por cercanía al rango mínimo (jugadores más cercanos primero)
-            .sorted(Comparator.comparingInt(u ->
-                Math.abs(u.getRangoPorJuego().get(scrim.getJuego()) - scrim.getRangoMin())
-            ))
-            // Limitar a cupos máximos
-            .limit(scrim.getCuposMaximos())
-            .collect(Collectors.toList());
+        String juego = scrim.getJuego();
+        int[] mmrs = new int[candidatos.size()];
+        for (int i = 0; i < mmrs.length; i++) {
+            Integer mmr = candidatos.get(i).getRangoPorJuego().get(juego);
+            mmrs[i] = mmr != null ? mmr : SIN_MMR;
+        }
+
+        int[] posiciones = seleccionarPosiciones(candidatos, mmrs, scrim);
+        List<Usuario> seleccionados = new ArrayList<>(posiciones.length);
+        for (int posicion : posiciones) {
+            seleccionados.add(candidatos.get(posicion));
+        }
+        return seleccionados;
+    }
+
+    /**
+     * Igual que seleccionar(), pero con el MMR que indica quien llama
+     * (la cola pasa el MMR de cada ticket, no el del perfil)
+     */
+    @Override
+    public int[] seleccionarPosiciones(List<Usuario> candidatos, int[] mmrs, Scrim scrim) {
+        if (trazas) {
+            System.out.println("[STRATEGY - MMR] Filtrando jugadores por rango " +
+                             scrim.getRangoMin() + "-" + scrim.getRangoMax());
+        }
+
+        int rangoMin = scrim.getRangoMin();
+        int rangoMax = scrim.getRangoMax();
+        int cupos = scrim.getCuposMaximos();
+
+        // Top-K en una pasada: max-heap de tamaño 'cupos' sobre claves
+        // (distancia << 32 | posición), sin ordenar toda la lista
+        long[] heap = new long[Math.max(1, cupos)];
+        int enHeap = 0;
+        for (int i = 0; i < mmrs.length; i++) {
+            int mmr = mmrs[i];
+            if (mmr < rangoMin || mmr > rangoMax) {
+                continue;
+            }
+            enHeap = TopKClaves.ofrecer(heap, enHeap, cupos, ((long) (mmr - rangoMin) << 32) | i);
+        }
+
+        // Ordenar los elegidos por cercanía (a igual distancia, orden original)
+        Arrays.sort(heap, 0, enHeap);
+        int[] posiciones = new int[enHeap];
+        for (int i = 0; i < enHeap; i++) {
+            posiciones[i] = (int) heap[i];
+        }
+        return posiciones;
+    }
+
+    // ============================================
+    // SELECCIÓN EN LOTE (muchos scrims, un pool)
+    // ============================================
+
+    /**
+     * Asigna el pool a todos los scrims con una sola ordenación por juego
+     *
+     * Cada scrim toma, en orden, los candidatos libres más cercanos a su rangoMin
+     * dentro de su rango. Los ya tomados se saltan con punteros "siguiente libre"
+     * (union-find con compresión de caminos), así que el costo total es
+     * O(n log n + K log n + asignados) en lugar de K recorridos completos.
+     */
+    @Override
+    public List<List<Usuario>> seleccionarLote(List<Usuario> candidatos, List<Scrim> scrims) {
+        if (trazas) {
+            System.out.println("[STRATEGY - MMR] Asignando " + candidatos.size() +
+                             " candidatos a " + scrims.size() + " scrims en lote");
+        }
+
+        boolean[] tomado = new boolean[candidatos.size()];
+        Map<String, PoolOrdenado> pools = new HashMap<>();
+        List<List<Usuario>> asignaciones = new ArrayList<>(scrims.size());
+
+        for (Scrim scrim : scrims) {
+            int cuposLibres = Math.max(0, scrim.getCuposMaximos() - scrim.getPostulaciones().size());
+            PoolOrdenado pool = pools.computeIfAbsent(scrim.getJuego(),
+                                                      juego -> new PoolOrdenado(candidatos, juego));
+            List<Usuario> elegidos = new ArrayList<>(cuposLibres);
+            int pos = pool.siguienteLibre(pool.primeroDesde(scrim.getRangoMin()));
+            while (elegidos.size() < cuposLibres && pos < pool.n && pool.mmr[pos] <= scrim.getRangoMax()) {
+                int candidato = pool.posicion[pos];
+                if (!tomado[candidato]) {
+                    tomado[candidato] = true;
+                    elegidos.add(candidatos.get(candidato));
+                }
+                pool.ocupar(pos);
+                pos = pool.siguienteLibre(pos + 1);
+            }
+            asignaciones.add(elegidos);
+        }
+        return asignaciones;
+    }
+
+    /**
+     * Candidatos con MMR en un juego, ordenados, con saltos a la siguiente posición libre
+     */
+    private static final class PoolOrdenado {
+        final int n;
+        final int[] mmr;          // MMR ordenado ascendente
+        final int[] posicion;     // Posición del candidato en la lista original
+        final int[] siguiente;    // Union-find: siguiente[i] == i si i está libre
+
+        PoolOrdenado(List<Usuario> candidatos, String juego) {
+            long[] claves = new long[candidatos.size()];
+            int cuenta = 0;
+            for (int i = 0; i < candidatos.size(); i++) {
+                Integer rango = candidatos.get(i).getRangoPorJuego().get(juego);
+                if (rango != null) {
+                    claves[cuenta++] = ((long) rango << 32) | i;
+                }
+            }
+            Arrays.sort(claves, 0, cuenta);
+            this.n = cuenta;
+            this.mmr = new int[cuenta];
+            this.posicion = new int[cuenta];
+            this.siguiente = new int[cuenta + 1];
+            for (int i = 0; i < cuenta; i++) {
+                mmr[i] = (int) (claves[i] >>> 32);
+                posicion[i] = (int) claves[i];
+                siguiente[i] = i;
+            }
+            siguiente[cuenta] = cuenta;
+        }
+
+        // Primera posición con MMR >= rangoMin (búsqueda binaria)
+        int primeroDesde(int rangoMin) {
+            int lo = 0, hi = n;
+            while (lo < hi) {
+                int mid = (lo + hi) >>> 1;
+                if (mmr[mid] < rangoMin) lo = mid + 1; else hi = mid;
+            }
+            return lo;
+        }
+
+        int siguienteLibre(int i) {
+            int raiz = i;
+            while (siguiente[raiz] != raiz) raiz = siguiente[raiz];
+            while (siguiente[i] != raiz) {
+                int proximo = siguiente[i];
+                siguiente[i] = raiz;
+                i = proximo;
+            }
+            return raiz;
+        }
+
+        void ocupar(int i) {
+            siguiente[i] = i + 1;
+        }
     }
 
     /**
@@ -0,0 +1,161 @@
+package strategies;
+
+import interfaces.IHistorySource;
+import interfaces.ILatencySource;
+import interfaces.IMatchMakingStrategy;
+import models.Scrim;
+import models.Usuario;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Estrategia compuesta: MMR + latencia + historial en una sola pasada
+ *
+ * Criterio de selección:
+ * 1. Extrae MMR, ping y compatibilidad de cada candidato a arreglos primitivos
+ * 2. Descarta quien esté fuera de rango o supere la latencia máxima
+ * 3. Puntúa con pesos configurables (menor puntaje = mejor candidato):
+ *      pesoMMR       × distancia al centro del rango / mitad del rango
+ *    + pesoLatencia  × ping / latenciaMax   (sin límite: ping / (ping + LATENCIA_REFERENCIA_MS))
+ *    + pesoHistorial × (100 - compatibilidad) / 100
+ * 4. Selecciona los 'cupos' de menor puntaje con un heap acotado
+ *
+ * Los pesos suman 1 y cada término queda en [0, 1], así el puntaje escalado
+ * entra en los 32 bits altos de la clave sin desbordar.
+ *
+ * Las trazas por consola están apagadas por defecto (la cola llama a
+ * seleccionar() en cada tick); se encienden con el parámetro 'trazas'.
+ *
+ * Reemplaza encadenar ByMMRStrategy, ByLatencyStrategy y ByHistoryStrategy:
+ * cada candidato se visita una vez en lugar de tres.
+ *
+ * @pattern Strategy (Fixed Implementation)
+ */
+public class ByWeightedScoreStrategy implements IMatchMakingStrategy {
+
+    public static final double PESO_MMR_DEFAULT = 0.5;
+    public static final double PESO_LATENCIA_DEFAULT = 0.3;
+    public static final double PESO_HISTORIAL_DEFAULT = 0.2;
+
+    private static final double ESCALA = 1_000_000;   // Puntaje → entero para claves empaquetadas
+    static final int LATENCIA_REFERENCIA_MS = 150;    // Ping con término 0.5 cuando el scrim no tiene límite
+
+    private final ILatencySource latencias;
+    private final IHistorySource historial;
+    private volatile double[] pesos;                  // {mmr, latencia, historial}
+    private final boolean trazas;
+
+    /**
+     * Sin fuentes de latencia ni historial: ambos aportan un valor neutro
+     */
+    public ByWeightedScoreStrategy() {
+        this((usuario, region) -> ILatencySource.SIN_DATOS,
+             usuario -> IHistorySource.COMPATIBILIDAD_NEUTRA);
+    }
+
+    public ByWeightedScoreStrategy(ILatencySource latencias, IHistorySource historial) {
+        this(latencias, historial, false);
+    }
+
+    /**
+     * @param trazas Imprimir por consola cada selección (solo para el flujo interactivo)
+     */
+    public ByWeightedScoreStrategy(ILatencySource latencias, IHistorySource historial, boolean trazas) {
+        this.latencias = latencias;
+        this.historial = historial;
+        this.trazas = trazas;
+        setPesos(PESO_MMR_DEFAULT, PESO_LATENCIA_DEFAULT, PESO_HISTORIAL_DEFAULT);
+    }
+
+    /**
+     * Configura los pesos de cada dimensión (no negativos, al menos uno positivo)
+     */
+    public void setPesos(double pesoMMR, double pesoLatencia, double pesoHistorial) {
+        if (pesoMMR < 0 || pesoLatencia < 0 || pesoHistorial < 0) {
+            throw new IllegalArgumentException("Los pesos no pueden ser negativos");
+        }
+        double suma = pesoMMR + pesoLatencia + pesoHistorial;
+        if (suma == 0) {
+            throw new IllegalArgumentException("Al menos un peso debe ser positivo");
+        }
+        this.pesos = new double[]{pesoMMR / suma, pesoLatencia / suma, pesoHistorial / suma};
+    }
+
+    public double[] getPesos() {
+        return pesos.clone();
+    }
+
+    @Override
+    public List<Usuario> seleccionar(List<Usuario> candidatos, Scrim scrim) {
+        String juego = scrim.getJuego();
+        int[] mmr = new int[candidatos.size()];
+        for (int i = 0; i < mmr.length; i++) {
+            Integer rango = candidatos.get(i).getRangoPorJuego().get(juego);
+            mmr[i] = rango != null ? rango : -1;
+        }
+
+        int[] posiciones = seleccionarPosiciones(candidatos, mmr, scrim);
+        List<Usuario> seleccionados = new ArrayList<>(posiciones.length);
+        for (int posicion : posiciones) {
+            seleccionados.add(candidatos.get(posicion));
+        }
+        return seleccionados;
+    }
+
+    /**
+     * Igual que seleccionar(), pero con el MMR que indica quien llama
+     * (la cola pasa el MMR de cada ticket, no el del perfil)
+     */
+    @Override
+    public int[] seleccionarPosiciones(List<Usuario> candidatos, int[] mmr, Scrim scrim) {
+        if (trazas) {
+            System.out.println("[STRATEGY - WEIGHTED] Puntuando por MMR, latencia e historial " +
+                             Arrays.toString(pesos));
+        }
+
+        String region = scrim.getRegion();
+        int rangoMin = scrim.getRangoMin();
+        int rangoMax = scrim.getRangoMax();
+        int latenciaMax = scrim.getLatenciaMax();
+        int cupos = scrim.getCuposMaximos();
+        int n = candidatos.size();
+
+        // 1. Extracción de features a arreglos primitivos (índice = posición del candidato)
+        int[] ping = new int[n];
+        int[] compatibilidad = new int[n];
+        for (int i = 0; i < n; i++) {
+            Usuario u = candidatos.get(i);
+            ping[i] = latencias.getLatencia(u, region);
+            compatibilidad[i] = Math.max(0, Math.min(100, historial.getCompatibilidad(u)));
+        }
+
+        // 2-4. Filtro + puntaje + top-K sobre los arreglos
+        double[] p = pesos;
+        double centro = (rangoMin + rangoMax) / 2.0;
+        double mitad = Math.max(1, (rangoMax - rangoMin) / 2.0);
+        long[] heap = new long[Math.max(1, cupos)];
+        int enHeap = 0;
+        for (int i = 0; i < n; i++) {
+            if (mmr[i] < rangoMin || mmr[i] > rangoMax) continue;
+            if (latenciaMax > 0 && ping[i] > latenciaMax) continue;
+
+            double latencia = ping[i] < 0 ? 0.5
+                            : latenciaMax > 0 ? (double) ping[i] / latenciaMax
+                            : (double) ping[i] / (ping[i] + LATENCIA_REFERENCIA_MS);
+            double puntaje = p[0] * Math.abs(mmr[i] - centro) / mitad
+                           + p[1] * latencia
+                           + p[2] * (100 - compatibilidad[i]) / 100.0;
+
+            long escalado = (long) (Math.min(1.0, puntaje) * ESCALA);
+            enHeap = TopKClaves.ofrecer(heap, enHeap, cupos, (escalado << 32) | i);
+        }
+
+        Arrays.sort(heap, 0, enHeap);
+        int[] posiciones = new int[enHeap];
+        for (int i = 0; i < enHeap; i++) {
+            posiciones[i] = (int) heap[i];
+        }
+        return posiciones;
+    }
+}
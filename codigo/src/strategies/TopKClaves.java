@@ -0,0 +1,54 @@
+package strategies;
+
+/**
+ * Top-K sobre claves empaquetadas (valor << 32 | posición)
+ *
+ * Max-heap en un long[] de tamaño 'cupos': la raíz es la peor clave elegida
+ * hasta el momento y una clave nueva entra solo si es menor. Al terminar,
+ * ordenar las 'enHeap' primeras posiciones deja los elegidos de mejor a peor.
+ * Lo comparten las estrategias que eligen los mejores candidatos sin ordenar
+ * todo el pool.
+ */
+final class TopKClaves {
+
+    private TopKClaves() {}
+
+    /**
+     * Ofrece una clave al heap con 'enHeap' elementos
+     *
+     * @return Cantidad de elementos del heap después de ofrecerla
+     */
+    static int ofrecer(long[] heap, int enHeap, int cupos, long clave) {
+        if (enHeap < cupos) {
+            heap[enHeap] = clave;
+            subir(heap, enHeap);
+            return enHeap + 1;
+        }
+        if (cupos > 0 && clave < heap[0]) {
+            heap[0] = clave;
+            bajar(heap, enHeap);
+        }
+        return enHeap;
+    }
+
+    private static void subir(long[] heap, int i) {
+        while (i > 0) {
+            int padre = (i - 1) >>> 1;
+            if (heap[padre] >= heap[i]) break;
+            long tmp = heap[padre]; heap[padre] = heap[i]; heap[i] = tmp;
+            i = padre;
+        }
+    }
+
+    private static void bajar(long[] heap, int n) {
+        int i = 0;
+        while (true) {
+            int mayor = i, izq = 2 * i + 1, der = izq + 1;
+            if (izq < n && heap[izq] > heap[mayor]) mayor = izq;
+            if (der < n && heap[der] > heap[mayor]) mayor = der;
+            if (mayor == i) return;
+            long tmp = heap[mayor]; heap[mayor] = heap[i]; heap[i] = tmp;
+            i = mayor;
+        }
+    }
+}
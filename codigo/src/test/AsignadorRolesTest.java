@@ -0,0 +1,169 @@
+package test;
+
+import models.*;
+import service.AsignadorRoles;
+import java.util.*;
+
+/**
+ * Test para el asignador de roles (método húngaro)
+ * Verifica asignación óptima frente a fuerza bruta y roles repetidos en Valorant
+ */
+public class AsignadorRolesTest {
+
+    private static int testsRun = 0;
+    private static int testsPassed = 0;
+
+    private static final String[] ROLES_LOL = {"Top", "Jungle", "Mid", "ADC", "Support"};
+    private static final String[] ROLES_VALORANT = {"Duelist", "Controller", "Initiator", "Sentinel"};
+
+    public static void main(String[] args) {
+        System.out.println("====================================");
+        System.out.println(" TEST: AsignadorRoles");
+        System.out.println("====================================\n");
+
+        testAsignacionOptima();
+        testConflictoDeRolDeseado();
+        testValorantRepiteUnSoloRol();
+
+        System.out.println("\n====================================");
+        System.out.println(" RESUMEN DE TESTS");
+        System.out.println("====================================");
+        System.out.println("Tests ejecutados: " + testsRun);
+        System.out.println("Tests exitosos: " + testsPassed);
+        System.out.println("Tests fallidos: " + (testsRun - testsPassed));
+        System.out.println("Porcentaje de éxito: " +
+                         (testsRun > 0 ? (testsPassed * 100 / testsRun) : 0) + "%");
+
+        if (testsPassed == testsRun) {
+            System.out.println("\n✓ TODOS LOS TESTS PASARON");
+        } else {
+            System.out.println("\n✗ ALGUNOS TESTS FALLARON");
+        }
+    }
+
+    // Mejor costo probando todas las permutaciones de roles (referencia para 5 jugadores / 5 roles)
+    private static int mejorCostoFuerzaBruta(AsignadorRoles asignador, int[] deseados, int[] preferidos,
+                                             int[] permutacion, boolean[] usado, int i) {
+        if (i == permutacion.length) {
+            return asignador.costoTotal(deseados, preferidos, permutacion, permutacion.length);
+        }
+        int mejor = Integer.MAX_VALUE;
+        for (int r = 0; r < permutacion.length; r++) {
+            if (usado[r]) continue;
+            usado[r] = true;
+            permutacion[i] = r;
+            mejor = Math.min(mejor, mejorCostoFuerzaBruta(asignador, deseados, preferidos, permutacion, usado, i + 1));
+            usado[r] = false;
+        }
+        return mejor;
+    }
+
+    /**
+     * Test 1: el húngaro iguala a la fuerza bruta en equipos aleatorios de LoL
+     */
+    private static void testAsignacionOptima() {
+        testsRun++;
+        System.out.println("[TEST 1] Asignación óptima vs fuerza bruta (LoL)");
+
+        try {
+            AsignadorRoles asignador = new AsignadorRoles(ROLES_LOL);
+            Random random = new Random(11);
+            boolean todasOptimas = true;
+            for (int caso = 0; caso < 100 && todasOptimas; caso++) {
+                int[] deseados = new int[5];
+                int[] preferidos = new int[5];
+                for (int i = 0; i < 5; i++) {
+                    deseados[i] = 1 << random.nextInt(5);
+                    preferidos[i] = random.nextInt(32);
+                }
+                int[] asignacion = asignador.resolver(deseados, preferidos, 5).clone();
+                int costo = asignador.costoTotal(deseados, preferidos, asignacion, 5);
+                int optimo = mejorCostoFuerzaBruta(asignador, deseados, preferidos, new int[5], new boolean[5], 0);
+                todasOptimas = costo == optimo;
+            }
+
+            if (todasOptimas) {
+                System.out.println("  ✓ Test pasado: 100 equipos con asignación de costo mínimo");
+                testsPassed++;
+            } else {
+                System.out.println("  ✗ Test falló: alguna asignación no fue óptima");
+            }
+        } catch (Exception e) {
+            System.out.println("  ✗ Test falló: " + e.getMessage());
+            e.printStackTrace();
+        }
+        System.out.println();
+    }
+
+    /**
+     * Test 2: dos jugadores piden Mid; el que también prefiere Top se mueve a Top
+     */
+    private static void testConflictoDeRolDeseado() {
+        testsRun++;
+        System.out.println("[TEST 2] Conflicto de rol pedido resuelto con preferencias");
+
+        try {
+            Scrim scrim = new Scrim.Builder(new states.EstadoBuscandoJugadores())
+                .juego("League of Legends").formato("5v5").build();
+            Equipo equipo = new Equipo("Team Azure");
+            String[] pedidos = {"Mid", "Mid", "Jungle", "ADC", "Support"};
+            List<Usuario> jugadores = new ArrayList<>();
+            for (int i = 0; i < 5; i++) {
+                Usuario u = new Usuario(i, "Player" + i, "p" + i + "@test.com");
+                scrim.addPostulacion(new Postulacion(u, pedidos[i]));
+                jugadores.add(u);
+                equipo.asignarJugador(u);
+            }
+            jugadores.get(0).agregarRolPreferido("Top");
+
+            new AsignadorRoles(ROLES_LOL).asignar(equipo, scrim);
+
+            Set<String> asignados = new HashSet<>();
+            for (Usuario u : jugadores) asignados.add(u.getRol());
+
+            if ("Top".equals(jugadores.get(0).getRol()) && "Mid".equals(jugadores.get(1).getRol())
+                    && asignados.size() == 5) {
+                System.out.println("  ✓ Test pasado: Player0 → Top, Player1 → Mid, sin repetidos");
+                testsPassed++;
+            } else {
+                System.out.println("  ✗ Test falló: Player0=" + jugadores.get(0).getRol() +
+                                 ", Player1=" + jugadores.get(1).getRol());
+            }
+        } catch (Exception e) {
+            System.out.println("  ✗ Test falló: " + e.getMessage());
+            e.printStackTrace();
+        }
+        System.out.println();
+    }
+
+    /**
+     * Test 3: 5 jugadores y 4 roles → se usan los 4 y se repite uno solo
+     */
+    private static void testValorantRepiteUnSoloRol() {
+        testsRun++;
+        System.out.println("[TEST 3] Valorant 5v5 con 4 roles");
+
+        try {
+            AsignadorRoles asignador = new AsignadorRoles(ROLES_VALORANT);
+            int duelist = asignador.mascara("Duelist");
+            int[] deseados = {duelist, duelist, duelist, duelist, duelist};
+            int[] preferidos = new int[5];
+            int[] asignacion = asignador.resolver(deseados, preferidos, 5);
+
+            int[] usos = new int[4];
+            for (int i = 0; i < 5; i++) usos[asignacion[i]]++;
+            boolean todosUsados = usos[0] > 0 && usos[1] > 0 && usos[2] > 0 && usos[3] > 0;
+
+            if (todosUsados && usos[0] == 2) {
+                System.out.println("  ✓ Test pasado: 2 Duelist y un jugador en cada otro rol");
+                testsPassed++;
+            } else {
+                System.out.println("  ✗ Test falló: usos=" + Arrays.toString(usos));
+            }
+        } catch (Exception e) {
+            System.out.println("  ✗ Test falló: " + e.getMessage());
+            e.printStackTrace();
+        }
+        System.out.println();
+    }
+}
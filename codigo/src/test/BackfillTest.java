@@ -0,0 +1,237 @@
+package test;
+
+import models.*;
+import service.CoordinadorConfirmaciones;
+import service.MatchmakingQueue;
+import service.MotorScrims;
+import states.*;
+import strategies.ByMMRStrategy;
+import java.util.*;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Test para los reemplazos desde la cola y el reencolado de lobbies cancelados
+ * Verifica que un rechazo se completa con el jugador más cercano sin re-formar
+ * el lobby, y que sin reemplazo los demás vuelven a la cola con su espera original
+ */
+public class BackfillTest {
+
+    private static int testsRun = 0;
+    private static int testsPassed = 0;
+
+    private static final String[] ROLES = {"Duelist", "Controller", "Initiator", "Sentinel"};
+
+    public static void main(String[] args) {
+        System.out.println("====================================");
+        System.out.println(" TEST: Backfill y reencolado");
+        System.out.println("====================================\n");
+
+        testRechazoSeReemplazaDesdeLaCola();
+        testSinReemplazoReencolaConEsperaOriginal();
+        testPlazoVencidoSeReemplaza();
+
+        System.out.println("\n====================================");
+        System.out.println(" RESUMEN DE TESTS");
+        System.out.println("====================================");
+        System.out.println("Tests ejecutados: " + testsRun);
+        System.out.println("Tests exitosos: " + testsPassed);
+        System.out.println("Tests fallidos: " + (testsRun - testsPassed));
+        System.out.println("Porcentaje de éxito: " +
+                         (testsRun > 0 ? (testsPassed * 100 / testsRun) : 0) + "%");
+
+        if (testsPassed == testsRun) {
+            System.out.println("\n✓ TODOS LOS TESTS PASARON");
+        } else {
+            System.out.println("\n✗ ALGUNOS TESTS FALLARON");
+        }
+    }
+
+    private static Usuario encolar(MatchmakingQueue cola, int id, int mmr) {
+        Usuario u = new Usuario(id, "Player" + id, "p" + id + "@test.com");
+        u.getRangoPorJuego().put("Valorant", mmr);
+        String rol = ROLES[id % ROLES.length];
+        u.setRol(rol);
+        u.agregarRolPreferido(rol);
+        cola.encolar(u, "Valorant", "5v5", "SA", mmr, rol);
+        return u;
+    }
+
+    private static SesionScrim formarSesion(MatchmakingQueue cola, MotorScrims motor) {
+        for (int i = 0; i < 10; i++) {
+            encolar(cola, i, 1400 + i * 10);
+        }
+        cola.procesarTick();
+        return motor.getActivas().iterator().next();
+    }
+
+    private static Equipo equipoDe(SesionScrim sesion, Usuario jugador) {
+        for (Equipo equipo : sesion.getEquipos()) {
+            if (equipo.getJugadores().contains(jugador)) return equipo;
+        }
+        return null;
+    }
+
+    /**
+     * Test 1: un rechazo abre una vacante que el próximo tick completa con el
+     * jugador de la cola, en el mismo lugar y equipo; el resto no se toca
+     */
+    private static void testRechazoSeReemplazaDesdeLaCola() {
+        testsRun++;
+        System.out.println("[TEST 1] Rechazo reemplazado desde la cola");
+
+        try {
+            MatchmakingQueue cola = new MatchmakingQueue(new ByMMRStrategy());
+            MotorScrims motor = new MotorScrims(juego -> ROLES);
+            motor.conectar(cola);
+            SesionScrim sesion = formarSesion(cola, motor);
+
+            List<Usuario> antes = new ArrayList<>(sesion.getJugadores());
+            Usuario rechaza = antes.get(3);
+            Equipo equipo = equipoDe(sesion, rechaza);
+            Usuario reemplazo = encolar(cola, 100, rechaza.getRangoParaJuego("Valorant") + 15);
+
+            motor.confirmar(sesion, antes.get(0), true);
+            motor.confirmar(sesion, rechaza, false);
+            boolean esperando = sesion.getScrim().getEstado() instanceof EstadoLobbyCompleto
+                && sesion.getVacantes().size() == 1;
+            cola.procesarTick();
+
+            boolean mismoLugar = sesion.getJugadores().get(3) == reemplazo && equipoDe(sesion, reemplazo) == equipo;
+            boolean restoIgual = true;
+            for (int i = 0; i < antes.size(); i++) {
+                if (i != 3 && sesion.getJugadores().get(i) != antes.get(i)) restoIgual = false;
+            }
+            boolean pendiente = sesion.getConfirmacion(reemplazo).isPendiente()
+                && sesion.getConfirmacion(antes.get(0)).isConfirmado();
+            for (Usuario jugador : sesion.getJugadores()) {
+                motor.confirmar(sesion, jugador, true);
+            }
+
+            if (esperando && mismoLugar && restoIgual && pendiente && sesion.getVacantes().isEmpty()
+                    && sesion.getScrim().getEstado() instanceof EstadoEnJuego
+                    && cola.getJugadoresEnCola() == 0 && !cola.estaEnCola(rechaza)
+                    && reemplazo.getRol().equals(rechaza.getRol())) {
+                System.out.println("  - " + reemplazo.getUsername() + " ocupa el lugar de " + rechaza.getUsername());
+                System.out.println("  ✓ Test pasado: Vacante completada sin re-formar el lobby");
+                testsPassed++;
+            } else {
+                System.out.println("  ✗ Test falló: esperando=" + esperando + ", mismoLugar=" + mismoLugar +
+                                   ", restoIgual=" + restoIgual + ", estado=" + sesion.getNombreEstado());
+            }
+        } catch (Exception e) {
+            System.out.println("  ✗ Test falló: " + e.getMessage());
+            e.printStackTrace();
+        }
+        System.out.println();
+    }
+
+    /**
+     * Test 2: sin nadie para el reemplazo la partida se cancela; los 9 restantes
+     * vuelven a la cola con su hora de encolado original y forman el próximo lobby
+     */
+    private static void testSinReemplazoReencolaConEsperaOriginal() {
+        testsRun++;
+        System.out.println("[TEST 2] Sin reemplazo: cancelación y reencolado al frente");
+
+        try {
+            AtomicLong reloj = new AtomicLong(0);
+            MatchmakingQueue cola = new MatchmakingQueue(new ByMMRStrategy(), reloj::get);
+            MotorScrims motor = new MotorScrims(juego -> ROLES);
+            motor.conectar(cola);
+            List<List<TicketMatchmaking>> lobbies = new ArrayList<>();
+            cola.agregarListener((lobby, tickets) -> lobbies.add(tickets));
+            SesionScrim sesion = formarSesion(cola, motor);
+
+            reloj.set(60_000);
+            Usuario rechaza = sesion.getJugadores().get(0);
+            motor.confirmar(sesion, rechaza, false);
+            cola.procesarTick();
+
+            boolean cancelada = sesion.isCancelada() && cola.getJugadoresEnCola() == 9 && !cola.estaEnCola(rechaza);
+
+            // Un jugador nuevo completa el lobby de los reencolados
+            Usuario nuevo = encolar(cola, 200, 1450);
+            cola.procesarTick();
+
+            boolean esperaOriginal = lobbies.size() == 2;
+            if (esperaOriginal) {
+                for (TicketMatchmaking ticket : lobbies.get(1)) {
+                    long esperado = ticket.getUsuario() == nuevo ? 0 : 60_000;
+                    if (ticket.getEspera(reloj.get()) != esperado) esperaOriginal = false;
+                }
+            }
+
+            if (cancelada && esperaOriginal && cola.getJugadoresEnCola() == 0
+                    && motor.getCantidadActivas() == 1) {
+                System.out.println("  - Reencolados con 60s de espera acumulada");
+                System.out.println("  ✓ Test pasado: Los 9 restantes vuelven a jugar primero");
+                testsPassed++;
+            } else {
+                System.out.println("  ✗ Test falló: cancelada=" + cancelada + ", esperaOriginal=" + esperaOriginal +
+                                   ", enCola=" + cola.getJugadoresEnCola());
+            }
+        } catch (Exception e) {
+            System.out.println("  ✗ Test falló: " + e.getMessage());
+            e.printStackTrace();
+        }
+        System.out.println();
+    }
+
+    /**
+     * Test 3: con CoordinadorConfirmaciones, el jugador que no respondió se sanciona,
+     * su lugar se completa desde la cola y el plazo se reinicia para el reemplazo
+     */
+    private static void testPlazoVencidoSeReemplaza() {
+        testsRun++;
+        System.out.println("[TEST 3] Plazo vencido se completa con un reemplazo");
+
+        java.io.PrintStream salida = System.out;
+        try {
+            MatchmakingQueue cola = new MatchmakingQueue(new ByMMRStrategy());
+            MotorScrims motor = new MotorScrims(juego -> ROLES);
+            motor.conectar(cola);
+            CoordinadorConfirmaciones coordinador = new CoordinadorConfirmaciones(motor, 500);
+            System.setOut(new java.io.PrintStream(java.io.OutputStream.nullOutputStream()));
+
+            SesionScrim sesion = formarSesion(cola, motor);
+            CompletableFuture<SesionScrim> resultado = coordinador.getResultado(sesion);
+            List<Usuario> jugadores = new ArrayList<>(sesion.getJugadores());
+            Usuario ausente = jugadores.get(9);
+            for (int i = 0; i < 9; i++) {
+                motor.confirmar(sesion, jugadores.get(i), true);
+            }
+            Usuario reemplazo = encolar(cola, 300, ausente.getRangoParaJuego("Valorant"));
+
+            long limite = System.currentTimeMillis() + 5000;
+            while (sesion.getVacantes().isEmpty() && System.currentTimeMillis() < limite) {
+                Thread.sleep(10);
+            }
+            cola.procesarTick();
+            boolean reemplazado = sesion.getJugadores().get(9) == reemplazo;
+            motor.confirmar(sesion, reemplazo, true);
+
+            SesionScrim resuelta = resultado.get(2, TimeUnit.SECONDS);
+            System.setOut(salida);
+
+            if (reemplazado && resuelta.getScrim().getEstado() instanceof EstadoEnJuego
+                    && ausente.getSancionesActivas() == 1 && reemplazo.getSancionesActivas() == 0
+                    && coordinador.getPendientes() == 0 && cola.getJugadoresEnCola() == 0) {
+                System.out.println("  ✓ Test pasado: Ausente sancionado y partida en juego con el reemplazo");
+                testsPassed++;
+            } else {
+                System.out.println("  ✗ Test falló: reemplazado=" + reemplazado + ", estado=" + resuelta.getNombreEstado() +
+                                   ", sanciones=" + ausente.getSancionesActivas());
+            }
+            coordinador.detener();
+        } catch (Exception e) {
+            System.setOut(salida);
+            System.out.println("  ✗ Test falló: " + e.getMessage());
+            e.printStackTrace();
+        } finally {
+            System.setOut(salida);
+        }
+        System.out.println();
+    }
+}
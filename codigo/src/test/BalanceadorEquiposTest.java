@@ -0,0 +1,168 @@
+package test;
+
+import models.Equipo;
+import models.Usuario;
+import service.BalanceadorEquipos;
+import java.util.*;
+
+/**
+ * Test para el balanceador de equipos
+ * Verifica división óptima por MMR, roles únicos por equipo y formatos grandes
+ */
+public class BalanceadorEquiposTest {
+
+    private static int testsRun = 0;
+    private static int testsPassed = 0;
+
+    public static void main(String[] args) {
+        System.out.println("====================================");
+        System.out.println(" TEST: BalanceadorEquipos");
+        System.out.println("====================================\n");
+
+        testDivisionOptima();
+        testRolesUnicos();
+        testFormatoGrande();
+
+        System.out.println("\n====================================");
+        System.out.println(" RESUMEN DE TESTS");
+        System.out.println("====================================");
+        System.out.println("Tests ejecutados: " + testsRun);
+        System.out.println("Tests exitosos: " + testsPassed);
+        System.out.println("Tests fallidos: " + (testsRun - testsPassed));
+        System.out.println("Porcentaje de éxito: " +
+                         (testsRun > 0 ? (testsPassed * 100 / testsRun) : 0) + "%");
+
+        if (testsPassed == testsRun) {
+            System.out.println("\n✓ TODOS LOS TESTS PASARON");
+        } else {
+            System.out.println("\n✗ ALGUNOS TESTS FALLARON");
+        }
+    }
+
+    // Mejor diferencia posible probando todas las divisiones (referencia)
+    private static long mejorDiferenciaFuerzaBruta(int[] mmrs) {
+        int n = mmrs.length;
+        long total = 0;
+        for (int mmr : mmrs) total += mmr;
+        long mejor = Long.MAX_VALUE;
+        for (int mascara = 0; mascara < (1 << n); mascara++) {
+            if (Integer.bitCount(mascara) != n / 2) continue;
+            long suma = 0;
+            for (int i = 0; i < n; i++) {
+                if ((mascara >> i & 1) == 1) suma += mmrs[i];
+            }
+            mejor = Math.min(mejor, Math.abs(2 * suma - total));
+        }
+        return mejor;
+    }
+
+    /**
+     * Test 1: 10 jugadores ordenados por MMR ya no se parten por índice
+     */
+    private static void testDivisionOptima() {
+        testsRun++;
+        System.out.println("[TEST 1] División 5v5 con diferencia mínima de MMR");
+
+        try {
+            BalanceadorEquipos balanceador = new BalanceadorEquipos();
+            Random random = new Random(42);
+            boolean todasOptimas = true;
+            for (int caso = 0; caso < 50 && todasOptimas; caso++) {
+                int[] mmrs = new int[10];
+                for (int i = 0; i < 10; i++) mmrs[i] = 500 + random.nextInt(2500);
+                int[] roles = new int[10];
+                Arrays.fill(roles, -1);
+                int[] equipoDe = balanceador.dividir(mmrs, roles);
+                int azules = 0;
+                for (int e : equipoDe) if (e == 0) azules++;
+                todasOptimas = azules == 5
+                    && BalanceadorEquipos.diferencia(mmrs, equipoDe) == mejorDiferenciaFuerzaBruta(mmrs);
+            }
+
+            if (todasOptimas) {
+                System.out.println("  ✓ Test pasado: 50 lobbies aleatorios con división óptima");
+                testsPassed++;
+            } else {
+                System.out.println("  ✗ Test falló: alguna división no fue óptima");
+            }
+        } catch (Exception e) {
+            System.out.println("  ✗ Test falló: " + e.getMessage());
+            e.printStackTrace();
+        }
+        System.out.println();
+    }
+
+    /**
+     * Test 2: con roles únicos ningún equipo repite rol y la lista queda azul → rojo
+     */
+    private static void testRolesUnicos() {
+        testsRun++;
+        System.out.println("[TEST 2] Roles únicos por equipo (LoL)");
+
+        try {
+            String[] roles = {"Top", "Jungle", "Mid", "ADC", "Support"};
+            List<Usuario> jugadores = new ArrayList<>();
+            // Los dos jugadores de cada rol tienen MMR muy distinto: por MMR solo convendría juntarlos
+            for (int i = 0; i < 10; i++) {
+                Usuario u = new Usuario(i, "Player" + i, "p" + i + "@test.com");
+                u.getRangoPorJuego().put("League of Legends", i < 5 ? 2000 + i : 1000 + i);
+                u.setRol(roles[i % 5]);
+                jugadores.add(u);
+            }
+
+            Equipo[] equipos = new BalanceadorEquipos().formarEquipos(jugadores, "League of Legends", true);
+
+            boolean sinRepetidos = true;
+            for (Equipo equipo : equipos) {
+                Set<String> vistos = new HashSet<>();
+                for (Usuario u : equipo.getJugadores()) sinRepetidos &= vistos.add(u.getRol());
+            }
+            boolean ordenAzulRojo = jugadores.subList(0, 5).equals(equipos[0].getJugadores());
+
+            if (sinRepetidos && ordenAzulRojo && equipos[0].getJugadores().size() == 5) {
+                System.out.println("  - " + equipos[0].getLado() + ": " + equipos[0].getJugadores().size() + " jugadores");
+                System.out.println("  ✓ Test pasado: Cada equipo tiene los 5 roles");
+                testsPassed++;
+            } else {
+                System.out.println("  ✗ Test falló: sinRepetidos=" + sinRepetidos + ", orden=" + ordenAzulRojo);
+            }
+        } catch (Exception e) {
+            System.out.println("  ✗ Test falló: " + e.getMessage());
+            e.printStackTrace();
+        }
+        System.out.println();
+    }
+
+    /**
+     * Test 3: 40 jugadores usan la heurística y quedan casi parejos
+     */
+    private static void testFormatoGrande() {
+        testsRun++;
+        System.out.println("[TEST 3] Heurística para formatos grandes");
+
+        try {
+            Random random = new Random(7);
+            int[] mmrs = new int[40];
+            for (int i = 0; i < mmrs.length; i++) mmrs[i] = 500 + random.nextInt(2500);
+            int[] roles = new int[40];
+            Arrays.fill(roles, -1);
+
+            int[] equipoDe = new BalanceadorEquipos().dividir(mmrs, roles);
+            int azules = 0;
+            for (int e : equipoDe) if (e == 0) azules++;
+            long diferencia = BalanceadorEquipos.diferencia(mmrs, equipoDe);
+
+            if (azules == 20 && diferencia <= 50) {
+                System.out.println("  - Diferencia de MMR: " + diferencia);
+                System.out.println("  ✓ Test pasado: Equipos de 20 balanceados");
+                testsPassed++;
+            } else {
+                System.out.println("  ✗ Test falló: azules=" + azules + ", diferencia=" + diferencia);
+            }
+        } catch (Exception e) {
+            System.out.println("  ✗ Test falló: " + e.getMessage());
+            e.printStackTrace();
+        }
+        System.out.println();
+    }
+}
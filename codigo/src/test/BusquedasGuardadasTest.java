@@ -0,0 +1,232 @@
+package test;
+
+import models.*;
+import service.NotificationService;
+import service.ScrimSearchService;
+import states.EstadoBuscandoJugadores;
+import java.util.*;
+
+/**
+ * Test para las búsquedas guardadas como suscripciones de ScrimSearchService
+ * Verifica que cada scrim nuevo encuentra exactamente a los suscriptos que
+ * coinciden, que el aviso sale por NotificationService y el costo por scrim
+ * con muchas suscripciones
+ */
+public class BusquedasGuardadasTest {
+
+    private static int testsRun = 0;
+    private static int testsPassed = 0;
+
+    private static final String[] JUEGOS = {"Valorant", "League of Legends", "CS:GO"};
+    private static final String[] FORMATOS = {"5v5", "3v3", "1v1"};
+    private static final String[] REGIONES = {"SA", "NA", "EU", "LAS", "BR"};
+
+    /**
+     * Registra los avisos en memoria en lugar de enviarlos por email
+     */
+    private static class NotificacionesEnMemoria extends NotificationService {
+        final List<List<Usuario>> avisos = new ArrayList<>();
+
+        @Override
+        public void notificarScrimCreado(List<Usuario> interesados, Scrim scrim) {
+            avisos.add(interesados);
+        }
+    }
+
+    public static void main(String[] args) {
+        System.out.println("====================================");
+        System.out.println(" TEST: Búsquedas guardadas");
+        System.out.println("====================================\n");
+
+        testCoincidenConFiltradoCompleto();
+        testAvisoPorNotificationService();
+        testCostoPorScrim();
+
+        System.out.println("\n====================================");
+        System.out.println(" RESUMEN DE TESTS");
+        System.out.println("====================================");
+        System.out.println("Tests ejecutados: " + testsRun);
+        System.out.println("Tests exitosos: " + testsPassed);
+        System.out.println("Tests fallidos: " + (testsRun - testsPassed));
+        System.out.println("Porcentaje de éxito: " +
+                         (testsRun > 0 ? (testsPassed * 100 / testsRun) : 0) + "%");
+
+        if (testsPassed == testsRun) {
+            System.out.println("\n✓ TODOS LOS TESTS PASARON");
+        } else {
+            System.out.println("\n✗ ALGUNOS TESTS FALLARON");
+        }
+    }
+
+    private static String alAzar(Random random, String[] valores) {
+        // Un cuarto de las veces el filtro queda libre
+        return random.nextInt(4) == 0 ? null : valores[random.nextInt(valores.length)];
+    }
+
+    private static Scrim crearScrim(Random random) {
+        return new Scrim.Builder(new EstadoBuscandoJugadores())
+            .juego(JUEGOS[random.nextInt(JUEGOS.length)])
+            .formato(FORMATOS[random.nextInt(FORMATOS.length)])
+            .region(REGIONES[random.nextInt(REGIONES.length)])
+            .build();
+    }
+
+    /**
+     * Test 1: 3.000 suscripciones al azar (con comodines y mayúsculas
+     * distintas); para 500 scrims, percolar devuelve las mismas que evaluar
+     * cada búsqueda, y cancelar una la saca del índice
+     */
+    private static void testCoincidenConFiltradoCompleto() {
+        testsRun++;
+        System.out.println("[TEST 1] Suscripciones que coinciden con cada scrim");
+
+        try {
+            Random random = new Random(31);
+            ScrimSearchService busqueda = new ScrimSearchService();
+            List<BusquedaGuardada> todas = new ArrayList<>();
+            for (int i = 0; i < 3_000; i++) {
+                Usuario u = new Usuario(i, "Player" + i, "p" + i + "@test.com");
+                String region = alAzar(random, REGIONES);
+                todas.add(busqueda.suscribir(u, alAzar(random, JUEGOS), alAzar(random, FORMATOS),
+                                             region != null && i % 2 == 0 ? region.toLowerCase() : region));
+            }
+            String favorita = busqueda.guardarBusquedaFavorita("Valorant", null, "SA");
+            todas.add(busqueda.suscribirDesdeFavorita(favorita, new Usuario(9_999, "Fav", "fav@test.com")));
+
+            int diferencias = 0;
+            long coincidencias = 0;
+            for (int i = 0; i < 500; i++) {
+                Scrim scrim = crearScrim(random);
+                Set<BusquedaGuardada> esperado = new HashSet<>();
+                for (BusquedaGuardada b : todas) if (b.coincide(scrim)) esperado.add(b);
+                List<BusquedaGuardada> obtenido = busqueda.percolar(scrim);
+                if (obtenido.size() != esperado.size() || !esperado.containsAll(obtenido)) diferencias++;
+                coincidencias += obtenido.size();
+            }
+
+            BusquedaGuardada cancelada = todas.get(0);
+            boolean cancelo = busqueda.cancelarSuscripcion(cancelada) && !busqueda.cancelarSuscripcion(cancelada);
+            Scrim scrim = new Scrim.Builder(new EstadoBuscandoJugadores())
+                .juego(cancelada.getJuego() != null ? cancelada.getJuego() : "Valorant")
+                .formato(cancelada.getFormato() != null ? cancelada.getFormato() : "5v5")
+                .region(cancelada.getRegion() != null ? cancelada.getRegion() : "SA").build();
+            boolean sinCancelada = !busqueda.percolar(scrim).contains(cancelada)
+                && busqueda.getCantidadSuscripciones() == todas.size() - 1;
+
+            if (diferencias == 0 && coincidencias > 0 && cancelo && sinCancelada) {
+                System.out.println("  - 500 scrims, " + coincidencias + " coincidencias sin diferencias");
+                System.out.println("  ✓ Test pasado: Percolación exacta y cancelación");
+                testsPassed++;
+            } else {
+                System.out.println("  ✗ Test falló: diferencias=" + diferencias + ", cancelo=" + cancelo +
+                                   ", sinCancelada=" + sinCancelada);
+            }
+        } catch (Exception e) {
+            System.out.println("  ✗ Test falló: " + e.getMessage());
+            e.printStackTrace();
+        }
+        System.out.println();
+    }
+
+    /**
+     * Test 2: registrarScrim avisa una vez a cada interesado (aunque tenga dos
+     * búsquedas que coinciden), no avisa si nadie coincide y no repite el aviso
+     * al reindexar
+     */
+    private static void testAvisoPorNotificationService() {
+        testsRun++;
+        System.out.println("[TEST 2] Aviso SCRIM_CREADO al registrar");
+
+        try {
+            NotificacionesEnMemoria notificaciones = new NotificacionesEnMemoria();
+            ScrimSearchService busqueda = new ScrimSearchService(notificaciones);
+            Usuario ana = new Usuario(1, "Ana", "ana@test.com");
+            Usuario beto = new Usuario(2, "Beto", "beto@test.com");
+            Usuario caro = new Usuario(3, "Caro", "caro@test.com");
+            busqueda.suscribir(ana, "Valorant", null, null);
+            busqueda.suscribir(ana, null, "5v5", "SA");
+            busqueda.suscribir(beto, "valorant", "5v5", "sa");
+            busqueda.suscribir(caro, "League of Legends", null, null);
+
+            Scrim valorant = new Scrim.Builder(new EstadoBuscandoJugadores())
+                .juego("Valorant").formato("5v5").region("SA").build();
+            busqueda.registrarScrim(valorant);
+            busqueda.registrarScrim(valorant);                      // Ya registrado: sin aviso
+            valorant.setRegion("NA");
+            busqueda.actualizarScrim(valorant);                     // Reindexa sin avisar
+            Scrim csgo = new Scrim.Builder(new EstadoBuscandoJugadores())
+                .juego("CS:GO").formato("1v1").region("EU").build();
+            busqueda.registrarScrim(csgo);
+
+            boolean unAviso = notificaciones.avisos.size() == 1;
+            List<Usuario> avisados = unAviso ? notificaciones.avisos.get(0) : Collections.emptyList();
+            if (unAviso && avisados.size() == 2 && avisados.contains(ana) && avisados.contains(beto)) {
+                System.out.println("  - Avisados: " + avisados.get(0).getUsername() + ", " + avisados.get(1).getUsername());
+                System.out.println("  ✓ Test pasado: Un aviso por scrim nuevo, sin duplicar usuarios");
+                testsPassed++;
+            } else {
+                System.out.println("  ✗ Test falló: avisos=" + notificaciones.avisos.size() + ", avisados=" + avisados.size());
+            }
+        } catch (Exception e) {
+            System.out.println("  ✗ Test falló: " + e.getMessage());
+            e.printStackTrace();
+        }
+        System.out.println();
+    }
+
+    /**
+     * Test 3: con 500.000 suscripciones muy específicas, registrar un scrim
+     * cuesta microsegundos (no recorre las suscripciones), frente a evaluarlas todas
+     */
+    private static void testCostoPorScrim() {
+        testsRun++;
+        System.out.println("[TEST 3] Costo por scrim con 500.000 suscripciones");
+
+        try {
+            Random random = new Random(37);
+            NotificacionesEnMemoria notificaciones = new NotificacionesEnMemoria();
+            ScrimSearchService busqueda = new ScrimSearchService(notificaciones);
+            List<BusquedaGuardada> todas = new ArrayList<>();
+            for (int i = 0; i < 500_000; i++) {
+                Usuario u = new Usuario(i, "Player" + i, "p" + i + "@test.com");
+                todas.add(busqueda.suscribir(u, JUEGOS[random.nextInt(JUEGOS.length)],
+                                             FORMATOS[random.nextInt(FORMATOS.length)], "R" + i));
+            }
+
+            List<Scrim> scrims = new ArrayList<>();
+            for (int i = 0; i < 20_000; i++) {
+                scrims.add(new Scrim.Builder(new EstadoBuscandoJugadores())
+                    .juego(JUEGOS[random.nextInt(JUEGOS.length)])
+                    .formato(FORMATOS[random.nextInt(FORMATOS.length)])
+                    .region("R" + random.nextInt(1_000_000)).build());
+            }
+            long inicio = System.nanoTime();
+            for (Scrim scrim : scrims) busqueda.registrarScrim(scrim);
+            double usPorScrim = (System.nanoTime() - inicio) / 1e3 / scrims.size();
+
+            inicio = System.nanoTime();
+            long lineal = 0;
+            for (int i = 0; i < 5; i++) {
+                Scrim scrim = scrims.get(i);
+                for (BusquedaGuardada b : todas) if (b.coincide(scrim)) lineal++;
+            }
+            double usLineal = (System.nanoTime() - inicio) / 1e3 / 5;
+
+            // Cerca de la mitad de las regiones sorteadas tiene suscripción; 1/9 coincide en juego y formato
+            int avisos = notificaciones.avisos.size();
+            if (avisos > 500 && avisos < 1_800 && usPorScrim * 100 < usLineal) {
+                System.out.printf("  - %.2f µs por scrim (recorrido completo: %.0f µs), %d avisos%n",
+                                  usPorScrim, usLineal, avisos);
+                System.out.println("  ✓ Test pasado: El costo depende de las coincidencias");
+                testsPassed++;
+            } else {
+                System.out.printf("  ✗ Test falló: avisos=%d, %.2f µs por scrim, lineal %.0f µs%n",
+                                  avisos, usPorScrim, usLineal);
+            }
+        } catch (Exception e) {
+            System.out.println("  ✗ Test falló: " + e.getMessage());
+            e.printStackTrace();
+        }
+        System.out.println();
+    }
+}
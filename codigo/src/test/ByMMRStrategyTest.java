@@ -1,6 +1,10 @@
 package test;
 
+import interfaces.IMatchMakingStrategy;
 import models.*;
+import service.MatchmakingService;
+import service.SalaManager;
+import states.EstadoBuscandoJugadores;
 import strategies.ByMMRStrategy;
 import java.util.*;
 
@@ -22,6 +26,9 @@ public class ByMMRStrategyTest {
         testEmparejamientoConDiferenciasMMR();
         testEmparejamientoConUsuariosNulos();
         testOrdenamientoPorMMR();
+        testSeleccionFiltraYLimita();
+        testSeleccionEnLote();
+        testLlenarSalasDosVeces();
         
         System.out.println("\n====================================");
         System.out.println(" RESUMEN DE TESTS");
@@ -205,4 +212,147 @@ public class ByMMRStrategyTest {
         }
         System.out.println();
     }
+
+    /**
+     * Test 5: seleccionar filtra por rango, ordena por cercanía a rangoMin y limita a cupos
+     */
+    private static void testSeleccionFiltraYLimita() {
+        testsRun++;
+        System.out.println("[TEST 5] Selección por rango y cercanía a rangoMin");
+        
+        try {
+            ByMMRStrategy strategy = new ByMMRStrategy();
+            Scrim scrim = new Scrim.Builder(new EstadoBuscandoJugadores())
+                .juego("LoL").formato("1v1").rangoMin(1000).rangoMax(1500).build();
+            
+            List<Usuario> candidatos = new ArrayList<>();
+            int[] mmrs = {1400, 900, 1100, 1600, 1000, 1100};
+            for (int i = 0; i < mmrs.length; i++) {
+                Usuario u = new Usuario(i, "Player" + i, "p" + i + "@test.com");
+                u.getRangoPorJuego().put("LoL", mmrs[i]);
+                candidatos.add(u);
+            }
+            candidatos.add(new Usuario(99, "SinRango", "sr@test.com"));
+            
+            List<Usuario> elegidos = strategy.seleccionar(candidatos, scrim);
+            
+            // 1v1 = 2 cupos: los más cercanos a 1000 dentro de [1000, 1500]
+            if (elegidos.size() == 2
+                    && elegidos.get(0).getUsername().equals("Player4")
+                    && elegidos.get(1).getUsername().equals("Player2")) {
+                System.out.println("  - Elegidos: " + elegidos.get(0).getUsername() + ", " + elegidos.get(1).getUsername());
+                System.out.println("  ✓ Test pasado: Filtro, orden y límite correctos");
+                testsPassed++;
+            } else {
+                System.out.println("  ✗ Test falló: Selección incorrecta (" + elegidos.size() + " elegidos)");
+            }
+        } catch (Exception e) {
+            System.out.println("  ✗ Test falló: " + e.getMessage());
+            e.printStackTrace();
+        }
+        System.out.println();
+    }
+    
+    /**
+     * Test 6: el lote da lo mismo que llenar scrim por scrim y no repite jugadores
+     */
+    private static void testSeleccionEnLote() {
+        testsRun++;
+        System.out.println("[TEST 6] Selección en lote para muchos scrims");
+
+        try {
+            Random random = new Random(3);
+            List<Usuario> pool = new ArrayList<>();
+            for (int i = 0; i < 2000; i++) {
+                Usuario u = new Usuario(i, "Player" + i, "p" + i + "@test.com");
+                u.getRangoPorJuego().put("Valorant", random.nextInt(3000));
+                if (i % 3 == 0) u.getRangoPorJuego().put("CS:GO", random.nextInt(3000));
+                pool.add(u);
+            }
+            List<Scrim> scrims = new ArrayList<>();
+            for (int k = 0; k < 150; k++) {
+                int min = random.nextInt(2500);
+                scrims.add(new Scrim.Builder(new EstadoBuscandoJugadores())
+                    .juego(k % 4 == 0 ? "CS:GO" : "Valorant").formato("5v5")
+                    .rangoMin(min).rangoMax(min + 300).build());
+            }
+
+            ByMMRStrategy strategy = new ByMMRStrategy();
+            IMatchMakingStrategy porScrim = strategy::seleccionar;   // Solo la implementación por defecto
+            List<List<Usuario>> lote = strategy.seleccionarLote(pool, scrims);
+            List<List<Usuario>> esperado = porScrim.seleccionarLote(pool, scrims);
+
+            Set<Integer> vistos = new HashSet<>();
+            boolean disjunto = true;
+            for (List<Usuario> asignados : lote) {
+                for (Usuario u : asignados) disjunto &= vistos.add(u.getId());
+            }
+
+            if (lote.equals(esperado) && disjunto) {
+                System.out.println("  - Jugadores ubicados: " + vistos.size());
+                System.out.println("  ✓ Test pasado: Lote equivalente y sin jugadores repetidos");
+                testsPassed++;
+            } else {
+                System.out.println("  ✗ Test falló: equivalente=" + lote.equals(esperado) + ", disjunto=" + disjunto);
+            }
+        } catch (Exception e) {
+            System.out.println("  ✗ Test falló: " + e.getMessage());
+            e.printStackTrace();
+        }
+        System.out.println();
+    }
+
+    /**
+     * Test 7: llenar las salas dos veces con el mismo pool no postula a nadie dos veces
+     */
+    private static void testLlenarSalasDosVeces() {
+        testsRun++;
+        System.out.println("[TEST 7] llenarSalas repetido no duplica postulaciones");
+
+        String juego = "Juego Test Llenado";
+        List<Scrim> salas = new ArrayList<>();
+        try {
+            for (int k = 0; k < 2; k++) {
+                Scrim sala = new Scrim.Builder(new EstadoBuscandoJugadores())
+                    .juego(juego).formato("5v5").region("SA")
+                    .rangoMin(1000).rangoMax(2000).build();
+                SalaManager.getInstance().agregarSala(sala);
+                salas.add(sala);
+            }
+            List<Usuario> pool = new ArrayList<>();
+            for (int i = 0; i < 14; i++) {
+                Usuario u = new Usuario(7000 + i, "Player" + i, "p" + i + "@test.com");
+                u.getRangoPorJuego().put(juego, 1000 + i * 50);
+                pool.add(u);
+            }
+
+            MatchmakingService service = new MatchmakingService(new ByMMRStrategy());
+            int primera = service.llenarSalas(pool, juego);
+            int segunda = service.llenarSalas(pool, juego);
+
+            Set<Integer> vistos = new HashSet<>();
+            int postulaciones = 0;
+            boolean sinRepetidos = true;
+            for (Scrim sala : salas) {
+                for (Postulacion p : sala.getPostulaciones()) {
+                    sinRepetidos &= vistos.add(p.getUsuario().getId());
+                    postulaciones++;
+                }
+            }
+
+            if (primera == 14 && segunda == 0 && postulaciones == 14 && sinRepetidos) {
+                System.out.println("  ✓ Test pasado: La segunda llamada no agregó a nadie");
+                testsPassed++;
+            } else {
+                System.out.println("  ✗ Test falló: primera=" + primera + ", segunda=" + segunda +
+                                   ", postulaciones=" + postulaciones);
+            }
+        } catch (Exception e) {
+            System.out.println("  ✗ Test falló: " + e.getMessage());
+            e.printStackTrace();
+        } finally {
+            for (Scrim sala : salas) SalaManager.getInstance().eliminarSala(sala);
+        }
+        System.out.println();
+    }
 }
@@ -0,0 +1,115 @@
+package test;
+
+import models.*;
+import states.EstadoBuscandoJugadores;
+import strategies.ByWeightedScoreStrategy;
+import java.util.*;
+
+/**
+ * Test para la estrategia compuesta por puntaje ponderado
+ * Verifica filtros duros y el efecto de los pesos sobre el orden
+ */
+public class ByWeightedScoreStrategyTest {
+
+    private static int testsRun = 0;
+    private static int testsPassed = 0;
+
+    public static void main(String[] args) {
+        System.out.println("====================================");
+        System.out.println(" TEST: ByWeightedScoreStrategy");
+        System.out.println("====================================\n");
+
+        testFiltraRangoYLatencia();
+        testPesosCambianElOrden();
+
+        System.out.println("\n====================================");
+        System.out.println(" RESUMEN DE TESTS");
+        System.out.println("====================================");
+        System.out.println("Tests ejecutados: " + testsRun);
+        System.out.println("Tests exitosos: " + testsPassed);
+        System.out.println("Tests fallidos: " + (testsRun - testsPassed));
+        System.out.println("Porcentaje de éxito: " +
+                         (testsRun > 0 ? (testsPassed * 100 / testsRun) : 0) + "%");
+
+        if (testsPassed == testsRun) {
+            System.out.println("\n✓ TODOS LOS TESTS PASARON");
+        } else {
+            System.out.println("\n✗ ALGUNOS TESTS FALLARON");
+        }
+    }
+
+    private static Usuario crearJugador(int id, int mmr) {
+        Usuario u = new Usuario(id, "Player" + id, "p" + id + "@test.com");
+        u.getRangoPorJuego().put("Valorant", mmr);
+        return u;
+    }
+
+    private static Scrim crearScrim(int cupos) {
+        return new Scrim.Builder(new EstadoBuscandoJugadores())
+            .juego("Valorant").formato("5v5").region("SA").cuposMaximos(cupos)
+            .rangoMin(1000).rangoMax(2000).latenciaMax(80).build();
+    }
+
+    /**
+     * Test 1: fuera de rango o con ping mayor a latenciaMax no se seleccionan
+     */
+    private static void testFiltraRangoYLatencia() {
+        testsRun++;
+        System.out.println("[TEST 1] Filtros de rango y latencia en una pasada");
+
+        try {
+            Map<Integer, Integer> pings = Map.of(1, 30, 2, 120, 3, 40, 4, 50);
+            ByWeightedScoreStrategy strategy = new ByWeightedScoreStrategy(
+                (u, region) -> pings.get(u.getId()), u -> 80);
+
+            List<Usuario> candidatos = Arrays.asList(
+                crearJugador(1, 1500), crearJugador(2, 1500),   // 2: ping alto
+                crearJugador(3, 2500), crearJugador(4, 1400));  // 3: fuera de rango
+            List<Usuario> elegidos = strategy.seleccionar(candidatos, crearScrim(10));
+
+            if (elegidos.size() == 2 && elegidos.get(0).getId() == 1 && elegidos.get(1).getId() == 4) {
+                System.out.println("  ✓ Test pasado: Seleccionados Player1 y Player4");
+                testsPassed++;
+            } else {
+                System.out.println("  ✗ Test falló: " + elegidos.size() + " seleccionados");
+            }
+        } catch (Exception e) {
+            System.out.println("  ✗ Test falló: " + e.getMessage());
+            e.printStackTrace();
+        }
+        System.out.println();
+    }
+
+    /**
+     * Test 2: con peso de historial alto gana el de mejor historial aunque tenga peor MMR
+     */
+    private static void testPesosCambianElOrden() {
+        testsRun++;
+        System.out.println("[TEST 2] Los pesos deciden entre MMR e historial");
+
+        try {
+            Map<Integer, Integer> compat = Map.of(1, 20, 2, 100);
+            ByWeightedScoreStrategy strategy = new ByWeightedScoreStrategy(
+                (u, region) -> 40, u -> compat.get(u.getId()));
+            // Player1 en el centro del rango pero mal historial; Player2 en el borde con historial perfecto
+            List<Usuario> candidatos = Arrays.asList(crearJugador(1, 1500), crearJugador(2, 1900));
+            Scrim scrim = crearScrim(1);
+
+            strategy.setPesos(1, 0, 0);
+            int porMMR = strategy.seleccionar(candidatos, scrim).get(0).getId();
+            strategy.setPesos(0.2, 0, 0.8);
+            int porHistorial = strategy.seleccionar(candidatos, scrim).get(0).getId();
+
+            if (porMMR == 1 && porHistorial == 2) {
+                System.out.println("  ✓ Test pasado: Solo MMR → Player1, historial pesado → Player2");
+                testsPassed++;
+            } else {
+                System.out.println("  ✗ Test falló: porMMR=" + porMMR + ", porHistorial=" + porHistorial);
+            }
+        } catch (Exception e) {
+            System.out.println("  ✗ Test falló: " + e.getMessage());
+            e.printStackTrace();
+        }
+        System.out.println();
+    }
+}
@@ -0,0 +1,253 @@
+package test;
+
+import models.*;
+import service.ScrimSearchService;
+import states.EstadoBuscandoJugadores;
+import java.util.*;
+import java.util.stream.Collectors;
+
+/**
+ * Test para la caché de resultados de ScrimSearchService
+ * Verifica que con altas, bajas y actualizaciones intercaladas la caché
+ * nunca devuelve un resultado viejo, que cada cambio invalida solo las
+ * búsquedas que afecta y que la capacidad acota las entradas
+ */
+public class CacheBusquedasTest {
+
+    private static int testsRun = 0;
+    private static int testsPassed = 0;
+
+    private static final String[] JUEGOS = {"Valorant", "League of Legends", "CS:GO"};
+    private static final String[] FORMATOS = {"5v5", "3v3", "1v1"};
+    private static final String[] REGIONES = {"SA", "NA", "EU", "LAS"};
+    private static final String[] RANGOS = {null, "Silver", "Gold", "Diamond"};
+
+    public static void main(String[] args) {
+        System.out.println("====================================");
+        System.out.println(" TEST: Caché de búsquedas");
+        System.out.println("====================================\n");
+
+        testNuncaDevuelveResultadosViejos();
+        testInvalidacionPrecisa();
+        testCapacidadYExpulsion();
+
+        System.out.println("\n====================================");
+        System.out.println(" RESUMEN DE TESTS");
+        System.out.println("====================================");
+        System.out.println("Tests ejecutados: " + testsRun);
+        System.out.println("Tests exitosos: " + testsPassed);
+        System.out.println("Tests fallidos: " + (testsRun - testsPassed));
+        System.out.println("Porcentaje de éxito: " +
+                         (testsRun > 0 ? (testsPassed * 100 / testsRun) : 0) + "%");
+
+        if (testsPassed == testsRun) {
+            System.out.println("\n✓ TODOS LOS TESTS PASARON");
+        } else {
+            System.out.println("\n✗ ALGUNOS TESTS FALLARON");
+        }
+    }
+
+    private static String alAzar(Random random, String[] valores) {
+        return random.nextInt(3) == 0 ? null : valores[random.nextInt(valores.length)];
+    }
+
+    private static Scrim crearScrim(Random random) {
+        int min = random.nextInt(2400);
+        return new Scrim.Builder(new EstadoBuscandoJugadores())
+            .juego(JUEGOS[random.nextInt(JUEGOS.length)])
+            .formato(FORMATOS[random.nextInt(FORMATOS.length)])
+            .region(REGIONES[random.nextInt(REGIONES.length)])
+            .rangoMin(min).rangoMax(min + 200 + random.nextInt(600))
+            .build();
+    }
+
+    private static Scrim crearScrim(String juego, String formato, String region) {
+        return new Scrim.Builder(new EstadoBuscandoJugadores())
+            .juego(juego).formato(formato).region(region).build();
+    }
+
+    // Referencia sin caché ni índices
+    private static boolean coincide(Scrim s, String juego, String formato, String rangoMin,
+                                    String rangoMax, String region) {
+        List<String> orden = Arrays.asList("Iron", "Bronze", "Silver", "Gold", "Platinum",
+                                           "Diamond", "Master", "Grandmaster", "Challenger");
+        return (juego == null || juego.equalsIgnoreCase(s.getJuego()))
+            && (formato == null || formato.equalsIgnoreCase(s.getFormato()))
+            && (rangoMin == null || orden.indexOf(s.getRangoMinimo()) >= orden.indexOf(rangoMin))
+            && (rangoMax == null || orden.indexOf(s.getRangoMaximo()) <= orden.indexOf(rangoMax))
+            && (region == null || region.equalsIgnoreCase(s.getRegion()));
+    }
+
+    private static Set<UUID> ids(Collection<Scrim> scrims) {
+        return scrims.stream().map(Scrim::getId).collect(Collectors.toSet());
+    }
+
+    /**
+     * Test 1: 20.000 operaciones al azar (búsquedas repetidas, altas, bajas y
+     * cambios de región) comparadas con un filtrado completo después de cada una
+     */
+    private static void testNuncaDevuelveResultadosViejos() {
+        testsRun++;
+        System.out.println("[TEST 1] Resultados iguales al filtrado completo");
+
+        try {
+            Random random = new Random(41);
+            ScrimSearchService busqueda = new ScrimSearchService(null, 64);
+            List<Scrim> registrados = new ArrayList<>();
+            for (int i = 0; i < 500; i++) {
+                Scrim scrim = crearScrim(random);
+                registrados.add(scrim);
+                busqueda.registrarScrim(scrim);
+            }
+
+            // Un conjunto chico de búsquedas frecuentes (con mayúsculas variadas)
+            List<String[]> consultas = new ArrayList<>();
+            for (int i = 0; i < 40; i++) {
+                String juego = alAzar(random, JUEGOS);
+                consultas.add(new String[]{
+                    juego != null && i % 2 == 0 ? juego.toUpperCase() : juego,
+                    alAzar(random, FORMATOS), RANGOS[random.nextInt(RANGOS.length)],
+                    RANGOS[random.nextInt(RANGOS.length)], alAzar(random, REGIONES)});
+            }
+
+            int diferencias = 0;
+            for (int op = 0; op < 20_000; op++) {
+                int tipo = random.nextInt(10);
+                if (tipo == 0) {
+                    Scrim scrim = crearScrim(random);
+                    registrados.add(scrim);
+                    busqueda.registrarScrim(scrim);
+                } else if (tipo == 1 && !registrados.isEmpty()) {
+                    busqueda.eliminarScrim(registrados.remove(random.nextInt(registrados.size())));
+                } else if (tipo == 2 && !registrados.isEmpty()) {
+                    Scrim scrim = registrados.get(random.nextInt(registrados.size()));
+                    scrim.setRegion(REGIONES[random.nextInt(REGIONES.length)]);
+                    busqueda.actualizarScrim(scrim);
+                } else {
+                    String[] c = consultas.get(random.nextInt(consultas.size()));
+                    List<Scrim> obtenido = busqueda.buscarScrims(c[0], c[1], c[2], c[3], c[4]);
+                    Set<UUID> esperado = registrados.stream()
+                        .filter(s -> coincide(s, c[0], c[1], c[2], c[3], c[4]))
+                        .map(Scrim::getId).collect(Collectors.toSet());
+                    if (obtenido.size() != esperado.size() || !ids(obtenido).equals(esperado)) diferencias++;
+                    obtenido.clear();                         // Modificar la copia no toca la caché
+                }
+            }
+
+            double tasa = busqueda.getTasaAciertosCache();
+            if (diferencias == 0 && tasa > 0.3 && busqueda.getInvalidacionesCache() > 0) {
+                System.out.printf("  - Tasa de aciertos %.0f%%, %d invalidaciones%n",
+                                  tasa * 100, busqueda.getInvalidacionesCache());
+                System.out.println("  ✓ Test pasado: La caché nunca devolvió un resultado viejo");
+                testsPassed++;
+            } else {
+                System.out.printf("  ✗ Test falló: diferencias=%d, tasa=%.2f%n", diferencias, tasa);
+            }
+        } catch (Exception e) {
+            System.out.println("  ✗ Test falló: " + e.getMessage());
+            e.printStackTrace();
+        }
+        System.out.println();
+    }
+
+    /**
+     * Test 2: un scrim de LoL en NA invalida solo las búsquedas que podría
+     * cambiar (LoL, NA, sin filtros); las de Valorant o SA siguen en caché
+     */
+    private static void testInvalidacionPrecisa() {
+        testsRun++;
+        System.out.println("[TEST 2] Invalidación solo de las búsquedas afectadas");
+
+        try {
+            ScrimSearchService busqueda = new ScrimSearchService();
+            busqueda.registrarScrim(crearScrim("Valorant", "5v5", "SA"));
+            busqueda.registrarScrim(crearScrim("League of Legends", "5v5", "SA"));
+
+            busqueda.buscarPorJuego("Valorant");
+            busqueda.buscarPorJuego("League of Legends");
+            busqueda.buscarPorRegion("SA");
+            busqueda.buscarPorRegion("NA");
+            busqueda.buscarScrims("Valorant", "5v5", null, null, "NA");
+            busqueda.buscarScrims(null, null, null, null, null);
+            boolean seisFallos = busqueda.getFallosCache() == 6 && busqueda.getTamanioCache() == 6;
+
+            Scrim nuevo = crearScrim("League of Legends", "3v3", "NA");
+            busqueda.registrarScrim(nuevo);
+            boolean tresInvalidadas = busqueda.getInvalidacionesCache() == 3;
+
+            // Siguen en caché: aciertos
+            long aciertos = busqueda.getAciertosCache();
+            busqueda.buscarPorJuego("valorant");
+            busqueda.buscarPorRegion("sa");
+            busqueda.buscarScrims("Valorant", "5v5", null, null, "NA");
+            boolean siguen = busqueda.getAciertosCache() == aciertos + 3;
+
+            // Invalidadas: se recalculan e incluyen al nuevo
+            boolean recalculadas = busqueda.buscarPorJuego("League of Legends").size() == 2
+                && busqueda.buscarPorRegion("NA").contains(nuevo)
+                && busqueda.getFallosCache() == 8;
+
+            busqueda.eliminarScrim(nuevo);
+            boolean bajaInvalida = busqueda.getInvalidacionesCache() == 5
+                && busqueda.buscarPorRegion("NA").isEmpty();
+
+            if (seisFallos && tresInvalidadas && siguen && recalculadas && bajaInvalida) {
+                System.out.println("  - 6 búsquedas en caché, el alta invalida 3 y la baja 2");
+                System.out.println("  ✓ Test pasado: Invalidación precisa por filtros");
+                testsPassed++;
+            } else {
+                System.out.println("  ✗ Test falló: seisFallos=" + seisFallos + ", tresInvalidadas=" + tresInvalidadas +
+                                   " (" + busqueda.getInvalidacionesCache() + "), siguen=" + siguen +
+                                   ", recalculadas=" + recalculadas + ", bajaInvalida=" + bajaInvalida);
+            }
+        } catch (Exception e) {
+            System.out.println("  ✗ Test falló: " + e.getMessage());
+            e.printStackTrace();
+        }
+        System.out.println();
+    }
+
+    /**
+     * Test 3: con capacidad 100 y 300 búsquedas distintas quedan las 100 más
+     * recientes; repetir una reciente es acierto y repetir una vieja es fallo
+     */
+    private static void testCapacidadYExpulsion() {
+        testsRun++;
+        System.out.println("[TEST 3] Capacidad acotada con expulsión LRU");
+
+        try {
+            ScrimSearchService busqueda = new ScrimSearchService(null, 100);
+            for (int i = 0; i < 300; i++) {
+                busqueda.registrarScrim(crearScrim("Valorant", "5v5", "R" + i));
+            }
+            for (int i = 0; i < 300; i++) {
+                busqueda.buscarPorRegion("R" + i);
+                if (i > 0) busqueda.buscarPorRegion("R0");       // R0 se mantiene como la más reciente
+            }
+            boolean acotada = busqueda.getTamanioCache() == 100 && busqueda.getExpulsionesCache() == 200;
+
+            long aciertos = busqueda.getAciertosCache();
+            long fallos = busqueda.getFallosCache();
+            busqueda.buscarPorRegion("R0");
+            busqueda.buscarPorRegion("R299");
+            boolean recientes = busqueda.getAciertosCache() == aciertos + 2;
+            busqueda.buscarPorRegion("R150");
+            boolean viejaExpulsada = busqueda.getFallosCache() == fallos + 1;
+
+            if (acotada && recientes && viejaExpulsada) {
+                System.out.println("  - " + busqueda.getTamanioCache() + " entradas, " +
+                                   busqueda.getExpulsionesCache() + " expulsiones");
+                System.out.println("  ✓ Test pasado: La caché respeta la capacidad");
+                testsPassed++;
+            } else {
+                System.out.println("  ✗ Test falló: tamaño=" + busqueda.getTamanioCache() + ", expulsiones=" +
+                                   busqueda.getExpulsionesCache() + ", recientes=" + recientes +
+                                   ", viejaExpulsada=" + viejaExpulsada);
+            }
+        } catch (Exception e) {
+            System.out.println("  ✗ Test falló: " + e.getMessage());
+            e.printStackTrace();
+        }
+        System.out.println();
+    }
+}
@@ -0,0 +1,260 @@
+package test;
+
+import context.ScrimContext;
+import models.*;
+import service.CoordinadorConfirmaciones;
+import service.MotorScrims;
+import states.*;
+import java.util.*;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Test para el coordinador asíncrono de confirmaciones
+ * Verifica resolución temprana (todos confirman / alguien rechaza),
+ * vencimiento de plazos de miles de lobbies en un solo hilo y un lobby
+ * resuelto desde otro hilo antes de que llegue onLobbyCompleto
+ */
+public class CoordinadorConfirmacionesTest {
+
+    private static int testsRun = 0;
+    private static int testsPassed = 0;
+
+    private static final String[] ROLES = {"Duelist", "Controller", "Initiator", "Sentinel"};
+
+    public static void main(String[] args) {
+        System.out.println("====================================");
+        System.out.println(" TEST: CoordinadorConfirmaciones");
+        System.out.println("====================================\n");
+
+        testTodosConfirman();
+        testRechazoResuelveEnElActo();
+        testPlazosVencidosEnUnHilo();
+        testResueltoAntesDelAviso();
+
+        System.out.println("\n====================================");
+        System.out.println(" RESUMEN DE TESTS");
+        System.out.println("====================================");
+        System.out.println("Tests ejecutados: " + testsRun);
+        System.out.println("Tests exitosos: " + testsPassed);
+        System.out.println("Tests fallidos: " + (testsRun - testsPassed));
+        System.out.println("Porcentaje de éxito: " +
+                         (testsRun > 0 ? (testsPassed * 100 / testsRun) : 0) + "%");
+
+        if (testsPassed == testsRun) {
+            System.out.println("\n✓ TODOS LOS TESTS PASARON");
+        } else {
+            System.out.println("\n✗ ALGUNOS TESTS FALLARON");
+        }
+    }
+
+    private static SesionScrim crearLobby(MotorScrims motor, int base) {
+        Scrim scrim = new Scrim.Builder(new EstadoBuscandoJugadores())
+            .juego("Valorant").formato("5v5").rangoMin(800).rangoMax(1600).build();
+        ScrimContext context = new ScrimContext(scrim, scrim.getEstado());
+        List<Usuario> jugadores = new ArrayList<>();
+        for (int i = 0; i < 10; i++) {
+            Usuario u = new Usuario(base + i, "Player" + (base + i), "p" + (base + i) + "@test.com");
+            u.getRangoPorJuego().put("Valorant", 1000 + i * 50);
+            u.setRol(ROLES[i % ROLES.length]);
+            context.postular(u, u.getRol());
+            jugadores.add(u);
+        }
+        return motor.formarLobby(scrim, context, jugadores);
+    }
+
+    /**
+     * Test 1: el futuro se completa con la partida EnJuego apenas confirma el último
+     */
+    private static void testTodosConfirman() {
+        testsRun++;
+        System.out.println("[TEST 1] Todos confirman antes del plazo");
+
+        try {
+            MotorScrims motor = new MotorScrims(juego -> ROLES);
+            CoordinadorConfirmaciones coordinador = new CoordinadorConfirmaciones(motor, 10_000);
+            SesionScrim sesion = crearLobby(motor, 1);
+            CompletableFuture<SesionScrim> resultado = coordinador.getResultado(sesion);
+
+            List<Usuario> jugadores = sesion.getJugadores();
+            for (int i = 0; i < jugadores.size() - 1; i++) {
+                motor.confirmar(sesion, jugadores.get(i), true);
+            }
+            boolean esperaAlUltimo = !resultado.isDone();
+            motor.confirmar(sesion, jugadores.get(jugadores.size() - 1), true);
+
+            SesionScrim resuelta = resultado.get(1, TimeUnit.SECONDS);
+            if (esperaAlUltimo && resuelta.getScrim().getEstado() instanceof EstadoEnJuego
+                    && coordinador.getPendientes() == 0) {
+                System.out.println("  ✓ Test pasado: Resuelto al confirmar el último jugador");
+                testsPassed++;
+            } else {
+                System.out.println("  ✗ Test falló: estado=" + resuelta.getNombreEstado());
+            }
+            coordinador.detener();
+        } catch (Exception e) {
+            System.out.println("  ✗ Test falló: " + e.getMessage());
+            e.printStackTrace();
+        }
+        System.out.println();
+    }
+
+    /**
+     * Test 2: un rechazo resuelve el lobby sin esperar a los demás ni al plazo
+     */
+    private static void testRechazoResuelveEnElActo() {
+        testsRun++;
+        System.out.println("[TEST 2] Un rechazo resuelve el lobby en el acto");
+
+        try {
+            MotorScrims motor = new MotorScrims(juego -> ROLES);
+            CoordinadorConfirmaciones coordinador = new CoordinadorConfirmaciones(motor, 60_000);
+            SesionScrim sesion = crearLobby(motor, 100);
+            CompletableFuture<SesionScrim> resultado = coordinador.getResultado(sesion);
+
+            Usuario rechaza = sesion.getJugadores().get(2);
+            motor.confirmar(sesion, sesion.getJugadores().get(0), true);
+            motor.confirmar(sesion, rechaza, false);
+
+            if (resultado.isDone() && resultado.get().isCancelada()
+                    && MotorScrims.MOTIVO_RECHAZO.equals(sesion.getMotivoCancelacion())
+                    && sesion.getResponsableCancelacion() == rechaza
+                    && coordinador.getPendientes() == 0) {
+                System.out.println("  ✓ Test pasado: Cancelado por " + rechaza.getUsername());
+                testsPassed++;
+            } else {
+                System.out.println("  ✗ Test falló: done=" + resultado.isDone() +
+                                   ", motivo=" + sesion.getMotivoCancelacion());
+            }
+            coordinador.detener();
+        } catch (Exception e) {
+            System.out.println("  ✗ Test falló: " + e.getMessage());
+            e.printStackTrace();
+        }
+        System.out.println();
+    }
+
+    /**
+     * Test 3: 2000 lobbies en confirmación; la mitad deja un jugador sin responder.
+     * Los plazos vencen en el único hilo del coordinador y sancionan solo a los ausentes.
+     */
+    private static void testPlazosVencidosEnUnHilo() {
+        testsRun++;
+        System.out.println("[TEST 3] 2000 lobbies con plazo en un solo hilo");
+
+        java.io.PrintStream salida = System.out;
+        try {
+            MotorScrims motor = new MotorScrims(juego -> ROLES);
+            CoordinadorConfirmaciones coordinador = new CoordinadorConfirmaciones(motor, 300);
+            Set<Thread> hilosExpiracion = java.util.concurrent.ConcurrentHashMap.newKeySet();
+            motor.agregarObserver(new interfaces.IScrimObserver() {
+                @Override
+                public void onPartidaCancelada(SesionScrim sesion, Usuario responsable, String motivo) {
+                    hilosExpiracion.add(Thread.currentThread());
+                }
+            });
+            System.setOut(new java.io.PrintStream(java.io.OutputStream.nullOutputStream()));
+
+            List<CompletableFuture<SesionScrim>> resultados = new ArrayList<>();
+            List<Usuario> ausentes = new ArrayList<>();
+            for (int l = 0; l < 2000; l++) {
+                SesionScrim sesion = crearLobby(motor, 1000 + l * 10);
+                resultados.add(coordinador.getResultado(sesion));
+                List<Usuario> jugadores = sesion.getJugadores();
+                int responden = l % 2 == 0 ? jugadores.size() : jugadores.size() - 1;
+                for (int i = 0; i < responden; i++) {
+                    motor.confirmar(sesion, jugadores.get(i), true);
+                }
+                if (responden < jugadores.size()) ausentes.add(jugadores.get(jugadores.size() - 1));
+            }
+
+            CompletableFuture.allOf(resultados.toArray(new CompletableFuture<?>[0])).get(10, TimeUnit.SECONDS);
+            System.setOut(salida);
+
+            int enJuego = 0, expirados = 0;
+            for (CompletableFuture<SesionScrim> r : resultados) {
+                SesionScrim s = r.get();
+                if (s.getScrim().getEstado() instanceof EstadoEnJuego) enJuego++;
+                if (MotorScrims.MOTIVO_TIEMPO_AGOTADO.equals(s.getMotivoCancelacion())) expirados++;
+            }
+            boolean sancionados = ausentes.stream().allMatch(u -> u.getSancionesActivas() == 1);
+            int hilos = hilosExpiracion.size();
+
+            if (enJuego == 1000 && expirados == 1000 && sancionados && hilos == 1
+                    && coordinador.getPendientes() == 0) {
+                System.out.println("  - En juego: " + enJuego + ", expirados: " + expirados);
+                System.out.println("  ✓ Test pasado: Plazos resueltos por un único hilo");
+                testsPassed++;
+            } else {
+                System.out.println("  ✗ Test falló: enJuego=" + enJuego + ", expirados=" + expirados +
+                                   ", sancionados=" + sancionados + ", hilos=" + hilos);
+            }
+            coordinador.detener();
+        } catch (Exception e) {
+            System.setOut(salida);
+            System.out.println("  ✗ Test falló: " + e.getMessage());
+            e.printStackTrace();
+        } finally {
+            System.setOut(salida);
+        }
+        System.out.println();
+    }
+
+    /**
+     * Test 4: el hilo que forma el lobby se demora entregando los avisos y
+     * otro hilo rechaza en ese intervalo. El futuro se completa cancelado,
+     * no queda confirmación pendiente y ningún plazo sigue vivo
+     */
+    private static void testResueltoAntesDelAviso() {
+        testsRun++;
+        System.out.println("[TEST 4] Lobby resuelto antes de entregar onLobbyCompleto");
+
+        try {
+            MotorScrims motor = new MotorScrims(juego -> ROLES);
+            CoordinadorConfirmaciones coordinador = new CoordinadorConfirmaciones(motor, 200);
+            AtomicReference<SesionScrim> formada = new AtomicReference<>();
+            CountDownLatch avisoEnCurso = new CountDownLatch(1);
+            CountDownLatch rechazado = new CountDownLatch(1);
+            motor.agregarObserver(new interfaces.IScrimObserver() {
+                @Override
+                public void onEstadoCambiado(SesionScrim sesion, String anterior, String nuevo) {
+                    if (nuevo.equals("EstadoLobbyCompleto") && formada.compareAndSet(null, sesion)) {
+                        avisoEnCurso.countDown();
+                        try {
+                            rechazado.await(5, TimeUnit.SECONDS);
+                        } catch (InterruptedException e) {
+                            Thread.currentThread().interrupt();
+                        }
+                    }
+                }
+            });
+
+            CompletableFuture<SesionScrim> formacion = CompletableFuture.supplyAsync(() -> crearLobby(motor, 50_000));
+            avisoEnCurso.await(5, TimeUnit.SECONDS);
+            SesionScrim sesion = formada.get();
+            CompletableFuture<SesionScrim> resultado = coordinador.getResultado(sesion);
+            motor.confirmar(sesion, sesion.getJugadores().get(0), false);
+            rechazado.countDown();
+            formacion.get(5, TimeUnit.SECONDS);
+
+            Thread.sleep(600);                                    // Tres plazos: ninguno debe seguir vivo
+            boolean cancelada = resultado.isDone() && resultado.get().isCancelada()
+                && sesion.getScrim().getEstado() instanceof EstadoCancelado;
+
+            if (cancelada && coordinador.getPendientes() == 0) {
+                System.out.println("  ✓ Test pasado: Futuro completo y sin confirmaciones colgadas");
+                testsPassed++;
+            } else {
+                System.out.println("  ✗ Test falló: done=" + resultado.isDone() + ", estado=" +
+                                   sesion.getNombreEstado() + ", pendientes=" + coordinador.getPendientes());
+            }
+            coordinador.detener();
+        } catch (Exception e) {
+            System.out.println("  ✗ Test falló: " + e.getMessage());
+            e.printStackTrace();
+        }
+        System.out.println();
+    }
+}
@@ -0,0 +1,185 @@
+package test;
+
+import models.*;
+import service.EstimadorEspera;
+import service.MatchmakingQueue;
+import strategies.ByMMRStrategy;
+import java.util.*;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Test para el estimador de tiempo de espera por bucket y banda de MMR
+ * Verifica la mediana en régimen estable, la adaptación a cambios de carga
+ * y que no se pierdan eventos con muchos hilos registrando a la vez
+ */
+public class EstimadorEsperaTest {
+
+    private static int testsRun = 0;
+    private static int testsPassed = 0;
+
+    private static final String CLAVE = TicketMatchmaking.claveBucket("Valorant", "5v5", "SA");
+
+    public static void main(String[] args) {
+        System.out.println("====================================");
+        System.out.println(" TEST: EstimadorEspera");
+        System.out.println("====================================\n");
+
+        testRegimenEstable();
+        testSeAdaptaYSeparaBandas();
+        testConcurrenciaEIntegracionConCola();
+
+        System.out.println("\n====================================");
+        System.out.println(" RESUMEN DE TESTS");
+        System.out.println("====================================");
+        System.out.println("Tests ejecutados: " + testsRun);
+        System.out.println("Tests exitosos: " + testsPassed);
+        System.out.println("Tests fallidos: " + (testsRun - testsPassed));
+        System.out.println("Porcentaje de éxito: " +
+                         (testsRun > 0 ? (testsPassed * 100 / testsRun) : 0) + "%");
+
+        if (testsPassed == testsRun) {
+            System.out.println("\n✓ TODOS LOS TESTS PASARON");
+        } else {
+            System.out.println("\n✗ ALGUNOS TESTS FALLARON");
+        }
+    }
+
+    /**
+     * Test 1: esperas de 20 s ± 5 s → la mediana estimada queda cerca de 20 s
+     * y la tasa de llegadas refleja un jugador por segundo
+     */
+    private static void testRegimenEstable() {
+        testsRun++;
+        System.out.println("[TEST 1] Mediana estable y tasa de llegadas");
+
+        try {
+            EstimadorEspera estimador = new EstimadorEspera(5 * 60_000);
+            Random random = new Random(3);
+            long t = 0;
+            for (int i = 0; i < 3600; i++) {
+                t += 1000;
+                estimador.registrarLlegada(CLAVE, 1500, t);
+                estimador.registrarEmparejado(CLAVE, 1500, 15_000 + random.nextInt(10_001), t);
+            }
+            long mediana = estimador.estimarEspera(CLAVE, 1500, 10, t);
+            long p90 = estimador.estimarPercentil(CLAVE, 1500, 0.9, t);
+            double tasa = estimador.getTasaLlegadas(CLAVE, 1500, t);
+
+            if (mediana > 16_000 && mediana < 24_000 && p90 >= mediana && p90 < 30_000
+                    && tasa > 55 && tasa < 65) {
+                System.out.println("  - Mediana: " + mediana + " ms, p90: " + p90 + " ms, llegadas: " +
+                                   String.format("%.1f", tasa) + "/min");
+                System.out.println("  ✓ Test pasado: Estimación cercana a la espera real");
+                testsPassed++;
+            } else {
+                System.out.println("  ✗ Test falló: mediana=" + mediana + ", p90=" + p90 + ", tasa=" + tasa);
+            }
+        } catch (Exception e) {
+            System.out.println("  ✗ Test falló: " + e.getMessage());
+            e.printStackTrace();
+        }
+        System.out.println();
+    }
+
+    /**
+     * Test 2: las esperas bajan de 2 min a 5 s; tras varias vidas medias la
+     * estimación sigue al régimen nuevo. Otra banda sin emparejamientos estima
+     * por tasa de llegadas y una banda vacía devuelve -1.
+     */
+    private static void testSeAdaptaYSeparaBandas() {
+        testsRun++;
+        System.out.println("[TEST 2] Adaptación a cambios de carga y bandas separadas");
+
+        try {
+            EstimadorEspera estimador = new EstimadorEspera(60_000);
+            long t = 0;
+            for (int i = 0; i < 600; i++) {
+                t += 1000;
+                estimador.registrarEmparejado(CLAVE, 1500, 120_000, t);
+            }
+            long antes = estimador.estimarEspera(CLAVE, 1500, 10, t);
+            for (int i = 0; i < 600; i++) {
+                t += 1000;
+                estimador.registrarEmparejado(CLAVE, 1500, 5_000, t);
+            }
+            long despues = estimador.estimarEspera(CLAVE, 1500, 10, t);
+
+            // Banda de 2500: un jugador cada 10 s → faltan 9 para un 5v5 ≈ 90 s
+            long tAlto = 0;
+            for (int i = 0; i < 100; i++) {
+                tAlto += 10_000;
+                estimador.registrarLlegada(CLAVE, 2500, tAlto);
+            }
+            long porTasa = estimador.estimarEspera(CLAVE, 2500, 10, tAlto);
+            long vacia = estimador.estimarEspera(CLAVE, 400, 10, t);
+            long otroBucket = estimador.estimarEspera("Valorant|5v5|EU", 1500, 10, t);
+
+            if (antes > 90_000 && despues < 8_000 && porTasa > 70_000 && porTasa < 110_000
+                    && vacia == -1 && otroBucket == -1) {
+                System.out.println("  - Antes: " + antes + " ms, después: " + despues + " ms, por tasa: " + porTasa + " ms");
+                System.out.println("  ✓ Test pasado: Sigue el régimen nuevo y no mezcla bandas");
+                testsPassed++;
+            } else {
+                System.out.println("  ✗ Test falló: antes=" + antes + ", despues=" + despues +
+                                   ", porTasa=" + porTasa + ", vacia=" + vacia + ", otroBucket=" + otroBucket);
+            }
+        } catch (Exception e) {
+            System.out.println("  ✗ Test falló: " + e.getMessage());
+            e.printStackTrace();
+        }
+        System.out.println();
+    }
+
+    /**
+     * Test 3: 8 hilos registran 400.000 emparejamientos a la vez sin perder ninguno;
+     * después, la cola alimenta el estimador de su bucket al formar un lobby
+     */
+    private static void testConcurrenciaEIntegracionConCola() {
+        testsRun++;
+        System.out.println("[TEST 3] Eventos concurrentes e integración con MatchmakingQueue");
+
+        try {
+            // Vida media enorme y reloj fijo: sin decaimiento, el peso cuenta eventos exactos
+            EstimadorEspera estimador = new EstimadorEspera(Long.MAX_VALUE / 4);
+            ExecutorService hilos = Executors.newFixedThreadPool(8);
+            for (int h = 0; h < 8; h++) {
+                hilos.submit(() -> {
+                    for (int i = 0; i < 50_000; i++) {
+                        estimador.registrarEmparejado(CLAVE, 1500, 10_000, 0);
+                    }
+                });
+            }
+            hilos.shutdown();
+            hilos.awaitTermination(30, TimeUnit.SECONDS);
+            double muestras = estimador.getMuestras(CLAVE, 1500, 0);
+
+            AtomicLong reloj = new AtomicLong(0);
+            MatchmakingQueue cola = new MatchmakingQueue(new ByMMRStrategy(), reloj::get);
+            for (int i = 0; i < 10; i++) {
+                Usuario u = new Usuario(i, "Player" + i, "p" + i + "@test.com");
+                u.getRangoPorJuego().put("Valorant", 1400 + i * 10);
+                cola.encolar(u, "Valorant", "5v5", "SA", 1400 + i * 10, "Duelist");
+            }
+            long sinEmparejar = cola.estimarEspera("Valorant", "5v5", "SA", 1450);
+            reloj.set(30_000);
+            cola.procesarTick();
+            long estimada = cola.estimarEspera("Valorant", "5v5", "SA", 1450);
+
+            if (muestras == 400_000 && sinEmparejar > 0 && estimada > 20_000 && estimada <= 45_000) {
+                System.out.println("  - Muestras: " + (long) muestras + ", espera estimada en la cola: " + estimada + " ms");
+                System.out.println("  ✓ Test pasado: Sin eventos perdidos y cola conectada al estimador");
+                testsPassed++;
+            } else {
+                System.out.println("  ✗ Test falló: muestras=" + muestras + ", sinEmparejar=" + sinEmparejar +
+                                   ", estimada=" + estimada);
+            }
+        } catch (Exception e) {
+            System.out.println("  ✗ Test falló: " + e.getMessage());
+            e.printStackTrace();
+        }
+        System.out.println();
+    }
+}
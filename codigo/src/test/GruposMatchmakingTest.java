@@ -0,0 +1,292 @@
+package test;
+
+import models.*;
+import service.BalanceadorEquipos;
+import service.EmpaquetadorLobby;
+import service.MatchmakingQueue;
+import service.MotorScrims;
+import strategies.ByMMRStrategy;
+import java.util.*;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Test para los grupos premade en la cola de matchmaking
+ * Verifica que un grupo nunca se separa entre equipos, que el empaquetado
+ * encuentra una selección siempre que existe y el costo por lobby
+ */
+public class GruposMatchmakingTest {
+
+    private static int testsRun = 0;
+    private static int testsPassed = 0;
+
+    private static final String[] ROLES = {"Duelist", "Controller", "Initiator", "Sentinel"};
+
+    public static void main(String[] args) {
+        System.out.println("====================================");
+        System.out.println(" TEST: Grupos premade y empaquetado");
+        System.out.println("====================================\n");
+
+        testGruposNuncaSeSeparan();
+        testEmpaquetadoYBalanceExactos();
+        testRendimientoPorLobby();
+
+        System.out.println("\n====================================");
+        System.out.println(" RESUMEN DE TESTS");
+        System.out.println("====================================");
+        System.out.println("Tests ejecutados: " + testsRun);
+        System.out.println("Tests exitosos: " + testsPassed);
+        System.out.println("Tests fallidos: " + (testsRun - testsPassed));
+        System.out.println("Porcentaje de éxito: " +
+                         (testsRun > 0 ? (testsPassed * 100 / testsRun) : 0) + "%");
+
+        if (testsPassed == testsRun) {
+            System.out.println("\n✓ TODOS LOS TESTS PASARON");
+        } else {
+            System.out.println("\n✗ ALGUNOS TESTS FALLARON");
+        }
+    }
+
+    private static Usuario crearJugador(int id, int mmr) {
+        Usuario u = new Usuario(id, "Player" + id, "p" + id + "@test.com");
+        u.getRangoPorJuego().put("Valorant", mmr);
+        u.setRol(ROLES[id % ROLES.length]);
+        u.agregarRolPreferido(u.getRol());
+        return u;
+    }
+
+    /**
+     * Encola 'total' jugadores: cerca de la mitad en grupos de 2 a 5, el resto solos
+     *
+     * @return Grupos encolados
+     */
+    private static List<Grupo> poblarCola(MatchmakingQueue cola, int total, Random random) {
+        List<Grupo> grupos = new ArrayList<>();
+        int id = 0;
+        while (id < total) {
+            int mmr = 1000 + random.nextInt(1000);
+            if (random.nextBoolean() && total - id >= Grupo.MAX_MIEMBROS) {
+                int tamanio = Grupo.MIN_MIEMBROS + random.nextInt(Grupo.MAX_MIEMBROS - Grupo.MIN_MIEMBROS + 1);
+                Grupo grupo = new Grupo(crearJugador(id++, mmr));
+                for (int i = 1; i < tamanio; i++) {
+                    grupo.agregarMiembro(crearJugador(id++, mmr + random.nextInt(201) - 100));
+                }
+                cola.encolarGrupo(grupo, "Valorant", "5v5", "SA");
+                grupos.add(grupo);
+            } else {
+                Usuario u = crearJugador(id++, mmr);
+                cola.encolar(u, "Valorant", "5v5", "SA", mmr, u.getRol());
+            }
+        }
+        return grupos;
+    }
+
+    /**
+     * Test 1: 3.000 jugadores con la mitad en grupos; todos los lobbies que
+     * forma la cola tienen 10 jugadores y cada grupo entero en un solo equipo
+     */
+    private static void testGruposNuncaSeSeparan() {
+        testsRun++;
+        System.out.println("[TEST 1] Ningún grupo separado entre equipos");
+
+        try {
+            AtomicLong reloj = new AtomicLong(0);
+            MatchmakingQueue cola = new MatchmakingQueue(new ByMMRStrategy(), reloj::get);
+            MotorScrims motor = new MotorScrims(juego -> ROLES);
+            motor.conectar(cola);
+            List<Grupo> grupos = poblarCola(cola, 3_000, new Random(11));
+
+            for (int tick = 0; tick < 5; tick++) {
+                reloj.addAndGet(30_000);
+                cola.procesarTick();
+            }
+
+            int lobbies = 0;
+            int enLobby = 0;
+            int gruposEnLobby = 0;
+            boolean tamaniosOk = true;
+            boolean intactos = true;
+            Map<Usuario, Equipo> equipoDe = new HashMap<>();
+            for (SesionScrim sesion : motor.getActivas()) {
+                lobbies++;
+                enLobby += sesion.getJugadores().size();
+                tamaniosOk &= sesion.getJugadores().size() == 10
+                    && sesion.getEquipoAzul().getJugadores().size() == 5;
+                for (Equipo equipo : sesion.getEquipos()) {
+                    for (Usuario jugador : equipo.getJugadores()) equipoDe.put(jugador, equipo);
+                }
+            }
+            for (Grupo grupo : grupos) {
+                Equipo equipo = equipoDe.get(grupo.getLider());
+                if (equipo == null) continue;
+                gruposEnLobby++;
+                for (Usuario miembro : grupo.getMiembros()) {
+                    if (equipoDe.get(miembro) != equipo) intactos = false;
+                }
+            }
+
+            // Cancelar a un miembro saca al grupo entero
+            Grupo esperando = null;
+            for (Grupo grupo : grupos) {
+                if (cola.estaEnCola(grupo.getLider())) { esperando = grupo; break; }
+            }
+            boolean cancelaGrupo = esperando == null
+                || (cola.cancelar(esperando.getMiembros().get(1)) && !cola.estaEnCola(esperando.getLider()));
+
+            if (lobbies > 250 && tamaniosOk && intactos && gruposEnLobby > 100 && cancelaGrupo
+                    && enLobby + cola.getJugadoresEnCola() + (esperando != null ? esperando.getTamanio() : 0) == 3_000) {
+                System.out.println("  - Lobbies: " + lobbies + ", grupos jugando: " + gruposEnLobby +
+                                   ", en cola: " + cola.getJugadoresEnCola());
+                System.out.println("  ✓ Test pasado: Todos los grupos quedaron en un único equipo");
+                testsPassed++;
+            } else {
+                System.out.println("  ✗ Test falló: lobbies=" + lobbies + ", tamaniosOk=" + tamaniosOk +
+                                   ", intactos=" + intactos + ", gruposEnLobby=" + gruposEnLobby +
+                                   ", cancelaGrupo=" + cancelaGrupo + ", enLobby=" + enLobby +
+                                   ", enCola=" + cola.getJugadoresEnCola());
+            }
+        } catch (Exception e) {
+            System.out.println("  ✗ Test falló: " + e.getMessage());
+            e.printStackTrace();
+        }
+        System.out.println();
+    }
+
+    /**
+     * Test 2: el empaquetador coincide con la fuerza bruta en 5.000 vecindarios
+     * aleatorios (3+3+3+1 no entra en un 5v5), y el balanceador deja a un grupo
+     * de 5 como equipo completo
+     */
+    private static void testEmpaquetadoYBalanceExactos() {
+        testsRun++;
+        System.out.println("[TEST 2] Empaquetado contra fuerza bruta y balance con grupos");
+
+        try {
+            EmpaquetadorLobby empaquetador = new EmpaquetadorLobby();
+            boolean imposible = empaquetador.seleccionar(new int[]{3, 3, 3, 1}, 10) == null;
+            int[] posible = empaquetador.seleccionar(new int[]{3, 3, 3, 1, 2, 1}, 10);
+
+            Random random = new Random(5);
+            int discrepancias = 0;
+            int invalidas = 0;
+            for (int caso = 0; caso < 5_000; caso++) {
+                int[] tamanios = new int[2 + random.nextInt(11)];
+                for (int i = 0; i < tamanios.length; i++) {
+                    tamanios[i] = random.nextInt(3) == 0 ? 1 : 1 + random.nextInt(5);
+                }
+                int[] elegidos = empaquetador.seleccionar(tamanios, 10);
+                if ((elegidos != null) != existeSeleccion(tamanios, 10)) discrepancias++;
+                if (elegidos != null && !seleccionValida(tamanios, elegidos, 10)) invalidas++;
+            }
+
+            // Grupo de 5 con MMR alto: la única división posible lo deja solo en un equipo
+            List<Usuario> jugadores = new ArrayList<>();
+            for (int i = 0; i < 10; i++) {
+                jugadores.add(crearJugador(i, i < 5 ? 2000 : 1000 + i * 100));
+            }
+            Collections.shuffle(jugadores, random);
+            int[] grupoDe = new int[10];
+            for (int i = 0; i < 10; i++) grupoDe[i] = jugadores.get(i).getId() < 5 ? 7 : -1;
+            Equipo[] equipos = new BalanceadorEquipos().formarEquipos(jugadores, grupoDe, "Valorant", true);
+            boolean grupoJunto = false;
+            for (Equipo equipo : equipos) {
+                long delGrupo = equipo.getJugadores().stream().filter(u -> u.getId() < 5).count();
+                if (delGrupo == 5 && equipo.getJugadores().size() == 5) grupoJunto = true;
+            }
+
+            boolean rechaza = false;
+            try {
+                List<Usuario> tres = new ArrayList<>();
+                for (int i = 0; i < 10; i++) tres.add(crearJugador(100 + i, 1500));
+                new BalanceadorEquipos().formarEquipos(tres, new int[]{0, 0, 0, 1, 1, 1, 2, 2, 2, -1}, "Valorant", true);
+            } catch (IllegalArgumentException e) {
+                rechaza = true;
+            }
+
+            if (imposible && posible != null && seleccionValida(new int[]{3, 3, 3, 1, 2, 1}, posible, 10)
+                    && discrepancias == 0 && invalidas == 0 && grupoJunto && rechaza) {
+                System.out.println("  - {3,3,3,1,2,1} → " + Arrays.toString(posible) + ", 5.000 casos sin discrepancias");
+                System.out.println("  ✓ Test pasado: Empaquetado completo y grupos respetados al balancear");
+                testsPassed++;
+            } else {
+                System.out.println("  ✗ Test falló: imposible=" + imposible + ", posible=" + Arrays.toString(posible) +
+                                   ", discrepancias=" + discrepancias + ", invalidas=" + invalidas +
+                                   ", grupoJunto=" + grupoJunto + ", rechaza=" + rechaza);
+            }
+        } catch (Exception e) {
+            System.out.println("  ✗ Test falló: " + e.getMessage());
+            e.printStackTrace();
+        }
+        System.out.println();
+    }
+
+    /**
+     * Test 3: 40.000 jugadores mezclados en un bucket; un tick forma miles de
+     * lobbies en menos de 1 ms cada uno, y el peor vecindario para el
+     * empaquetador (40 tickets de 3 y 4, sin solución) también
+     */
+    private static void testRendimientoPorLobby() {
+        testsRun++;
+        System.out.println("[TEST 3] Costo por lobby con colas grandes");
+
+        try {
+            AtomicLong reloj = new AtomicLong(0);
+            MatchmakingQueue cola = new MatchmakingQueue(new ByMMRStrategy(), reloj::get);
+            poblarCola(cola, 40_000, new Random(23));
+            reloj.set(30_000);
+
+            long inicio = System.nanoTime();
+            int formados = cola.procesarTick();
+            double msPorLobby = (System.nanoTime() - inicio) / 1e6 / Math.max(1, formados);
+
+            EmpaquetadorLobby empaquetador = new EmpaquetadorLobby();
+            int[] adverso = new int[40];
+            for (int i = 0; i < adverso.length; i++) adverso[i] = 3 + (i % 2);
+            for (int i = 0; i < 1_000; i++) empaquetador.seleccionar(adverso, 10);   // Calentamiento
+            long inicioAdverso = System.nanoTime();
+            boolean sinSolucion = true;
+            for (int i = 0; i < 10_000; i++) {
+                sinSolucion &= empaquetador.seleccionar(adverso, 10) == null;
+            }
+            double msAdverso = (System.nanoTime() - inicioAdverso) / 1e6 / 10_000;
+
+            if (formados > 2_000 && msPorLobby < 1.0 && sinSolucion && msAdverso < 1.0) {
+                System.out.printf("  - %d lobbies, %.4f ms por lobby; peor vecindario: %.4f ms%n",
+                                  formados, msPorLobby, msAdverso);
+                System.out.println("  ✓ Test pasado: Formación por debajo del milisegundo");
+                testsPassed++;
+            } else {
+                System.out.printf("  ✗ Test falló: formados=%d, %.4f ms/lobby, sinSolucion=%b, adverso=%.4f ms%n",
+                                  formados, msPorLobby, sinSolucion, msAdverso);
+            }
+        } catch (Exception e) {
+            System.out.println("  ✗ Test falló: " + e.getMessage());
+            e.printStackTrace();
+        }
+        System.out.println();
+    }
+
+    // Fuerza bruta: algún subconjunto con el índice 0 suma 'cupos' y se reparte en dos mitades
+    private static boolean existeSeleccion(int[] tamanios, int cupos) {
+        int n = tamanios.length;
+        for (int mascara = 1; mascara < 1 << n; mascara += 2) {
+            int[] elegidos = new int[Integer.bitCount(mascara)];
+            int k = 0;
+            for (int i = 0; i < n; i++) if ((mascara >>> i & 1) == 1) elegidos[k++] = i;
+            if (seleccionValida(tamanios, elegidos, cupos)) return true;
+        }
+        return false;
+    }
+
+    private static boolean seleccionValida(int[] tamanios, int[] elegidos, int cupos) {
+        if (elegidos.length == 0 || elegidos[0] != 0) return false;
+        int total = 0;
+        for (int i : elegidos) total += tamanios[i];
+        if (total != cupos) return false;
+        for (int sub = 0; sub < 1 << elegidos.length; sub++) {
+            int azul = 0;
+            for (int j = 0; j < elegidos.length; j++) if ((sub >>> j & 1) == 1) azul += tamanios[elegidos[j]];
+            if (azul == cupos / 2) return true;
+        }
+        return false;
+    }
+}
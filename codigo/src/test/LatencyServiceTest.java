@@ -0,0 +1,199 @@
+package test;
+
+import models.*;
+import service.LatencyService;
+import service.SondaLatenciaLocal;
+import states.EstadoBuscandoJugadores;
+import strategies.ByLatencyStrategy;
+import java.util.*;
+
+/**
+ * Test para el servicio de latencias medidas
+ * Verifica media móvil, ingesta asíncrona, uso desde ByLatencyStrategy y
+ * que sin hilo de ingesta los reportes no se acumulan
+ */
+public class LatencyServiceTest {
+
+    private static int testsRun = 0;
+    private static int testsPassed = 0;
+
+    public static void main(String[] args) {
+        System.out.println("====================================");
+        System.out.println(" TEST: LatencyService");
+        System.out.println("====================================\n");
+
+        testMediaMovil();
+        testIngestaAsincrona();
+        testEstrategiaReproducible();
+        testSinIngestaNoAcumula();
+
+        System.out.println("\n====================================");
+        System.out.println(" RESUMEN DE TESTS");
+        System.out.println("====================================");
+        System.out.println("Tests ejecutados: " + testsRun);
+        System.out.println("Tests exitosos: " + testsPassed);
+        System.out.println("Tests fallidos: " + (testsRun - testsPassed));
+        System.out.println("Porcentaje de éxito: " +
+                         (testsRun > 0 ? (testsPassed * 100 / testsRun) : 0) + "%");
+
+        if (testsPassed == testsRun) {
+            System.out.println("\n✓ TODOS LOS TESTS PASARON");
+        } else {
+            System.out.println("\n✗ ALGUNOS TESTS FALLARON");
+        }
+    }
+
+    /**
+     * Test 1: la primera muestra fija el valor y las siguientes se promedian con alfa
+     */
+    private static void testMediaMovil() {
+        testsRun++;
+        System.out.println("[TEST 1] Media móvil exponencial por jugador y región");
+
+        try {
+            LatencyService servicio = new LatencyService(null, 0.5);
+            servicio.reportar(1, "SA", 40);
+            servicio.reportar(1, "SA", 80);     // 40 + 0.5 × (80 - 40) = 60
+            servicio.reportar(1, "NA", 150);
+            int antes = servicio.getLatencia(1, "SA");
+            servicio.procesarReportes();
+
+            if (antes == -1 && servicio.getLatencia(1, "SA") == 60
+                    && servicio.getLatencia(1, "NA") == 150 && servicio.getLatencia(2, "SA") == -1) {
+                System.out.println("  ✓ Test pasado: SA=60ms, NA=150ms, sin datos antes de la ingesta");
+                testsPassed++;
+            } else {
+                System.out.println("  ✗ Test falló: SA=" + servicio.getLatencia(1, "SA"));
+            }
+        } catch (Exception e) {
+            System.out.println("  ✗ Test falló: " + e.getMessage());
+            e.printStackTrace();
+        }
+        System.out.println();
+    }
+
+    /**
+     * Test 2: reportes desde varios hilos se consolidan en el hilo de ingesta
+     */
+    private static void testIngestaAsincrona() {
+        testsRun++;
+        System.out.println("[TEST 2] Reportes concurrentes + ingesta en segundo plano");
+
+        try {
+            LatencyService servicio = new LatencyService();
+            servicio.iniciar(10);
+            Thread[] hilos = new Thread[4];
+            for (int h = 0; h < hilos.length; h++) {
+                int base = h * 1000;
+                hilos[h] = new Thread(() -> {
+                    for (int i = 0; i < 1000; i++) servicio.reportar(base + i, "EU", 30);
+                });
+                hilos[h].start();
+            }
+            for (Thread hilo : hilos) hilo.join();
+
+            long limite = System.currentTimeMillis() + 5000;
+            while (servicio.getJugadoresMedidos() < 4000 && System.currentTimeMillis() < limite) {
+                Thread.sleep(10);
+            }
+            servicio.detener();
+
+            if (servicio.getJugadoresMedidos() == 4000 && servicio.getLatencia(3999, "EU") == 30) {
+                System.out.println("  ✓ Test pasado: 4000 jugadores medidos sin bloquear a los lectores");
+                testsPassed++;
+            } else {
+                System.out.println("  ✗ Test falló: medidos=" + servicio.getJugadoresMedidos());
+            }
+        } catch (Exception e) {
+            System.out.println("  ✗ Test falló: " + e.getMessage());
+            e.printStackTrace();
+        }
+        System.out.println();
+    }
+
+    /**
+     * Test 3: con la sonda local la estrategia descarta y ordena siempre igual
+     */
+    private static void testEstrategiaReproducible() {
+        testsRun++;
+        System.out.println("[TEST 3] ByLatencyStrategy con sonda local reproducible");
+
+        try {
+            List<Usuario> candidatos = new ArrayList<>();
+            String[] regiones = {"EU", "SA", "NA", "LAS"};
+            for (int i = 0; i < 4; i++) {
+                Usuario u = new Usuario(i, "Player" + i, "p" + i + "@test.com");
+                u.setRegion(regiones[i]);
+                candidatos.add(u);
+            }
+            Scrim scrim = new Scrim.Builder(new EstadoBuscandoJugadores())
+                .juego("Valorant").formato("5v5").region("SA").latenciaMax(100).build();
+
+            ByLatencyStrategy strategy = new ByLatencyStrategy(new LatencyService(new SondaLatenciaLocal()));
+            List<Usuario> primera = strategy.seleccionar(candidatos, scrim);
+            List<Usuario> segunda = strategy.seleccionar(candidatos, scrim);
+
+            // SA (misma región) primero, LAS (vecina) después; EU y NA superan 100ms
+            if (primera.equals(segunda) && primera.size() == 2
+                    && primera.get(0).getId() == 1 && primera.get(1).getId() == 3) {
+                System.out.println("  ✓ Test pasado: Seleccionados SA y LAS en orden de ping");
+                testsPassed++;
+            } else {
+                System.out.println("  ✗ Test falló: " + primera.size() + " seleccionados");
+            }
+        } catch (Exception e) {
+            System.out.println("  ✗ Test falló: " + e.getMessage());
+            e.printStackTrace();
+        }
+        System.out.println();
+    }
+
+    /**
+     * Test 4: sin iniciar la ingesta, 50 selecciones sobre 1.000 jugadores
+     * miden a cada uno una sola vez y no dejan reportes pendientes; la cola
+     * no pasa de MAX_PENDIENTES aunque nadie la consolide
+     */
+    private static void testSinIngestaNoAcumula() {
+        testsRun++;
+        System.out.println("[TEST 4] Sin hilo de ingesta los reportes no se acumulan");
+
+        try {
+            int[] mediciones = new int[1];
+            SondaLatenciaLocal local = new SondaLatenciaLocal();
+            LatencyService servicio = new LatencyService((usuario, region) -> {
+                mediciones[0]++;
+                return local.medir(usuario, region);
+            });
+            List<Usuario> candidatos = new ArrayList<>();
+            for (int i = 0; i < 1_000; i++) {
+                Usuario u = new Usuario(i, "Player" + i, "p" + i + "@test.com");
+                u.setRegion("SA");
+                candidatos.add(u);
+            }
+            Scrim scrim = new Scrim.Builder(new EstadoBuscandoJugadores())
+                .juego("Valorant").formato("5v5").region("SA").latenciaMax(1_000).build();
+            ByLatencyStrategy strategy = new ByLatencyStrategy(servicio);
+            for (int i = 0; i < 50; i++) strategy.seleccionar(candidatos, scrim);
+            boolean unaMedicion = mediciones[0] == 1_000 && servicio.getReportesPendientes() == 0;
+
+            LatencyService sinSonda = new LatencyService();
+            for (int i = 0; i < LatencyService.MAX_PENDIENTES + 100; i++) sinSonda.reportar(i % 5_000, "EU", 30);
+            boolean acotada = sinSonda.getReportesPendientes() < LatencyService.MAX_PENDIENTES
+                && sinSonda.getLatencia(4_999, "EU") == 30;
+
+            if (unaMedicion && acotada) {
+                System.out.println("  - 1000 mediciones en 50 selecciones, cola acotada en " +
+                                   sinSonda.getReportesPendientes() + " reportes");
+                System.out.println("  ✓ Test pasado: Cada jugador se mide una vez y la cola no crece sin límite");
+                testsPassed++;
+            } else {
+                System.out.println("  ✗ Test falló: mediciones=" + mediciones[0] + ", pendientes=" +
+                                   servicio.getReportesPendientes() + ", acotada=" + acotada);
+            }
+        } catch (Exception e) {
+            System.out.println("  ✗ Test falló: " + e.getMessage());
+            e.printStackTrace();
+        }
+        System.out.println();
+    }
+}
@@ -0,0 +1,200 @@
+package test;
+
+import context.ScrimContext;
+import models.*;
+import service.MatchHistoryService;
+import service.MotorScrims;
+import states.EstadoBuscandoJugadores;
+import strategies.ByHistoryStrategy;
+import java.util.*;
+
+/**
+ * Test para el historial compacto de partidas
+ * Verifica el ring buffer, el score de compatibilidad, ByHistoryStrategy y
+ * el registro automático de las partidas que finaliza el MotorScrims
+ */
+public class MatchHistoryServiceTest {
+
+    private static int testsRun = 0;
+    private static int testsPassed = 0;
+
+    public static void main(String[] args) {
+        System.out.println("====================================");
+        System.out.println(" TEST: MatchHistoryService");
+        System.out.println("====================================\n");
+
+        testRingBufferDesplazaPartidas();
+        testEstrategiaDescartaToxicos();
+        testMuchosJugadores();
+        testPartidasFinalizadasDelMotor();
+
+        System.out.println("\n====================================");
+        System.out.println(" RESUMEN DE TESTS");
+        System.out.println("====================================");
+        System.out.println("Tests ejecutados: " + testsRun);
+        System.out.println("Tests exitosos: " + testsPassed);
+        System.out.println("Tests fallidos: " + (testsRun - testsPassed));
+        System.out.println("Porcentaje de éxito: " +
+                         (testsRun > 0 ? (testsPassed * 100 / testsRun) : 0) + "%");
+
+        if (testsPassed == testsRun) {
+            System.out.println("\n✓ TODOS LOS TESTS PASARON");
+        } else {
+            System.out.println("\n✗ ALGUNOS TESTS FALLARON");
+        }
+    }
+
+    /**
+     * Test 1: solo cuentan las últimas N partidas
+     */
+    private static void testRingBufferDesplazaPartidas() {
+        testsRun++;
+        System.out.println("[TEST 1] Ring buffer de las últimas N partidas");
+
+        try {
+            MatchHistoryService historial = new MatchHistoryService(5);
+            // 5 derrotas con abandono y después 5 victorias limpias
+            for (int i = 0; i < 5; i++) historial.registrarResultado(7, false, 2, 10, 1, 3, true);
+            int scoreMalo = historial.getCompatibilidad(7);
+            for (int i = 0; i < 5; i++) historial.registrarResultado(7, true, 12, 4, 8, 0, false);
+            int scoreBueno = historial.getCompatibilidad(7);
+
+            if (historial.getPartidasRegistradas(7) == 5 && historial.getVictorias(7) == 5
+                    && scoreMalo == 0 && scoreBueno == 100
+                    && historial.getCompatibilidad(8) == MatchHistoryService.COMPATIBILIDAD_NEUTRA) {
+                System.out.println("  - Score antes: " + scoreMalo + ", después: " + scoreBueno);
+                System.out.println("  ✓ Test pasado: Las partidas viejas salieron de la ventana");
+                testsPassed++;
+            } else {
+                System.out.println("  ✗ Test falló: malo=" + scoreMalo + ", bueno=" + scoreBueno);
+            }
+        } catch (Exception e) {
+            System.out.println("  ✗ Test falló: " + e.getMessage());
+            e.printStackTrace();
+        }
+        System.out.println();
+    }
+
+    /**
+     * Test 2: ByHistoryStrategy descarta a quien abandona y ordena por score
+     */
+    private static void testEstrategiaDescartaToxicos() {
+        testsRun++;
+        System.out.println("[TEST 2] ByHistoryStrategy con historial real");
+
+        try {
+            MatchHistoryService historial = new MatchHistoryService();
+            historial.registrarResultado(1, false, 3, 8, 2, 4, true);    // abandona y lo reportan
+            historial.registrarResultado(2, true, 10, 5, 6, 0, false);   // buen historial
+            List<Usuario> candidatos = new ArrayList<>();
+            for (int i = 1; i <= 3; i++) {
+                candidatos.add(new Usuario(i, "Player" + i, "p" + i + "@test.com"));
+            }
+            Scrim scrim = new Scrim.Builder(new EstadoBuscandoJugadores())
+                .juego("Valorant").formato("5v5").build();
+
+            List<Usuario> elegidos = new ByHistoryStrategy(historial).seleccionar(candidatos, scrim);
+
+            // Player2 (bueno) primero, Player3 (sin datos, neutro) después, Player1 fuera
+            if (elegidos.size() == 2 && elegidos.get(0).getId() == 2 && elegidos.get(1).getId() == 3) {
+                System.out.println("  ✓ Test pasado: Player1 descartado, Player2 priorizado");
+                testsPassed++;
+            } else {
+                System.out.println("  ✗ Test falló: " + elegidos.size() + " seleccionados");
+            }
+        } catch (Exception e) {
+            System.out.println("  ✗ Test falló: " + e.getMessage());
+            e.printStackTrace();
+        }
+        System.out.println();
+    }
+
+    /**
+     * Test 3: cientos de miles de jugadores sin perder historiales
+     */
+    private static void testMuchosJugadores() {
+        testsRun++;
+        System.out.println("[TEST 3] 200.000 jugadores en arreglos primitivos");
+
+        try {
+            MatchHistoryService historial = new MatchHistoryService();
+            int jugadores = 200_000;
+            for (int partida = 0; partida < 3; partida++) {
+                for (int id = 0; id < jugadores; id++) {
+                    historial.registrarResultado(id * 7 - 50_000, id % 2 == 0, 5, 5, 5, 0, false);
+                }
+            }
+            boolean ok = historial.getJugadores() == jugadores;
+            for (int id = 0; id < jugadores && ok; id += 997) {
+                ok = historial.getPartidasRegistradas(id * 7 - 50_000) == 3
+                  && historial.getVictorias(id * 7 - 50_000) == (id % 2 == 0 ? 3 : 0);
+            }
+
+            if (ok) {
+                System.out.println("  ✓ Test pasado: " + jugadores + " jugadores con 3 partidas cada uno");
+                testsPassed++;
+            } else {
+                System.out.println("  ✗ Test falló: jugadores=" + historial.getJugadores());
+            }
+        } catch (Exception e) {
+            System.out.println("  ✗ Test falló: " + e.getMessage());
+            e.printStackTrace();
+        }
+        System.out.println();
+    }
+
+    /**
+     * Test 4: registrado como observer del motor, cada partida finalizada suma
+     * una entrada por jugador con la victoria del equipo que hizo más kills
+     */
+    private static void testPartidasFinalizadasDelMotor() {
+        testsRun++;
+        System.out.println("[TEST 4] Historial alimentado por el MotorScrims");
+
+        try {
+            String[] roles = {"Duelist", "Controller", "Initiator", "Sentinel"};
+            MotorScrims motor = new MotorScrims(juego -> roles);
+            MatchHistoryService historial = new MatchHistoryService();
+            motor.agregarObserver(historial);
+
+            List<Usuario> jugadores = new ArrayList<>();
+            Scrim scrim = new Scrim.Builder(new EstadoBuscandoJugadores())
+                .juego("Valorant").formato("5v5").rangoMin(0).rangoMax(3000).build();
+            ScrimContext context = new ScrimContext(scrim, scrim.getEstado());
+            for (int i = 1; i <= 10; i++) {
+                Usuario u = new Usuario(i, "Player" + i, "p" + i + "@test.com");
+                u.getRangoPorJuego().put("Valorant", 1000 + i * 10);
+                u.setRol(roles[i % roles.length]);
+                jugadores.add(u);
+                context.postular(u, u.getRol());
+            }
+
+            SesionScrim sesion = motor.formarLobby(scrim, context, jugadores);
+            for (Usuario u : sesion.getJugadores()) motor.confirmar(sesion, u, true);
+            List<Usuario> azul = sesion.getEquipoAzul().getJugadores();
+            List<Estadistica> estadisticas = new ArrayList<>();
+            for (Usuario u : sesion.getJugadores()) {
+                estadisticas.add(new Estadistica(u, scrim, azul.contains(u) ? 15 : 5, 8, 4));
+            }
+            motor.finalizar(sesion, estadisticas);
+
+            int registrados = 0;
+            int victoriasCorrectas = 0;
+            for (Usuario u : sesion.getJugadores()) {
+                if (historial.getPartidasRegistradas(u.getId()) == 1) registrados++;
+                if (historial.getVictorias(u.getId()) == (azul.contains(u) ? 1 : 0)) victoriasCorrectas++;
+            }
+
+            if (registrados == 10 && victoriasCorrectas == 10 && historial.getJugadores() == 10) {
+                System.out.println("  ✓ Test pasado: 10 partidas registradas, victoria para el equipo azul");
+                testsPassed++;
+            } else {
+                System.out.println("  ✗ Test falló: registrados=" + registrados + ", victoriasCorrectas=" + victoriasCorrectas);
+            }
+        } catch (Exception e) {
+            System.out.println("  ✗ Test falló: " + e.getMessage());
+            e.printStackTrace();
+        }
+        System.out.println();
+    }
+}
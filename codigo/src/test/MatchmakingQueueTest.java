@@ -0,0 +1,343 @@
+package test;
+
+import models.*;
+import service.CurvaExpansionMMR;
+import service.MatchmakingQueue;
+import strategies.ByMMRStrategy;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Test para el motor de colas de matchmaking
+ * Verifica formación de lobbies por bucket, ventana de MMR y cancelaciones
+ */
+public class MatchmakingQueueTest {
+
+    private static int testsRun = 0;
+    private static int testsPassed = 0;
+
+    public static void main(String[] args) {
+        System.out.println("====================================");
+        System.out.println(" TEST: MatchmakingQueue (cola continua)");
+        System.out.println("====================================\n");
+
+        testFormaLobbyCompleto();
+        testNoFormaLobbyIncompleto();
+        testRespetaVentanaMMR();
+        testBucketsIndependientes();
+        testCancelarYEncolarDosVeces();
+        testVentanaExpansiva();
+        testBucketsEnParalelo();
+        testMMRDelTicket();
+
+        System.out.println("\n====================================");
+        System.out.println(" RESUMEN DE TESTS");
+        System.out.println("====================================");
+        System.out.println("Tests ejecutados: " + testsRun);
+        System.out.println("Tests exitosos: " + testsPassed);
+        System.out.println("Tests fallidos: " + (testsRun - testsPassed));
+        System.out.println("Porcentaje de éxito: " +
+                         (testsRun > 0 ? (testsPassed * 100 / testsRun) : 0) + "%");
+
+        if (testsPassed == testsRun) {
+            System.out.println("\n✓ TODOS LOS TESTS PASARON");
+        } else {
+            System.out.println("\n✗ ALGUNOS TESTS FALLARON");
+        }
+    }
+
+    private static Usuario crearJugador(int id, String juego, int mmr) {
+        Usuario u = new Usuario(id, "Player" + id, "p" + id + "@test.com");
+        u.getRangoPorJuego().put(juego, mmr);
+        return u;
+    }
+
+    /**
+     * Test 1: 10 jugadores con MMR similar forman un lobby 5v5
+     */
+    private static void testFormaLobbyCompleto() {
+        testsRun++;
+        System.out.println("[TEST 1] 10 jugadores similares forman un lobby");
+
+        try {
+            MatchmakingQueue cola = new MatchmakingQueue(new ByMMRStrategy());
+            List<Scrim> lobbies = new ArrayList<>();
+            cola.agregarListener((lobby, tickets) -> lobbies.add(lobby));
+
+            for (int i = 0; i < 10; i++) {
+                cola.encolar(crearJugador(i, "Valorant", 1400 + i * 10), "Valorant", "5v5", "SA", 1400 + i * 10, "Duelist");
+            }
+            int formados = cola.procesarTick();
+
+            if (formados == 1 && lobbies.size() == 1
+                    && lobbies.get(0).getPostulaciones().size() == 10
+                    && cola.getJugadoresEnCola() == 0) {
+                System.out.println("  - Lobby formado: " + lobbies.get(0));
+                System.out.println("  ✓ Test pasado: Lobby completo con 10 postulaciones");
+                testsPassed++;
+            } else {
+                System.out.println("  ✗ Test falló: formados=" + formados + ", en cola=" + cola.getJugadoresEnCola());
+            }
+        } catch (Exception e) {
+            System.out.println("  ✗ Test falló: " + e.getMessage());
+            e.printStackTrace();
+        }
+        System.out.println();
+    }
+
+    /**
+     * Test 2: con menos jugadores que cupos no se forma lobby
+     */
+    private static void testNoFormaLobbyIncompleto() {
+        testsRun++;
+        System.out.println("[TEST 2] 9 jugadores no alcanzan para un 5v5");
+
+        try {
+            MatchmakingQueue cola = new MatchmakingQueue(new ByMMRStrategy());
+            for (int i = 0; i < 9; i++) {
+                cola.encolar(crearJugador(i, "Valorant", 1500), "Valorant", "5v5", "SA", 1500, "Duelist");
+            }
+            int formados = cola.procesarTick();
+
+            if (formados == 0 && cola.getJugadoresEnCola() == 9) {
+                System.out.println("  ✓ Test pasado: Los 9 jugadores siguen en cola");
+                testsPassed++;
+            } else {
+                System.out.println("  ✗ Test falló: formados=" + formados);
+            }
+        } catch (Exception e) {
+            System.out.println("  ✗ Test falló: " + e.getMessage());
+            e.printStackTrace();
+        }
+        System.out.println();
+    }
+
+    /**
+     * Test 3: jugadores fuera de la ventana de MMR no se mezclan
+     */
+    private static void testRespetaVentanaMMR() {
+        testsRun++;
+        System.out.println("[TEST 3] Ventana de MMR separa niveles distintos");
+
+        try {
+            MatchmakingQueue cola = new MatchmakingQueue(new ByMMRStrategy());
+            List<Scrim> lobbies = new ArrayList<>();
+            cola.agregarListener((lobby, tickets) -> lobbies.add(lobby));
+
+            // 5 jugadores en 500 y 5 en 2500: no deberían formar lobby juntos
+            for (int i = 0; i < 5; i++) {
+                cola.encolar(crearJugador(i, "Valorant", 500), "Valorant", "5v5", "SA", 500, "Duelist");
+                cola.encolar(crearJugador(i + 50, "Valorant", 2500), "Valorant", "5v5", "SA", 2500, "Duelist");
+            }
+            cola.procesarTick();
+
+            if (lobbies.isEmpty() && cola.getJugadoresEnCola() == 10) {
+                System.out.println("  ✓ Test pasado: No se formó lobby con MMR 500 vs 2500");
+                testsPassed++;
+            } else {
+                System.out.println("  ✗ Test falló: se formaron " + lobbies.size() + " lobbies");
+            }
+        } catch (Exception e) {
+            System.out.println("  ✗ Test falló: " + e.getMessage());
+            e.printStackTrace();
+        }
+        System.out.println();
+    }
+
+    /**
+     * Test 4: cada bucket (juego, formato, región) forma sus propios lobbies
+     */
+    private static void testBucketsIndependientes() {
+        testsRun++;
+        System.out.println("[TEST 4] Buckets por región independientes");
+
+        try {
+            MatchmakingQueue cola = new MatchmakingQueue(new ByMMRStrategy());
+            Set<String> regiones = new HashSet<>();
+            cola.agregarListener((lobby, tickets) -> {
+                for (TicketMatchmaking t : tickets) {
+                    if (!t.getRegion().equals(lobby.getRegion())) {
+                        throw new IllegalStateException("Ticket de otra región en el lobby");
+                    }
+                }
+                regiones.add(lobby.getRegion());
+            });
+
+            int id = 0;
+            for (String region : new String[]{"SA", "NA", "EU"}) {
+                for (int i = 0; i < 10; i++) {
+                    cola.encolar(crearJugador(id++, "League of Legends", 1200), "League of Legends", "5v5", region, 1200, "Mid");
+                }
+            }
+            int formados = cola.procesarTick();
+
+            if (formados == 3 && regiones.size() == 3) {
+                System.out.println("  - Lobbies formados en: " + regiones);
+                System.out.println("  ✓ Test pasado: Un lobby por región");
+                testsPassed++;
+            } else {
+                System.out.println("  ✗ Test falló: formados=" + formados + ", regiones=" + regiones);
+            }
+        } catch (Exception e) {
+            System.out.println("  ✗ Test falló: " + e.getMessage());
+            e.printStackTrace();
+        }
+        System.out.println();
+    }
+
+    /**
+     * Test 5: un jugador cancelado no entra a lobbies y no puede encolarse dos veces
+     */
+    private static void testCancelarYEncolarDosVeces() {
+        testsRun++;
+        System.out.println("[TEST 5] Cancelación y encolado duplicado");
+
+        try {
+            MatchmakingQueue cola = new MatchmakingQueue(new ByMMRStrategy());
+            Usuario cancelado = crearJugador(99, "Valorant", 1500);
+            cola.encolar(cancelado, "Valorant", "5v5", "SA", 1500, "Duelist");
+
+            boolean duplicadoRechazado = false;
+            try {
+                cola.encolar(cancelado, "Valorant", "5v5", "SA", 1500, "Duelist");
+            } catch (IllegalStateException e) {
+                duplicadoRechazado = true;
+            }
+
+            boolean canceloOk = cola.cancelar(cancelado);
+            for (int i = 0; i < 9; i++) {
+                cola.encolar(crearJugador(i, "Valorant", 1500), "Valorant", "5v5", "SA", 1500, "Duelist");
+            }
+            int formados = cola.procesarTick();
+
+            if (duplicadoRechazado && canceloOk && formados == 0 && !cola.estaEnCola(cancelado)) {
+                System.out.println("  ✓ Test pasado: Cancelado fuera de la cola y duplicado rechazado");
+                testsPassed++;
+            } else {
+                System.out.println("  ✗ Test falló: duplicado=" + duplicadoRechazado +
+                                 ", cancelado=" + canceloOk + ", formados=" + formados);
+            }
+        } catch (Exception e) {
+            System.out.println("  ✗ Test falló: " + e.getMessage());
+            e.printStackTrace();
+        }
+        System.out.println();
+    }
+
+    /**
+     * Test 6: la ventana crece con la espera y permite emparejar extremos
+     */
+    private static void testVentanaExpansiva() {
+        testsRun++;
+        System.out.println("[TEST 6] Ventana de MMR expansiva por tiempo de espera");
+
+        try {
+            long[] ahora = {0};
+            MatchmakingQueue cola = new MatchmakingQueue(new ByMMRStrategy(), () -> ahora[0]);
+            // ±100, +100 cada 10s, hasta ±400
+            cola.setCurvaExpansion(CurvaExpansionMMR.lineal(100, 100, 10_000, 400));
+
+            for (int i = 0; i < 5; i++) {
+                cola.encolar(crearJugador(i, "Valorant", 1000), "Valorant", "5v5", "SA", 1000, "Duelist");
+                cola.encolar(crearJugador(i + 50, "Valorant", 1300), "Valorant", "5v5", "SA", 1300, "Duelist");
+            }
+
+            int t0 = cola.procesarTick();           // ±100: no alcanza
+            ahora[0] = 10_000;
+            int t10 = cola.procesarTick();          // ±200: no alcanza
+            ahora[0] = 20_000;
+            int t20 = cola.procesarTick();          // ±300: 1000 y 1300 se aceptan
+
+            if (t0 == 0 && t10 == 0 && t20 == 1 && cola.getJugadoresEnCola() == 0) {
+                System.out.println("  - Lobby formado a los 20s con ventana ±300");
+                System.out.println("  ✓ Test pasado: La ventana se expandió según la curva");
+                testsPassed++;
+            } else {
+                System.out.println("  ✗ Test falló: t0=" + t0 + ", t10=" + t10 + ", t20=" + t20);
+            }
+        } catch (Exception e) {
+            System.out.println("  ✗ Test falló: " + e.getMessage());
+            e.printStackTrace();
+        }
+        System.out.println();
+    }
+
+    /**
+     * Test 7: 64 buckets en paralelo sin jugadores repetidos entre lobbies
+     */
+    private static void testBucketsEnParalelo() {
+        testsRun++;
+        System.out.println("[TEST 7] Buckets procesados en paralelo (ForkJoinPool)");
+
+        try {
+            MatchmakingQueue cola = new MatchmakingQueue(new ByMMRStrategy());
+            cola.setParalelismo(8);
+            Set<Integer> ubicados = ConcurrentHashMap.newKeySet();
+            AtomicInteger repetidos = new AtomicInteger();
+            cola.agregarListener((lobby, tickets) -> {
+                for (TicketMatchmaking t : tickets) {
+                    if (!ubicados.add(t.getUsuario().getId())) repetidos.incrementAndGet();
+                }
+            });
+
+            int id = 0;
+            for (int b = 0; b < 64; b++) {
+                String region = "R" + b;
+                for (int i = 0; i < 20; i++) {
+                    cola.encolar(crearJugador(id++, "Valorant", 1500 + i), "Valorant", "5v5", region, 1500 + i, "Duelist");
+                }
+            }
+            int formados = cola.procesarTick();
+            cola.detener();
+
+            if (formados == 128 && repetidos.get() == 0 && ubicados.size() == 1280 && cola.getJugadoresEnCola() == 0) {
+                System.out.println("  - " + formados + " lobbies en 64 buckets");
+                System.out.println("  ✓ Test pasado: Ningún jugador quedó en dos lobbies");
+                testsPassed++;
+            } else {
+                System.out.println("  ✗ Test falló: formados=" + formados + ", repetidos=" + repetidos.get());
+            }
+        } catch (Exception e) {
+            System.out.println("  ✗ Test falló: " + e.getMessage());
+            e.printStackTrace();
+        }
+        System.out.println();
+    }
+
+    /**
+     * Test 8: el MMR explícito del ticket manda sobre el del perfil.
+     * Perfiles sin rango o con un rango lejano igual forman lobby con el MMR encolado
+     */
+    private static void testMMRDelTicket() {
+        testsRun++;
+        System.out.println("[TEST 8] La selección usa el MMR del ticket, no el del perfil");
+
+        try {
+            MatchmakingQueue cola = new MatchmakingQueue(new ByMMRStrategy());
+            List<Scrim> lobbies = new ArrayList<>();
+            cola.agregarListener((lobby, tickets) -> lobbies.add(lobby));
+
+            for (int i = 0; i < 10; i++) {
+                Usuario u = i % 2 == 0
+                    ? new Usuario(i, "Player" + i, "p" + i + "@test.com")   // Sin rango en el perfil
+                    : crearJugador(i, "Valorant", 3000);                     // Perfil lejos del ticket
+                cola.encolar(u, "Valorant", "5v5", "SA", 1200 + i * 5, "Duelist");
+            }
+            int formados = cola.procesarTick();
+
+            if (formados == 1 && lobbies.size() == 1
+                    && lobbies.get(0).getPostulaciones().size() == 10
+                    && cola.getJugadoresEnCola() == 0) {
+                System.out.println("  ✓ Test pasado: Lobby formado con el MMR encolado");
+                testsPassed++;
+            } else {
+                System.out.println("  ✗ Test falló: formados=" + formados + ", en cola=" + cola.getJugadoresEnCola());
+            }
+        } catch (Exception e) {
+            System.out.println("  ✗ Test falló: " + e.getMessage());
+            e.printStackTrace();
+        }
+        System.out.println();
+    }
+}
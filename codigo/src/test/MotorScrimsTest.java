@@ -0,0 +1,216 @@
+package test;
+
+import context.ScrimContext;
+import interfaces.IScrimObserver;
+import models.*;
+import service.MotorScrims;
+import states.*;
+import java.util.*;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Test para el motor headless del ciclo de vida de partidas
+ * Verifica el flujo completo por eventos, la cancelación con sanción
+ * y miles de partidas concurrentes en un mismo motor
+ */
+public class MotorScrimsTest {
+
+    private static int testsRun = 0;
+    private static int testsPassed = 0;
+
+    private static final String[] ROLES = {"Duelist", "Controller", "Initiator", "Sentinel"};
+
+    public static void main(String[] args) {
+        System.out.println("====================================");
+        System.out.println(" TEST: MotorScrims (headless)");
+        System.out.println("====================================\n");
+
+        testCicloCompleto();
+        testRechazoCancelaYSanciona();
+        testPartidasConcurrentes();
+
+        System.out.println("\n====================================");
+        System.out.println(" RESUMEN DE TESTS");
+        System.out.println("====================================");
+        System.out.println("Tests ejecutados: " + testsRun);
+        System.out.println("Tests exitosos: " + testsPassed);
+        System.out.println("Tests fallidos: " + (testsRun - testsPassed));
+        System.out.println("Porcentaje de éxito: " +
+                         (testsRun > 0 ? (testsPassed * 100 / testsRun) : 0) + "%");
+
+        if (testsPassed == testsRun) {
+            System.out.println("\n✓ TODOS LOS TESTS PASARON");
+        } else {
+            System.out.println("\n✗ ALGUNOS TESTS FALLARON");
+        }
+    }
+
+    private static SesionScrim crearPartida(MotorScrims motor, int base) {
+        Scrim scrim = new Scrim.Builder(new EstadoBuscandoJugadores())
+            .juego("Valorant").formato("5v5").rangoMin(800).rangoMax(1600).build();
+        ScrimContext context = new ScrimContext(scrim, scrim.getEstado());
+        List<Usuario> jugadores = new ArrayList<>();
+        for (int i = 0; i < 10; i++) {
+            Usuario u = new Usuario(base + i, "Player" + (base + i), "p" + (base + i) + "@test.com");
+            u.getRangoPorJuego().put("Valorant", 1000 + i * 50);
+            u.setRol(ROLES[i % ROLES.length]);
+            u.agregarRolPreferido(ROLES[i % ROLES.length]);
+            context.postular(u, u.getRol());
+            jugadores.add(u);
+        }
+        return motor.formarLobby(scrim, context, jugadores);
+    }
+
+    /**
+     * Test 1: lobby → confirmaciones → en juego → finalizado, sin consola ni esperas
+     */
+    private static void testCicloCompleto() {
+        testsRun++;
+        System.out.println("[TEST 1] Ciclo completo dirigido por eventos");
+
+        try {
+            MotorScrims motor = new MotorScrims(juego -> ROLES);
+            List<String> estados = new ArrayList<>();
+            motor.agregarObserver(new IScrimObserver() {
+                @Override
+                public void onEstadoCambiado(SesionScrim sesion, String anterior, String nuevo) {
+                    estados.add(nuevo);
+                }
+            });
+
+            SesionScrim sesion = crearPartida(motor, 1);
+            boolean enLobby = sesion.getScrim().getEstado() instanceof EstadoLobbyCompleto;
+            for (Usuario jugador : sesion.getJugadores()) {
+                motor.confirmar(sesion, jugador, true);
+            }
+            boolean enJuego = sesion.getScrim().getEstado() instanceof EstadoEnJuego;
+            motor.finalizar(sesion, MotorScrims.generarEstadisticas(sesion.getJugadores(),
+                                                                    sesion.getScrim(), new Random(1)));
+
+            List<String> esperados = Arrays.asList("EstadoLobbyCompleto", "EstadoConfirmado",
+                                                   "EstadoEnJuego", "EstadoFinalizado");
+            if (enLobby && enJuego && sesion.isFinalizada() && estados.equals(esperados)
+                    && sesion.getEstadisticas().size() == 10 && motor.getCantidadActivas() == 0
+                    && sesion.getEquipoAzul().getJugadores().size() == 5) {
+                System.out.println("  - Estados: " + estados);
+                System.out.println("  ✓ Test pasado: Ciclo completo sin ConsoleView");
+                testsPassed++;
+            } else {
+                System.out.println("  ✗ Test falló: estados=" + estados + ", activas=" + motor.getCantidadActivas());
+            }
+        } catch (Exception e) {
+            System.out.println("  ✗ Test falló: " + e.getMessage());
+            e.printStackTrace();
+        }
+        System.out.println();
+    }
+
+    /**
+     * Test 2: un rechazo sanciona al jugador y cancela la partida
+     */
+    private static void testRechazoCancelaYSanciona() {
+        testsRun++;
+        System.out.println("[TEST 2] Rechazo cancela la partida y sanciona");
+
+        try {
+            MotorScrims motor = new MotorScrims(juego -> ROLES);
+            AtomicInteger canceladas = new AtomicInteger();
+            motor.agregarObserver(new IScrimObserver() {
+                @Override
+                public void onPartidaCancelada(SesionScrim sesion, Usuario responsable, String motivo) {
+                    if (MotorScrims.MOTIVO_RECHAZO.equals(motivo)) canceladas.incrementAndGet();
+                }
+            });
+
+            SesionScrim sesion = crearPartida(motor, 100);
+            Usuario rechaza = sesion.getJugadores().get(3);
+            motor.confirmar(sesion, sesion.getJugadores().get(0), true);
+            motor.confirmar(sesion, rechaza, false);
+            boolean ignorada = !motor.confirmar(sesion, sesion.getJugadores().get(5), true);
+
+            boolean finalizarFalla = false;
+            try {
+                motor.finalizar(sesion, new ArrayList<>());
+            } catch (IllegalStateException e) {
+                finalizarFalla = true;
+            }
+
+            if (sesion.isCancelada() && rechaza.getSancionesActivas() == 1 && canceladas.get() == 1
+                    && ignorada && finalizarFalla && motor.getCantidadActivas() == 0) {
+                System.out.println("  ✓ Test pasado: Cancelada, 1 sanción, eventos posteriores ignorados");
+                testsPassed++;
+            } else {
+                System.out.println("  ✗ Test falló: estado=" + sesion.getNombreEstado() +
+                                   ", sanciones=" + rechaza.getSancionesActivas());
+            }
+        } catch (Exception e) {
+            System.out.println("  ✗ Test falló: " + e.getMessage());
+            e.printStackTrace();
+        }
+        System.out.println();
+    }
+
+    /**
+     * Test 3: 2000 partidas concurrentes sobre un mismo motor, confirmaciones desde varios hilos
+     */
+    private static void testPartidasConcurrentes() {
+        testsRun++;
+        System.out.println("[TEST 3] 2000 partidas concurrentes en un motor");
+
+        try {
+            MotorScrims motor = new MotorScrims(juego -> ROLES);
+            AtomicInteger finalizadas = new AtomicInteger();
+            motor.agregarObserver(new IScrimObserver() {
+                @Override
+                public void onPartidaFinalizada(SesionScrim sesion) {
+                    finalizadas.incrementAndGet();
+                }
+            });
+
+            java.io.PrintStream salida = System.out;
+            System.setOut(new java.io.PrintStream(java.io.OutputStream.nullOutputStream()));
+            List<SesionScrim> sesiones = new ArrayList<>();
+            try {
+                for (int p = 0; p < 2000; p++) {
+                    sesiones.add(crearPartida(motor, 1000 + p * 10));
+                }
+                int enCurso = motor.getCantidadActivas();
+
+                // Cada jugador confirma desde un hilo distinto al de sus compañeros
+                ExecutorService hilos = Executors.newFixedThreadPool(8);
+                for (SesionScrim sesion : sesiones) {
+                    for (Usuario jugador : sesion.getJugadores()) {
+                        hilos.submit(() -> {
+                            motor.confirmar(sesion, jugador, true);
+                            synchronized (sesion) {
+                                if (sesion.getScrim().getEstado() instanceof EstadoEnJuego) {
+                                    motor.finalizar(sesion, new ArrayList<>());
+                                }
+                            }
+                        });
+                    }
+                }
+                hilos.shutdown();
+                hilos.awaitTermination(30, TimeUnit.SECONDS);
+                System.setOut(salida);
+
+                if (enCurso == 2000 && finalizadas.get() == 2000 && motor.getCantidadActivas() == 0) {
+                    System.out.println("  - Finalizadas: " + finalizadas.get());
+                    System.out.println("  ✓ Test pasado: Todas las partidas completaron su ciclo una vez");
+                    testsPassed++;
+                } else {
+                    System.out.println("  ✗ Test falló: enCurso=" + enCurso + ", finalizadas=" + finalizadas.get());
+                }
+            } finally {
+                System.setOut(salida);
+            }
+        } catch (Exception e) {
+            System.out.println("  ✗ Test falló: " + e.getMessage());
+            e.printStackTrace();
+        }
+        System.out.println();
+    }
+}
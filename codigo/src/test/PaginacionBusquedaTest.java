@@ -0,0 +1,252 @@
+package test;
+
+import models.*;
+import service.SalaManager;
+import service.ScrimSearchService;
+import states.EstadoBuscandoJugadores;
+import java.util.*;
+import java.util.stream.Collectors;
+
+/**
+ * Test para la búsqueda paginada y por Stream
+ * Verifica que recorrer las páginas con el cursor entrega cada scrim que
+ * sigue registrado exactamente una vez aunque haya altas y bajas en el medio,
+ * que pedir 20 resultados no recorre todo el catálogo y la paginación de
+ * SalaManager
+ */
+public class PaginacionBusquedaTest {
+
+    private static int testsRun = 0;
+    private static int testsPassed = 0;
+
+    private static final String[] JUEGOS = {"Valorant", "League of Legends", "CS:GO"};
+    private static final String[] FORMATOS = {"5v5", "3v3", "1v1"};
+    private static final String[] REGIONES = {"SA", "NA", "EU", "LAS"};
+
+    public static void main(String[] args) {
+        System.out.println("====================================");
+        System.out.println(" TEST: Búsqueda paginada");
+        System.out.println("====================================\n");
+
+        testCursorEstableConAltasYBajas();
+        testCostoPorPagina();
+        testPaginacionSalaManager();
+
+        System.out.println("\n====================================");
+        System.out.println(" RESUMEN DE TESTS");
+        System.out.println("====================================");
+        System.out.println("Tests ejecutados: " + testsRun);
+        System.out.println("Tests exitosos: " + testsPassed);
+        System.out.println("Tests fallidos: " + (testsRun - testsPassed));
+        System.out.println("Porcentaje de éxito: " +
+                         (testsRun > 0 ? (testsPassed * 100 / testsRun) : 0) + "%");
+
+        if (testsPassed == testsRun) {
+            System.out.println("\n✓ TODOS LOS TESTS PASARON");
+        } else {
+            System.out.println("\n✗ ALGUNOS TESTS FALLARON");
+        }
+    }
+
+    private static Scrim crearScrim(Random random) {
+        int min = random.nextInt(2400);
+        return new Scrim.Builder(new EstadoBuscandoJugadores())
+            .juego(JUEGOS[random.nextInt(JUEGOS.length)])
+            .formato(FORMATOS[random.nextInt(FORMATOS.length)])
+            .region(REGIONES[random.nextInt(REGIONES.length)])
+            .rangoMin(min).rangoMax(min + 200 + random.nextInt(600))
+            .build();
+    }
+
+    /**
+     * Test 1: sin cambios, las páginas concatenadas son buscarScrims; con bajas
+     * y altas entre página y página, los scrims que estuvieron siempre
+     * aparecen una sola vez y ninguno eliminado antes de su página aparece
+     */
+    private static void testCursorEstableConAltasYBajas() {
+        testsRun++;
+        System.out.println("[TEST 1] Cursor estable con altas y bajas entre páginas");
+
+        try {
+            Random random = new Random(43);
+            ScrimSearchService busqueda = new ScrimSearchService();
+            List<Scrim> registrados = new ArrayList<>();
+            for (int i = 0; i < 3_000; i++) {
+                Scrim scrim = crearScrim(random);
+                registrados.add(scrim);
+                busqueda.registrarScrim(scrim);
+            }
+
+            List<Scrim> paginado = new ArrayList<>();
+            String cursor = null;
+            do {
+                Pagina<Scrim> pagina = busqueda.buscarScrimsPaginado("Valorant", null, "Silver", null, null, cursor, 20);
+                paginado.addAll(pagina.getElementos());
+                cursor = pagina.getSiguienteCursor();
+            } while (cursor != null);
+            boolean igualSinCambios = paginado.equals(busqueda.buscarScrims("Valorant", null, "Silver", null, null));
+
+            Set<UUID> eliminados = new HashSet<>();
+            Set<UUID> agregados = new HashSet<>();
+            Map<UUID, Integer> vistos = new HashMap<>();
+            int paginas = 0;
+            int yaEliminados = 0;
+            cursor = null;
+            do {
+                Pagina<Scrim> pagina = busqueda.buscarScrimsPaginado("valorant", null, null, null, null, cursor, 25);
+                for (Scrim scrim : pagina.getElementos()) {
+                    vistos.merge(scrim.getId(), 1, Integer::sum);
+                    if (eliminados.contains(scrim.getId())) yaEliminados++;
+                }
+                cursor = pagina.getSiguienteCursor();
+                paginas++;
+                for (int i = 0; i < 10; i++) {
+                    Scrim sale = registrados.remove(random.nextInt(registrados.size()));
+                    busqueda.eliminarScrim(sale);
+                    eliminados.add(sale.getId());
+                    Scrim entra = crearScrim(random);
+                    registrados.add(entra);
+                    busqueda.registrarScrim(entra);
+                    agregados.add(entra.getId());
+                }
+            } while (cursor != null);
+
+            int faltantes = 0;
+            for (Scrim scrim : registrados) {
+                if (scrim.getJuego().equals("Valorant") && !agregados.contains(scrim.getId())
+                        && !vistos.containsKey(scrim.getId())) faltantes++;
+            }
+            boolean sinRepetidos = vistos.values().stream().allMatch(v -> v == 1);
+            boolean cursorInvalido = false;
+            try {
+                busqueda.buscarScrimsPaginado(null, null, null, null, null, "abc", 10);
+            } catch (IllegalArgumentException e) {
+                cursorInvalido = true;
+            }
+
+            if (igualSinCambios && faltantes == 0 && sinRepetidos && yaEliminados == 0 && cursorInvalido) {
+                System.out.println("  - " + paginas + " páginas con 10 bajas y 10 altas entre cada una");
+                System.out.println("  ✓ Test pasado: Ningún scrim repetido ni salteado");
+                testsPassed++;
+            } else {
+                System.out.println("  ✗ Test falló: igualSinCambios=" + igualSinCambios + ", faltantes=" + faltantes +
+                                   ", sinRepetidos=" + sinRepetidos + ", yaEliminados=" + yaEliminados + ", cursorInvalido=" + cursorInvalido);
+            }
+        } catch (Exception e) {
+            System.out.println("  ✗ Test falló: " + e.getMessage());
+            e.printStackTrace();
+        }
+        System.out.println();
+    }
+
+    /**
+     * Test 2: con 300.000 scrims, la primera página de 20 y un Stream con
+     * limit(20) cuestan una fracción de materializar el resultado completo
+     */
+    private static void testCostoPorPagina() {
+        testsRun++;
+        System.out.println("[TEST 2] Costo de una página con 300.000 scrims");
+
+        try {
+            Random random = new Random(47);
+            ScrimSearchService busqueda = new ScrimSearchService();
+            for (int i = 0; i < 300_000; i++) {
+                busqueda.registrarScrim(crearScrim(random));
+            }
+
+            // Calentamiento
+            for (int i = 0; i < 200; i++) {
+                busqueda.buscarScrimsPaginado("CS:GO", "5v5", null, null, null, null, 20);
+                busqueda.streamScrims("CS:GO", "5v5", null, null, null).limit(20).count();
+            }
+
+            long inicio = System.nanoTime();
+            int enPaginas = 0;
+            int enStream = 0;
+            for (int i = 0; i < 100; i++) {
+                enPaginas += busqueda.buscarScrimsPaginado("CS:GO", "5v5", null, null, null, null, 20).getTamanio();
+                enStream += busqueda.streamScrims("cs:go", "5V5", null, null, null).limit(20)
+                    .collect(Collectors.toList()).size();
+            }
+            double usPagina = (System.nanoTime() - inicio) / 1e3 / 200;
+
+            inicio = System.nanoTime();
+            int completo = 0;
+            for (int i = 0; i < 5; i++) {
+                // Materializar todo el resultado (sin pasar por la caché de buscarScrims)
+                completo = busqueda.streamScrims("CS:GO", "5v5", null, null, null)
+                    .collect(Collectors.toList()).size();
+            }
+            double usCompleto = (System.nanoTime() - inicio) / 1e3 / 5;
+
+            if (enPaginas == 2_000 && enStream == 2_000 && completo > 20_000 && usPagina * 50 < usCompleto) {
+                System.out.printf("  - Página de 20: %.1f µs, resultado completo (%d): %.0f µs%n",
+                                  usPagina, completo, usCompleto);
+                System.out.println("  ✓ Test pasado: El costo depende del tamaño de página");
+                testsPassed++;
+            } else {
+                System.out.printf("  ✗ Test falló: enPaginas=%d, enStream=%d, completo=%d, %.1f µs vs %.0f µs%n",
+                                  enPaginas, enStream, completo, usPagina, usCompleto);
+            }
+        } catch (Exception e) {
+            System.out.println("  ✗ Test falló: " + e.getMessage());
+            e.printStackTrace();
+        }
+        System.out.println();
+    }
+
+    /**
+     * Test 3: SalaManager pagina en orden de alta; eliminar salas ya
+     * entregadas no corre el cursor y las salas nuevas aparecen al final
+     */
+    private static void testPaginacionSalaManager() {
+        testsRun++;
+        System.out.println("[TEST 3] Paginación de SalaManager");
+
+        try {
+            Random random = new Random(53);
+            SalaManager manager = SalaManager.getInstance();
+            List<Scrim> propias = new ArrayList<>();
+            for (int i = 0; i < 95; i++) {
+                Scrim sala = crearScrim(random);
+                propias.add(sala);
+                manager.agregarSala(sala);
+            }
+            List<Scrim> esperado = manager.getSalasDisponibles();
+
+            Pagina<Scrim> primera = manager.getSalasDisponibles(null, 30);
+            for (Scrim sala : primera.getElementos()) {
+                if (propias.contains(sala)) manager.eliminarSala(sala);
+            }
+            Scrim nueva = crearScrim(random);
+            manager.agregarSala(nueva);
+
+            List<Scrim> recorridas = new ArrayList<>(primera.getElementos());
+            String cursor = primera.getSiguienteCursor();
+            while (cursor != null) {
+                Pagina<Scrim> pagina = manager.getSalasDisponibles(cursor, 30);
+                recorridas.addAll(pagina.getElementos());
+                cursor = pagina.getSiguienteCursor();
+            }
+            List<Scrim> conNueva = new ArrayList<>(esperado);
+            conNueva.add(nueva);
+            boolean ordenDeAlta = recorridas.equals(conNueva);
+            boolean stream = manager.streamSalasDisponibles().limit(5).count() == 5;
+
+            propias.forEach(manager::eliminarSala);
+            manager.eliminarSala(nueva);
+
+            if (ordenDeAlta && stream && primera.getTamanio() == 30) {
+                System.out.println("  - " + recorridas.size() + " salas recorridas en páginas de 30");
+                System.out.println("  ✓ Test pasado: Cursor por secuencia de alta");
+                testsPassed++;
+            } else {
+                System.out.println("  ✗ Test falló: ordenDeAlta=" + ordenDeAlta + ", stream=" + stream);
+            }
+        } catch (Exception e) {
+            System.out.println("  ✗ Test falló: " + e.getMessage());
+            e.printStackTrace();
+        }
+        System.out.println();
+    }
+}
@@ -0,0 +1,161 @@
+package test;
+
+import models.*;
+import service.PoolCandidatos;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Test para el pool concurrente de candidatos
+ * Verifica reclamo todo-o-nada, orden por cercanía y ausencia de doble reclamo
+ */
+public class PoolCandidatosTest {
+
+    private static int testsRun = 0;
+    private static int testsPassed = 0;
+
+    public static void main(String[] args) {
+        System.out.println("====================================");
+        System.out.println(" TEST: PoolCandidatos (lock-free)");
+        System.out.println("====================================\n");
+
+        testReclamoTodoONada();
+        testReclamarCercanos();
+        testConcurrenciaSinDobleReclamo();
+
+        System.out.println("\n====================================");
+        System.out.println(" RESUMEN DE TESTS");
+        System.out.println("====================================");
+        System.out.println("Tests ejecutados: " + testsRun);
+        System.out.println("Tests exitosos: " + testsPassed);
+        System.out.println("Tests fallidos: " + (testsRun - testsPassed));
+        System.out.println("Porcentaje de éxito: " +
+                         (testsRun > 0 ? (testsPassed * 100 / testsRun) : 0) + "%");
+
+        if (testsPassed == testsRun) {
+            System.out.println("\n✓ TODOS LOS TESTS PASARON");
+        } else {
+            System.out.println("\n✗ ALGUNOS TESTS FALLARON");
+        }
+    }
+
+    private static Usuario crearJugador(int id, int mmr) {
+        Usuario u = new Usuario(id, "Player" + id, "p" + id + "@test.com");
+        u.getRangoPorJuego().put("Valorant", mmr);
+        return u;
+    }
+
+    /**
+     * Test 1: si no hay N candidatos en rango no se reclama ninguno
+     */
+    private static void testReclamoTodoONada() {
+        testsRun++;
+        System.out.println("[TEST 1] Reclamo atómico todo-o-nada");
+
+        try {
+            PoolCandidatos pool = new PoolCandidatos("Valorant");
+            for (int i = 0; i < 4; i++) pool.agregar(crearJugador(i, 1000 + i * 10), "Duelist");
+
+            List<Usuario> cinco = pool.reclamar(900, 1100, 5);
+            int trasFallo = pool.tamanio();
+            List<Usuario> tres = pool.reclamar(900, 1100, 3);
+
+            if (cinco.isEmpty() && trasFallo == 4 && tres.size() == 3 && pool.tamanio() == 1
+                    && tres.get(0).getId() == 0) {
+                System.out.println("  ✓ Test pasado: 5 rechazado sin efectos, 3 reclamados");
+                testsPassed++;
+            } else {
+                System.out.println("  ✗ Test falló: cinco=" + cinco.size() + ", tres=" + tres.size());
+            }
+        } catch (Exception e) {
+            System.out.println("  ✗ Test falló: " + e.getMessage());
+            e.printStackTrace();
+        }
+        System.out.println();
+    }
+
+    /**
+     * Test 2: reclamarCercanos toma primero a los de MMR más cercano
+     */
+    private static void testReclamarCercanos() {
+        testsRun++;
+        System.out.println("[TEST 2] Reclamo de los más cercanos en MMR");
+
+        try {
+            PoolCandidatos pool = new PoolCandidatos("Valorant");
+            int[] mmrs = {500, 1480, 1530, 1600, 2500, 1390};
+            for (int i = 0; i < mmrs.length; i++) pool.agregar(crearJugador(i, mmrs[i]), "Duelist");
+
+            List<Usuario> elegidos = pool.reclamarCercanos(1500, 200, 3);
+            List<Integer> ids = new ArrayList<>();
+            for (Usuario u : elegidos) ids.add(u.getId());
+
+            if (ids.equals(Arrays.asList(1, 2, 3))) {
+                System.out.println("  ✓ Test pasado: 1480, 1530, 1600 (en ese orden)");
+                testsPassed++;
+            } else {
+                System.out.println("  ✗ Test falló: " + ids);
+            }
+        } catch (Exception e) {
+            System.out.println("  ✗ Test falló: " + e.getMessage());
+            e.printStackTrace();
+        }
+        System.out.println();
+    }
+
+    /**
+     * Test 3: 8 hilos se suman mientras 4 workers reclaman de a 10
+     */
+    private static void testConcurrenciaSinDobleReclamo() {
+        testsRun++;
+        System.out.println("[TEST 3] Altas y reclamos concurrentes");
+
+        try {
+            PoolCandidatos pool = new PoolCandidatos("Valorant");
+            Set<Integer> reclamados = ConcurrentHashMap.newKeySet();
+            AtomicInteger duplicados = new AtomicInteger();
+            AtomicBoolean altasTerminadas = new AtomicBoolean();
+
+            Thread[] productores = new Thread[8];
+            for (int h = 0; h < productores.length; h++) {
+                int base = h * 5000;
+                productores[h] = new Thread(() -> {
+                    Random random = new Random(base);
+                    for (int i = 0; i < 5000; i++) {
+                        pool.agregar(crearJugador(base + i, random.nextInt(3000)), "Duelist");
+                    }
+                });
+            }
+            Thread[] workers = new Thread[4];
+            for (int w = 0; w < workers.length; w++) {
+                workers[w] = new Thread(() -> {
+                    while (!altasTerminadas.get() || pool.tamanio() >= 10) {
+                        for (Usuario u : pool.reclamar(0, 3000, 10)) {
+                            if (!reclamados.add(u.getId())) duplicados.incrementAndGet();
+                        }
+                    }
+                });
+            }
+            for (Thread t : workers) t.start();
+            for (Thread t : productores) t.start();
+            for (Thread t : productores) t.join();
+            altasTerminadas.set(true);
+            for (Thread t : workers) t.join();
+
+            int total = reclamados.size() + pool.tamanio();
+            if (duplicados.get() == 0 && total == 40_000 && pool.tamanio() < 10) {
+                System.out.println("  - Reclamados: " + reclamados.size() + ", quedan: " + pool.tamanio());
+                System.out.println("  ✓ Test pasado: Ningún candidato reclamado dos veces");
+                testsPassed++;
+            } else {
+                System.out.println("  ✗ Test falló: duplicados=" + duplicados.get() + ", total=" + total);
+            }
+        } catch (Exception e) {
+            System.out.println("  ✗ Test falló: " + e.getMessage());
+            e.printStackTrace();
+        }
+        System.out.println();
+    }
+}
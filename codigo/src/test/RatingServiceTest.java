@@ -0,0 +1,240 @@
+package test;
+
+import context.ScrimContext;
+import models.*;
+import service.MotorScrims;
+import service.RatingService;
+import states.*;
+import java.util.*;
+
+/**
+ * Test para el motor de ratings Glicko-2
+ * Verifica el ejemplo de referencia de Glickman, la aplicación por períodos
+ * y la integración con el fin de partida del MotorScrims
+ */
+public class RatingServiceTest {
+
+    private static int testsRun = 0;
+    private static int testsPassed = 0;
+
+    private static final String[] ROLES = {"Duelist", "Controller", "Initiator", "Sentinel"};
+
+    public static void main(String[] args) {
+        System.out.println("====================================");
+        System.out.println(" TEST: RatingService (Glicko-2)");
+        System.out.println("====================================\n");
+
+        testEjemploGlickman();
+        testPeriodoAplicaEnBloque();
+        testPartidasFinalizadasDelMotor();
+
+        System.out.println("\n====================================");
+        System.out.println(" RESUMEN DE TESTS");
+        System.out.println("====================================");
+        System.out.println("Tests ejecutados: " + testsRun);
+        System.out.println("Tests exitosos: " + testsPassed);
+        System.out.println("Tests fallidos: " + (testsRun - testsPassed));
+        System.out.println("Porcentaje de éxito: " +
+                         (testsRun > 0 ? (testsPassed * 100 / testsRun) : 0) + "%");
+
+        if (testsPassed == testsRun) {
+            System.out.println("\n✓ TODOS LOS TESTS PASARON");
+        } else {
+            System.out.println("\n✗ ALGUNOS TESTS FALLARON");
+        }
+    }
+
+    private static Usuario crearJugador(int id, String juego, int mmr) {
+        Usuario u = new Usuario(id, "Player" + id, "p" + id + "@test.com");
+        u.getRangoPorJuego().put(juego, mmr);
+        return u;
+    }
+
+    /**
+     * Test 1: ejemplo del paper de Glicko-2 (1500/200 contra 1400/30, 1550/100 y 1700/300)
+     * → rating 1464.06, RD 151.52, volatilidad 0.05999
+     */
+    private static void testEjemploGlickman() {
+        testsRun++;
+        System.out.println("[TEST 1] Ejemplo de referencia de Glicko-2");
+
+        try {
+            RatingService ratings = new RatingService(0.5);
+            Usuario jugador = crearJugador(1, "Chess", 1500);
+            Usuario[] rivales = {crearJugador(2, "Chess", 1400), crearJugador(3, "Chess", 1550),
+                                 crearJugador(4, "Chess", 1700)};
+            double[] rd = {30, 100, 300};
+            ratings.registrarJugador(jugador, "Chess", 1500, 200, 0.06);
+            for (int i = 0; i < rivales.length; i++) {
+                ratings.registrarJugador(rivales[i], "Chess", rivales[i].getRangoParaJuego("Chess"), rd[i], 0.06);
+            }
+
+            double[] resultados = {1, 0, 0};
+            for (int i = 0; i < rivales.length; i++) {
+                ratings.registrarPartida("Chess", new Usuario[]{jugador}, new Usuario[]{rivales[i]}, resultados[i]);
+            }
+            ratings.cerrarPeriodo();
+
+            double rating = ratings.getRating(1, "Chess");
+            double desviacion = ratings.getDesviacion(1, "Chess");
+            double volatilidad = ratings.getVolatilidad(1, "Chess");
+            if (Math.abs(rating - 1464.06) < 0.05 && Math.abs(desviacion - 151.52) < 0.05
+                    && Math.abs(volatilidad - 0.05999) < 0.00001
+                    && jugador.getRangoParaJuego("Chess") == 1464) {
+                System.out.printf("  - Rating %.2f, RD %.2f, σ %.5f%n", rating, desviacion, volatilidad);
+                System.out.println("  ✓ Test pasado: Coincide con el ejemplo de Glickman");
+                testsPassed++;
+            } else {
+                System.out.printf("  ✗ Test falló: rating=%.2f, RD=%.2f, σ=%.5f%n", rating, desviacion, volatilidad);
+            }
+        } catch (Exception e) {
+            System.out.println("  ✗ Test falló: " + e.getMessage());
+            e.printStackTrace();
+        }
+        System.out.println();
+    }
+
+    /**
+     * Test 2: las partidas del período no mueven el MMR hasta cerrarlo, el orden
+     * de llegada no cambia el resultado y quien no jugó solo gana incertidumbre
+     */
+    private static void testPeriodoAplicaEnBloque() {
+        testsRun++;
+        System.out.println("[TEST 2] Período aplicado en bloque e independiente del orden");
+
+        try {
+            Usuario[] a = new Usuario[4];
+            Usuario[] b = new Usuario[4];
+            for (int i = 0; i < 4; i++) {
+                a[i] = crearJugador(i, "Valorant", 1400 + i * 50);
+                b[i] = crearJugador(i, "Valorant", 1400 + i * 50);
+            }
+            Usuario inactivoA = crearJugador(99, "Valorant", 1500);
+            Usuario inactivoB = crearJugador(99, "Valorant", 1500);
+
+            // Período previo: solo juega el que después queda inactivo
+            RatingService directo = new RatingService();
+            RatingService inverso = new RatingService();
+            directo.registrarPartida("Valorant", new Usuario[]{inactivoA}, new Usuario[]{crearJugador(50, "Valorant", 1500)}, 1);
+            inverso.registrarPartida("Valorant", new Usuario[]{inactivoB}, new Usuario[]{crearJugador(50, "Valorant", 1500)}, 1);
+            directo.cerrarPeriodo();
+            inverso.cerrarPeriodo();
+            double rdInactivo = directo.getDesviacion(99, "Valorant");
+
+            // 0+1 vs 2+3: gana el equipo débil, después empate 0+2 vs 1+3
+            directo.registrarPartida("Valorant", new Usuario[]{a[0], a[1]}, new Usuario[]{a[2], a[3]}, 1);
+            directo.registrarPartida("Valorant", new Usuario[]{a[0], a[2]}, new Usuario[]{a[1], a[3]}, 0.5);
+            inverso.registrarPartida("Valorant", new Usuario[]{b[1], b[3]}, new Usuario[]{b[0], b[2]}, 0.5);
+            inverso.registrarPartida("Valorant", new Usuario[]{b[2], b[3]}, new Usuario[]{b[0], b[1]}, 0);
+            boolean sinCambios = a[0].getRangoParaJuego("Valorant") == 1400
+                && a[3].getRangoParaJuego("Valorant") == 1550 && directo.getPartidasPeriodo() == 2;
+            int actualizados = directo.cerrarPeriodo();
+            inverso.cerrarPeriodo();
+
+            boolean mismoResultado = true;
+            for (int i = 0; i < 4; i++) {
+                if (Math.abs(directo.getRating(i, "Valorant") - inverso.getRating(i, "Valorant")) > 1e-9) {
+                    mismoResultado = false;
+                }
+            }
+            boolean direccion = a[0].getRangoParaJuego("Valorant") > 1400
+                && a[3].getRangoParaJuego("Valorant") < 1550;
+            boolean incertidumbre = directo.getDesviacion(99, "Valorant") > rdInactivo
+                && inactivoA.getRangoParaJuego("Valorant") == inactivoB.getRangoParaJuego("Valorant");
+
+            if (sinCambios && actualizados == 4 && mismoResultado && direccion && incertidumbre) {
+                System.out.println("  - " + a[0].getUsername() + ": 1400 → " + a[0].getRangoParaJuego("Valorant") +
+                                   ", " + a[3].getUsername() + ": 1550 → " + a[3].getRangoParaJuego("Valorant"));
+                System.out.println("  ✓ Test pasado: Un único paso por período, sin depender del orden");
+                testsPassed++;
+            } else {
+                System.out.println("  ✗ Test falló: sinCambios=" + sinCambios + ", actualizados=" + actualizados +
+                                   ", mismoResultado=" + mismoResultado + ", direccion=" + direccion +
+                                   ", incertidumbre=" + incertidumbre);
+            }
+        } catch (Exception e) {
+            System.out.println("  ✗ Test falló: " + e.getMessage());
+            e.printStackTrace();
+        }
+        System.out.println();
+    }
+
+    /**
+     * Test 3: 20.000 partidas 5v5 finalizadas por el motor sobre 10.000 jugadores;
+     * un solo cierre de período las aplica a todos
+     */
+    private static void testPartidasFinalizadasDelMotor() {
+        testsRun++;
+        System.out.println("[TEST 3] 20.000 partidas del motor en un período");
+
+        java.io.PrintStream salida = System.out;
+        try {
+            MotorScrims motor = new MotorScrims(juego -> ROLES);
+            RatingService ratings = new RatingService();
+            motor.agregarObserver(ratings);
+
+            Random random = new Random(7);
+            List<Usuario> poblacion = new ArrayList<>();
+            for (int i = 0; i < 10_000; i++) {
+                Usuario u = crearJugador(i, "Valorant", 1200 + random.nextInt(600));
+                u.setRol(ROLES[i % ROLES.length]);
+                u.agregarRolPreferido(u.getRol());
+                poblacion.add(u);
+            }
+
+            System.setOut(new java.io.PrintStream(java.io.OutputStream.nullOutputStream()));
+            Usuario ganadorFijo = poblacion.get(0);
+            int azulGano = 0;
+            long inicio = System.nanoTime();
+            for (int p = 0; p < 20_000; p++) {
+                Scrim scrim = new Scrim.Builder(new EstadoBuscandoJugadores())
+                    .juego("Valorant").formato("5v5").rangoMin(0).rangoMax(3000).build();
+                ScrimContext context = new ScrimContext(scrim, scrim.getEstado());
+                Set<Usuario> elegidos = new LinkedHashSet<>();
+                if (p % 10 == 0) elegidos.add(ganadorFijo);
+                while (elegidos.size() < 10) elegidos.add(poblacion.get(random.nextInt(poblacion.size())));
+                List<Usuario> jugadores = new ArrayList<>(elegidos);
+                for (Usuario u : jugadores) context.postular(u, u.getRol());
+
+                SesionScrim sesion = motor.formarLobby(scrim, context, jugadores);
+                for (Usuario u : sesion.getJugadores()) motor.confirmar(sesion, u, true);
+                // El equipo del ganador fijo siempre suma más kills
+                List<Estadistica> estadisticas = new ArrayList<>();
+                for (Usuario u : sesion.getJugadores()) {
+                    boolean conGanador = sesion.getEquipoAzul().getJugadores().contains(ganadorFijo)
+                        == sesion.getEquipoAzul().getJugadores().contains(u);
+                    int kills = elegidos.contains(ganadorFijo) ? (conGanador ? 20 : 5) : random.nextInt(20);
+                    estadisticas.add(new Estadistica(u, scrim, kills, 10, 5));
+                }
+                motor.finalizar(sesion, estadisticas);
+            }
+            long registroMs = (System.nanoTime() - inicio) / 1_000_000;
+            System.setOut(salida);
+
+            int antes = ganadorFijo.getRangoParaJuego("Valorant");
+            boolean pendientes = ratings.getPartidasPeriodo() == 20_000;
+            long inicioCierre = System.nanoTime();
+            int actualizados = ratings.cerrarPeriodo();
+            long cierreMs = (System.nanoTime() - inicioCierre) / 1_000_000;
+            int despues = ganadorFijo.getRangoParaJuego("Valorant");
+
+            if (pendientes && actualizados == ratings.getJugadores("Valorant") && actualizados > 9_000
+                    && despues > antes + 200 && ratings.getPartidasPeriodo() == 0) {
+                System.out.println("  - Partidas + registro: " + registroMs + " ms, cierre de período: " + cierreMs + " ms");
+                System.out.println("  - Ganador fijo: " + antes + " → " + despues);
+                System.out.println("  ✓ Test pasado: " + actualizados + " ratings actualizados en un cierre");
+                testsPassed++;
+            } else {
+                System.out.println("  ✗ Test falló: pendientes=" + pendientes + ", actualizados=" + actualizados +
+                                   ", ganador " + antes + " → " + despues);
+            }
+        } catch (Exception e) {
+            System.setOut(salida);
+            System.out.println("  ✗ Test falló: " + e.getMessage());
+            e.printStackTrace();
+        } finally {
+            System.setOut(salida);
+        }
+        System.out.println();
+    }
+}
@@ -0,0 +1,248 @@
+package test;
+
+import models.*;
+import service.SalaManager;
+import states.EstadoBuscandoJugadores;
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Test para SalaManager con varios hilos
+ * Verifica que el singleton es único, que altas y bajas concurrentes con
+ * lectores en paralelo no corrompen el registro ni muestran instantáneas
+ * inconsistentes, y que altas y bajas de la misma sala en carrera terminan
+ * en un estado coherente
+ */
+public class SalaManagerConcurrenciaTest {
+
+    private static int testsRun = 0;
+    private static int testsPassed = 0;
+
+    private static final String[] JUEGOS = {"Valorant", "League of Legends", "CS:GO"};
+    private static final String[] REGIONES = {"SA", "NA", "EU", "LAS"};
+
+    public static void main(String[] args) {
+        System.out.println("====================================");
+        System.out.println(" TEST: SalaManager concurrente");
+        System.out.println("====================================\n");
+
+        testSingletonUnico();
+        testAltasYBajasConLectores();
+        testCarreraMismaSala();
+
+        System.out.println("\n====================================");
+        System.out.println(" RESUMEN DE TESTS");
+        System.out.println("====================================");
+        System.out.println("Tests ejecutados: " + testsRun);
+        System.out.println("Tests exitosos: " + testsPassed);
+        System.out.println("Tests fallidos: " + (testsRun - testsPassed));
+        System.out.println("Porcentaje de éxito: " +
+                         (testsRun > 0 ? (testsPassed * 100 / testsRun) : 0) + "%");
+
+        if (testsPassed == testsRun) {
+            System.out.println("\n✓ TODOS LOS TESTS PASARON");
+        } else {
+            System.out.println("\n✗ ALGUNOS TESTS FALLARON");
+        }
+    }
+
+    private static Scrim crearSala(String juego, String region) {
+        return new Scrim.Builder(new EstadoBuscandoJugadores())
+            .juego(juego).formato("5v5").region(region)
+            .rangoMin(0).rangoMax(3000).build();
+    }
+
+    /**
+     * Test 1: 32 hilos piden la instancia a la vez y obtienen la misma
+     */
+    private static void testSingletonUnico() {
+        testsRun++;
+        System.out.println("[TEST 1] Singleton único entre hilos");
+
+        try {
+            ExecutorService hilos = Executors.newFixedThreadPool(32);
+            CountDownLatch largada = new CountDownLatch(1);
+            List<Future<SalaManager>> instancias = new ArrayList<>();
+            for (int i = 0; i < 32; i++) {
+                instancias.add(hilos.submit(() -> {
+                    largada.await();
+                    return SalaManager.getInstance();
+                }));
+            }
+            largada.countDown();
+            Set<SalaManager> distintas = Collections.newSetFromMap(new IdentityHashMap<>());
+            for (Future<SalaManager> instancia : instancias) distintas.add(instancia.get());
+            hilos.shutdown();
+
+            if (distintas.size() == 1) {
+                System.out.println("  ✓ Test pasado: Una sola instancia");
+                testsPassed++;
+            } else {
+                System.out.println("  ✗ Test falló: " + distintas.size() + " instancias");
+            }
+        } catch (Exception e) {
+            System.out.println("  ✗ Test falló: " + e.getMessage());
+            e.printStackTrace();
+        }
+        System.out.println();
+    }
+
+    /**
+     * Test 2: 8 escritores agregan 3.000 salas cada uno y eliminan la mitad
+     * mientras 4 lectores listan, filtran y paginan sin parar. Ninguna lectura
+     * ve salas repetidas ni de otro juego, y al final quedan exactamente las
+     * salas no eliminadas
+     */
+    private static void testAltasYBajasConLectores() {
+        testsRun++;
+        System.out.println("[TEST 2] Altas y bajas concurrentes con lectores");
+
+        try {
+            SalaManager manager = SalaManager.getInstance();
+            int inicial = manager.getCantidadSalas();
+            ExecutorService hilos = Executors.newFixedThreadPool(12);
+            CountDownLatch largada = new CountDownLatch(1);
+            AtomicInteger escritoresActivos = new AtomicInteger(8);
+            AtomicInteger lecturasInconsistentes = new AtomicInteger();
+            AtomicInteger lecturas = new AtomicInteger();
+            List<Future<List<Scrim>>> escritores = new ArrayList<>();
+
+            for (int t = 0; t < 8; t++) {
+                final int semilla = t;
+                escritores.add(hilos.submit(() -> {
+                    Random random = new Random(semilla);
+                    List<Scrim> propias = new ArrayList<>();
+                    List<Scrim> quedan = new ArrayList<>();
+                    largada.await();
+                    for (int i = 0; i < 3_000; i++) {
+                        Scrim sala = crearSala(JUEGOS[random.nextInt(JUEGOS.length)],
+                                               REGIONES[random.nextInt(REGIONES.length)]);
+                        manager.agregarSala(sala);
+                        propias.add(sala);
+                        if (i % 2 == 1) {
+                            manager.eliminarSala(propias.remove(random.nextInt(propias.size())));
+                        }
+                    }
+                    quedan.addAll(propias);
+                    escritoresActivos.decrementAndGet();
+                    return quedan;
+                }));
+            }
+            List<Future<?>> lectores = new ArrayList<>();
+            for (int t = 0; t < 4; t++) {
+                lectores.add(hilos.submit(() -> {
+                    largada.await();
+                    while (escritoresActivos.get() > 0) {
+                        List<Scrim> todas = manager.getSalasDisponibles();
+                        if (new HashSet<>(todas).size() != todas.size()) lecturasInconsistentes.incrementAndGet();
+                        for (Scrim sala : manager.getSalasPorJuego("Valorant")) {
+                            if (!sala.getJuego().equals("Valorant")) lecturasInconsistentes.incrementAndGet();
+                        }
+                        Set<Scrim> paginadas = new HashSet<>();
+                        String cursor = null;
+                        do {
+                            Pagina<Scrim> pagina = manager.getSalasDisponibles(cursor, 500);
+                            for (Scrim sala : pagina.getElementos()) {
+                                if (!paginadas.add(sala)) lecturasInconsistentes.incrementAndGet();
+                            }
+                            cursor = pagina.getSiguienteCursor();
+                        } while (cursor != null);
+                        lecturas.incrementAndGet();
+                    }
+                    return null;
+                }));
+            }
+            largada.countDown();
+
+            List<Scrim> quedan = new ArrayList<>();
+            for (Future<List<Scrim>> escritor : escritores) quedan.addAll(escritor.get(60, TimeUnit.SECONDS));
+            for (Future<?> lector : lectores) lector.get(60, TimeUnit.SECONDS);
+            hilos.shutdown();
+
+            List<Scrim> todas = manager.getSalasDisponibles();
+            boolean cantidades = manager.getCantidadSalas() == inicial + 12_000
+                && todas.size() == inicial + 12_000 && todas.containsAll(quedan);
+            int enParticiones = 0;
+            for (String juego : JUEGOS) {
+                for (String region : REGIONES) enParticiones += manager.getSalasPorJuegoYRegion(juego, region).size();
+            }
+            boolean particiones = enParticiones == todas.size();
+
+            quedan.forEach(manager::eliminarSala);
+            boolean limpio = manager.getCantidadSalas() == inicial;
+
+            if (cantidades && particiones && lecturasInconsistentes.get() == 0 && limpio) {
+                System.out.println("  - 24.000 altas, 12.000 bajas y " + lecturas.get() + " recorridos completos");
+                System.out.println("  ✓ Test pasado: Registro consistente bajo concurrencia");
+                testsPassed++;
+            } else {
+                System.out.println("  ✗ Test falló: cantidades=" + cantidades + ", particiones=" + particiones +
+                                   ", inconsistentes=" + lecturasInconsistentes.get() + ", limpio=" + limpio);
+            }
+        } catch (Exception e) {
+            System.out.println("  ✗ Test falló: " + e.getMessage());
+            e.printStackTrace();
+        }
+        System.out.println();
+    }
+
+    /**
+     * Test 3: para 2.000 salas, cuatro hilos agregan la misma sala y otro la
+     * elimina al mismo tiempo; cada sala termina o bien registrada una vez o
+     * bien ausente de todas las vistas
+     */
+    private static void testCarreraMismaSala() {
+        testsRun++;
+        System.out.println("[TEST 3] Altas y bajas de la misma sala en carrera");
+
+        try {
+            SalaManager manager = SalaManager.getInstance();
+            int inicial = manager.getCantidadSalas();
+            List<Scrim> salas = new ArrayList<>();
+            for (int i = 0; i < 2_000; i++) salas.add(crearSala(JUEGOS[i % JUEGOS.length], REGIONES[i % REGIONES.length]));
+
+            ExecutorService hilos = Executors.newFixedThreadPool(5);
+            CyclicBarrier barrera = new CyclicBarrier(5);
+            List<Future<?>> tareas = new ArrayList<>();
+            for (int t = 0; t < 5; t++) {
+                final boolean elimina = t == 4;
+                tareas.add(hilos.submit(() -> {
+                    for (Scrim sala : salas) {
+                        barrera.await();
+                        if (elimina) manager.eliminarSala(sala); else manager.agregarSala(sala);
+                    }
+                    return null;
+                }));
+            }
+            for (Future<?> tarea : tareas) tarea.get(60, TimeUnit.SECONDS);
+            hilos.shutdown();
+
+            List<Scrim> todas = manager.getSalasDisponibles();
+            int presentes = 0;
+            int incoherentes = 0;
+            for (Scrim sala : salas) {
+                int veces = Collections.frequency(manager.getSalasPorJuegoYRegion(sala.getJuego(), sala.getRegion()), sala);
+                if (veces > 1 || (veces == 1) != todas.contains(sala)) incoherentes++;
+                presentes += veces;
+            }
+            boolean cantidad = manager.getCantidadSalas() == inicial + presentes && todas.size() == inicial + presentes;
+
+            salas.forEach(manager::eliminarSala);
+            boolean limpio = manager.getCantidadSalas() == inicial && manager.getSalasDisponibles().size() == inicial;
+
+            if (incoherentes == 0 && cantidad && limpio) {
+                System.out.println("  - " + presentes + " de 2000 salas quedaron registradas tras la carrera");
+                System.out.println("  ✓ Test pasado: Sin salas duplicadas ni huérfanas");
+                testsPassed++;
+            } else {
+                System.out.println("  ✗ Test falló: incoherentes=" + incoherentes + ", cantidad=" + cantidad +
+                                   ", limpio=" + limpio);
+            }
+        } catch (Exception e) {
+            System.out.println("  ✗ Test falló: " + e.getMessage());
+            e.printStackTrace();
+        }
+        System.out.println();
+    }
+}
@@ -0,0 +1,331 @@
+package test;
+
+import models.*;
+import service.ScrimSearchService;
+import states.EstadoBuscandoJugadores;
+import java.util.*;
+import java.util.stream.Collectors;
+
+/**
+ * Test para los índices invertidos de ScrimSearchService
+ * Verifica que las búsquedas indexadas devuelven lo mismo que un filtrado
+ * completo, que altas y bajas mantienen los índices, el costo de una
+ * búsqueda selectiva con cientos de miles de scrims y el índice de
+ * intervalos de MMR
+ */
+public class ScrimSearchServiceTest {
+
+    private static int testsRun = 0;
+    private static int testsPassed = 0;
+
+    private static final String[] JUEGOS = {"Valorant", "League of Legends", "CS:GO"};
+    private static final String[] FORMATOS = {"5v5", "3v3", "1v1"};
+    private static final String[] REGIONES = {"SA", "NA", "EU", "LAS", "BR", "KR", "JP", "OCE"};
+    private static final String[] RANGOS = {null, "Silver", "Gold", "Diamond", "Master"};
+
+    public static void main(String[] args) {
+        System.out.println("====================================");
+        System.out.println(" TEST: ScrimSearchService (índices)");
+        System.out.println("====================================\n");
+
+        testMismoResultadoQueFiltradoCompleto();
+        testAltasBajasYActualizacion();
+        testBusquedaSelectivaEscala();
+        testIntervalosDeMMR();
+
+        System.out.println("\n====================================");
+        System.out.println(" RESUMEN DE TESTS");
+        System.out.println("====================================");
+        System.out.println("Tests ejecutados: " + testsRun);
+        System.out.println("Tests exitosos: " + testsPassed);
+        System.out.println("Tests fallidos: " + (testsRun - testsPassed));
+        System.out.println("Porcentaje de éxito: " +
+                         (testsRun > 0 ? (testsPassed * 100 / testsRun) : 0) + "%");
+
+        if (testsPassed == testsRun) {
+            System.out.println("\n✓ TODOS LOS TESTS PASARON");
+        } else {
+            System.out.println("\n✗ ALGUNOS TESTS FALLARON");
+        }
+    }
+
+    private static Scrim crearScrim(Random random, String region) {
+        int min = random.nextInt(2400);
+        return new Scrim.Builder(new EstadoBuscandoJugadores())
+            .juego(JUEGOS[random.nextInt(JUEGOS.length)])
+            .formato(FORMATOS[random.nextInt(FORMATOS.length)])
+            .region(region)
+            .modalidad("ranked")
+            .rangoMin(min).rangoMax(min + 200 + random.nextInt(600))
+            .latenciaMax(40 + random.nextInt(80))
+            .build();
+    }
+
+    // Referencia: mismo criterio que la versión sin índices
+    private static boolean coincide(Scrim s, String juego, String formato, String rangoMin,
+                                    String rangoMax, String region) {
+        List<String> orden = Arrays.asList("Iron", "Bronze", "Silver", "Gold", "Platinum",
+                                           "Diamond", "Master", "Grandmaster", "Challenger");
+        return (juego == null || juego.equalsIgnoreCase(s.getJuego()))
+            && (formato == null || formato.equalsIgnoreCase(s.getFormato()))
+            && (rangoMin == null || orden.indexOf(s.getRangoMinimo()) >= orden.indexOf(rangoMin))
+            && (rangoMax == null || orden.indexOf(s.getRangoMaximo()) <= orden.indexOf(rangoMax))
+            && (region == null || region.equalsIgnoreCase(s.getRegion()));
+    }
+
+    private static Set<UUID> ids(Collection<Scrim> scrims) {
+        return scrims.stream().map(Scrim::getId).collect(Collectors.toSet());
+    }
+
+    /**
+     * Test 1: 5.000 scrims y todas las combinaciones de filtros (incluyendo
+     * mayúsculas distintas y valores inexistentes) contra el filtrado completo
+     */
+    private static void testMismoResultadoQueFiltradoCompleto() {
+        testsRun++;
+        System.out.println("[TEST 1] Mismo resultado que el filtrado completo");
+
+        try {
+            Random random = new Random(13);
+            ScrimSearchService busqueda = new ScrimSearchService();
+            List<Scrim> todos = new ArrayList<>();
+            for (int i = 0; i < 5_000; i++) {
+                Scrim scrim = crearScrim(random, REGIONES[random.nextInt(REGIONES.length)]);
+                todos.add(scrim);
+                busqueda.registrarScrim(scrim);
+            }
+
+            int consultas = 0;
+            int diferencias = 0;
+            String[] juegos = {null, "Valorant", "VALORANT", "Dota 2"};
+            String[] formatos = {null, "5v5", "1v1"};
+            String[] regiones = {null, "SA", "eu", "MARS"};
+            for (String juego : juegos) {
+                for (String formato : formatos) {
+                    for (String region : regiones) {
+                        for (String rangoMin : RANGOS) {
+                            for (String rangoMax : RANGOS) {
+                                consultas++;
+                                List<Scrim> esperado = todos.stream()
+                                    .filter(s -> coincide(s, juego, formato, rangoMin, rangoMax, region))
+                                    .collect(Collectors.toList());
+                                List<Scrim> obtenido = busqueda.buscarScrims(juego, formato, rangoMin, rangoMax, region);
+                                if (obtenido.size() != esperado.size() || !ids(obtenido).equals(ids(esperado))) {
+                                    diferencias++;
+                                }
+                            }
+                        }
+                    }
+                }
+            }
+            long latenciaEsperada = todos.stream().filter(s -> s.getLatenciaMaxima() <= 70).count();
+            List<Scrim> porLatencia = busqueda.buscarPorLatencia(70);
+            boolean latenciaOrdenada = true;
+            for (int i = 1; i < porLatencia.size(); i++) {
+                if (porLatencia.get(i - 1).getLatenciaMaxima() > porLatencia.get(i).getLatenciaMaxima()) {
+                    latenciaOrdenada = false;
+                }
+            }
+
+            if (diferencias == 0 && porLatencia.size() == latenciaEsperada && latenciaOrdenada
+                    && busqueda.obtenerTodos().size() == 5_000) {
+                System.out.println("  - " + consultas + " combinaciones de filtros sin diferencias");
+                System.out.println("  ✓ Test pasado: Índices equivalentes al recorrido completo");
+                testsPassed++;
+            } else {
+                System.out.println("  ✗ Test falló: diferencias=" + diferencias + ", latencia=" + porLatencia.size() +
+                                   "/" + latenciaEsperada + ", ordenada=" + latenciaOrdenada);
+            }
+        } catch (Exception e) {
+            System.out.println("  ✗ Test falló: " + e.getMessage());
+            e.printStackTrace();
+        }
+        System.out.println();
+    }
+
+    /**
+     * Test 2: bajas, re-registros duplicados y cambio de región con actualizarScrim;
+     * los slots liberados se reutilizan
+     */
+    private static void testAltasBajasYActualizacion() {
+        testsRun++;
+        System.out.println("[TEST 2] Altas, bajas y reindexado");
+
+        try {
+            Random random = new Random(17);
+            ScrimSearchService busqueda = new ScrimSearchService();
+            List<Scrim> vivos = new ArrayList<>();
+            for (int ronda = 0; ronda < 20; ronda++) {
+                for (int i = 0; i < 500; i++) {
+                    Scrim scrim = crearScrim(random, REGIONES[random.nextInt(REGIONES.length)]);
+                    busqueda.registrarScrim(scrim);
+                    busqueda.registrarScrim(scrim);                  // Duplicado: se ignora
+                    vivos.add(scrim);
+                }
+                Collections.shuffle(vivos, random);
+                for (int i = 0; i < 400; i++) {
+                    busqueda.eliminarScrim(vivos.remove(vivos.size() - 1));
+                }
+            }
+
+            Scrim mudado = vivos.get(0);
+            String regionAnterior = mudado.getRegion();
+            mudado.setRegion("ME");
+            busqueda.actualizarScrim(mudado);
+
+            Set<UUID> esperadoSA = ids(vivos.stream().filter(s -> "SA".equals(s.getRegion()))
+                                               .collect(Collectors.toList()));
+            boolean regionOk = ids(busqueda.buscarPorRegion("SA")).equals(esperadoSA);
+            boolean mudadoOk = busqueda.buscarPorRegion("ME").size() == 1
+                && !ids(busqueda.buscarPorRegion(regionAnterior)).contains(mudado.getId());
+            boolean todosOk = busqueda.getCantidad() == vivos.size()
+                && ids(busqueda.obtenerTodos()).equals(ids(vivos));
+
+            for (Scrim scrim : new ArrayList<>(vivos)) busqueda.eliminarScrim(scrim);
+            boolean vacio = busqueda.getCantidad() == 0 && busqueda.buscarPorJuego("Valorant").isEmpty()
+                && busqueda.buscarPorLatencia(1_000).isEmpty();
+
+            if (regionOk && mudadoOk && todosOk && vacio) {
+                System.out.println("  - " + vivos.size() + " scrims vivos tras 10.000 altas y 8.000 bajas");
+                System.out.println("  ✓ Test pasado: Índices consistentes tras bajas y cambios");
+                testsPassed++;
+            } else {
+                System.out.println("  ✗ Test falló: regionOk=" + regionOk + ", mudadoOk=" + mudadoOk +
+                                   ", todosOk=" + todosOk + ", vacio=" + vacio);
+            }
+        } catch (Exception e) {
+            System.out.println("  ✗ Test falló: " + e.getMessage());
+            e.printStackTrace();
+        }
+        System.out.println();
+    }
+
+    /**
+     * Test 3: 300.000 scrims con 30 en la región buscada; la búsqueda por
+     * región + juego cuesta una fracción del recorrido completo
+     */
+    private static void testBusquedaSelectivaEscala() {
+        testsRun++;
+        System.out.println("[TEST 3] Búsqueda selectiva con 300.000 scrims");
+
+        try {
+            Random random = new Random(19);
+            ScrimSearchService busqueda = new ScrimSearchService();
+            List<Scrim> todos = new ArrayList<>();
+            for (int i = 0; i < 300_000; i++) {
+                Scrim scrim = crearScrim(random, i % 10_000 == 0 ? "ME" : REGIONES[random.nextInt(REGIONES.length)]);
+                todos.add(scrim);
+                busqueda.registrarScrim(scrim);
+            }
+
+            int encontrados = 0;
+            for (int i = 0; i < 2_000; i++) encontrados = busqueda.buscarScrims(null, null, null, null, "ME").size();
+            long inicio = System.nanoTime();
+            for (int i = 0; i < 20_000; i++) {
+                busqueda.buscarScrims(null, null, null, null, "ME");
+            }
+            double usIndice = (System.nanoTime() - inicio) / 1e3 / 20_000;
+
+            inicio = System.nanoTime();
+            long lineal = 0;
+            for (int i = 0; i < 20; i++) {
+                lineal = todos.stream().filter(s -> "ME".equalsIgnoreCase(s.getRegion())).count();
+            }
+            double usLineal = (System.nanoTime() - inicio) / 1e3 / 20;
+
+            if (encontrados == 30 && lineal == 30 && usIndice * 20 < usLineal) {
+                System.out.printf("  - Indexada: %.1f µs, recorrido completo: %.1f µs%n", usIndice, usLineal);
+                System.out.println("  ✓ Test pasado: El costo sigue al tamaño del resultado");
+                testsPassed++;
+            } else {
+                System.out.printf("  ✗ Test falló: encontrados=%d, indexada=%.1f µs, lineal=%.1f µs%n",
+                                  encontrados, usIndice, usLineal);
+            }
+        } catch (Exception e) {
+            System.out.println("  ✗ Test falló: " + e.getMessage());
+            e.printStackTrace();
+        }
+        System.out.println();
+    }
+
+    /**
+     * Test 4: "aceptan MMR x" y "se superponen con [a, b]" contra el filtrado
+     * completo, con intervalos fuera del dominio del árbol y bajas;
+     * después, 200.000 scrims y consultas puntuales de pocos resultados
+     */
+    private static void testIntervalosDeMMR() {
+        testsRun++;
+        System.out.println("[TEST 4] Índice de intervalos de MMR");
+
+        try {
+            Random random = new Random(29);
+            ScrimSearchService busqueda = new ScrimSearchService();
+            List<Scrim> vivos = new ArrayList<>();
+            for (int i = 0; i < 4_000; i++) {
+                int min = random.nextInt(10_000);                      // Parte fuera de [0, 8192)
+                int max = min + random.nextInt(1_500);
+                Scrim scrim = new Scrim.Builder(new EstadoBuscandoJugadores())
+                    .juego("Valorant").formato("5v5").region("SA").rangoMin(min).rangoMax(max).build();
+                busqueda.registrarScrim(scrim);
+                vivos.add(scrim);
+            }
+            Collections.shuffle(vivos, random);
+            for (int i = 0; i < 1_500; i++) busqueda.eliminarScrim(vivos.remove(vivos.size() - 1));
+
+            int diferencias = 0;
+            for (int q = 0; q < 500; q++) {
+                int x = random.nextInt(12_000) - 500;
+                int y = x + random.nextInt(800);
+                List<Scrim> contienen = busqueda.buscarPorMMR(x);
+                List<Scrim> solapan = busqueda.buscarPorRangoMMR(x, y);
+                Set<UUID> esperadoX = ids(vivos.stream()
+                    .filter(s -> s.getRangoMin() <= x && x <= s.getRangoMax()).collect(Collectors.toList()));
+                Set<UUID> esperadoXY = ids(vivos.stream()
+                    .filter(s -> s.getRangoMin() <= s.getRangoMax() && s.getRangoMin() <= y && s.getRangoMax() >= x)
+                    .collect(Collectors.toList()));
+                if (contienen.size() != esperadoX.size() || !ids(contienen).equals(esperadoX)
+                        || solapan.size() != esperadoXY.size() || !ids(solapan).equals(esperadoXY)) {
+                    diferencias++;
+                }
+            }
+
+            // Escala: intervalos angostos, cada consulta devuelve unas pocas decenas
+            ScrimSearchService grande = new ScrimSearchService();
+            List<Scrim> todos = new ArrayList<>();
+            for (int i = 0; i < 200_000; i++) {
+                int min = random.nextInt(8_000);
+                Scrim scrim = new Scrim.Builder(new EstadoBuscandoJugadores())
+                    .rangoMin(min).rangoMax(min + 2).build();
+                grande.registrarScrim(scrim);
+                todos.add(scrim);
+            }
+            long total = 0;
+            for (int i = 0; i < 20_000; i++) total += grande.buscarPorMMR(random.nextInt(8_000)).size();
+            total = 0;
+            long inicio = System.nanoTime();
+            for (int i = 0; i < 100_000; i++) total += grande.buscarPorMMR(random.nextInt(8_000)).size();
+            double usPorConsulta = (System.nanoTime() - inicio) / 1e3 / 100_000;
+
+            inicio = System.nanoTime();
+            for (int i = 0; i < 20; i++) {
+                int x = random.nextInt(8_000);
+                total += todos.stream().filter(s -> s.getRangoMin() <= x && x <= s.getRangoMax()).count();
+            }
+            double usLineal = (System.nanoTime() - inicio) / 1e3 / 20;
+
+            if (diferencias == 0 && total > 0 && usPorConsulta * 20 < usLineal) {
+                System.out.printf("  - 500 consultas sin diferencias; 200.000 scrims: %.2f µs por consulta " +
+                                  "(recorrido completo: %.0f µs)%n", usPorConsulta, usLineal);
+                System.out.println("  ✓ Test pasado: Intervalos exactos en O(log n + k)");
+                testsPassed++;
+            } else {
+                System.out.printf("  ✗ Test falló: diferencias=%d, %.2f µs por consulta, lineal %.0f µs%n",
+                                  diferencias, usPorConsulta, usLineal);
+            }
+        } catch (Exception e) {
+            System.out.println("  ✗ Test falló: " + e.getMessage());
+            e.printStackTrace();
+        }
+        System.out.println();
+    }
+}
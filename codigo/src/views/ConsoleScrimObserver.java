@@ -0,0 +1,76 @@
+package views;
+
+import interfaces.IScrimObserver;
+import models.SesionScrim;
+import models.Usuario;
+import service.MotorScrims;
+
+/**
+ * Vista de consola del ciclo de vida de una partida
+ *
+ * Se registra en MotorScrims solo en modo interactivo. No hace pausas:
+ * el motor le entrega los avisos fuera del lock de la sesión y ninguna
+ * vista debe demorar el ciclo de la partida.
+ *
+ * @pattern Observer (observer concreto)
+ */
+public class ConsoleScrimObserver implements IScrimObserver {
+
+    private final ConsoleView consoleView;
+    private final GameView gameView;
+
+    public ConsoleScrimObserver(ConsoleView consoleView, GameView gameView) {
+        this.consoleView = consoleView;
+        this.gameView = gameView;
+    }
+
+    @Override
+    public void onLobbyCompleto(SesionScrim sesion) {
+        consoleView.mostrarSubtitulo("⏰ FASE DE CONFIRMACIÓN");
+        consoleView.mostrarInfo("Debes confirmar tu participación en la partida");
+    }
+
+    @Override
+    public void onConfirmacion(SesionScrim sesion, Usuario jugador, boolean acepta) {
+        if (acepta) {
+            consoleView.mostrarExito("✅ " + jugador.getUsername() + " confirmó (" +
+                sesion.getConfirmados() + "/" + sesion.getTotalJugadores() + ")");
+            if (sesion.todosConfirmaron()) {
+                consoleView.mostrarExito("\n✅ ¡TODOS LOS JUGADORES CONFIRMARON! (" +
+                    sesion.getConfirmados() + "/" + sesion.getTotalJugadores() + ")");
+            }
+        } else {
+            consoleView.mostrarError("❌ " + jugador.getUsername() + " rechazó la partida");
+        }
+    }
+
+    @Override
+    public void onEstadoCambiado(SesionScrim sesion, String estadoAnterior, String estadoNuevo) {
+        if (estadoNuevo.equals("EstadoEnJuego")) {
+            consoleView.mostrarExito("¡Partida en curso! Estado: " + estadoNuevo);
+        } else if (estadoNuevo.equals("EstadoFinalizado")) {
+            gameView.mostrarFinPartida();
+            gameView.mostrarEstadoActual(estadoNuevo);
+        } else if (!estadoNuevo.equals("EstadoCancelado")) {
+            gameView.mostrarEstadoActual(estadoNuevo);
+        }
+    }
+
+    @Override
+    public void onJugadorReemplazado(SesionScrim sesion, Usuario saliente, Usuario entrante) {
+        consoleView.mostrarInfo("🔄 " + entrante.getUsername() + " toma el lugar de " +
+            saliente.getUsername() + " (" + entrante.getRol() + ")");
+    }
+
+    @Override
+    public void onPartidaCancelada(SesionScrim sesion, Usuario responsable, String motivo) {
+        if (MotorScrims.MOTIVO_BANEADO.equals(motivo)) {
+            consoleView.mostrarError("❌ " + responsable.getUsername() +
+                " está baneado (quedan " + responsable.getMinutosRestantesBan() + " minutos)");
+        } else if (MotorScrims.MOTIVO_TIEMPO_AGOTADO.equals(motivo)) {
+            consoleView.mostrarError("⌛ Tiempo de confirmación agotado (" +
+                responsable.getUsername() + " no respondió)");
+        }
+        consoleView.mostrarError("❌ Partida cancelada");
+    }
+}